@@ -28,6 +28,7 @@
 package org.hisp.dhis.cache;
 
 import java.time.Duration;
+import java.util.List;
 
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 
@@ -100,6 +101,8 @@ public interface CacheProvider
 
     <V> Cache<V> createProgramRuleVariablesCache();
 
+    <V> Cache<V> createProgramRuleSetCache();
+
     <V> Cache<V> createUserGroupNameCache();
 
     <V> Cache<V> createUserDisplayNameCache();
@@ -139,4 +142,11 @@ public interface CacheProvider
     <V> Cache<V> createDataIntegrityDetailsCache();
 
     <V> Cache<V> createSubExpressionCache();
+
+    <V> Cache<V> createQueryCountCache();
+
+    /**
+     * @return the usage statistics of all caches created by this provider
+     */
+    List<CacheStatistics> getStatistics();
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * REST API data structure for the usage statistics of a single {@link Cache}
+ * region since it was created.
+ */
+@Getter
+@AllArgsConstructor
+public final class CacheStatistics
+{
+    @JsonProperty
+    private final String region;
+
+    @JsonProperty
+    private final CacheType type;
+
+    @JsonProperty
+    private final long hits;
+
+    @JsonProperty
+    private final long misses;
+
+    @JsonProperty
+    private final long loads;
+
+    @JsonProperty
+    private final long loadFailures;
+
+    /**
+     * Total time spent in mapping functions loading values in milliseconds.
+     */
+    @JsonProperty
+    private final long loadTime;
+
+    @JsonProperty
+    private final long puts;
+
+    @JsonProperty
+    private final long invalidations;
+
+    /**
+     * Number of entries, or -1 if the size of the cache is not known locally.
+     */
+    @JsonProperty
+    private final long entries;
+
+    @JsonProperty
+    public double getHitRatio()
+    {
+        long requests = hits + misses;
+        return requests == 0 ? 0d : hits / (double) requests;
+    }
+
+    @JsonProperty
+    public double getAverageLoadTime()
+    {
+        return loads == 0 ? 0d : loadTime / (double) loads;
+    }
+}
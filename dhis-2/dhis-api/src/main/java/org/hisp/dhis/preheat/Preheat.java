@@ -32,8 +32,10 @@ import static java.util.Collections.emptySet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -243,6 +245,27 @@ public class Preheat
         return byKey == null || byKey.isEmpty();
     }
 
+    /**
+     * Returns all objects of this preheat, including the defaults, the periods
+     * and the import user. Objects cached under several identifiers are
+     * returned once.
+     */
+    public Set<IdentifiableObject> getAllObjects()
+    {
+        Set<IdentifiableObject> objects = Collections.newSetFromMap( new IdentityHashMap<>() );
+
+        map.values().forEach( byKlass -> byKlass.values().forEach( byKey -> objects.addAll( byKey.values() ) ) );
+        objects.addAll( defaults.values() );
+        objects.addAll( periodMap.values() );
+
+        if ( user != null )
+        {
+            objects.add( user );
+        }
+
+        return objects;
+    }
+
     public <T extends IdentifiableObject> Preheat put( PreheatIdentifier identifier, T object )
     {
         if ( object == null )
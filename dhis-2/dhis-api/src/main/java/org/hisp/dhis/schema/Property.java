@@ -33,6 +33,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.EmbeddedObject;
@@ -85,6 +87,16 @@ public class Property implements Ordered, Klass
      */
     private Method setterMethod;
 
+    /**
+     * Compiled accessor for {@link #getterMethod}, created on first use.
+     */
+    private Function<Object, Object> getter;
+
+    /**
+     * Compiled accessor for {@link #setterMethod}, created on first use.
+     */
+    private BiConsumer<Object, Object> setter;
+
     /**
      * Name for this property, if this class is a collection, it is the name of
      * the items -inside- the collection and not the collection wrapper itself.
@@ -379,6 +391,7 @@ public class Property implements Ordered, Klass
     public void setGetterMethod( Method getterMethod )
     {
         this.getterMethod = getterMethod;
+        this.getter = null;
     }
 
     public Method getSetterMethod()
@@ -389,6 +402,50 @@ public class Property implements Ordered, Klass
     public void setSetterMethod( Method setterMethod )
     {
         this.setterMethod = setterMethod;
+        this.setter = null;
+    }
+
+    /**
+     * Reads the value of this property from the given object using a compiled
+     * accessor for the getter method instead of reflection.
+     *
+     * @param target the object to read from.
+     * @return the property value, or null if the object is null or this
+     *         property has no public getter.
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T getValue( Object target )
+    {
+        Function<Object, Object> accessor = getter;
+
+        if ( accessor == null )
+        {
+            accessor = PropertyAccessors.getter( getterMethod );
+            getter = accessor;
+        }
+
+        return (T) accessor.apply( target );
+    }
+
+    /**
+     * Writes the value of this property to the given object using a compiled
+     * accessor for the setter method instead of reflection. Does nothing if
+     * the object is null or this property has no public setter.
+     *
+     * @param target the object to write to.
+     * @param value the property value.
+     */
+    public void setValue( Object target, Object value )
+    {
+        BiConsumer<Object, Object> accessor = setter;
+
+        if ( accessor == null )
+        {
+            accessor = PropertyAccessors.setter( setterMethod );
+            setter = accessor;
+        }
+
+        accessor.accept( target, value );
     }
 
     @JsonProperty
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Compiles getter and setter {@link Method}s of a {@link Property} into
+ * functional interfaces using {@link LambdaMetafactory}, so that reading and
+ * writing property values avoids the overhead of {@link Method#invoke}.
+ *
+ * The accessors behave like {@code ReflectionUtils.invokeMethod}: a null
+ * target is ignored and methods which are not public are never invoked. When a
+ * method cannot be compiled the accessor falls back to reflection.
+ */
+@Slf4j
+final class PropertyAccessors
+{
+    private static final Function<Object, Object> NO_GETTER = target -> null;
+
+    private static final BiConsumer<Object, Object> NO_SETTER = ( target, value ) -> {
+    };
+
+    private PropertyAccessors()
+    {
+        throw new UnsupportedOperationException( "util" );
+    }
+
+    static Function<Object, Object> getter( Method method )
+    {
+        if ( !isInvokable( method ) || method.getParameterCount() != 0 )
+        {
+            return NO_GETTER;
+        }
+
+        Function<Object, Object> getter;
+
+        try
+        {
+            getter = compileGetter( method );
+        }
+        catch ( Throwable ex )
+        {
+            log.debug( "Falling back to reflection for getter " + method, ex );
+
+            getter = target -> invoke( method, target );
+        }
+
+        Function<Object, Object> accessor = getter;
+
+        return target -> target == null ? null : accessor.apply( target );
+    }
+
+    static BiConsumer<Object, Object> setter( Method method )
+    {
+        if ( !isInvokable( method ) || method.getParameterCount() != 1 )
+        {
+            return NO_SETTER;
+        }
+
+        BiConsumer<Object, Object> setter;
+
+        try
+        {
+            setter = compileSetter( method );
+        }
+        catch ( Throwable ex )
+        {
+            log.debug( "Falling back to reflection for setter " + method, ex );
+
+            setter = ( target, value ) -> invoke( method, target, value );
+        }
+
+        BiConsumer<Object, Object> accessor = setter;
+
+        return ( target, value ) -> {
+            if ( target != null )
+            {
+                accessor.accept( target, value );
+            }
+        };
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private static boolean isInvokable( Method method )
+    {
+        return method != null && !Modifier.isStatic( method.getModifiers() )
+            && !Modifier.isProtected( method.getModifiers() ) && !Modifier.isPrivate( method.getModifiers() );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static Function<Object, Object> compileGetter( Method method )
+        throws Throwable
+    {
+        MethodHandles.Lookup lookup = lookup( method );
+        MethodHandle handle = lookup.unreflect( method );
+
+        CallSite site = LambdaMetafactory.metafactory( lookup, "apply",
+            MethodType.methodType( Function.class ),
+            MethodType.methodType( Object.class, Object.class ),
+            handle,
+            MethodType.methodType( ClassUtils.primitiveToWrapper( method.getReturnType() ),
+                method.getDeclaringClass() ) );
+
+        return (Function<Object, Object>) site.getTarget().invoke();
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static BiConsumer<Object, Object> compileSetter( Method method )
+        throws Throwable
+    {
+        MethodHandles.Lookup lookup = lookup( method );
+        MethodHandle handle = lookup.unreflect( method );
+
+        CallSite site = LambdaMetafactory.metafactory( lookup, "accept",
+            MethodType.methodType( BiConsumer.class ),
+            MethodType.methodType( void.class, Object.class, Object.class ),
+            handle,
+            MethodType.methodType( void.class, method.getDeclaringClass(),
+                ClassUtils.primitiveToWrapper( method.getParameterTypes()[0] ) ) );
+
+        return (BiConsumer<Object, Object>) site.getTarget().invoke();
+    }
+
+    /**
+     * The lambda is defined next to the class declaring the method so that it
+     * is visible to the class loader of that class.
+     */
+    private static MethodHandles.Lookup lookup( Method method )
+        throws IllegalAccessException
+    {
+        return MethodHandles.privateLookupIn( method.getDeclaringClass(), MethodHandles.lookup() );
+    }
+
+    private static Object invoke( Method method, Object target, Object... args )
+    {
+        try
+        {
+            return method.invoke( target, args );
+        }
+        catch ( InvocationTargetException | IllegalAccessException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+}
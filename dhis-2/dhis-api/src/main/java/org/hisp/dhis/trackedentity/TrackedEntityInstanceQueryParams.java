@@ -35,6 +35,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -45,6 +46,7 @@ import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.hisp.dhis.common.AssignedUserSelectionMode;
+import org.hisp.dhis.common.CountMode;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
@@ -88,6 +90,8 @@ public class TrackedEntityInstanceQueryParams
 
     public static final String PAGER_META_KEY = "pager";
 
+    public static final String SEARCH_INDEXES_META_KEY = "searchIndexes";
+
     public static final String POTENTIAL_DUPLICATE = "potentialduplicate";
 
     public static final int DEFAULT_PAGE = 1;
@@ -239,6 +243,11 @@ public class TrackedEntityInstanceQueryParams
      */
     private boolean totalPages;
 
+    /**
+     * Indicates how the total number of matches is counted.
+     */
+    private CountMode countMode = CountMode.EXACT;
+
     /**
      * Indicates whether paging should be skipped.
      */
@@ -291,6 +300,11 @@ public class TrackedEntityInstanceQueryParams
      */
     private transient User user;
 
+    /**
+     * Names of the attribute search indexes the query was planned to use.
+     */
+    private transient Set<String> searchIndexes = new LinkedHashSet<>();
+
     // -------------------------------------------------------------------------
     // Constructors
     // -------------------------------------------------------------------------
@@ -861,6 +875,7 @@ public class TrackedEntityInstanceQueryParams
             .add( "page", page )
             .add( "pageSize", pageSize )
             .add( "totalPages", totalPages )
+            .add( "countMode", countMode )
             .add( "skipPaging", skipPaging )
             .add( "includeDeleted", includeDeleted )
             .add( "includeAllAttributes", includeAllAttributes )
@@ -1141,6 +1156,17 @@ public class TrackedEntityInstanceQueryParams
         return this;
     }
 
+    public CountMode getCountMode()
+    {
+        return countMode;
+    }
+
+    public TrackedEntityInstanceQueryParams setCountMode( CountMode countMode )
+    {
+        this.countMode = countMode;
+        return this;
+    }
+
     public boolean isSkipPaging()
     {
         return skipPaging;
@@ -1229,6 +1255,17 @@ public class TrackedEntityInstanceQueryParams
         return this;
     }
 
+    public Set<String> getSearchIndexes()
+    {
+        return searchIndexes;
+    }
+
+    public TrackedEntityInstanceQueryParams addSearchIndex( String searchIndex )
+    {
+        this.searchIndexes.add( searchIndex );
+        return this;
+    }
+
     public List<OrderParam> getOrders()
     {
         return orders;
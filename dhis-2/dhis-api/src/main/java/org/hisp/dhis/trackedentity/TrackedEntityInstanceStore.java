@@ -31,6 +31,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.hisp.dhis.common.IdentifiableObjectStore;
 import org.hisp.dhis.dxf2.events.event.EventContext;
@@ -52,6 +53,17 @@ public interface TrackedEntityInstanceStore
 
     int getTrackedEntityInstanceCountForGrid( TrackedEntityInstanceQueryParams params );
 
+    /**
+     * Starts counting the tracked entity instances of the given query
+     * according to its {@link org.hisp.dhis.common.CountMode}. The count query
+     * is built on the calling thread and can be executed concurrently with the
+     * fetch of a page of the same query.
+     *
+     * @param params the query params.
+     * @return a future of the count.
+     */
+    CompletableFuture<Integer> getTrackedEntityInstanceCountForGridAsync( TrackedEntityInstanceQueryParams params );
+
     /**
      * Checks for the existence of a TEI by UID. Deleted TEIs are not taken into
      * account.
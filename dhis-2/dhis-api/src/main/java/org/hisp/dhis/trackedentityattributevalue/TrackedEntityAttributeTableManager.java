@@ -28,6 +28,7 @@
 package org.hisp.dhis.trackedentityattributevalue;
 
 import java.util.List;
+import java.util.Set;
 
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 
@@ -44,4 +45,22 @@ public interface TrackedEntityAttributeTableManager
     void dropTrigramIndex( Long trackedEntityAttributeId );
 
     List<Long> getAttributeIdsWithTrigramIndex();
+
+    /**
+     * Returns the ids of the attributes with a valid (completely built)
+     * trigram index, which searches can use. The result is cached for a short
+     * time and refreshed whenever this node creates or drops an index.
+     *
+     * @return the ids of attributes with a usable trigram index.
+     */
+    Set<Long> getSearchableTrigramIndexedAttributeIds();
+
+    /**
+     * @param trackedEntityAttributeId the attribute id.
+     * @return the name of the trigram index of the attribute.
+     */
+    static String getTrigramIndexName( long trackedEntityAttributeId )
+    {
+        return "in_gin_teavalue_" + trackedEntityAttributeId;
+    }
 }
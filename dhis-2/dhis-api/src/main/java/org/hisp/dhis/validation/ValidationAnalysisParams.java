@@ -73,6 +73,8 @@ public final class ValidationAnalysisParams
 
     private boolean persistResults = false;
 
+    private boolean streamResults = false;
+
     private int dayInPeriod = -1;
 
     /**
@@ -146,6 +148,17 @@ public final class ValidationAnalysisParams
         return persistResults;
     }
 
+    /**
+     * Gets whether or not results should be persisted in batches while the
+     * analysis is running, instead of being returned at the end.
+     *
+     * @return true if results should be streamed, false if not.
+     */
+    public boolean isStreamResults()
+    {
+        return streamResults;
+    }
+
     /**
      * Gets which day of a period the analysis should be run for. If a
      * validation rule is utilizing sliding windows, this property will decide
@@ -239,6 +252,23 @@ public final class ValidationAnalysisParams
             return this;
         }
 
+        /**
+         * If set to true and results are persisted, results will be persisted
+         * in batches while the analysis is running, and will not be returned
+         * from the analysis. Notifications are sent for the persisted results
+         * once the analysis is complete. This bounds the memory used by
+         * analyses with many results.
+         *
+         * @param streamResults true if results should be streamed, false if
+         *        not.
+         * @return the updated builder object
+         */
+        public Builder withStreamResults( boolean streamResults )
+        {
+            this.params.streamResults = streamResults;
+            return this;
+        }
+
         /**
          * Decides the position of the sliding window, for rules that utilizes
          * this feature. -1 means disabled, and integers bigger than the period
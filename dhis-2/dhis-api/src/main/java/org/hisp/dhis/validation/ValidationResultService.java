@@ -48,6 +48,16 @@ public interface ValidationResultService
      */
     void saveValidationResults( Collection<ValidationResult> validationResults );
 
+    /**
+     * Saves a set of ValidationResults whose validation rule, organisation
+     * unit, period and attribute option combo were loaded in another session.
+     * These are reloaded into the current session before the results are
+     * saved.
+     *
+     * @param validationResults a collection of validation results.
+     */
+    void reloadAndSaveValidationResults( Collection<ValidationResult> validationResults );
+
     /**
      * Returns a list of all existing ValidationResults.
      *
@@ -93,6 +103,14 @@ public interface ValidationResultService
      */
     ValidationResult getById( long id );
 
+    /**
+     * Returns the ValidationResults with the given ids.
+     *
+     * @param ids the validation result identifiers.
+     * @return a list of validation results.
+     */
+    List<ValidationResult> getByIds( Collection<Long> ids );
+
     List<ValidationResult> getValidationResults( ValidationResultQuery query )
         throws IllegalQueryException;
 
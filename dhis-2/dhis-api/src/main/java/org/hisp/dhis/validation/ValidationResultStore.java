@@ -45,6 +45,8 @@ public interface ValidationResultStore
 
     ValidationResult getById( long id );
 
+    List<ValidationResult> getByIds( Collection<Long> ids );
+
     List<ValidationResult> query( ValidationResultQuery query );
 
     int count( ValidationResultQuery query );
@@ -41,4 +41,6 @@ public interface ValidationNotificationService
     Set<ValidationResult> sendNotifications( Collection<ValidationResult> results, JobProgress progress );
 
     void sendUnsentNotifications( JobProgress progress );
+
+    void sendUnsentNotifications( Collection<Long> validationResultIds, JobProgress progress );
 }
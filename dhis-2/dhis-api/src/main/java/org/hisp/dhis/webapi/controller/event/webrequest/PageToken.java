@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller.event.webrequest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.common.IllegalQueryException;
+
+/**
+ * Encodes keyset paging cursors into opaque page tokens and back. Clients pass
+ * the token of the previous page to read the next one, they must not rely on
+ * its content.
+ */
+public final class PageToken
+{
+    private static final String ID_PREFIX = "id:";
+
+    private PageToken()
+    {
+    }
+
+    /**
+     * Encodes the given keyset cursor.
+     *
+     * @param idAfter the id after which the next page starts, can be null
+     * @return the page token, or null if the given cursor is null
+     */
+    public static String encode( Long idAfter )
+    {
+        if ( idAfter == null )
+        {
+            return null;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString( (ID_PREFIX + idAfter).getBytes( UTF_8 ) );
+    }
+
+    /**
+     * Decodes the given page token.
+     *
+     * @param pageToken the page token, can be null or empty
+     * @return the id after which the page starts, or null if no token is
+     *         given
+     * @throws IllegalQueryException if the token is not a valid page token
+     */
+    public static Long decode( String pageToken )
+    {
+        if ( StringUtils.isEmpty( pageToken ) )
+        {
+            return null;
+        }
+
+        try
+        {
+            String value = new String( Base64.getUrlDecoder().decode( pageToken ), UTF_8 );
+
+            if ( value.startsWith( ID_PREFIX ) )
+            {
+                return Long.valueOf( value.substring( ID_PREFIX.length() ) );
+            }
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // fall through, token is not valid base64 or not a number
+        }
+
+        throw new IllegalQueryException( "Page token is invalid: " + pageToken );
+    }
+}
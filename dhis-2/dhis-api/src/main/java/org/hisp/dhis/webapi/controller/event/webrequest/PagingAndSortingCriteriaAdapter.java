@@ -43,6 +43,7 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.hisp.dhis.common.CountMode;
 
 /**
  * simplest implementation of PagingCriteria and SortingCriteria
@@ -71,6 +72,12 @@ public abstract class PagingAndSortingCriteriaAdapter implements PagingCriteria,
      */
     private boolean totalPages;
 
+    /**
+     * Indicates how the total number of matches is counted when total pages
+     * are requested.
+     */
+    private CountMode countMode = CountMode.EXACT;
+
     /**
      * Indicates whether paging should be skipped.
      */
@@ -101,6 +101,13 @@ public class PagingWrapper<T>
         @JsonProperty
         private String prevPage;
 
+        /**
+         * Token to request the next page with when paging with a keyset
+         * cursor, see {@link PageToken}.
+         */
+        @JsonProperty
+        private String nextPageToken;
+
         public static Pager fromLegacy( PagingCriteria pagingCriteria, org.hisp.dhis.common.Pager pager )
         {
             return Pager.builder()
@@ -37,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
+import java.util.Set;
 
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.dataelement.DataElement;
@@ -91,6 +92,18 @@ class PreheatTest
         assertTrue( preheat.isEmpty( PreheatIdentifier.CODE, DataElement.class ) );
     }
 
+    @Test
+    void testGetAllObjects()
+    {
+        User user = new User();
+        user.setAutoFields();
+        preheat.setUser( user );
+        preheat.put( PreheatIdentifier.UID, asList( de1, de2 ) );
+        preheat.put( PreheatIdentifier.CODE, asList( de2, de3 ) );
+        assertEquals( Set.of( de1, de2, de3, user ), Set.copyOf( preheat.getAllObjects() ) );
+        assertEquals( 4, preheat.getAllObjects().size() );
+    }
+
     @Test
     void testGet_Null()
     {
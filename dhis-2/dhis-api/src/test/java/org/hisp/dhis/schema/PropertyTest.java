@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hisp.dhis.common.BaseIdentifiableObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.junit.jupiter.api.Test;
+
+class PropertyTest
+{
+    @Test
+    void testGetAndSetValue()
+        throws Exception
+    {
+        Property property = new Property( String.class, BaseIdentifiableObject.class.getMethod( "getCode" ),
+            BaseIdentifiableObject.class.getMethod( "setCode", String.class ) );
+        DataElement dataElement = new DataElement();
+
+        property.setValue( dataElement, "DE_CODE" );
+
+        assertEquals( "DE_CODE", dataElement.getCode() );
+        assertEquals( "DE_CODE", property.getValue( dataElement ) );
+    }
+
+    @Test
+    void testGetAndSetPrimitiveValue()
+        throws Exception
+    {
+        Property property = new Property( boolean.class, DataElement.class.getMethod( "isZeroIsSignificant" ),
+            DataElement.class.getMethod( "setZeroIsSignificant", boolean.class ) );
+        DataElement dataElement = new DataElement();
+
+        property.setValue( dataElement, true );
+
+        assertTrue( dataElement.isZeroIsSignificant() );
+        assertEquals( Boolean.TRUE, property.getValue( dataElement ) );
+    }
+
+    @Test
+    void testNullTargetAndMissingMethods()
+        throws Exception
+    {
+        Property property = new Property( String.class, BaseIdentifiableObject.class.getMethod( "getCode" ), null );
+        DataElement dataElement = new DataElement();
+        dataElement.setCode( "DE_CODE" );
+
+        property.setValue( dataElement, "OTHER" );
+
+        assertNull( property.getValue( null ) );
+        assertEquals( "DE_CODE", property.getValue( dataElement ) );
+        assertNull( new Property( String.class ).getValue( dataElement ) );
+    }
+
+    @Test
+    void testFallbackForInaccessibleClass()
+        throws Exception
+    {
+        Property property = new Property( int.class, ArrayList.class.getMethod( "size" ), null );
+        List<String> list = new ArrayList<>( List.of( "a", "b" ) );
+
+        assertEquals( 2, (int) property.getValue( list ) );
+    }
+
+    @Test
+    void testGetterIsReplaced()
+        throws Exception
+    {
+        Property property = new Property( String.class, BaseIdentifiableObject.class.getMethod( "getCode" ), null );
+        DataElement dataElement = new DataElement();
+        dataElement.setCode( "DE_CODE" );
+        dataElement.setName( "DE_NAME" );
+
+        assertEquals( "DE_CODE", property.getValue( dataElement ) );
+
+        property.setGetterMethod( BaseIdentifiableObject.class.getMethod( "getName" ) );
+
+        assertEquals( "DE_NAME", property.getValue( dataElement ) );
+    }
+}
@@ -31,9 +31,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.springframework.util.CollectionUtils.containsAny;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.category.CategoryOptionCombo;
@@ -48,7 +48,6 @@ import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.security.AuthorityType;
 import org.hisp.dhis.security.acl.AccessStringHelper.Permission;
 import org.hisp.dhis.user.User;
-import org.hisp.dhis.user.UserGroup;
 import org.hisp.dhis.user.sharing.Sharing;
 import org.hisp.dhis.user.sharing.UserAccess;
 import org.hisp.dhis.user.sharing.UserGroupAccess;
@@ -68,6 +67,8 @@ public class DefaultAclService implements AclService
 
     private final SchemaService schemaService;
 
+    private final UserGroupAccessIndex userGroupAccessIndex = new UserGroupAccessIndex();
+
     public DefaultAclService( SchemaService schemaService )
     {
         checkNotNull( schemaService );
@@ -764,14 +765,23 @@ public class DefaultAclService implements AclService
 
         if ( sharing.getUserGroups() != null && !CollectionUtils.isEmpty( user.getGroups() ) )
         {
+            BitSet membership = null;
+
             for ( UserGroupAccess userGroupAccess : sharing.getUserGroups().values() )
             {
                 // Check if user is allowed to read this object through group
                 // access
-                if ( AccessStringHelper.isEnabled( userGroupAccess.getAccess(), permission )
-                    && hasUserGroupAccess( user.getGroups(), userGroupAccess.getId() ) )
+                if ( AccessStringHelper.isEnabled( userGroupAccess.getAccess(), permission ) )
                 {
-                    return true;
+                    if ( membership == null )
+                    {
+                        membership = userGroupAccessIndex.getMembership( user );
+                    }
+
+                    if ( userGroupAccessIndex.isMember( membership, userGroupAccess.getId() ) )
+                    {
+                        return true;
+                    }
                 }
             }
         }
@@ -837,17 +847,4 @@ public class DefaultAclService implements AclService
         return checkSharingAccess( user, object, objType ) &&
             (checkUser( user, object ) || checkSharingPermission( user, object, Permission.WRITE ));
     }
-
-    private boolean hasUserGroupAccess( Set<UserGroup> userGroups, String userGroupUid )
-    {
-        for ( UserGroup group : userGroups )
-        {
-            if ( group.getUid().equals( userGroupUid ) )
-            {
-                return true;
-            }
-        }
-
-        return false;
-    }
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.acl;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.collection.internal.AbstractPersistentCollection;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserGroup;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Interns user group UIDs as dense int ids and keeps the user group membership
+ * of users as a {@link BitSet} of these ids. Checking if a user is a member of
+ * a user group given in the sharing of an object is then a map lookup and a
+ * bit test, instead of a scan over all the groups of the user.
+ * <p>
+ * The membership of a user is cached by user instance as long as the groups
+ * of the user are a persistent collection attached to a session. It is reused
+ * while that collection has no pending changes and still has the snapshot
+ * Hibernate took when the membership was built. Any change to the groups
+ * marks the collection dirty until it is flushed, and a flush of a changed
+ * collection replaces its snapshot, so a reused membership always matches the
+ * current groups. Memberships of other group collections are built on every
+ * use.
+ */
+final class UserGroupAccessIndex
+{
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private final Cache<User, Membership> memberships = CacheBuilder.newBuilder()
+        .weakKeys()
+        .expireAfterAccess( 10, TimeUnit.MINUTES )
+        .maximumSize( 10_000 )
+        .build();
+
+    /**
+     * Checks if the given user is a member of the user group with the given
+     * UID.
+     *
+     * @param user the user.
+     * @param userGroupUid the user group UID.
+     * @return true if the user is a member of the user group.
+     */
+    boolean isMember( User user, String userGroupUid )
+    {
+        return isMember( getMembership( user ), userGroupUid );
+    }
+
+    /**
+     * Checks if the given membership contains the user group with the given
+     * UID.
+     *
+     * @param membership the membership, see {@link #getMembership(User)}.
+     * @param userGroupUid the user group UID.
+     * @return true if the membership contains the user group.
+     */
+    boolean isMember( BitSet membership, String userGroupUid )
+    {
+        Integer id = userGroupUid == null ? null : ids.get( userGroupUid );
+
+        return id != null && membership.get( id );
+    }
+
+    /**
+     * Returns the user group membership of the given user as a {@link BitSet}
+     * of interned user group ids. The returned set must not be modified.
+     *
+     * @param user the user.
+     * @return the user group membership of the user.
+     */
+    BitSet getMembership( User user )
+    {
+        Set<UserGroup> groups = user.getGroups();
+
+        if ( groups == null || groups.isEmpty() )
+        {
+            return new BitSet();
+        }
+
+        Serializable snapshot = getSnapshot( groups );
+        Membership membership = snapshot == null ? null : memberships.getIfPresent( user );
+
+        if ( membership != null && membership.isBuiltFrom( groups, snapshot ) )
+        {
+            return membership.groups;
+        }
+
+        BitSet bits = toBitSet( groups );
+
+        // read again, as reading the groups initializes a lazy collection
+        snapshot = getSnapshot( groups );
+
+        if ( snapshot != null )
+        {
+            memberships.put( user, new Membership( groups, snapshot, bits ) );
+        }
+
+        return bits;
+    }
+
+    private BitSet toBitSet( Set<UserGroup> groups )
+    {
+        BitSet bits = new BitSet();
+
+        for ( UserGroup group : groups )
+        {
+            if ( group.getUid() != null )
+            {
+                bits.set( ids.computeIfAbsent( group.getUid(), uid -> nextId.getAndIncrement() ) );
+            }
+        }
+
+        return bits;
+    }
+
+    /**
+     * Returns the snapshot Hibernate keeps of the given groups, or null if the
+     * groups are not a persistent collection attached to a session or have
+     * changes which are not flushed yet.
+     */
+    private static Serializable getSnapshot( Set<UserGroup> groups )
+    {
+        if ( !(groups instanceof AbstractPersistentCollection) )
+        {
+            return null;
+        }
+
+        AbstractPersistentCollection collection = (AbstractPersistentCollection) groups;
+
+        if ( collection.getSession() == null || collection.isDirty() )
+        {
+            return null;
+        }
+
+        try
+        {
+            return collection.getStoredSnapshot();
+        }
+        catch ( HibernateException ex )
+        {
+            // evicted from the session
+            return null;
+        }
+    }
+
+    private static final class Membership
+    {
+        /**
+         * Weak, as a persistent group collection and its snapshot reference
+         * the user, which would otherwise keep the weak cache key reachable.
+         */
+        private final WeakReference<Set<UserGroup>> source;
+
+        private final WeakReference<Serializable> snapshot;
+
+        private final BitSet groups;
+
+        private Membership( Set<UserGroup> source, Serializable snapshot, BitSet groups )
+        {
+            this.source = new WeakReference<>( source );
+            this.snapshot = new WeakReference<>( snapshot );
+            this.groups = groups;
+        }
+
+        private boolean isBuiltFrom( Set<UserGroup> groups, Serializable snapshot )
+        {
+            return source.get() == groups && this.snapshot.get() == snapshot;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.acl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.collection.internal.PersistentSet;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserGroupAccessIndexTest
+{
+    private final UserGroupAccessIndex index = new UserGroupAccessIndex();
+
+    private final AtomicReference<Serializable> snapshot = new AtomicReference<>( new HashMap<>() );
+
+    private SharedSessionContractImplementor session;
+
+    @BeforeEach
+    void setUp()
+    {
+        PersistenceContext persistenceContext = mock( PersistenceContext.class );
+        when( persistenceContext.getSnapshot( any() ) ).then( invocation -> snapshot.get() );
+
+        session = mock( SharedSessionContractImplementor.class );
+        when( session.getPersistenceContext() ).thenReturn( persistenceContext );
+        when( session.getPersistenceContextInternal() ).thenReturn( persistenceContext );
+    }
+
+    @Test
+    void testIsMember()
+    {
+        User user = createUser( "ugA", "ugB" );
+        createUser( "ugC" );
+
+        assertTrue( index.isMember( user, "ugA" ) );
+        assertTrue( index.isMember( user, "ugB" ) );
+        assertFalse( index.isMember( user, "ugC" ) );
+        assertFalse( index.isMember( user, "ugUnknown" ) );
+        assertFalse( index.isMember( user, null ) );
+    }
+
+    @Test
+    void testIsMemberWithoutGroups()
+    {
+        User user = new User();
+
+        assertFalse( index.isMember( user, "ugA" ) );
+
+        user.setGroups( new HashSet<>() );
+
+        assertFalse( index.isMember( user, "ugA" ) );
+    }
+
+    @Test
+    void testMembershipIsCachedForPersistentGroups()
+    {
+        User user = createPersistentUser( "ugA", "ugB" );
+
+        assertSame( index.getMembership( user ), index.getMembership( user ) );
+    }
+
+    @Test
+    void testMembershipIsNotCachedForOtherGroups()
+    {
+        User user = createUser( "ugA", "ugB" );
+
+        assertNotSame( index.getMembership( user ), index.getMembership( user ) );
+    }
+
+    @Test
+    void testMembershipFollowsGroupChanges()
+    {
+        User user = createUser( "ugA" );
+
+        assertTrue( index.isMember( user, "ugA" ) );
+        assertFalse( index.isMember( user, "ugB" ) );
+
+        user.getGroups().clear();
+        user.getGroups().add( createUserGroup( "ugB" ) );
+
+        assertFalse( index.isMember( user, "ugA" ) );
+        assertTrue( index.isMember( user, "ugB" ) );
+    }
+
+    @Test
+    void testMembershipFollowsUnflushedChangesOfPersistentGroups()
+    {
+        User user = createPersistentUser( "ugA" );
+
+        assertTrue( index.isMember( user, "ugA" ) );
+
+        user.getGroups().clear();
+        user.getGroups().add( createUserGroup( "ugB" ) );
+
+        assertFalse( index.isMember( user, "ugA" ) );
+        assertTrue( index.isMember( user, "ugB" ) );
+    }
+
+    @Test
+    void testMembershipFollowsFlushedChangesOfPersistentGroups()
+    {
+        User user = createPersistentUser( "ugA" );
+        BitSet membership = index.getMembership( user );
+
+        assertTrue( index.isMember( membership, "ugA" ) );
+
+        // same instance and size, changes flushed before the next check
+        user.getGroups().clear();
+        user.getGroups().add( createUserGroup( "ugB" ) );
+        flush( user );
+
+        assertFalse( index.isMember( user, "ugA" ) );
+        assertTrue( index.isMember( user, "ugB" ) );
+        assertNotSame( membership, index.getMembership( user ) );
+    }
+
+    @Test
+    void testMembershipIsRebuiltWhenGroupsAreReplaced()
+    {
+        User user = createPersistentUser( "ugA" );
+
+        assertTrue( index.isMember( user, "ugA" ) );
+
+        user.setGroups( new PersistentSet( session, createGroups( "ugB" ) ) );
+
+        assertFalse( index.isMember( user, "ugA" ) );
+        assertTrue( index.isMember( user, "ugB" ) );
+    }
+
+    private void flush( User user )
+    {
+        ((PersistentSet) user.getGroups()).clearDirty();
+        snapshot.set( new HashMap<>() );
+    }
+
+    private User createPersistentUser( String... userGroupUids )
+    {
+        User user = new User();
+        user.setGroups( new PersistentSet( session, createGroups( userGroupUids ) ) );
+
+        return user;
+    }
+
+    private User createUser( String... userGroupUids )
+    {
+        User user = new User();
+        user.setGroups( createGroups( userGroupUids ) );
+
+        return user;
+    }
+
+    private Set<UserGroup> createGroups( String... userGroupUids )
+    {
+        Set<UserGroup> groups = new HashSet<>();
+
+        for ( String uid : userGroupUids )
+        {
+            groups.add( createUserGroup( uid ) );
+        }
+
+        return groups;
+    }
+
+    private UserGroup createUserGroup( String uid )
+    {
+        UserGroup userGroup = new UserGroup();
+        userGroup.setUid( uid );
+        userGroup.setName( uid );
+
+        return userGroup;
+    }
+}
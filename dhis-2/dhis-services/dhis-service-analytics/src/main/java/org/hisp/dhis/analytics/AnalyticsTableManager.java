@@ -90,6 +90,44 @@ public interface AnalyticsTableManager
         // NOOP by default
     }
 
+    /**
+     * Indicates whether this manager supports incremental update of analytics
+     * table partitions, see
+     * {@link AnalyticsTableUpdateParams#isIncrementalUpdate()}.
+     */
+    default boolean isIncrementalUpdateSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Indicates whether the columns of the existing analytics tables which
+     * would be updated incrementally differ from the current table definition,
+     * in which case changed data cannot be merged into the existing partitions
+     * and a regular update is required.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     */
+    default boolean isTableStructureChanged( AnalyticsTableUpdateParams params )
+    {
+        return false;
+    }
+
+    /**
+     * Merges the given temporary table partition, populated with data created
+     * or updated since the watermark of the partition, into the existing table
+     * partition. Rows of data which was updated or deleted since the watermark
+     * are removed first. Advances the watermark of the partition to the end
+     * date of the partition.
+     *
+     * @param partition the {@link AnalyticsTablePartition}.
+     */
+    default void mergeIncrementalTablePartition( AnalyticsTablePartition partition )
+    {
+        throw new UnsupportedOperationException(
+            "Incremental update is not supported for table type: " + getAnalyticsTableType() );
+    }
+
     /**
      * Attempts to drop and then create analytics table.
      *
@@ -135,6 +173,14 @@ public interface AnalyticsTableManager
      */
     int invokeAnalyticsTableSqlHooks();
 
+    /**
+     * Indicates whether analytics table SQL hooks exist for the table type.
+     * Such hooks must be invoked after all partitions are populated.
+     *
+     * @return true if analytics table SQL hooks exist.
+     */
+    boolean hasAnalyticsTableSqlHooks();
+
     /**
      * Drops the given {@link AnalyticsTable}.
      *
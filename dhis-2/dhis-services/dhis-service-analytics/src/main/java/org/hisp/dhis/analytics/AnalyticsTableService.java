@@ -52,6 +52,16 @@ public interface AnalyticsTableService
      */
     void update( AnalyticsTableUpdateParams params, JobProgress progress );
 
+    /**
+     * Indicates whether an incremental update of the analytics tables cannot
+     * be applied, as the structure of the existing tables differs from the
+     * current table definition.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     * @return true if a regular update is required.
+     */
+    boolean requiresFullUpdate( AnalyticsTableUpdateParams params );
+
     /**
      * Drops main and temporary analytics tables.
      */
@@ -39,6 +39,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.system.grid.CopyOnWriteGrid;
 import org.springframework.stereotype.Component;
 
 /**
@@ -66,9 +67,17 @@ public class AnalyticsCache
         this.queryCache = cacheProvider.createAnalyticsCache();
     }
 
+    /**
+     * Returns the Grid cached for the given key, if any. The returned Grid is a
+     * copy-on-write view of the cached Grid, which means that the cached Grid
+     * is only copied if the consumer modifies the returned Grid.
+     *
+     * @param key the cache key.
+     * @return an optional Grid.
+     */
     public Optional<Grid> get( final String key )
     {
-        return getGridClone( queryCache.get( key ) );
+        return queryCache.get( key ).map( CopyOnWriteGrid::new );
     }
 
     /**
@@ -92,7 +101,7 @@ public class AnalyticsCache
 
         if ( cachedGrid.isPresent() )
         {
-            return getGridClone( cachedGrid.get() );
+            return cachedGrid.get();
         }
         else
         {
@@ -100,7 +109,7 @@ public class AnalyticsCache
 
             put( params, grid );
 
-            return getGridClone( grid );
+            return grid;
         }
     }
 
@@ -131,7 +140,8 @@ public class AnalyticsCache
 
     /**
      * Will cache the given key/Grid pair respecting the TTL provided through
-     * the parameter "ttlInSeconds".
+     * the parameter "ttlInSeconds". A copy of the given Grid is cached, so that
+     * the caller can keep modifying the given Grid.
      *
      * @param key the cache key associate with the Grid.
      * @param grid the Grid object to be cached.
@@ -139,7 +149,7 @@ public class AnalyticsCache
      */
     public void put( final String key, final Grid grid, final long ttlInSeconds )
     {
-        queryCache.put( key, getGridClone( grid ), ttlInSeconds );
+        queryCache.put( key, SerializationUtils.clone( grid ), ttlInSeconds );
     }
 
     /**
@@ -156,19 +166,4 @@ public class AnalyticsCache
     {
         return analyticsCacheSettings.isCachingEnabled();
     }
-
-    private Grid getGridClone( Grid grid )
-    {
-        if ( grid != null )
-        {
-            return SerializationUtils.clone( grid );
-        }
-
-        return null;
-    }
-
-    private Optional<Grid> getGridClone( Optional<Grid> grid )
-    {
-        return grid.map( SerializationUtils::clone );
-    }
 }
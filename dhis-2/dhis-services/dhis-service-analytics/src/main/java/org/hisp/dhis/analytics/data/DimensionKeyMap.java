@@ -0,0 +1,673 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.common.DimensionalObject.DIMENSION_SEP;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact mapping between a dimension key and an aggregated value, used to
+ * hold the results of analytics queries. The dimension key is a concatenation
+ * of the identifiers of the dimension items separated by "-", as for the
+ * plain maps used elsewhere in analytics.
+ * <p>
+ * Dimension item identifiers are interned into integer codes. Keys are stored
+ * as packed sequences of codes in a single int array and numeric values are
+ * stored in a primitive double array. Concatenated keys and boxed values are
+ * only created when the map is read through the {@link Map} interface, and the
+ * dimension items can be read without concatenation through
+ * {@link #forEachItems(BiConsumer)}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class DimensionKeyMap
+    extends AbstractMap<String, Object>
+{
+    private static final char SEP = DIMENSION_SEP.charAt( 0 );
+
+    /**
+     * Marker for entries which hold a numeric value in {@link #numbers}.
+     */
+    private static final Object NUMBER = new Object();
+
+    private static final int REMOVED = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Mapping between dimension item identifiers and codes.
+     */
+    private final Map<String, Integer> itemCodes = new HashMap<>();
+
+    /**
+     * Dimension item identifiers indexed by code.
+     */
+    private final List<String> items = new ArrayList<>();
+
+    /**
+     * Packed key codes of all entries.
+     */
+    private int[] codes = new int[INITIAL_CAPACITY * 4];
+
+    private int codesSize = 0;
+
+    /**
+     * Offset of the key of each entry in {@link #codes}.
+     */
+    private int[] offsets = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of dimension items of the key of each entry, or {@link #REMOVED}
+     * for removed entries.
+     */
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    private int[] hashes = new int[INITIAL_CAPACITY];
+
+    private double[] numbers = new double[INITIAL_CAPACITY];
+
+    /**
+     * Non-numeric values, allocated when the first non-numeric value is put.
+     */
+    private Object[] objects;
+
+    /**
+     * Number of entries including removed entries.
+     */
+    private int entries = 0;
+
+    private int size = 0;
+
+    /**
+     * Open addressing hash table of entry index plus one, where 0 denotes an
+     * empty slot. The length is always a power of two.
+     */
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    /**
+     * Scratch buffer for key codes.
+     */
+    private int[] buffer = new int[8];
+
+    // -------------------------------------------------------------------------
+    // Dimension item operations
+    // -------------------------------------------------------------------------
+
+    /**
+     * Associates the key made of the given dimension items with the given
+     * numeric value. The items array is not retained and can be reused by the
+     * caller.
+     *
+     * @param keyItems the dimension item identifiers.
+     * @param value the numeric value.
+     */
+    public void putItems( String[] keyItems, double value )
+    {
+        int entry = insert( encode( keyItems ), keyItems.length );
+
+        numbers[entry] = value;
+
+        if ( objects != null )
+        {
+            objects[entry] = NUMBER;
+        }
+    }
+
+    /**
+     * Associates the key made of the given dimension items with the given
+     * value. The items array is not retained and can be reused by the caller.
+     *
+     * @param keyItems the dimension item identifiers.
+     * @param value the value.
+     */
+    public void putItems( String[] keyItems, Object value )
+    {
+        setValue( insert( encode( keyItems ), keyItems.length ), value );
+    }
+
+    /**
+     * Performs the given action for each entry, with the dimension items of the
+     * key as first argument. The dimension item identifiers are shared
+     * instances, only the array holding them is allocated per entry.
+     *
+     * @param action the action.
+     */
+    public void forEachItems( BiConsumer<String[], Object> action )
+    {
+        for ( int entry = 0; entry < entries; entry++ )
+        {
+            if ( lengths[entry] != REMOVED )
+            {
+                action.accept( getItems( entry ), getValue( entry ) );
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Map implementation
+    // -------------------------------------------------------------------------
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey( Object key )
+    {
+        return find( key ) != -1;
+    }
+
+    @Override
+    public Object get( Object key )
+    {
+        int entry = find( key );
+
+        return entry != -1 ? getValue( entry ) : null;
+    }
+
+    @Override
+    public Object put( String key, Object value )
+    {
+        int length = encode( key );
+        int entry = find( buffer, length );
+        Object previous = entry != -1 ? getValue( entry ) : null;
+
+        setValue( entry != -1 ? entry : insert( buffer, length ), value );
+
+        return previous;
+    }
+
+    @Override
+    public void putAll( Map<? extends String, ?> map )
+    {
+        if ( map instanceof DimensionKeyMap )
+        {
+            putAll( (DimensionKeyMap) map );
+        }
+        else
+        {
+            super.putAll( map );
+        }
+    }
+
+    @Override
+    public Object remove( Object key )
+    {
+        int entry = find( key );
+
+        if ( entry == -1 )
+        {
+            return null;
+        }
+
+        Object previous = getValue( entry );
+
+        removeEntry( entry );
+
+        return previous;
+    }
+
+    @Override
+    public void clear()
+    {
+        itemCodes.clear();
+        items.clear();
+        Arrays.fill( table, 0 );
+        objects = null;
+        codesSize = 0;
+        entries = 0;
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet()
+    {
+        return new AbstractSet<>()
+        {
+            @Override
+            public Iterator<Entry<String, Object>> iterator()
+            {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Merges the given map by translating its item codes, which avoids
+     * decoding its keys.
+     */
+    private void putAll( DimensionKeyMap map )
+    {
+        int[] translation = new int[map.items.size()];
+
+        for ( int i = 0; i < translation.length; i++ )
+        {
+            translation[i] = getOrAddCode( map.items.get( i ) );
+        }
+
+        for ( int entry = 0; entry < map.entries; entry++ )
+        {
+            int length = map.lengths[entry];
+
+            if ( length != REMOVED )
+            {
+                int[] keyCodes = ensureBuffer( length );
+
+                for ( int i = 0; i < length; i++ )
+                {
+                    keyCodes[i] = translation[map.codes[map.offsets[entry] + i]];
+                }
+
+                int target = insert( keyCodes, length );
+
+                if ( map.objects == null || map.objects[entry] == NUMBER )
+                {
+                    numbers[target] = map.numbers[entry];
+
+                    if ( objects != null )
+                    {
+                        objects[target] = NUMBER;
+                    }
+                }
+                else
+                {
+                    setValue( target, map.objects[entry] );
+                }
+            }
+        }
+    }
+
+    private int getOrAddCode( String item )
+    {
+        Integer code = itemCodes.get( item );
+
+        if ( code == null )
+        {
+            code = items.size();
+            itemCodes.put( item, code );
+            items.add( item );
+        }
+
+        return code;
+    }
+
+    /**
+     * Encodes the given dimension items into the scratch buffer, adding
+     * unknown items to the dictionary.
+     */
+    private int[] encode( String[] keyItems )
+    {
+        int[] keyCodes = ensureBuffer( keyItems.length );
+
+        for ( int i = 0; i < keyItems.length; i++ )
+        {
+            keyCodes[i] = getOrAddCode( keyItems[i] );
+        }
+
+        return keyCodes;
+    }
+
+    /**
+     * Encodes the given key into the scratch buffer, adding unknown items to
+     * the dictionary.
+     *
+     * @return the number of dimension items of the key.
+     */
+    private int encode( String key )
+    {
+        int length = 0;
+        int start = 0;
+        int end;
+
+        do
+        {
+            end = key.indexOf( SEP, start );
+
+            String item = end == -1 ? key.substring( start ) : key.substring( start, end );
+
+            ensureBuffer( length + 1 )[length++] = getOrAddCode( item );
+
+            start = end + 1;
+        }
+        while ( end != -1 );
+
+        return length;
+    }
+
+    /**
+     * Returns the entry index for the given key, or -1 if not present. Does not
+     * modify the dictionary.
+     */
+    private int find( Object key )
+    {
+        if ( !(key instanceof String) || size == 0 )
+        {
+            return -1;
+        }
+
+        String keyString = (String) key;
+        int length = 0;
+        int start = 0;
+        int end;
+
+        do
+        {
+            end = keyString.indexOf( SEP, start );
+
+            Integer code = itemCodes.get( end == -1 ? keyString.substring( start )
+                : keyString.substring( start, end ) );
+
+            if ( code == null )
+            {
+                return -1;
+            }
+
+            ensureBuffer( length + 1 )[length++] = code;
+
+            start = end + 1;
+        }
+        while ( end != -1 );
+
+        return find( buffer, length );
+    }
+
+    private int find( int[] keyCodes, int length )
+    {
+        int hash = hash( keyCodes, length );
+        int mask = table.length - 1;
+
+        for ( int slot = mix( hash ) & mask; table[slot] != 0; slot = (slot + 1) & mask )
+        {
+            int entry = table[slot] - 1;
+
+            if ( hashes[entry] == hash && lengths[entry] == length
+                && Arrays.equals( codes, offsets[entry], offsets[entry] + length, keyCodes, 0, length ) )
+            {
+                return entry;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the entry index for the given key, adding an entry if not
+     * present.
+     */
+    private int insert( int[] keyCodes, int length )
+    {
+        int existing = find( keyCodes, length );
+
+        if ( existing != -1 )
+        {
+            return existing;
+        }
+
+        if ( (entries + 1) * 2 > table.length )
+        {
+            rehash();
+        }
+
+        if ( entries == offsets.length )
+        {
+            int capacity = entries * 2;
+            offsets = Arrays.copyOf( offsets, capacity );
+            lengths = Arrays.copyOf( lengths, capacity );
+            hashes = Arrays.copyOf( hashes, capacity );
+            numbers = Arrays.copyOf( numbers, capacity );
+            objects = objects != null ? Arrays.copyOf( objects, capacity ) : null;
+        }
+
+        if ( codesSize + length > codes.length )
+        {
+            codes = Arrays.copyOf( codes, Math.max( codes.length * 2, codesSize + length ) );
+        }
+
+        int entry = entries++;
+
+        System.arraycopy( keyCodes, 0, codes, codesSize, length );
+        offsets[entry] = codesSize;
+        lengths[entry] = length;
+        hashes[entry] = hash( keyCodes, length );
+        numbers[entry] = 0d;
+        codesSize += length;
+        size++;
+
+        if ( objects != null )
+        {
+            objects[entry] = null;
+        }
+
+        insertSlot( entry );
+
+        return entry;
+    }
+
+    private void insertSlot( int entry )
+    {
+        int mask = table.length - 1;
+        int slot = mix( hashes[entry] ) & mask;
+
+        while ( table[slot] != 0 )
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = entry + 1;
+    }
+
+    /**
+     * Rebuilds the hash table with a capacity fitting all entries, which also
+     * drops the slots of removed entries.
+     */
+    private void rehash()
+    {
+        int capacity = table.length;
+
+        while ( (entries + 1) * 2 > capacity )
+        {
+            capacity *= 2;
+        }
+
+        table = new int[capacity];
+
+        for ( int entry = 0; entry < entries; entry++ )
+        {
+            if ( lengths[entry] != REMOVED )
+            {
+                insertSlot( entry );
+            }
+        }
+    }
+
+    /**
+     * Marks the given entry as removed. The slot of the entry is kept as a
+     * tombstone until the next rehash so that probe sequences stay intact.
+     */
+    private void removeEntry( int entry )
+    {
+        lengths[entry] = REMOVED;
+
+        if ( objects != null )
+        {
+            objects[entry] = null;
+        }
+
+        size--;
+    }
+
+    private void setValue( int entry, Object value )
+    {
+        if ( value instanceof Double )
+        {
+            numbers[entry] = (Double) value;
+
+            if ( objects != null )
+            {
+                objects[entry] = NUMBER;
+            }
+        }
+        else
+        {
+            if ( objects == null )
+            {
+                objects = new Object[numbers.length];
+                Arrays.fill( objects, 0, entries, NUMBER );
+            }
+
+            objects[entry] = value;
+        }
+    }
+
+    private Object getValue( int entry )
+    {
+        return objects == null || objects[entry] == NUMBER ? Double.valueOf( numbers[entry] ) : objects[entry];
+    }
+
+    private String[] getItems( int entry )
+    {
+        String[] keyItems = new String[lengths[entry]];
+
+        for ( int i = 0; i < keyItems.length; i++ )
+        {
+            keyItems[i] = items.get( codes[offsets[entry] + i] );
+        }
+
+        return keyItems;
+    }
+
+    private String getKey( int entry )
+    {
+        return String.join( DIMENSION_SEP, getItems( entry ) );
+    }
+
+    private int[] ensureBuffer( int length )
+    {
+        if ( buffer.length < length )
+        {
+            buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, length ) );
+        }
+
+        return buffer;
+    }
+
+    private static int hash( int[] keyCodes, int length )
+    {
+        int hash = 1;
+
+        for ( int i = 0; i < length; i++ )
+        {
+            hash = 31 * hash + keyCodes[i];
+        }
+
+        return hash;
+    }
+
+    private static int mix( int hash )
+    {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Iterator over live entries which decodes keys on demand.
+     */
+    private class EntryIterator
+        implements Iterator<Entry<String, Object>>
+    {
+        private int next = advance( 0 );
+
+        private int current = -1;
+
+        private int advance( int from )
+        {
+            int entry = from;
+
+            while ( entry < entries && lengths[entry] == REMOVED )
+            {
+                entry++;
+            }
+
+            return entry;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < entries;
+        }
+
+        @Override
+        public Entry<String, Object> next()
+        {
+            if ( !hasNext() )
+            {
+                throw new NoSuchElementException();
+            }
+
+            current = next;
+            next = advance( next + 1 );
+
+            return new SimpleImmutableEntry<>( getKey( current ), getValue( current ) );
+        }
+
+        @Override
+        public void remove()
+        {
+            if ( current == -1 || lengths[current] == REMOVED )
+            {
+                throw new IllegalStateException();
+            }
+
+            removeEntry( current );
+        }
+    }
+}
@@ -52,7 +52,6 @@ import static org.hisp.dhis.util.DateUtils.getMediumDateString;
 
 import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -687,16 +686,22 @@ public class JdbcAnalyticsManager
 
     /**
      * Retrieves data from the database based on the given query and SQL and
-     * puts into a value key and value mapping.
+     * puts into a value key and value mapping. The mapping is a compact
+     * {@link DimensionKeyMap} which avoids a concatenated key and a boxed
+     * value per row.
      */
     private Map<String, Object> getKeyValueMap( DataQueryParams params, String sql, int maxLimit )
     {
-        Map<String, Object> map = new HashMap<>();
+        DimensionKeyMap map = new DimensionKeyMap();
 
         log.debug( String.format( "Analytics SQL: %s", sql ) );
 
         SqlRowSet rowSet = jdbcTemplate.queryForRowSet( sql );
 
+        List<DimensionalObject> dimensions = params.getDimensions();
+
+        String[] keyItems = new String[dimensions.size()];
+
         int counter = 0;
 
         while ( rowSet.next() )
@@ -708,30 +713,28 @@ public class JdbcAnalyticsManager
                 throwIllegalQueryEx( ErrorCode.E7128, maxLimit );
             }
 
-            StringBuilder key = new StringBuilder();
-
-            for ( DimensionalObject dim : params.getDimensions() )
+            for ( int i = 0; i < keyItems.length; i++ )
             {
+                DimensionalObject dim = dimensions.get( i );
+
                 String value = dim.isFixed() ? dim.getDimensionName() : rowSet.getString( dim.getDimensionName() );
 
                 String queryModsId = params.getQueryModsId( dim );
 
-                key.append( value ).append( queryModsId ).append( DIMENSION_SEP );
+                keyItems[i] = queryModsId.isEmpty() ? String.valueOf( value ) : value + queryModsId;
             }
 
-            key.deleteCharAt( key.length() - 1 );
-
             if ( params.isDataType( TEXT ) )
             {
                 String value = rowSet.getString( VALUE_ID );
 
-                map.put( key.toString(), value );
+                map.putItems( keyItems, value );
             }
             else // NUMERIC
             {
-                Double value = rowSet.getDouble( VALUE_ID );
+                double value = rowSet.getDouble( VALUE_ID );
 
-                map.put( key.toString(), value );
+                map.putItems( keyItems, value );
             }
         }
 
@@ -127,6 +127,7 @@ import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.QueryValidator;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.data.DimensionKeyMap;
 import org.hisp.dhis.analytics.event.EventAnalyticsService;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.resolver.ExpressionResolver;
@@ -346,21 +347,20 @@ public class DataHandler
                 .retainDataDimension( DATA_ELEMENT )
                 .withIncludeNumDen( false ).build();
 
-            Map<String, Object> aggregatedDataMap = getAggregatedDataValueMapObjectTyped( dataSourceParams );
+            DimensionKeyMap aggregatedDataMap = getAggregatedDataValueMapObjectTyped( dataSourceParams );
 
-            for ( Map.Entry<String, Object> entry : aggregatedDataMap.entrySet() )
-            {
-                Object value = getRoundedValueObject( params, entry.getValue() );
+            aggregatedDataMap.forEachItems( ( keyItems, aggregatedValue ) -> {
+                Object value = getRoundedValueObject( params, aggregatedValue );
 
                 grid.addRow()
-                    .addValues( entry.getKey().split( DIMENSION_SEP ) )
+                    .addValues( keyItems )
                     .addValue( value );
 
                 if ( params.isIncludeNumDen() )
                 {
                     grid.addNullValues( NUMERATOR_DENOMINATOR_PROPERTIES_COUNT );
                 }
-            }
+            } );
         }
     }
 
@@ -792,7 +792,7 @@ public class DataHandler
      * @param params the {@link DataQueryParams}.
      * @return a mapping between a dimension key and the aggregated value.
      */
-    private Map<String, Object> getAggregatedDataValueMapObjectTyped( DataQueryParams params )
+    private DimensionKeyMap getAggregatedDataValueMapObjectTyped( DataQueryParams params )
     {
         return getAggregatedValueMap( params, DATA_VALUE, newArrayList() );
     }
@@ -1081,7 +1081,8 @@ public class DataHandler
     /**
      * Generates a mapping between a dimension key and the aggregated value. The
      * dimension key is a concatenation of the identifiers of the dimension
-     * items separated by "-".
+     * items separated by "-". The mapping is held in a compact
+     * {@link DimensionKeyMap}.
      *
      * @param params the {@link DataQueryParams}.
      * @param tableType the {@link AnalyticsTableType}.
@@ -1089,7 +1090,7 @@ public class DataHandler
      *        query planning, use empty list for none.
      * @return a mapping between a dimension key and aggregated values.
      */
-    private Map<String, Object> getAggregatedValueMap( DataQueryParams params, AnalyticsTableType tableType,
+    private DimensionKeyMap getAggregatedValueMap( DataQueryParams params, AnalyticsTableType tableType,
         List<Function<DataQueryParams, List<DataQueryParams>>> queryGroupers )
     {
         queryValidator.validateMaintenanceMode();
@@ -1111,7 +1112,7 @@ public class DataHandler
         timer.getSplitTime(
             "Planned analytics query, got: " + queryGroups.getLargestGroupSize() + " for optimal: " + optimalQueries );
 
-        Map<String, Object> map = new HashMap<>();
+        DimensionKeyMap map = new DimensionKeyMap();
 
         for ( List<DataQueryParams> queries : queryGroups.getSequentialQueries() )
         {
@@ -1123,7 +1124,7 @@ public class DataHandler
         return map;
     }
 
-    private void executeQueries( AnalyticsTableType tableType, int maxLimit, Map<String, Object> map,
+    private void executeQueries( AnalyticsTableType tableType, int maxLimit, DimensionKeyMap map,
         List<DataQueryParams> queries )
     {
         List<Future<Map<String, Object>>> futures = new ArrayList<>();
@@ -37,7 +37,10 @@ import static org.hisp.dhis.util.DateUtils.getLongDateString;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -109,6 +112,13 @@ public abstract class AbstractJdbcTableManager
 
     protected static final String PREFIX_ORGUNITLEVEL = "uidlevel";
 
+    /**
+     * Table holding the incremental update watermark of analytics table
+     * partitions. The watermark is the point in time up to which data changes
+     * are reflected in the partition.
+     */
+    protected static final String WATERMARK_TABLE = "_analyticstablewatermark";
+
     protected final IdentifiableObjectManager idObjectManager;
 
     protected final OrganisationUnitService organisationUnitService;
@@ -217,7 +227,66 @@ public abstract class AbstractJdbcTableManager
         if ( getPartitionColumn() != null )
         {
             table.getTablePartitions().forEach( p -> swapTable( table, p ) );
+
+            if ( isIncrementalUpdateSupported() && !params.isLatestUpdate() )
+            {
+                table.getTablePartitions().forEach( p -> saveWatermark( p.getTableName(), params.getStartTime() ) );
+            }
+        }
+    }
+
+    @Override
+    public boolean isTableStructureChanged( AnalyticsTableUpdateParams params )
+    {
+        if ( !isIncrementalUpdateSupported() )
+        {
+            return false;
+        }
+
+        for ( AnalyticsTable table : getAnalyticsTables( params ) )
+        {
+            Set<String> columns = ListUtils.union( table.getDimensionColumns(), table.getValueColumns() ).stream()
+                .map( col -> getColumnName( col.getName() ) )
+                .collect( Collectors.toSet() );
+
+            for ( AnalyticsTablePartition partition : table.getTablePartitions() )
+            {
+                Set<String> existingColumns = getExistingColumns( partition.getTableName() );
+
+                if ( !existingColumns.isEmpty() && !existingColumns.equals( columns ) )
+                {
+                    log.info( "Columns of partition: '{}' differ from table definition, regular update required",
+                        partition.getTableName() );
+
+                    return true;
+                }
+            }
         }
+
+        return false;
+    }
+
+    @Override
+    public void mergeIncrementalTablePartition( AnalyticsTablePartition partition )
+    {
+        Assert.isTrue( isIncrementalUpdateSupported(),
+            "Incremental update is not supported for table type: " + getAnalyticsTableType() );
+
+        AnalyticsTable table = partition.getMasterTable();
+
+        String columns = ListUtils.union( table.getDimensionColumns(), table.getValueColumns() ).stream()
+            .map( AnalyticsTableColumn::getName )
+            .collect( Collectors.joining( "," ) );
+
+        final String[] sqlSteps = {
+            getRemoveIncrementallyUpdatedDataSql( partition ),
+            "insert into " + partition.getTableName() + " (" + columns + ") " +
+                "select " + columns + " from " + partition.getTempTableName(),
+            getSaveWatermarkSql( partition.getTableName(), partition.getEndDate() )
+        };
+
+        invokeTimeAndLog( String.join( ";", sqlSteps ) + ";",
+            String.format( "Merged changed data into: '%s'", partition.getTableName() ) );
     }
 
     @Override
@@ -268,6 +337,13 @@ public abstract class AbstractJdbcTableManager
         return hooks.size();
     }
 
+    @Override
+    public boolean hasAnalyticsTableSqlHooks()
+    {
+        return !tableHookService.getByPhaseAndAnalyticsTableType( AnalyticsTablePhase.ANALYTICS_TABLE_POPULATED,
+            getAnalyticsTableType() ).isEmpty();
+    }
+
     // -------------------------------------------------------------------------
     // Abstract methods
     // -------------------------------------------------------------------------
@@ -304,6 +380,36 @@ public abstract class AbstractJdbcTableManager
      */
     protected abstract boolean hasUpdatedLatestData( Date startDate, Date endDate );
 
+    /**
+     * Returns the years of data which was created, updated or deleted within
+     * the given time range for the given analytics table. Must be overridden
+     * by managers which support incremental update.
+     *
+     * @param table the {@link AnalyticsTable}.
+     * @param startDate the start date.
+     * @param endDate the end date.
+     * @return a list of data years.
+     */
+    protected List<Integer> getYearsWithUpdatedData( AnalyticsTable table, Date startDate, Date endDate )
+    {
+        throw new UnsupportedOperationException(
+            "Incremental update is not supported for table type: " + getAnalyticsTableType() );
+    }
+
+    /**
+     * Returns SQL which removes rows of data which was updated or deleted
+     * within the start and end date of the given partition from the analytics
+     * table. Must be overridden by managers which support incremental update.
+     *
+     * @param partition the {@link AnalyticsTablePartition}.
+     * @return a SQL delete statement.
+     */
+    protected String getRemoveIncrementallyUpdatedDataSql( AnalyticsTablePartition partition )
+    {
+        throw new UnsupportedOperationException(
+            "Incremental update is not supported for table type: " + getAnalyticsTableType() );
+    }
+
     // -------------------------------------------------------------------------
     // Protected supportive methods
     // -------------------------------------------------------------------------
@@ -466,6 +572,88 @@ public abstract class AbstractJdbcTableManager
         return table;
     }
 
+    /**
+     * Adds a partition to the given {@link AnalyticsTable} for each existing
+     * partition with data created, updated or deleted since the watermark of
+     * the partition. The start date of each partition is the watermark of the
+     * partition. The end date of each partition is the start time of this
+     * analytics table update process. Partitions which do not exist yet are
+     * skipped, as data for new years requires a regular update.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     * @param table the {@link AnalyticsTable}.
+     */
+    protected void addIncrementalPartitions( AnalyticsTableUpdateParams params, AnalyticsTable table )
+    {
+        Date lastFullTableUpdate = systemSettingManager
+            .getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE );
+
+        Assert.notNull( lastFullTableUpdate,
+            "A full analytics table update process must be run prior to an incremental update process" );
+
+        Date endDate = params.getStartTime();
+        Map<String, Date> watermarks = getWatermarks( table.getTableName() );
+        Date earliestWatermark = watermarks.values().stream()
+            .min( Date::compareTo )
+            .map( watermark -> DateUtils.getEarliest( watermark, lastFullTableUpdate ) )
+            .orElse( lastFullTableUpdate );
+
+        for ( Integer year : getYearsWithUpdatedData( table, earliestWatermark, endDate ) )
+        {
+            String partitionName = PartitionUtils.getPartitionName( table.getTableName(), year );
+            Date watermark = watermarks.getOrDefault( partitionName, lastFullTableUpdate );
+
+            if ( !partitionManager.tableExists( partitionName ) )
+            {
+                log.warn( "Partition: '{}' does not exist, data for year: {} requires a regular update",
+                    partitionName, year );
+            }
+            else if ( watermark.before( endDate ) )
+            {
+                table.addPartitionTable( year, watermark, endDate );
+
+                log.info( "Added incremental analytics partition: '{}' with start: '{}' and end: '{}'",
+                    partitionName, getLongDateString( watermark ), getLongDateString( endDate ) );
+            }
+        }
+    }
+
+    /**
+     * Returns a mapping between partition table name and watermark for the
+     * partitions of the given analytics table.
+     *
+     * @param tableName the analytics table name.
+     * @return a mapping between partition table name and watermark.
+     */
+    protected Map<String, Date> getWatermarks( String tableName )
+    {
+        createWatermarkTable();
+
+        String sql = "select tablename, watermark from " + WATERMARK_TABLE + " " +
+            "where tablename ~ '^" + tableName + PartitionUtils.SEP + "[0-9]+$'";
+
+        Map<String, Date> watermarks = new HashMap<>();
+
+        jdbcTemplate.query( sql, rs -> {
+            watermarks.put( rs.getString( "tablename" ), rs.getTimestamp( "watermark" ) );
+        } );
+
+        return watermarks;
+    }
+
+    /**
+     * Saves the watermark of the given analytics table partition.
+     *
+     * @param tableName the partition table name.
+     * @param watermark the watermark.
+     */
+    protected void saveWatermark( String tableName, Date watermark )
+    {
+        createWatermarkTable();
+
+        jdbcTemplate.execute( getSaveWatermarkSql( tableName, watermark ) );
+    }
+
     /**
      * Checks whether the given list of columns are valid.
      *
@@ -583,6 +771,42 @@ public abstract class AbstractJdbcTableManager
     // Private supportive methods
     // -------------------------------------------------------------------------
 
+    /**
+     * Returns the names of the columns of the given table as stored in the
+     * database, or an empty set if the table does not exist.
+     */
+    private Set<String> getExistingColumns( String tableName )
+    {
+        String sql = "select column_name from information_schema.columns " +
+            "where table_name = '" + tableName + "'";
+
+        return new HashSet<>( jdbcTemplate.queryForList( sql, String.class ) );
+    }
+
+    /**
+     * Returns the column name as stored in the database, quoted names keep
+     * their case while unquoted names are folded to lower case.
+     */
+    private String getColumnName( String name )
+    {
+        return name.startsWith( "\"" ) && name.endsWith( "\"" )
+            ? name.substring( 1, name.length() - 1 ).replace( "\"\"", "\"" )
+            : name.toLowerCase();
+    }
+
+    private void createWatermarkTable()
+    {
+        jdbcTemplate.execute( "create table if not exists " + WATERMARK_TABLE + " (" +
+            "tablename varchar(255) primary key, watermark timestamp not null)" );
+    }
+
+    private String getSaveWatermarkSql( String tableName, Date watermark )
+    {
+        return "insert into " + WATERMARK_TABLE + " (tablename, watermark) " +
+            "values ('" + tableName + "', '" + getLongDateString( watermark ) + "') " +
+            "on conflict (tablename) do update set watermark = excluded.watermark";
+    }
+
     /**
      * Swaps a database table, meaning drops the real table and renames the
      * temporary table to become the real table.
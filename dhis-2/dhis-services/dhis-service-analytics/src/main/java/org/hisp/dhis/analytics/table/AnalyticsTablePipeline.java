@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.analytics.AnalyticsTablePartition;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobProgress.FailurePolicy;
+
+/**
+ * Runs a sequence of steps for analytics table partitions as a pipeline. Each
+ * partition moves on to its next step as soon as its previous step is done,
+ * independently of the other partitions, instead of waiting for all partitions
+ * to complete a step.
+ * <p>
+ * Work is executed by a fixed number of threads. Work of later steps takes
+ * precedence over work of earlier steps, so that partitions in progress are
+ * completed before further partitions are started. A partition which fails a
+ * step does not proceed to the subsequent steps, unless the step skips failed
+ * work items.
+ *
+ * @see DefaultAnalyticsTableService
+ */
+@Slf4j
+class AnalyticsTablePipeline
+{
+    private final List<String> stepNames = new ArrayList<>();
+
+    private final List<FailurePolicy> failurePolicies = new ArrayList<>();
+
+    private final List<Function<AnalyticsTablePartition, List<Runnable>>> steps = new ArrayList<>();
+
+    /**
+     * Adds a step which performs the given work for a partition.
+     *
+     * @param name the step name.
+     * @param work the work to perform for a partition.
+     * @return this {@link AnalyticsTablePipeline}.
+     */
+    AnalyticsTablePipeline addStep( String name, Consumer<AnalyticsTablePartition> work )
+    {
+        return addParallelStep( name, partition -> List.of( () -> work.accept( partition ) ) );
+    }
+
+    /**
+     * Adds a step which consists of work items for a partition which can run
+     * in parallel. The partition moves on to the next step when all work items
+     * are done.
+     *
+     * @param name the step name.
+     * @param work function providing the work items for a partition.
+     * @return this {@link AnalyticsTablePipeline}.
+     */
+    AnalyticsTablePipeline addParallelStep( String name, Function<AnalyticsTablePartition, List<Runnable>> work )
+    {
+        return addParallelStep( name, FailurePolicy.PARENT, work );
+    }
+
+    /**
+     * Adds a step which consists of work items for a partition which can run
+     * in parallel. The partition moves on to the next step when all work items
+     * are done. When the given {@link FailurePolicy} skips failed items, a
+     * partition with failed work items still moves on to the next step.
+     *
+     * @param name the step name.
+     * @param onFailure the {@link FailurePolicy} of the work items.
+     * @param work function providing the work items for a partition.
+     * @return this {@link AnalyticsTablePipeline}.
+     */
+    AnalyticsTablePipeline addParallelStep( String name, FailurePolicy onFailure,
+        Function<AnalyticsTablePartition, List<Runnable>> work )
+    {
+        stepNames.add( name );
+        failurePolicies.add( onFailure );
+        steps.add( work );
+        return this;
+    }
+
+    /**
+     * Runs the steps of this pipeline for the given partitions. Returns when
+     * all partitions have completed or failed. The current stage of the given
+     * {@link JobProgress} is completed by this method, or failed if any
+     * partition failed.
+     *
+     * @param parallelism the maximum number of work items to run in parallel.
+     * @param partitions the list of {@link AnalyticsTablePartition}.
+     * @param progress the {@link JobProgress}.
+     * @return true if all partitions completed all steps, false otherwise.
+     */
+    boolean run( int parallelism, List<AnalyticsTablePartition> partitions, JobProgress progress )
+    {
+        int threads = Math.max( 1, parallelism );
+
+        log.info( "Running analytics table pipeline with steps: {}, partitions: {}, threads: {}",
+            stepNames, partitions.size(), threads );
+
+        Execution execution = new Execution( progress, new CountDownLatch( partitions.size() ),
+            new ThreadPoolExecutor( threads, threads, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>() ) );
+
+        try
+        {
+            partitions.forEach( partition -> execution.startStep( new PartitionRun( partition ), 0 ) );
+
+            execution.done.await();
+
+            int success = execution.success.get();
+            int failed = execution.failed.get();
+
+            if ( progress.autoSkipStage( ( s, f ) -> format( "%d successful and %d failed partitions", s, f ),
+                success, failed ) )
+            {
+                return false;
+            }
+
+            if ( failed > 0 )
+            {
+                progress.failedStage( format( "%d successful and %d failed partitions", success, failed ) );
+                return false;
+            }
+
+            progress.completedStage( format( "%d successful and %d failed partitions", success, failed ) );
+            return true;
+        }
+        catch ( InterruptedException ex )
+        {
+            progress.failedStage( ex );
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        finally
+        {
+            execution.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * State of a single run of the pipeline.
+     */
+    @RequiredArgsConstructor
+    private class Execution
+    {
+        private final JobProgress progress;
+
+        private final CountDownLatch done;
+
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicInteger success = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        /**
+         * Schedules the work items of the given step for the given partition,
+         * or marks the partition as done if all steps are completed.
+         */
+        private void startStep( PartitionRun run, int step )
+        {
+            if ( step == steps.size() )
+            {
+                success.incrementAndGet();
+                done.countDown();
+                return;
+            }
+
+            List<Runnable> work;
+
+            try
+            {
+                work = steps.get( step ).apply( run.partition );
+            }
+            catch ( RuntimeException ex )
+            {
+                progress.failedWorkItem( ex );
+                failPartition();
+                return;
+            }
+
+            if ( work.isEmpty() )
+            {
+                startStep( run, step + 1 );
+                return;
+            }
+
+            run.remaining.set( work.size() );
+
+            work.forEach( item -> executor.execute(
+                new Task( step, sequence.getAndIncrement(), () -> runWorkItem( run, step, item ) ) ) );
+        }
+
+        private void runWorkItem( PartitionRun run, int step, Runnable item )
+        {
+            FailurePolicy onFailure = failurePolicies.get( step );
+            boolean completed = false;
+
+            try
+            {
+                if ( run.failed || progress.isSkipCurrentStage() )
+                {
+                    run.failed = true;
+                }
+                else
+                {
+                    progress.startingWorkItem( stepNames.get( step ) + " " + run.partition.getTableName(),
+                        onFailure );
+
+                    try
+                    {
+                        item.run();
+                        progress.completedWorkItem( null );
+                    }
+                    catch ( Exception ex )
+                    {
+                        progress.failedWorkItem( ex );
+
+                        if ( !isSkipItem( onFailure ) || progress.isSkipCurrentStage() )
+                        {
+                            run.failed = true;
+                        }
+                    }
+                }
+
+                completed = true;
+            }
+            finally
+            {
+                if ( !completed )
+                {
+                    run.failed = true;
+                }
+
+                completeWorkItem( run, step );
+            }
+        }
+
+        /**
+         * Moves the partition on to the next step, or marks it as failed, once
+         * the last work item of the current step is done.
+         */
+        private void completeWorkItem( PartitionRun run, int step )
+        {
+            if ( run.remaining.decrementAndGet() == 0 )
+            {
+                if ( run.failed )
+                {
+                    failPartition();
+                }
+                else
+                {
+                    startStep( run, step + 1 );
+                }
+            }
+        }
+
+        private boolean isSkipItem( FailurePolicy onFailure )
+        {
+            return onFailure == FailurePolicy.SKIP_ITEM || onFailure == FailurePolicy.SKIP_ITEM_OUTLIER;
+        }
+
+        private void failPartition()
+        {
+            failed.incrementAndGet();
+            done.countDown();
+        }
+    }
+
+    /**
+     * Progress of a partition through the pipeline.
+     */
+    @RequiredArgsConstructor
+    private static class PartitionRun
+    {
+        private final AnalyticsTablePartition partition;
+
+        private final AtomicInteger remaining = new AtomicInteger();
+
+        private volatile boolean failed;
+    }
+
+    /**
+     * Work item ordered by step in descending order, then by order of
+     * submission.
+     */
+    @RequiredArgsConstructor
+    private static class Task
+        implements Runnable, Comparable<Task>
+    {
+        private final int step;
+
+        private final long sequence;
+
+        private final Runnable work;
+
+        @Override
+        public void run()
+        {
+            work.run();
+        }
+
+        @Override
+        public int compareTo( Task other )
+        {
+            return step != other.step ? Integer.compare( other.step, step ) : Long.compare( sequence, other.sequence );
+        }
+    }
+}
@@ -93,33 +93,73 @@ public class DefaultAnalyticsTableGenerator
             getLongDateString( lastSuccessfulUpdate ) );
 
         progress.startingProcess( "Analytics table update process"
-            + (params.isLatestUpdate() ? "(latest partition)" : "") );
+            + (params.isLatestUpdate() ? "(latest partition)" : "")
+            + (params.isIncrementalUpdate() ? "(incremental)" : "") );
 
-        if ( !params.isSkipResourceTables() && !params.isLatestUpdate() )
+        if ( !params.isSkipResourceTables() && !params.isLatestUpdate() && !params.isIncrementalUpdate() )
         {
             generateResourceTablesInternal( progress );
         }
 
         final Set<AnalyticsTableType> skipTypes = emptyIfNull( params.getSkipTableTypes() );
 
+        final Set<AnalyticsTableType> fullUpdateTypes = getFullUpdateTableTypes( params, skipTypes );
+
+        if ( !fullUpdateTypes.isEmpty() )
+        {
+            log.info( "Table structure changed, regular update required for table types: {}", fullUpdateTypes );
+
+            if ( !params.isSkipResourceTables() )
+            {
+                generateResourceTablesInternal( progress );
+            }
+        }
+
+        final AnalyticsTableUpdateParams fullParams = AnalyticsTableUpdateParams.newBuilder( params )
+            .withIncrementalUpdate( false )
+            .build();
+
         for ( AnalyticsTableService service : analyticsTableServices )
         {
             AnalyticsTableType tableType = service.getAnalyticsTableType();
 
             if ( !skipTypes.contains( tableType ) )
             {
-                service.update( params, progress );
+                service.update( fullUpdateTypes.contains( tableType ) ? fullParams : params, progress );
             }
         }
 
-        progress.startingStage( "Updating settings" );
-        progress.runStage( () -> updateLastSuccessfulSystemSettings( params, clock ) );
+        if ( !params.isIncrementalUpdate() )
+        {
+            progress.startingStage( "Updating settings" );
+            progress.runStage( () -> updateLastSuccessfulSystemSettings( params, clock ) );
+        }
 
         progress.startingStage( "Invalidate analytics caches", SKIP_STAGE );
         progress.runStage( analyticsCache::invalidateAll );
         progress.completedProcess( "Analytics tables updated" );
     }
 
+    /**
+     * Returns the table types which are to be updated incrementally, but where
+     * the structure of the existing tables has changed, so that a regular
+     * update is required.
+     */
+    private Set<AnalyticsTableType> getFullUpdateTableTypes( AnalyticsTableUpdateParams params,
+        Set<AnalyticsTableType> skipTypes )
+    {
+        if ( !params.isIncrementalUpdate() )
+        {
+            return Set.of();
+        }
+
+        return analyticsTableServices.stream()
+            .filter( service -> !skipTypes.contains( service.getAnalyticsTableType() ) )
+            .filter( service -> service.requiresFullUpdate( params ) )
+            .map( AnalyticsTableService::getAnalyticsTableType )
+            .collect( Collectors.toSet() );
+    }
+
     private void updateLastSuccessfulSystemSettings( AnalyticsTableUpdateParams params, Clock clock )
     {
         if ( params.isLatestUpdate() )
@@ -27,19 +27,20 @@
  */
 package org.hisp.dhis.analytics.table;
 
-import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.getIndexName;
 import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.getIndexes;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
 import static org.hisp.dhis.util.DateUtils.getLongDateString;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.hisp.dhis.analytics.AnalyticsIndex;
 import org.hisp.dhis.analytics.AnalyticsTable;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTablePartition;
@@ -105,6 +106,15 @@ public class DefaultAnalyticsTableService
             return;
         }
 
+        if ( params.isIncrementalUpdate() && !tableManager.isIncrementalUpdateSupported() )
+        {
+            clock.logTime( String.format( "Table update skipped, incremental update not supported: '%s'",
+                tableType.getTableName() ) );
+            progress.startingStage( "Table updates " + tableType );
+            progress.completedStage( "Table update skipped, incremental update not supported" );
+            return;
+        }
+
         final List<AnalyticsTable> tables = tableManager.getAnalyticsTables( params );
 
         if ( tables.isEmpty() )
@@ -122,6 +132,12 @@ public class DefaultAnalyticsTableService
         progress.runStage( () -> tableManager.preCreateTables( params ) );
         clock.logTime( "Performed pre-create table work " + tableType );
 
+        if ( params.isIncrementalUpdate() )
+        {
+            updateIncrementally( params, tables, clock, progress );
+            return;
+        }
+
         dropTempTablesPartitions( tables, progress );
         progress.startingStage( "Dropping temp tables (if any) " + tableType, tables.size() );
         dropTempTables( tables, progress );
@@ -133,32 +149,54 @@ public class DefaultAnalyticsTableService
 
         List<AnalyticsTablePartition> partitions = PartitionUtils.getTablePartitions( tables );
 
-        progress.startingStage( "Populating analytics tables " + tableType, partitions.size() );
-        populateTables( params, partitions, progress );
-        clock.logTime( "Populated analytics tables" );
+        AnalyticsTablePipeline pipeline = new AnalyticsTablePipeline();
 
-        progress.startingStage( "Invoking analytics table hooks " + tableType );
-        tableUpdates += progress.runStage( 0, tableManager::invokeAnalyticsTableSqlHooks );
-        clock.logTime( "Invoked analytics table hooks" );
+        if ( tableManager.hasAnalyticsTableSqlHooks() )
+        {
+            progress.startingStage( "Populating analytics tables " + tableType, partitions.size() );
+            populateTables( params, partitions, progress );
+            clock.logTime( "Populated analytics tables" );
 
-        tableUpdates += applyAggregationLevels( tableType, partitions, progress );
-        clock.logTime( "Applied aggregation levels" );
+            progress.startingStage( "Invoking analytics table hooks " + tableType );
+            tableUpdates += progress.runStage( 0, tableManager::invokeAnalyticsTableSqlHooks );
+            clock.logTime( "Invoked analytics table hooks" );
+        }
+        else
+        {
+            pipeline.addStep( "Populate", partition -> tableManager.populateTablePartition( params, partition ) );
+        }
+
+        Map<Integer, Collection<String>> aggregationLevels = getAggregationLevels();
+
+        if ( !aggregationLevels.isEmpty() )
+        {
+            pipeline.addStep( "Apply aggregation levels", partition -> aggregationLevels.forEach(
+                ( level, dataElements ) -> tableManager.applyAggregationLevels( partition, dataElements, level ) ) );
+
+            tableUpdates += aggregationLevels.values().stream().mapToInt( Collection::size ).sum();
+        }
 
         if ( tableUpdates > 0 )
         {
-            progress.startingStage( "Vacuuming tables " + tableType, partitions.size() );
-            vacuumTables( partitions, progress );
-            clock.logTime( "Tables vacuumed" );
+            pipeline.addStep( "Vacuum", tableManager::vacuumTables );
         }
 
-        List<AnalyticsIndex> indexes = getIndexes( partitions );
-        progress.startingStage( "Creating indexes " + tableType, indexes.size(), SKIP_ITEM_OUTLIER );
-        createIndexes( indexes, progress );
-        clock.logTime( "Created indexes" );
+        pipeline
+            .addParallelStep( "Create index", SKIP_ITEM_OUTLIER,
+                partition -> getIndexes( List.of( partition ) ).stream()
+                    .map( index -> (Runnable) () -> tableManager.createIndex( index ) )
+                    .collect( Collectors.toList() ) )
+            .addStep( "Analyze", partition -> tableManager.analyzeTable( partition.getTempTableName() ) );
 
-        progress.startingStage( "Analyzing analytics tables " + tableType, partitions.size() );
-        analyzeTables( partitions, progress );
-        clock.logTime( "Analyzed tables" );
+        progress.startingStage( "Processing analytics table partitions " + tableType );
+
+        if ( !pipeline.run( getProcessNo(), partitions, progress ) )
+        {
+            clock.logTime( "Table update aborted, processing of partitions failed: " + tableType.getTableName() );
+            return;
+        }
+
+        clock.logTime( "Processed analytics table partitions" );
 
         if ( params.isLatestUpdate() )
         {
@@ -192,10 +230,67 @@ public class DefaultAnalyticsTableService
         log.info( "Analytics tables analyzed" );
     }
 
+    @Override
+    public boolean requiresFullUpdate( AnalyticsTableUpdateParams params )
+    {
+        return params.isIncrementalUpdate() && tableManager.isIncrementalUpdateSupported()
+            && tableManager.validState() == null && tableManager.isTableStructureChanged( params );
+    }
+
     // -------------------------------------------------------------------------
     // Supportive methods
     // -------------------------------------------------------------------------
 
+    /**
+     * Updates the given analytics tables incrementally. Changed data is
+     * populated into temporary partitions, which are merged into the existing
+     * partitions. Indexes of the existing partitions are maintained by the
+     * database, hence no index creation or table swap takes place.
+     */
+    private void updateIncrementally( AnalyticsTableUpdateParams params, List<AnalyticsTable> tables, Clock clock,
+        JobProgress progress )
+    {
+        AnalyticsTableType tableType = getAnalyticsTableType();
+
+        dropTempTablesPartitions( tables, progress );
+        progress.startingStage( "Dropping temp tables (if any) " + tableType, tables.size() );
+        dropTempTables( tables, progress );
+        clock.logTime( "Dropped temp tables" );
+
+        progress.startingStage( "Creating analytics tables " + tableType, tables.size() );
+        createTables( tables, progress );
+        clock.logTime( "Created analytics tables" );
+
+        List<AnalyticsTablePartition> partitions = PartitionUtils.getTablePartitions( tables );
+
+        progress.startingStage( "Populating analytics tables " + tableType, partitions.size() );
+        populateTables( params, partitions, progress );
+        clock.logTime( "Populated analytics tables" );
+
+        progress.startingStage( "Invoking analytics table hooks " + tableType );
+        progress.runStage( 0, tableManager::invokeAnalyticsTableSqlHooks );
+        clock.logTime( "Invoked analytics table hooks" );
+
+        applyAggregationLevels( tableType, partitions, progress );
+        clock.logTime( "Applied aggregation levels" );
+
+        progress.startingStage( "Merging changed data into analytics tables " + tableType, partitions.size() );
+        progress.runStageInParallel( Math.min( getProcessNo(), partitions.size() ), partitions,
+            AnalyticsTablePartition::getTableName, tableManager::mergeIncrementalTablePartition );
+        clock.logTime( "Merged changed data" );
+
+        progress.startingStage( "Dropping temp tables " + tableType, tables.size() );
+        dropTempTables( tables, progress );
+        clock.logTime( "Dropped temp tables" );
+
+        progress.startingStage( "Analyzing analytics tables " + tableType, partitions.size() );
+        progress.runStage( partitions, AnalyticsTablePartition::getTableName,
+            partition -> tableManager.analyzeTable( partition.getTableName() ) );
+        clock.logTime( "Analyzed tables" );
+
+        clock.logTime( "Table update done: " + tableType.getTableName() );
+    }
+
     /**
      * Drops the given temporary analytics tables.
      */
@@ -248,58 +343,46 @@ public class DefaultAnalyticsTableService
     private int applyAggregationLevels( AnalyticsTableType tableType, List<AnalyticsTablePartition> partitions,
         JobProgress progress )
     {
-        int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
-
         int aggLevels = 0;
 
-        for ( int i = 0; i < maxLevels; i++ )
+        for ( Map.Entry<Integer, Collection<String>> entry : getAggregationLevels().entrySet() )
         {
-            int level = maxLevels - i;
+            int level = entry.getKey();
+            Collection<String> dataElements = entry.getValue();
 
-            Collection<String> dataElements = IdentifiableObjectUtils.getUids(
-                dataElementService.getDataElementsByAggregationLevel( level ) );
-
-            if ( !dataElements.isEmpty() )
-            {
-                progress.startingStage( "Applying aggregation level " + level + " " + tableType, partitions.size() );
-                progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName,
-                    partition -> tableManager.applyAggregationLevels( partition, dataElements, level ) );
+            progress.startingStage( "Applying aggregation level " + level + " " + tableType, partitions.size() );
+            progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName,
+                partition -> tableManager.applyAggregationLevels( partition, dataElements, level ) );
 
-                aggLevels += dataElements.size();
-            }
+            aggLevels += dataElements.size();
         }
 
         return aggLevels;
     }
 
     /**
-     * Vacuums the given analytics tables.
+     * Returns a mapping between aggregation level and the identifiers of the
+     * data elements with the aggregation level, ordered from the highest to
+     * the lowest level.
      */
-    private void vacuumTables( List<AnalyticsTablePartition> partitions, JobProgress progress )
+    private Map<Integer, Collection<String>> getAggregationLevels()
     {
-        progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName,
-            tableManager::vacuumTables );
-    }
+        int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
 
-    /**
-     * Creates indexes on the given analytics tables.
-     */
-    private void createIndexes( List<AnalyticsIndex> indexes, JobProgress progress )
-    {
-        AnalyticsTableType type = getAnalyticsTableType();
+        Map<Integer, Collection<String>> aggregationLevels = new LinkedHashMap<>();
 
-        progress.runStageInParallel( getProcessNo(), indexes,
-            index -> getIndexName( index, type ).replace( "\"", "" ),
-            tableManager::createIndex );
-    }
+        for ( int level = maxLevels; level > 0; level-- )
+        {
+            Collection<String> dataElements = IdentifiableObjectUtils.getUids(
+                dataElementService.getDataElementsByAggregationLevel( level ) );
 
-    /**
-     * Analyzes the given analytics tables.
-     */
-    private void analyzeTables( List<AnalyticsTablePartition> partitions, JobProgress progress )
-    {
-        progress.runStage( partitions, AnalyticsTablePartition::getTableName,
-            table -> tableManager.analyzeTable( table.getTempTableName() ) );
+            if ( !dataElements.isEmpty() )
+            {
+                aggregationLevels.put( level, dataElements );
+            }
+        }
+
+        return aggregationLevels;
     }
 
     /**
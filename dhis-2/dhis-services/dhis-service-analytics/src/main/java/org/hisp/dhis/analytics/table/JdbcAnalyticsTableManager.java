@@ -149,9 +149,19 @@ public class JdbcAnalyticsTableManager
     @Transactional
     public List<AnalyticsTable> getAnalyticsTables( AnalyticsTableUpdateParams params )
     {
-        AnalyticsTable table = params.isLatestUpdate()
-            ? getLatestAnalyticsTable( params, getDimensionColumns(), getValueColumns() )
-            : getRegularAnalyticsTable( params, getDataYears( params ), getDimensionColumns(), getValueColumns() );
+        AnalyticsTable table;
+
+        if ( params.isIncrementalUpdate() )
+        {
+            table = new AnalyticsTable( getAnalyticsTableType(), getDimensionColumns(), getValueColumns() );
+            addIncrementalPartitions( params, table );
+        }
+        else
+        {
+            table = params.isLatestUpdate()
+                ? getLatestAnalyticsTable( params, getDimensionColumns(), getValueColumns() )
+                : getRegularAnalyticsTable( params, getDataYears( params ), getDimensionColumns(), getValueColumns() );
+        }
 
         return table.hasPartitionTables() ? newArrayList( table ) : newArrayList();
     }
@@ -189,6 +199,41 @@ public class JdbcAnalyticsTableManager
         return !jdbcTemplate.queryForList( sql ).isEmpty();
     }
 
+    @Override
+    public boolean isIncrementalUpdateSupported()
+    {
+        return true;
+    }
+
+    @Override
+    protected List<Integer> getYearsWithUpdatedData( AnalyticsTable table, Date startDate, Date endDate )
+    {
+        String sql = "select distinct ps.year " +
+            "from datavalue dv " +
+            "inner join _periodstructure ps on dv.periodid=ps.periodid " +
+            "where dv.lastupdated >= '" + getLongDateString( startDate ) + "' " +
+            "and dv.lastupdated < '" + getLongDateString( endDate ) + "'";
+
+        return jdbcTemplate.queryForList( sql, Integer.class );
+    }
+
+    @Override
+    protected String getRemoveIncrementallyUpdatedDataSql( AnalyticsTablePartition partition )
+    {
+        return "delete from " + partition.getTableName() + " ax " +
+            "where ax.id in (" +
+            "select (de.uid || '-' || ps.iso || '-' || ou.uid || '-' || co.uid || '-' || ao.uid) as id " +
+            "from datavalue dv " +
+            "inner join dataelement de on dv.dataelementid=de.dataelementid " +
+            "inner join _periodstructure ps on dv.periodid=ps.periodid " +
+            "inner join organisationunit ou on dv.sourceid=ou.organisationunitid " +
+            "inner join categoryoptioncombo co on dv.categoryoptioncomboid=co.categoryoptioncomboid " +
+            "inner join categoryoptioncombo ao on dv.attributeoptioncomboid=ao.categoryoptioncomboid " +
+            "where ps.year = " + partition.getYear() + " " +
+            "and dv.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
+            "and dv.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "')";
+    }
+
     @Override
     public void preCreateTables( AnalyticsTableUpdateParams params )
     {
@@ -274,8 +319,9 @@ public class JdbcAnalyticsTableManager
             .getBoolSetting( SettingKey.RESPECT_META_DATA_START_END_DATES_IN_ANALYTICS_TABLE_EXPORT );
         final String approvalClause = getApprovalJoinClause( partition.getYear() );
         final String partitionClause = partition.isLatestPartition()
-            ? "and dv.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' "
-            : "and ps.year = " + partition.getYear() + " ";
+            ? "and dv.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
+                "and dv.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "' "
+            : getYearPartitionClause( params, partition );
 
         String sql = "insert into " + partition.getTempTableName() + " (";
 
@@ -340,6 +386,27 @@ public class JdbcAnalyticsTableManager
         invokeTimeAndLog( sql, String.format( "Populate %s %s", tableName, valueTypes ) );
     }
 
+    /**
+     * Returns the where clause restricting data to the year of the given
+     * partition, and for incremental update to data created or updated between
+     * the watermark and the end date of the partition.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     * @param partition the {@link AnalyticsTablePartition}.
+     */
+    private String getYearPartitionClause( AnalyticsTableUpdateParams params, AnalyticsTablePartition partition )
+    {
+        String sql = "and ps.year = " + partition.getYear() + " ";
+
+        if ( params.isIncrementalUpdate() )
+        {
+            sql += "and dv.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
+                "and dv.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "' ";
+        }
+
+        return sql;
+    }
+
     /**
      * Returns sub-query for approval level. First looks for approval level in
      * data element resource table which will indicate level 0 (highest) if
@@ -181,7 +181,8 @@ public class JdbcCompletenessTableManager
     {
         final String tableName = partition.getTempTableName();
         final String partitionClause = partition.isLatestPartition()
-            ? "and cdr.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' "
+            ? "and cdr.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
+                "and cdr.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "' "
             : "and ps.year = " + partition.getYear() + " ";
 
         String insert = "insert into " + partition.getTempTableName() + " (";
@@ -175,9 +175,20 @@ public class JdbcEventAnalyticsTableManager
         log.info( String.format( "Get tables using earliest: %s, spatial support: %b", params.getFromDate(),
             databaseInfo.isSpatialSupport() ) );
 
+        if ( params.isIncrementalUpdate() )
+        {
+            return getIncrementalAnalyticsTables( params );
+        }
+
         return params.isLatestUpdate() ? getLatestAnalyticsTables( params ) : getRegularAnalyticsTables( params );
     }
 
+    @Override
+    public boolean isIncrementalUpdateSupported()
+    {
+        return true;
+    }
+
     /**
      * This method encapsulates the SQL logic to get the correct date column
      * based on the event(program stage instance) status. If new statuses need
@@ -291,6 +302,81 @@ public class JdbcEventAnalyticsTableManager
         return tables;
     }
 
+    /**
+     * Creates a list of {@link AnalyticsTable} for each program with a
+     * partition for each existing year partition with events created, updated
+     * or deleted since the watermark of the partition.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     * @return a list of {@link AnalyticsTableUpdateParams}.
+     */
+    private List<AnalyticsTable> getIncrementalAnalyticsTables( AnalyticsTableUpdateParams params )
+    {
+        List<AnalyticsTable> tables = new ArrayList<>();
+
+        List<Program> programs = idObjectManager.getAllNoAcl( Program.class )
+            .stream()
+            .filter( p -> !params.getSkipPrograms().contains( p.getUid() ) )
+            .collect( toList() );
+
+        for ( Program program : programs )
+        {
+            AnalyticsTable table = new AnalyticsTable( getAnalyticsTableType(), getDimensionColumns( program ),
+                Lists.newArrayList(), program );
+
+            addIncrementalPartitions( params, table );
+
+            if ( table.hasPartitionTables() )
+            {
+                tables.add( table );
+            }
+        }
+
+        return tables;
+    }
+
+    /**
+     * Returns the years of events updated since the given start date, including
+     * the years of the partitions currently holding such events, as the date
+     * and hence the partition of an event may have changed.
+     */
+    @Override
+    protected List<Integer> getYearsWithUpdatedData( AnalyticsTable table, Date startDate, Date endDate )
+    {
+        String updatedEvents = "from programstageinstance psi " +
+            "inner join programinstance pi on psi.programinstanceid=pi.programinstanceid " +
+            "where pi.programid = " + table.getProgram().getId() + " " +
+            "and psi.lastupdated >= '" + getLongDateString( startDate ) + "' " +
+            "and psi.lastupdated < '" + getLongDateString( endDate ) + "' ";
+
+        String sql = "select distinct cast(extract(year from " + getDateLinkedToStatus() + ") as integer) " +
+            updatedEvents +
+            "and (" + getDateLinkedToStatus() + ") is not null";
+
+        if ( partitionManager.tableExists( table.getTableName() ) )
+        {
+            sql += " union " +
+                "select distinct cast(ax.\"yearly\" as integer) " +
+                "from " + quote( table.getTableName() ) + " ax " +
+                "where ax.\"psi\" in (select psi.uid " + updatedEvents + ")";
+        }
+
+        return jdbcTemplate.queryForList( sql, Integer.class );
+    }
+
+    @Override
+    protected String getRemoveIncrementallyUpdatedDataSql( AnalyticsTablePartition partition )
+    {
+        return "delete from " + quote( partition.getTableName() ) + " ax " +
+            "where ax.\"psi\" in (" +
+            "select psi.uid " +
+            "from programstageinstance psi " +
+            "inner join programinstance pi on psi.programinstanceid=pi.programinstanceid " +
+            "where pi.programid = " + partition.getMasterTable().getProgram().getId() + " " +
+            "and psi.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
+            "and psi.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "')";
+    }
+
     /**
      * Indicates whether event data stored between the given start and end date
      * and for the given program exists.
@@ -361,9 +447,9 @@ public class JdbcEventAnalyticsTableManager
         final Program program = partition.getMasterTable().getProgram();
         final String start = DateUtils.getLongDateString( partition.getStartDate() );
         final String end = DateUtils.getLongDateString( partition.getEndDate() );
-        final String partitionClause = partition.isLatestPartition() ? "and psi.lastupdated >= '" + start + "' "
-            : "and " + "(" + getDateLinkedToStatus() + ") >= '" + start + "' "
-                + "and " + "(" + getDateLinkedToStatus() + ") < '" + end + "' ";
+        final String partitionClause = partition.isLatestPartition()
+            ? "and psi.lastupdated >= '" + start + "' and psi.lastupdated < '" + end + "' "
+            : getYearPartitionClause( params, partition );
 
         String fromClause = "from programstageinstance psi " +
             "inner join programinstance pi on psi.programinstanceid=pi.programinstanceid " +
@@ -391,6 +477,32 @@ public class JdbcEventAnalyticsTableManager
         populateTableInternal( partition, getDimensionColumns( program ), fromClause );
     }
 
+    /**
+     * Returns the where clause restricting events to the year of the given
+     * partition, and for incremental update to events created or updated
+     * between the watermark and the end date of the partition.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     * @param partition the {@link AnalyticsTablePartition}.
+     */
+    private String getYearPartitionClause( AnalyticsTableUpdateParams params, AnalyticsTablePartition partition )
+    {
+        if ( params.isIncrementalUpdate() )
+        {
+            Calendar calendar = PeriodType.getCalendar();
+
+            return "and (" + getDateLinkedToStatus() + ") >= '"
+                + getLongDateString( PartitionUtils.getStartDate( calendar, partition.getYear() ) ) + "' "
+                + "and (" + getDateLinkedToStatus() + ") < '"
+                + getLongDateString( PartitionUtils.getEndDate( calendar, partition.getYear() ) ) + "' "
+                + "and psi.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' "
+                + "and psi.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "' ";
+        }
+
+        return "and (" + getDateLinkedToStatus() + ") >= '" + getLongDateString( partition.getStartDate() ) + "' "
+            + "and (" + getDateLinkedToStatus() + ") < '" + getLongDateString( partition.getEndDate() ) + "' ";
+    }
+
     /**
      * Returns dimensional analytics table columns.
      *
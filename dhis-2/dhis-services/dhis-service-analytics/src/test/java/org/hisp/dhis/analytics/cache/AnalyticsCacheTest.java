@@ -122,4 +122,49 @@ class AnalyticsCacheTest
 
         assertEquals( 2, optCachedGrid.get().getRows().size() );
     }
+
+    @Test
+    void returnSameObjectAfterModifyReturnedObject()
+    {
+        // arrange
+        final AnalyticsCacheSettings settings = new AnalyticsCacheSettings( systemSettingManager );
+
+        final CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
+
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES );
+
+        final Cache<Grid> cache = new LocalCache<>( cacheBuilder );
+
+        Mockito.<Cache<Grid>> when( cacheProvider.createAnalyticsCache() )
+            .thenReturn( cache );
+
+        final AnalyticsCache analyticsCache = new AnalyticsCache( cacheProvider, settings );
+
+        final Grid grid = new ListGrid();
+        grid.addHeader( new GridHeader( "Header1" ) )
+            .addRow()
+            .addValue( "Value11" );
+
+        // act
+        analyticsCache.put( "key", grid, 60 );
+
+        final Grid cachedGrid = analyticsCache.get( "key" ).get();
+
+        cachedGrid.addHeader( new GridHeader( "Header2" ) )
+            .addRow()
+            .addValue( "Value21" );
+
+        // assert
+        assertEquals( 2, cachedGrid.getHeaderWidth() );
+
+        assertEquals( 2, cachedGrid.getRows().size() );
+
+        final Optional<Grid> optCachedGrid = analyticsCache.get( "key" );
+
+        assertTrue( optCachedGrid.isPresent() );
+
+        assertEquals( 1, optCachedGrid.get().getHeaderWidth() );
+
+        assertEquals( 1, optCachedGrid.get().getRows().size() );
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class DimensionKeyMapTest
+{
+    @Test
+    void testPutItemsAndGet()
+    {
+        DimensionKeyMap map = new DimensionKeyMap();
+
+        map.putItems( new String[] { "dxA", "ouA", "202001" }, 1d );
+        map.putItems( new String[] { "dxA", "ouB", "202001" }, 2d );
+        map.putItems( new String[] { "dxB", "ouA", "202002" }, "text" );
+
+        assertEquals( 3, map.size() );
+        assertEquals( 1d, map.get( "dxA-ouA-202001" ) );
+        assertEquals( 2d, map.get( "dxA-ouB-202001" ) );
+        assertEquals( "text", map.get( "dxB-ouA-202002" ) );
+        assertNull( map.get( "dxB-ouB-202002" ) );
+        assertNull( map.get( "dxX-ouA-202001" ) );
+        assertFalse( map.containsKey( "dxA-ouA" ) );
+    }
+
+    @Test
+    void testPutReplacesValue()
+    {
+        DimensionKeyMap map = new DimensionKeyMap();
+
+        assertNull( map.put( "dxA-ouA", 1d ) );
+        assertEquals( 1d, map.put( "dxA-ouA", 3d ) );
+
+        map.putItems( new String[] { "dxA", "ouA" }, 5d );
+
+        assertEquals( 1, map.size() );
+        assertEquals( 5d, map.get( "dxA-ouA" ) );
+    }
+
+    @Test
+    void testRemove()
+    {
+        DimensionKeyMap map = new DimensionKeyMap();
+
+        map.put( "dxA-ouA", 1d );
+        map.put( "dxA-ouB", 2d );
+
+        assertEquals( 1d, map.remove( "dxA-ouA" ) );
+        assertNull( map.remove( "dxA-ouA" ) );
+        assertEquals( 1, map.size() );
+        assertFalse( map.containsKey( "dxA-ouA" ) );
+
+        map.put( "dxA-ouA", 4d );
+
+        assertEquals( 2, map.size() );
+        assertEquals( 4d, map.get( "dxA-ouA" ) );
+    }
+
+    @Test
+    void testEqualsHashMap()
+    {
+        DimensionKeyMap map = new DimensionKeyMap();
+        Map<String, Object> expected = new HashMap<>();
+
+        for ( int i = 0; i < 1000; i++ )
+        {
+            map.putItems( new String[] { "dx" + (i % 7), "ou" + i, "2020" }, (double) i );
+            expected.put( "dx" + (i % 7) + "-ou" + i + "-2020", (double) i );
+        }
+
+        assertEquals( expected, map );
+        assertEquals( expected, new HashMap<>( map ) );
+    }
+
+    @Test
+    void testIteratorRemove()
+    {
+        DimensionKeyMap map = new DimensionKeyMap();
+
+        map.put( "dxA-ouA", 1d );
+        map.put( "dxA-ouB", 2d );
+        map.put( "dxA-ouC", 3d );
+
+        Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+
+        while ( iterator.hasNext() )
+        {
+            if ( iterator.next().getKey().equals( "dxA-ouB" ) )
+            {
+                iterator.remove();
+            }
+        }
+
+        assertEquals( 2, map.size() );
+        assertEquals( Map.of( "dxA-ouA", 1d, "dxA-ouC", 3d ), map );
+    }
+
+    @Test
+    void testPutAll()
+    {
+        DimensionKeyMap mapA = new DimensionKeyMap();
+        DimensionKeyMap mapB = new DimensionKeyMap();
+
+        mapA.put( "dxA-ouA", 1d );
+        mapB.put( "dxB-ouB", 2d );
+        mapB.put( "dxA-ouA", "text" );
+
+        mapA.putAll( mapB );
+        mapA.putAll( Map.of( "dxC-ouC", 3d ) );
+
+        assertEquals( Map.of( "dxA-ouA", "text", "dxB-ouB", 2d, "dxC-ouC", 3d ), mapA );
+    }
+
+    @Test
+    void testForEachItems()
+    {
+        DimensionKeyMap map = new DimensionKeyMap();
+
+        map.put( "dxA-ouA", 1d );
+        map.put( "dxB-ouA", 2d );
+        map.remove( "dxA-ouA" );
+
+        Map<String, Object> result = new HashMap<>();
+
+        map.forEachItems( ( items, value ) -> {
+            assertEquals( 2, items.length );
+            result.put( items[0] + "/" + items[1], value );
+        } );
+
+        assertEquals( Map.of( "dxB/ouA", 2d ), result );
+        assertTrue( map.containsKey( "dxB-ouA" ) );
+    }
+}
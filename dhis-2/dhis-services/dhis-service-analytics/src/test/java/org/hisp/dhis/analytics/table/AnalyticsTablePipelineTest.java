@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import org.hisp.dhis.analytics.AnalyticsTable;
+import org.hisp.dhis.analytics.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobProgress.FailurePolicy;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+
+class AnalyticsTablePipelineTest
+{
+    private List<AnalyticsTablePartition> partitions;
+
+    private JobProgress progress;
+
+    @BeforeEach
+    void setUp()
+    {
+        AnalyticsTable table = new AnalyticsTable( AnalyticsTableType.DATA_VALUE, Lists.newArrayList(),
+            Lists.newArrayList() );
+
+        for ( int year = 2018; year <= 2021; year++ )
+        {
+            table.addPartitionTable( year, new DateTime( year, 1, 1, 0, 0 ).toDate(),
+                new DateTime( year + 1, 1, 1, 0, 0 ).toDate() );
+        }
+
+        partitions = table.getTablePartitions();
+        progress = mock( JobProgress.class );
+    }
+
+    @Test
+    void testRunStepsInOrderPerPartition()
+    {
+        ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+
+        new AnalyticsTablePipeline()
+            .addStep( "Populate", p -> events.add( "populate " + p.getYear() ) )
+            .addParallelStep( "Create index", p -> List.of(
+                () -> events.add( "index " + p.getYear() ),
+                () -> events.add( "index " + p.getYear() ) ) )
+            .addStep( "Analyze", p -> events.add( "analyze " + p.getYear() ) )
+            .run( 3, partitions, progress );
+
+        assertEquals( 16, events.size() );
+
+        for ( AnalyticsTablePartition partition : partitions )
+        {
+            List<String> steps = events.stream()
+                .filter( e -> e.endsWith( " " + partition.getYear() ) )
+                .map( e -> e.substring( 0, e.indexOf( ' ' ) ) )
+                .collect( Collectors.toList() );
+
+            assertEquals( List.of( "populate", "index", "index", "analyze" ), steps );
+        }
+
+        verify( progress ).completedStage( "4 successful and 0 failed partitions" );
+    }
+
+    @Test
+    void testFailedPartitionDoesNotProceed()
+    {
+        ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+
+        new AnalyticsTablePipeline()
+            .addStep( "Populate", p -> {
+                if ( p.getYear() == 2019 )
+                {
+                    throw new IllegalStateException( "Populate failed" );
+                }
+            } )
+            .addStep( "Analyze", p -> events.add( "analyze " + p.getYear() ) )
+            .run( 2, partitions, progress );
+
+        assertEquals( 3, events.size() );
+        assertFalse( events.contains( "analyze 2019" ) );
+        assertTrue( events.contains( "analyze 2020" ) );
+        verify( progress, times( 1 ) ).failedWorkItem( any( Exception.class ) );
+        verify( progress, times( 7 ) ).startingWorkItem( anyString(), any( FailurePolicy.class ) );
+        verify( progress ).failedStage( "3 successful and 1 failed partitions" );
+    }
+
+    @Test
+    void testFailedSkipItemStepProceeds()
+    {
+        ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+
+        boolean completed = new AnalyticsTablePipeline()
+            .addParallelStep( "Create index", FailurePolicy.SKIP_ITEM_OUTLIER, p -> List.of( () -> {
+                if ( p.getYear() == 2019 )
+                {
+                    throw new IllegalStateException( "Create index failed" );
+                }
+            } ) )
+            .addStep( "Analyze", p -> events.add( "analyze " + p.getYear() ) )
+            .run( 2, partitions, progress );
+
+        assertTrue( completed );
+        assertEquals( 4, events.size() );
+        verify( progress ).completedStage( "4 successful and 0 failed partitions" );
+    }
+
+    @Test
+    void testErrorInWorkItemFailsPartition()
+    {
+        boolean completed = new AnalyticsTablePipeline()
+            .addStep( "Populate", p -> {
+                if ( p.getYear() == 2019 )
+                {
+                    throw new AssertionError( "Populate failed" );
+                }
+            } )
+            .run( 2, partitions, progress );
+
+        assertFalse( completed );
+        verify( progress ).failedStage( "3 successful and 1 failed partitions" );
+    }
+
+    @Test
+    void testEmptyStepIsSkipped()
+    {
+        ConcurrentLinkedQueue<String> events = new ConcurrentLinkedQueue<>();
+
+        new AnalyticsTablePipeline()
+            .addParallelStep( "Create index", p -> List.of() )
+            .addStep( "Analyze", p -> events.add( "analyze " + p.getYear() ) )
+            .run( 1, partitions, progress );
+
+        assertEquals( 4, events.size() );
+    }
+}
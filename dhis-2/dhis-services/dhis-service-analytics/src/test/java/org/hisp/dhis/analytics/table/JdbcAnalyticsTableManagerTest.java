@@ -28,6 +28,7 @@
 package org.hisp.dhis.analytics.table;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -82,6 +83,9 @@ class JdbcAnalyticsTableManagerTest
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private PartitionManager partitionManager;
+
     private AnalyticsTableManager subject;
 
     @BeforeEach
@@ -91,7 +95,7 @@ class JdbcAnalyticsTableManagerTest
             mock( OrganisationUnitService.class ),
             mock( CategoryService.class ), systemSettingManager, mock( DataApprovalLevelService.class ),
             mock( ResourceTableService.class ), mock( AnalyticsTableHookService.class ), mock( StatementBuilder.class ),
-            mock( PartitionManager.class ), mock( DatabaseInfo.class ), jdbcTemplate );
+            partitionManager, mock( DatabaseInfo.class ), jdbcTemplate );
     }
 
     @Test
@@ -187,4 +191,84 @@ class JdbcAnalyticsTableManagerTest
             .thenReturn( lastLatestPartitionUpdate );
         assertThrows( IllegalArgumentException.class, () -> subject.getAnalyticsTables( params ) );
     }
+
+    @Test
+    void testGetIncrementalAnalyticsTable()
+    {
+        Date lastFullTableUpdate = new DateTime( 2019, 3, 1, 2, 0 ).toDate();
+        Date startTime = new DateTime( 2019, 3, 1, 10, 0 ).toDate();
+        List<Integer> dataYears = Lists.newArrayList( 2018, 2019, 2020 );
+
+        AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime( startTime )
+            .withIncrementalUpdate( true )
+            .build();
+
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .thenReturn( lastFullTableUpdate );
+        when( jdbcTemplate.queryForList( Mockito.anyString(), ArgumentMatchers.<Class<Integer>> any() ) )
+            .thenReturn( dataYears );
+        when( partitionManager.tableExists( "analytics_2018" ) ).thenReturn( true );
+        when( partitionManager.tableExists( "analytics_2019" ) ).thenReturn( true );
+
+        List<AnalyticsTable> tables = subject.getAnalyticsTables( params );
+
+        assertEquals( 1, tables.size() );
+
+        AnalyticsTable table = tables.get( 0 );
+
+        assertEquals( 2, table.getTablePartitions().size() );
+
+        AnalyticsTablePartition partition = table.getTablePartitions().get( 1 );
+
+        assertEquals( 2019, partition.getYear().intValue() );
+        assertFalse( partition.isLatestPartition() );
+        assertEquals( lastFullTableUpdate, partition.getStartDate() );
+        assertEquals( startTime, partition.getEndDate() );
+        assertTrue( params.isPartialUpdate() );
+    }
+
+    @Test
+    void testIsTableStructureChanged()
+    {
+        Date lastFullTableUpdate = new DateTime( 2019, 3, 1, 2, 0 ).toDate();
+        Date startTime = new DateTime( 2019, 3, 1, 10, 0 ).toDate();
+
+        AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime( startTime )
+            .withIncrementalUpdate( true )
+            .build();
+
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .thenReturn( lastFullTableUpdate );
+        when( jdbcTemplate.queryForList( Mockito.anyString(), ArgumentMatchers.<Class<Integer>> any() ) )
+            .thenReturn( Lists.newArrayList( 2019 ) );
+        when( jdbcTemplate.queryForList( Mockito.startsWith( "select column_name" ),
+            ArgumentMatchers.<Class<String>> any() ) ).thenReturn( Lists.newArrayList( "id", "year" ) );
+        when( partitionManager.tableExists( "analytics_2019" ) ).thenReturn( true );
+
+        assertTrue( subject.isTableStructureChanged( params ) );
+    }
+
+    @Test
+    void testIsTableStructureChangedNoExistingTable()
+    {
+        Date lastFullTableUpdate = new DateTime( 2019, 3, 1, 2, 0 ).toDate();
+        Date startTime = new DateTime( 2019, 3, 1, 10, 0 ).toDate();
+
+        AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime( startTime )
+            .withIncrementalUpdate( true )
+            .build();
+
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .thenReturn( lastFullTableUpdate );
+        when( jdbcTemplate.queryForList( Mockito.anyString(), ArgumentMatchers.<Class<Integer>> any() ) )
+            .thenReturn( Lists.newArrayList( 2019 ) );
+        when( jdbcTemplate.queryForList( Mockito.startsWith( "select column_name" ),
+            ArgumentMatchers.<Class<String>> any() ) ).thenReturn( Lists.newArrayList() );
+        when( partitionManager.tableExists( "analytics_2019" ) ).thenReturn( true );
+
+        assertFalse( subject.isTableStructureChanged( params ) );
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidates each {@link EntityChangeInvalidation} affected by the entities
+ * changed in a transaction once the transaction commits. Nothing is
+ * invalidated when the transaction rolls back, and changes outside a
+ * transaction invalidate right away.
+ */
+@RequiredArgsConstructor
+public class EntityChangeInvalidationListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+    PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener
+{
+    private final List<EntityChangeInvalidation> invalidations;
+
+    @Override
+    public boolean requiresPostCommitHanding( EntityPersister persister )
+    {
+        return false;
+    }
+
+    @Override
+    public void onPostInsert( PostInsertEvent event )
+    {
+        onChange( event.getEntity() );
+    }
+
+    @Override
+    public void onPostUpdate( PostUpdateEvent event )
+    {
+        onChange( event.getEntity() );
+    }
+
+    @Override
+    public void onPostDelete( PostDeleteEvent event )
+    {
+        onChange( event.getEntity() );
+    }
+
+    @Override
+    public void onPostRecreateCollection( PostCollectionRecreateEvent event )
+    {
+        onCollectionChange( event );
+    }
+
+    @Override
+    public void onPostUpdateCollection( PostCollectionUpdateEvent event )
+    {
+        onCollectionChange( event );
+    }
+
+    @Override
+    public void onPostRemoveCollection( PostCollectionRemoveEvent event )
+    {
+        onCollectionChange( event );
+    }
+
+    private void onCollectionChange( AbstractCollectionEvent event )
+    {
+        onChange( event.getAffectedOwnerOrNull() );
+    }
+
+    private void onChange( Object entity )
+    {
+        if ( entity == null )
+        {
+            return;
+        }
+
+        List<EntityChangeInvalidation> affected = invalidations.stream()
+            .filter( invalidation -> isInvalidatedBy( invalidation, entity ) )
+            .collect( Collectors.toList() );
+
+        if ( affected.isEmpty() )
+        {
+            return;
+        }
+
+        if ( !TransactionSynchronizationManager.isSynchronizationActive() )
+        {
+            affected.forEach( EntityChangeInvalidation::invalidate );
+            return;
+        }
+
+        getPendingInvalidations().addAll( affected );
+    }
+
+    /**
+     * Returns the invalidations pending for the current transaction. They are
+     * collected in a set, so each is invalidated once however many entities
+     * the transaction changes.
+     */
+    @SuppressWarnings( "unchecked" )
+    private Set<EntityChangeInvalidation> getPendingInvalidations()
+    {
+        Set<EntityChangeInvalidation> pending = (Set<EntityChangeInvalidation>) TransactionSynchronizationManager
+            .getResource( this );
+
+        if ( pending != null )
+        {
+            return pending;
+        }
+
+        Set<EntityChangeInvalidation> created = new HashSet<>();
+
+        TransactionSynchronizationManager.bindResource( this, created );
+        TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization()
+        {
+            @Override
+            public void afterCompletion( int status )
+            {
+                TransactionSynchronizationManager.unbindResourceIfPossible( EntityChangeInvalidationListener.this );
+
+                if ( status == STATUS_COMMITTED )
+                {
+                    created.forEach( EntityChangeInvalidation::invalidate );
+                }
+            }
+        } );
+
+        return created;
+    }
+
+    private static boolean isInvalidatedBy( EntityChangeInvalidation invalidation, Object entity )
+    {
+        return invalidation.getInvalidatingTypes().stream().anyMatch( type -> type.isInstance( entity ) );
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Counts the total number of matches of paged queries according to a
+ * {@link CountMode}.
+ * <p>
+ * Exact counts are run on a small dedicated pool so that they can overlap with
+ * the fetch of the page. Counts only run concurrently outside of read-write
+ * transactions, as the count query uses its own connection and would not see
+ * uncommitted changes. When the pool is saturated, the count runs on the
+ * calling thread.
+ */
+@Slf4j
+@Component
+public class JdbcQueryCounter
+{
+    private static final Pattern PLAN_ROWS = Pattern.compile( "rows=(\\d+)" );
+
+    private static final int QUEUE_CAPACITY = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache<Integer> countCache;
+
+    private final ExecutorService executor;
+
+    public JdbcQueryCounter( JdbcTemplate jdbcTemplate, CacheProvider cacheProvider )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countCache = cacheProvider.createQueryCountCache();
+
+        int threads = Math.max( 2, Runtime.getRuntime().availableProcessors() / 2 );
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor( threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>( QUEUE_CAPACITY ), runnable -> {
+                Thread thread = new Thread( runnable, "dhis2-query-count-" + threadCount.incrementAndGet() );
+                thread.setDaemon( true );
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy() );
+    }
+
+    /**
+     * Counts the rows of a query.
+     *
+     * @param mode the {@link CountMode}, exact if null.
+     * @param countSql the SQL returning the exact count as a single value.
+     * @param sql the SQL of the counted rows, used to get a planner estimate.
+     * @return a future of the count.
+     */
+    public CompletableFuture<Integer> count( CountMode mode, String countSql, String sql )
+    {
+        if ( mode == CountMode.ESTIMATE )
+        {
+            Optional<Integer> estimate = estimate( sql );
+
+            if ( estimate.isPresent() )
+            {
+                return completedFuture( estimate.get() );
+            }
+        }
+        else if ( mode == CountMode.CACHED )
+        {
+            String key = Hashing.sha256().hashString( countSql, StandardCharsets.UTF_8 ).toString();
+
+            Optional<Integer> cached = countCache.getIfPresent( key );
+
+            if ( cached.isPresent() )
+            {
+                return completedFuture( cached.get() );
+            }
+
+            return countExact( countSql ).thenApply( count -> {
+                countCache.put( key, count );
+                return count;
+            } );
+        }
+
+        return countExact( countSql );
+    }
+
+    /**
+     * Waits for the given count, rethrowing any exception of the count query.
+     *
+     * @param count the future of a count.
+     * @return the count.
+     */
+    public static int getCount( CompletableFuture<Integer> count )
+    {
+        try
+        {
+            return count.join();
+        }
+        catch ( CompletionException ex )
+        {
+            if ( ex.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Integer> countExact( String countSql )
+    {
+        if ( !isConcurrentCountAllowed() )
+        {
+            return completedFuture( queryCount( countSql ) );
+        }
+
+        return CompletableFuture.supplyAsync( () -> queryCount( countSql ), executor );
+    }
+
+    private Integer queryCount( String countSql )
+    {
+        Integer count = jdbcTemplate.queryForObject( countSql, Integer.class );
+
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Reads the row estimate of the top node of the query plan. Returns an
+     * empty optional if the database does not provide one in the expected
+     * format.
+     */
+    private Optional<Integer> estimate( String sql )
+    {
+        try
+        {
+            List<String> plan = jdbcTemplate.queryForList( "explain " + sql, String.class );
+
+            Matcher matcher = plan.isEmpty() ? null : PLAN_ROWS.matcher( plan.get( 0 ) );
+
+            if ( matcher != null && matcher.find() )
+            {
+                return Optional.of( (int) Math.min( Long.parseLong( matcher.group( 1 ) ), Integer.MAX_VALUE ) );
+            }
+        }
+        catch ( DataAccessException ex )
+        {
+            log.debug( "Could not estimate count, falling back to exact count", ex );
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isConcurrentCountAllowed()
+    {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -173,6 +173,11 @@ public class DefaultQueryService
             npQuery.setObjects( objects );
 
             objects = inMemoryQueryEngine.query( npQuery );
+
+            addInMemoryPaths( query.getInMemoryPaths(), npQuery.getCriterions() );
+            npQuery.getOrders().stream().map( order -> order.getProperty().getName() )
+                .filter( path -> !query.getInMemoryPaths().contains( path ) )
+                .forEach( query.getInMemoryPaths()::add );
         }
 
         clearDefaults( query.getSchema().getKlass(), objects, query.getDefaults() );
@@ -180,6 +185,21 @@ public class DefaultQueryService
         return objects;
     }
 
+    private void addInMemoryPaths( List<String> paths, List<Criterion> criterions )
+    {
+        for ( Criterion criterion : criterions )
+        {
+            if ( criterion instanceof Restriction && !paths.contains( ((Restriction) criterion).getPath() ) )
+            {
+                paths.add( ((Restriction) criterion).getPath() );
+            }
+            else if ( criterion instanceof Junction )
+            {
+                addInMemoryPaths( paths, ((Junction) criterion).getCriterions() );
+            }
+        }
+    }
+
     private void clearDefaults( Class<?> klass, List<? extends IdentifiableObject> objects, Defaults defaults )
     {
         if ( Defaults.INCLUDE == defaults || !Preheat.isDefaultClass( klass ) )
@@ -36,15 +36,19 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 
 import org.hibernate.SessionFactory;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.hibernate.InternalHibernateGenericStore;
+import org.hisp.dhis.query.planner.QueryPath;
 import org.hisp.dhis.query.planner.QueryPlan;
 import org.hisp.dhis.query.planner.QueryPlanner;
 import org.hisp.dhis.schema.Schema;
@@ -136,7 +140,7 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
             return typedQuery.getResultList();
         }
 
-        Predicate predicate = buildPredicates( builder, root, query );
+        Predicate predicate = buildPredicates( builder, criteriaQuery, root, query );
 
         predicate.getExpressions().addAll( store
             .getSharingPredicates( builder, query.getUser() ).stream().map( t -> t.apply( root ) )
@@ -198,7 +202,7 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
         criteriaQuery.select( builder.count( root ) );
 
-        Predicate predicate = buildPredicates( builder, root, query );
+        Predicate predicate = buildPredicates( builder, criteriaQuery, root, query );
 
         predicate.getExpressions().addAll( store
             .getSharingPredicates( builder, query.getUser() ).stream().map( t -> t.apply( root ) )
@@ -238,13 +242,14 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
         return stores.get( klass );
     }
 
-    private <Y> Predicate buildPredicates( CriteriaBuilder builder, Root<Y> root, Query query )
+    private <Y> Predicate buildPredicates( CriteriaBuilder builder, AbstractQuery<?> criteriaQuery, Root<Y> root,
+        Query query )
     {
         Predicate junction = getJpaJunction( builder, query.getRootJunctionType() );
 
         for ( org.hisp.dhis.query.Criterion criterion : query.getCriterions() )
         {
-            addPredicate( builder, root, junction, criterion );
+            addPredicate( builder, criteriaQuery, root, junction, criterion );
         }
 
         query.getAliases().forEach( alias -> root.get( alias ).alias( alias ) );
@@ -265,23 +270,58 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
         return builder.conjunction();
     }
 
-    private <Y> Predicate getPredicate( CriteriaBuilder builder, Root<Y> root, Restriction restriction )
+    private <Y> Predicate getPredicate( CriteriaBuilder builder, AbstractQuery<?> criteriaQuery, Root<Y> root,
+        Restriction restriction )
     {
         if ( restriction == null || restriction.getOperator() == null )
         {
             return null;
         }
 
-        return restriction.getOperator().getPredicate( builder, root, restriction.getQueryPath() );
+        QueryPath queryPath = restriction.getQueryPath();
+
+        if ( queryPath.haveAlias() )
+        {
+            return getAliasPredicate( builder, criteriaQuery, root, restriction );
+        }
+
+        return restriction.getOperator().getPredicate( builder, root, queryPath );
+    }
+
+    /**
+     * Nested paths are evaluated as a correlated exists sub-query, which
+     * matches objects where any of the associated objects match the
+     * restriction, same as the in-memory engine does.
+     */
+    private <Y> Predicate getAliasPredicate( CriteriaBuilder builder, AbstractQuery<?> criteriaQuery, Root<Y> root,
+        Restriction restriction )
+    {
+        QueryPath queryPath = restriction.getQueryPath();
+
+        Subquery<Integer> subquery = criteriaQuery.subquery( Integer.class );
+        From<?, ?> join = subquery.correlate( root );
+
+        for ( String alias : queryPath.getAlias() )
+        {
+            join = join.join( alias );
+        }
+
+        Root<?> leaf = subquery.from( join.getJavaType() );
+
+        subquery.select( builder.literal( 1 ) ).where( builder.equal( join, leaf ),
+            restriction.getOperator().getPredicate( builder, leaf,
+                new QueryPath( queryPath.getProperty(), queryPath.isPersisted() ) ) );
+
+        return builder.exists( subquery );
     }
 
-    private <Y> void addPredicate( CriteriaBuilder builder, Root<Y> root, Predicate predicateJunction,
-        org.hisp.dhis.query.Criterion criterion )
+    private <Y> void addPredicate( CriteriaBuilder builder, AbstractQuery<?> criteriaQuery, Root<Y> root,
+        Predicate predicateJunction, org.hisp.dhis.query.Criterion criterion )
     {
         if ( criterion instanceof Restriction )
         {
             Restriction restriction = (Restriction) criterion;
-            Predicate predicate = getPredicate( builder, root, restriction );
+            Predicate predicate = getPredicate( builder, criteriaQuery, root, restriction );
 
             if ( predicate != null )
             {
@@ -305,18 +345,18 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
             for ( org.hisp.dhis.query.Criterion c : ((Junction) criterion).getCriterions() )
             {
-                addJunction( builder, root, junction, c );
+                addJunction( builder, criteriaQuery, root, junction, c );
             }
         }
     }
 
-    private <Y> void addJunction( CriteriaBuilder builder, Root<Y> root, Predicate junction,
-        org.hisp.dhis.query.Criterion criterion )
+    private <Y> void addJunction( CriteriaBuilder builder, AbstractQuery<?> criteriaQuery, Root<Y> root,
+        Predicate junction, org.hisp.dhis.query.Criterion criterion )
     {
         if ( criterion instanceof Restriction )
         {
             Restriction restriction = (Restriction) criterion;
-            Predicate predicate = getPredicate( builder, root, restriction );
+            Predicate predicate = getPredicate( builder, criteriaQuery, root, restriction );
 
             if ( predicate != null )
             {
@@ -340,7 +380,7 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
             for ( org.hisp.dhis.query.Criterion c : ((Junction) criterion).getCriterions() )
             {
-                addJunction( builder, root, junction, c );
+                addJunction( builder, criteriaQuery, root, junction, c );
             }
         }
     }
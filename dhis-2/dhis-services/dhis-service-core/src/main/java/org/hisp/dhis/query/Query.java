@@ -74,6 +74,12 @@ public class Query extends Criteria
 
     private List<? extends IdentifiableObject> objects;
 
+    /**
+     * Filter and order paths the query planner could not push down to the
+     * database, these were evaluated in-memory.
+     */
+    private final List<String> inMemoryPaths = new ArrayList<>();
+
     public static Query from( Schema schema )
     {
         return new Query( schema );
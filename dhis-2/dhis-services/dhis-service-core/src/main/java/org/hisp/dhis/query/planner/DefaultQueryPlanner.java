@@ -28,10 +28,8 @@
 package org.hisp.dhis.query.planner;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Root;
@@ -42,9 +40,10 @@ import org.hisp.dhis.query.Conjunction;
 import org.hisp.dhis.query.Criterion;
 import org.hisp.dhis.query.Disjunction;
 import org.hisp.dhis.query.Junction;
-import org.hisp.dhis.query.Order;
 import org.hisp.dhis.query.Query;
 import org.hisp.dhis.query.Restriction;
+import org.hisp.dhis.query.operators.EmptyOperator;
+import org.hisp.dhis.query.operators.Operator;
 import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
@@ -72,7 +71,9 @@ public class DefaultQueryPlanner implements QueryPlanner
         Junction.Type junctionType = query.getCriterions().size() <= 1 ? Junction.Type.AND
             : query.getRootJunctionType();
 
-        if ( (!isFilterOnPersistedFieldOnly( query ) || Junction.Type.OR == junctionType) && !persistedOnly )
+        // a disjunction can only be split when every member of it can be
+        // evaluated by the database, otherwise everything is done in-memory
+        if ( Junction.Type.OR == junctionType && !isFilterOnPersistedFieldOnly( query ) && !persistedOnly )
         {
             return QueryPlan.builder()
                 .persistedQuery( Query.from( query.getSchema() ).setPlannedQuery( true ) )
@@ -84,9 +85,9 @@ public class DefaultQueryPlanner implements QueryPlanner
 
         Query pQuery = getQuery( npQuery, persistedOnly ).setUser( query.getUser() ).setPlannedQuery( true );
 
-        // if there are any non persisted criterions left, we leave the paging
-        // to the in-memory engine
-        if ( !npQuery.getCriterions().isEmpty() )
+        // if there are any non persisted criterions or orders left, we leave
+        // the paging to the in-memory engine
+        if ( !npQuery.getCriterions().isEmpty() || !npQuery.getOrders().isEmpty() )
         {
             pQuery.setSkipPaging( true );
         }
@@ -136,6 +137,12 @@ public class DefaultQueryPlanner implements QueryPlanner
                 return new QueryPath( curProperty, persisted, alias.toArray( new String[] {} ) );
             }
 
+            if ( !curProperty.isSimple() && !isAssociation( curProperty ) )
+            {
+                // embedded and json properties can not be joined on
+                persisted = false;
+            }
+
             if ( curProperty.isCollection() )
             {
                 curSchema = schemaService.getDynamicSchema( curProperty.getItemKlass() );
@@ -222,7 +229,6 @@ public class DefaultQueryPlanner implements QueryPlanner
 
                 if ( !junction.getCriterions().isEmpty() )
                 {
-                    pQuery.getAliases().addAll( junction.getAliases() );
                     pQuery.add( junction );
                 }
 
@@ -234,11 +240,9 @@ public class DefaultQueryPlanner implements QueryPlanner
             else if ( criterion instanceof Restriction )
             {
                 Restriction restriction = (Restriction) criterion;
-                restriction.setQueryPath( getQueryPath( query.getSchema(), restriction.getPath() ) );
 
-                if ( restriction.getQueryPath().isPersisted() && !restriction.getQueryPath().haveAlias() )
+                if ( isPushable( query.getSchema(), restriction ) )
                 {
-                    pQuery.getAliases().addAll( Arrays.asList( ((Restriction) criterion).getQueryPath().getAlias() ) );
                     pQuery.getCriterions().add( criterion );
                     iterator.remove();
                 }
@@ -256,6 +260,14 @@ public class DefaultQueryPlanner implements QueryPlanner
 
     private Junction handleJunction( Query query, Junction queryJunction, boolean persistedOnly )
     {
+        // a disjunction must be evaluated as a whole, so it is only moved to
+        // the persisted query if all of its members can be
+        if ( queryJunction instanceof Disjunction && !persistedOnly
+            && nonPersistedFieldExistsInCriterions( query.getSchema(), queryJunction.getCriterions() ) )
+        {
+            return new Disjunction( query.getSchema() );
+        }
+
         Iterator<Criterion> iterator = queryJunction.getCriterions().iterator();
         Junction criteriaJunction = queryJunction instanceof Disjunction ? new Disjunction( query.getSchema() )
             : new Conjunction( query.getSchema() );
@@ -270,7 +282,6 @@ public class DefaultQueryPlanner implements QueryPlanner
 
                 if ( !junction.getCriterions().isEmpty() )
                 {
-                    criteriaJunction.getAliases().addAll( junction.getAliases() );
                     criteriaJunction.add( junction );
                 }
 
@@ -282,18 +293,15 @@ public class DefaultQueryPlanner implements QueryPlanner
             else if ( criterion instanceof Restriction )
             {
                 Restriction restriction = (Restriction) criterion;
-                restriction.setQueryPath( getQueryPath( query.getSchema(), restriction.getPath() ) );
 
-                if ( restriction.getQueryPath().isPersisted() && !restriction.getQueryPath().haveAlias( 1 ) )
+                if ( isPushable( query.getSchema(), restriction ) )
                 {
-                    criteriaJunction.getAliases()
-                        .addAll( Arrays.asList( ((Restriction) criterion).getQueryPath().getAlias() ) );
                     criteriaJunction.getCriterions().add( criterion );
                     iterator.remove();
                 }
                 else if ( persistedOnly )
                 {
-                    throw new RuntimeException( "Path " + restriction.getQueryPath().getPath() +
+                    throw new RuntimeException( "Path " + restriction.getPath() +
                         " is not fully persisted, unable to build persisted only query plan." );
                 }
             }
@@ -311,47 +319,37 @@ public class DefaultQueryPlanner implements QueryPlanner
      */
     private boolean isFilterOnPersistedFieldOnly( Query query )
     {
-        Set<String> persistedFields = query.getSchema().getPersistedProperties().keySet();
-        if ( nonPersistedFieldExistsInCriterions( persistedFields, query.getCriterions() ) )
+        if ( nonPersistedFieldExistsInCriterions( query.getSchema(), query.getCriterions() ) )
         {
             return false;
         }
 
-        for ( Order order : query.getOrders() )
-        {
-
-            if ( !persistedFields.contains( order.getProperty().getName() ) )
-            {
-                return false;
-            }
-        }
-        return true;
+        return query.ordersPersisted();
     }
 
     /**
      * Recursive function that checks if any of the criterions or subcriterions
-     * are associated with fields that are not persisted.
+     * are associated with fields that can not be evaluated by the database.
      *
-     * @param persistedFields The set of persistedFields in the schema
+     * @param schema The schema of the query
      * @param criterions List of criterions
      * @return true if there is any non persisted field in any of the criteria
      *         at any level. false otherwise.
      */
-    private boolean nonPersistedFieldExistsInCriterions( Set<String> persistedFields, List<Criterion> criterions )
+    private boolean nonPersistedFieldExistsInCriterions( Schema schema, List<Criterion> criterions )
     {
         for ( Criterion criterion : criterions )
         {
             if ( criterion instanceof Restriction )
             {
-                Restriction restriction = (Restriction) criterion;
-                if ( !persistedFields.contains( restriction.getPath() ) )
+                if ( !isPushable( schema, (Restriction) criterion ) )
                 {
                     return true;
                 }
             }
             else if ( criterion instanceof Junction )
             {
-                if ( nonPersistedFieldExistsInCriterions( persistedFields, ((Junction) criterion).getCriterions() ) )
+                if ( nonPersistedFieldExistsInCriterions( schema, ((Junction) criterion).getCriterions() ) )
                 {
                     return true;
                 }
@@ -359,4 +357,46 @@ public class DefaultQueryPlanner implements QueryPlanner
         }
         return false;
     }
+
+    /**
+     * Resolves the {@link QueryPath} of the given restriction and checks if it
+     * can be evaluated by the database. Nested paths are only supported when
+     * every step is a persisted association, they are then evaluated as an
+     * exists sub-query. As the sub-query joins the associations, it never
+     * matches objects without associated objects, so operators matching a
+     * missing value (such as null and negations) or an empty collection are
+     * evaluated in-memory for nested paths.
+     *
+     * @param schema The schema of the query
+     * @param restriction the restriction to check
+     * @return true if the restriction can be part of the persisted query
+     */
+    private boolean isPushable( Schema schema, Restriction restriction )
+    {
+        if ( restriction.isAttribute() )
+        {
+            return false;
+        }
+
+        QueryPath queryPath = getQueryPath( schema, restriction.getPath() );
+        restriction.setQueryPath( queryPath );
+
+        if ( queryPath.haveAlias() && matchesMissingValue( restriction.getOperator() ) )
+        {
+            return false;
+        }
+
+        return queryPath.isPersisted()
+            && (!queryPath.haveAlias() || queryPath.getProperty().isSimple() || queryPath.getProperty().isCollection());
+    }
+
+    private boolean matchesMissingValue( Operator<?> operator )
+    {
+        return operator instanceof EmptyOperator || operator != null && operator.test( null );
+    }
+
+    private boolean isAssociation( Property property )
+    {
+        return property.isManyToOne() || property.isOneToOne() || property.isManyToMany() || property.isOneToMany();
+    }
 }
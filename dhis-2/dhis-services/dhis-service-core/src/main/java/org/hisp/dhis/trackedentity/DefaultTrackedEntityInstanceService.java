@@ -43,6 +43,7 @@ import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.ORG_U
 import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.ORG_UNIT_NAME;
 import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.PAGER_META_KEY;
 import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.POTENTIAL_DUPLICATE;
+import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.SEARCH_INDEXES_META_KEY;
 import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.TRACKED_ENTITY_ID;
 import static org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams.TRACKED_ENTITY_INSTANCE_ID;
 
@@ -55,6 +56,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -66,6 +68,7 @@ import org.hisp.dhis.common.AuditType;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.JdbcQueryCounter;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.ValueType;
@@ -344,6 +347,10 @@ public class DefaultTrackedEntityInstanceService
             grid.addHeader( new GridHeader( item.getItem().getUid(), item.getItem().getName() ) );
         }
 
+        CompletableFuture<Integer> count = params.isPaging() && params.isTotalPages()
+            ? trackedEntityInstanceStore.getTrackedEntityInstanceCountForGridAsync( params )
+            : CompletableFuture.completedFuture( 0 );
+
         List<Map<String, String>> entities = trackedEntityInstanceStore.getTrackedEntityInstancesGrid( params );
 
         // ---------------------------------------------------------------------
@@ -424,14 +431,8 @@ public class DefaultTrackedEntityInstanceService
 
         if ( params.isPaging() )
         {
-            int count = 0;
-
-            if ( params.isTotalPages() )
-            {
-                count = trackedEntityInstanceStore.getTrackedEntityInstanceCountForGrid( params );
-            }
-
-            Pager pager = new Pager( params.getPageWithDefault(), count, params.getPageSizeWithDefault() );
+            Pager pager = new Pager( params.getPageWithDefault(), JdbcQueryCounter.getCount( count ),
+                params.getPageSizeWithDefault() );
             metaData.put( PAGER_META_KEY, pager );
         }
 
@@ -446,6 +447,11 @@ public class DefaultTrackedEntityInstanceService
             }
 
             metaData.put( META_DATA_NAMES_KEY, names );
+
+            if ( !params.getSearchIndexes().isEmpty() )
+            {
+                metaData.put( SEARCH_INDEXES_META_KEY, params.getSearchIndexes() );
+            }
         }
 
         grid.setMetaData( metaData );
@@ -49,12 +49,14 @@ import static org.hisp.dhis.util.DateUtils.getMediumDateString;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -71,6 +73,7 @@ import org.hibernate.query.Query;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.JdbcQueryCounter;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
@@ -87,6 +90,7 @@ import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.trackedentity.TrackedEntityInstance;
 import org.hisp.dhis.trackedentity.TrackedEntityInstanceQueryParams;
 import org.hisp.dhis.trackedentity.TrackedEntityInstanceStore;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeTableManager;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.util.DateUtils;
@@ -141,6 +145,12 @@ public class HibernateTrackedEntityInstanceStore
 
     private static final String UID_VALUE_PAIR_SEPARATOR = ";@//@;";
 
+    /**
+     * Search tokens shorter than a trigram cannot be looked up in a trigram
+     * index.
+     */
+    private static final int TRIGRAM_MIN_TOKEN_LENGTH = 3;
+
     // -------------------------------------------------------------------------
     // Dependencies
     // -------------------------------------------------------------------------
@@ -149,18 +159,27 @@ public class HibernateTrackedEntityInstanceStore
 
     private final StatementBuilder statementBuilder;
 
+    private final TrackedEntityAttributeTableManager attributeTableManager;
+
+    private final JdbcQueryCounter queryCounter;
+
     public HibernateTrackedEntityInstanceStore( SessionFactory sessionFactory, JdbcTemplate jdbcTemplate,
         ApplicationEventPublisher publisher, CurrentUserService currentUserService,
-        AclService aclService, OrganisationUnitStore organisationUnitStore, StatementBuilder statementBuilder )
+        AclService aclService, OrganisationUnitStore organisationUnitStore, StatementBuilder statementBuilder,
+        TrackedEntityAttributeTableManager attributeTableManager, JdbcQueryCounter queryCounter )
     {
         super( sessionFactory, jdbcTemplate, publisher, TrackedEntityInstance.class, currentUserService, aclService,
             false );
 
         checkNotNull( statementBuilder );
         checkNotNull( organisationUnitStore );
+        checkNotNull( attributeTableManager );
+        checkNotNull( queryCounter );
 
         this.statementBuilder = statementBuilder;
         this.organisationUnitStore = organisationUnitStore;
+        this.attributeTableManager = attributeTableManager;
+        this.queryCounter = queryCounter;
     }
 
     // -------------------------------------------------------------------------
@@ -222,6 +241,7 @@ public class HibernateTrackedEntityInstanceStore
     {
         String sql = getQuery( params, true );
         log.debug( "Tracked entity instance query SQL: " + sql );
+        log.debug( "Tracked entity instance query search indexes: {}", params.getSearchIndexes() );
 
         SqlRowSet rowSet = jdbcTemplate.queryForRowSet( sql );
 
@@ -301,12 +321,21 @@ public class HibernateTrackedEntityInstanceStore
 
     @Override
     public int getTrackedEntityInstanceCountForGrid( TrackedEntityInstanceQueryParams params )
+    {
+        return JdbcQueryCounter.getCount( getTrackedEntityInstanceCountForGridAsync( params ) );
+    }
+
+    @Override
+    public CompletableFuture<Integer> getTrackedEntityInstanceCountForGridAsync(
+        TrackedEntityInstanceQueryParams params )
     {
         // ---------------------------------------------------------------------
         // Select clause
         // ---------------------------------------------------------------------
 
-        String sql = getCountQuery( params );
+        String subQuery = getCountSubQuery( params );
+
+        String sql = getQueryCountSelect( params ) + subQuery + " ) teicount";
 
         // ---------------------------------------------------------------------
         // Query
@@ -314,9 +343,7 @@ public class HibernateTrackedEntityInstanceStore
 
         log.debug( "Tracked entity instance count SQL: " + sql );
 
-        Integer count = jdbcTemplate.queryForObject( sql, Integer.class );
-
-        return count;
+        return queryCounter.count( params.getCountMode(), sql, subQuery );
     }
 
     /**
@@ -403,16 +430,14 @@ public class HibernateTrackedEntityInstanceStore
      * @param params params defining the query
      * @return a count SQL query
      */
-    private String getCountQuery( TrackedEntityInstanceQueryParams params )
+    private String getCountSubQuery( TrackedEntityInstanceQueryParams params )
     {
         return new StringBuilder()
-            .append( getQueryCountSelect( params ) )
             .append( getQuerySelect( params, true ) )
             .append( "FROM " )
             .append( getFromSubQuery( params, true, true ) )
             .append( getQueryRelatedTables( params ) )
             .append( getQueryGroupBy( params ) )
-            .append( " ) teicount" )
             .toString();
     }
 
@@ -645,7 +670,7 @@ public class HibernateTrackedEntityInstanceStore
         {
             if ( !params.isOrQuery() )
             {
-                joinAttributeValueWithoutQueryParameter( attributes, filterItems );
+                joinAttributeValueWithoutQueryParameter( params, attributes, filterItems );
             }
             else
             {
@@ -663,6 +688,10 @@ public class HibernateTrackedEntityInstanceStore
      * to alternatives. A query string (Can be multiple) has to match at least 1
      * attribute value for each attribute we have access to. We use Regex to
      * search, allowing both exact match and with wildcards (EQ or LIKE).
+     * <p>
+     * Attributes with a trigram index are searched in a separate branch of a
+     * union each, as the partial index of an attribute can only be used when
+     * the query is restricted to that single attribute.
      *
      * @param params
      * @param attributes
@@ -683,18 +712,15 @@ public class HibernateTrackedEntityInstanceStore
             .map( DimensionalItemObject::getId )
             .collect( Collectors.toList() );
 
-        attributes
-            .append( "INNER JOIN trackedentityattributevalue Q " )
-            .append( "ON Q.trackedentityinstanceid = TEI.trackedentityinstanceid " )
-            .append( "AND Q.trackedentityattributeid IN (" )
-            .append( getCommaDelimitedString( itemIds ) )
-            .append( ") AND (" );
+        List<String> queryTokens = getTokens( params.getQuery().getFilter() );
 
-        for ( String queryToken : getTokens( params.getQuery().getFilter() ) )
+        StringBuilder conditions = new StringBuilder( "(" );
+
+        for ( String queryToken : queryTokens )
         {
             final String query = statementBuilder.encode( queryToken, false );
 
-            attributes
+            conditions
                 .append( orHlp.or() )
                 .append( "lower(Q.value) " )
                 .append( regexp )
@@ -705,19 +731,89 @@ public class HibernateTrackedEntityInstanceStore
                 .append( SINGLE_QUOTE );
         }
 
-        attributes.append( ")" );
+        conditions.append( ")" );
+
+        List<Long> indexedIds = getTrigramSearchableAttributeIds( itemIds, queryTokens );
+
+        if ( indexedIds.isEmpty() )
+        {
+            attributes
+                .append( "INNER JOIN trackedentityattributevalue Q " )
+                .append( "ON Q.trackedentityinstanceid = TEI.trackedentityinstanceid " )
+                .append( "AND Q.trackedentityattributeid IN (" )
+                .append( getCommaDelimitedString( itemIds ) )
+                .append( ") AND " )
+                .append( conditions );
+
+            return;
+        }
+
+        List<Long> otherIds = itemIds.stream()
+            .filter( id -> !indexedIds.contains( id ) )
+            .collect( Collectors.toList() );
+
+        List<String> branches = new ArrayList<>();
+
+        for ( Long indexedId : indexedIds )
+        {
+            branches.add( "SELECT Q.trackedentityinstanceid FROM trackedentityattributevalue Q " +
+                "WHERE Q.trackedentityattributeid = " + indexedId + " AND " + conditions );
+
+            params.addSearchIndex( TrackedEntityAttributeTableManager.getTrigramIndexName( indexedId ) );
+        }
+
+        if ( !otherIds.isEmpty() )
+        {
+            branches.add( "SELECT Q.trackedentityinstanceid FROM trackedentityattributevalue Q " +
+                "WHERE Q.trackedentityattributeid IN (" + getCommaDelimitedString( otherIds ) + ") AND " +
+                conditions );
+        }
+
+        attributes
+            .append( "INNER JOIN (" )
+            .append( String.join( " UNION ", branches ) )
+            .append( ") Q ON Q.trackedentityinstanceid = TEI.trackedentityinstanceid " );
+    }
+
+    /**
+     * Returns those of the given attributes that have a usable trigram index,
+     * provided that every search token is long enough to be looked up by
+     * trigrams at all.
+     *
+     * @param attributeIds the ids of the searched attributes.
+     * @param tokens the search tokens.
+     * @return the ids of the attributes to search through their trigram index.
+     */
+    private List<Long> getTrigramSearchableAttributeIds( List<Long> attributeIds, List<String> tokens )
+    {
+        if ( tokens.isEmpty() || tokens.stream().anyMatch( token -> token.length() < TRIGRAM_MIN_TOKEN_LENGTH ) )
+        {
+            return Collections.emptyList();
+        }
+
+        Set<Long> indexedIds = attributeTableManager.getSearchableTrigramIndexedAttributeIds();
+
+        return attributeIds.stream()
+            .filter( indexedIds::contains )
+            .distinct()
+            .collect( Collectors.toList() );
     }
 
     /**
      * Generates a single INNER JOIN for each attribute we are searching on. We
      * can search by a range of operators. All searching is using lower() since
-     * attribute values are case insensitive.
+     * attribute values are case insensitive. The join is restricted to a
+     * single attribute, so like filters can use its trigram index if present.
      *
+     * @param params
      * @param attributes
      * @param filterItems
      */
-    private void joinAttributeValueWithoutQueryParameter( StringBuilder attributes, List<QueryItem> filterItems )
+    private void joinAttributeValueWithoutQueryParameter( TrackedEntityInstanceQueryParams params,
+        StringBuilder attributes, List<QueryItem> filterItems )
     {
+        Set<Long> indexedIds = null;
+
         for ( QueryItem queryItem : filterItems )
         {
             String col = statementBuilder.columnQuote( queryItem.getItemId() );
@@ -747,10 +843,28 @@ public class HibernateTrackedEntityInstanceStore
                     .append( SPACE )
                     .append( StringUtils
                         .lowerCase( filter.getSqlFilter( encodedFilter ) ) );
+
+                if ( isTrigramSearchable( filter ) )
+                {
+                    indexedIds = indexedIds != null ? indexedIds
+                        : attributeTableManager.getSearchableTrigramIndexedAttributeIds();
+
+                    if ( indexedIds.contains( queryItem.getItem().getId() ) )
+                    {
+                        params.addSearchIndex(
+                            TrackedEntityAttributeTableManager.getTrigramIndexName( queryItem.getItem().getId() ) );
+                    }
+                }
             }
         }
     }
 
+    private boolean isTrigramSearchable( QueryFilter filter )
+    {
+        return (filter.getOperator() == QueryOperator.LIKE || filter.getOperator() == QueryOperator.ILIKE)
+            && StringUtils.length( filter.getFilter() ) >= TRIGRAM_MIN_TOKEN_LENGTH;
+    }
+
     /**
      * Generates the LEFT JOINs used for attributes we are ordering by (If any).
      * We use LEFT JOIN to avoid removing any rows if there is no value for a
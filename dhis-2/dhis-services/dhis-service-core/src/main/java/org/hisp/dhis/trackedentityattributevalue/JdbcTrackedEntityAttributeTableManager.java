@@ -27,11 +27,16 @@
  */
 package org.hisp.dhis.trackedentityattributevalue;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
@@ -54,6 +59,16 @@ public class JdbcTrackedEntityAttributeTableManager implements TrackedEntityAttr
     private static final String LIST_TRIGRAM_INDEXED_ATTRIBUTE_ID_QUERY = "SELECT cast(substring(indexname from 'in_gin_teavalue_(.*)') as bigint) as teaid FROM  pg_indexes"
         + " WHERE   indexname like 'in_gin_teavalue_%' and tablename = 'trackedentityattributevalue'";
 
+    private static final String LIST_VALID_TRIGRAM_INDEXED_ATTRIBUTE_ID_QUERY = "SELECT cast(substring(c.relname from 'in_gin_teavalue_(.*)') as bigint) as teaid"
+        + " FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid"
+        + " WHERE c.relname like 'in_gin_teavalue_%' and i.indisvalid";
+
+    private static final long SEARCHABLE_INDEXES_TTL_MILLIS = TimeUnit.MINUTES.toMillis( 1 );
+
+    private volatile Set<Long> searchableIndexedAttributeIds;
+
+    private volatile long searchableIndexedAttributeIdsLoaded;
+
     private final JdbcTemplate jdbcTemplate;
 
     public JdbcTrackedEntityAttributeTableManager( JdbcTemplate jdbcTemplate )
@@ -71,6 +86,7 @@ public class JdbcTrackedEntityAttributeTableManager implements TrackedEntityAttr
         String query = String.format( TRIGRAM_INDEX_CREATE_QUERY, trackedEntityAttribute.getId(),
             trackedEntityAttribute.getId() );
         jdbcTemplate.execute( query );
+        searchableIndexedAttributeIds = null;
     }
 
     @Override
@@ -78,6 +94,7 @@ public class JdbcTrackedEntityAttributeTableManager implements TrackedEntityAttr
     {
         String query = String.format( TRIGRAM_INDEX_DROP_QUERY, teaId );
         jdbcTemplate.execute( query );
+        searchableIndexedAttributeIds = null;
     }
 
     @Override
@@ -85,4 +102,32 @@ public class JdbcTrackedEntityAttributeTableManager implements TrackedEntityAttr
     {
         return jdbcTemplate.queryForList( LIST_TRIGRAM_INDEXED_ATTRIBUTE_ID_QUERY, Long.class );
     }
+
+    @Override
+    public Set<Long> getSearchableTrigramIndexedAttributeIds()
+    {
+        Set<Long> ids = searchableIndexedAttributeIds;
+
+        long now = System.currentTimeMillis();
+
+        if ( ids == null || now - searchableIndexedAttributeIdsLoaded > SEARCHABLE_INDEXES_TTL_MILLIS )
+        {
+            try
+            {
+                ids = new HashSet<>(
+                    jdbcTemplate.queryForList( LIST_VALID_TRIGRAM_INDEXED_ATTRIBUTE_ID_QUERY, Long.class ) );
+            }
+            catch ( DataAccessException ex )
+            {
+                // catalog not available, e.g. on databases other than postgres
+                log.debug( "Could not list trigram indexes", ex );
+                ids = Collections.emptySet();
+            }
+
+            searchableIndexedAttributeIdsLoaded = now;
+            searchableIndexedAttributeIds = ids;
+        }
+
+        return ids;
+    }
 }
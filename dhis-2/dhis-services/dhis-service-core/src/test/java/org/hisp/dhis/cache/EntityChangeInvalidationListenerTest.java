@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class EntityChangeInvalidationListenerTest
+{
+    private final AtomicInteger invalidated = new AtomicInteger();
+
+    private EntityChangeInvalidationListener listener;
+
+    @BeforeEach
+    void setUp()
+    {
+        listener = new EntityChangeInvalidationListener( List.of( new EntityChangeInvalidation()
+        {
+            @Override
+            public Set<Class<?>> getInvalidatingTypes()
+            {
+                return Set.of( DataElement.class );
+            }
+
+            @Override
+            public void invalidate()
+            {
+                invalidated.incrementAndGet();
+            }
+        } ) );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        if ( TransactionSynchronizationManager.isSynchronizationActive() )
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testInvalidateRightAwayOutsideOfTransaction()
+    {
+        listener.onPostInsert( insertOf( new DataElement() ) );
+
+        assertEquals( 1, invalidated.get() );
+    }
+
+    @Test
+    void testIgnoreChangesOfOtherTypes()
+    {
+        listener.onPostInsert( insertOf( new User() ) );
+
+        assertEquals( 0, invalidated.get() );
+    }
+
+    @Test
+    void testInvalidateOnceOnCommit()
+    {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onPostInsert( insertOf( new DataElement() ) );
+        listener.onPostUpdate( updateOf( new DataElement() ) );
+
+        assertEquals( 0, invalidated.get() );
+
+        completeTransaction( TransactionSynchronization.STATUS_COMMITTED );
+
+        assertEquals( 1, invalidated.get() );
+    }
+
+    @Test
+    void testNoInvalidationOnRollback()
+    {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onPostInsert( insertOf( new DataElement() ) );
+
+        completeTransaction( TransactionSynchronization.STATUS_ROLLED_BACK );
+
+        assertEquals( 0, invalidated.get() );
+    }
+
+    private void completeTransaction( int status )
+    {
+        TransactionSynchronizationManager.getSynchronizations().forEach( sync -> sync.afterCompletion( status ) );
+    }
+
+    private PostInsertEvent insertOf( Object entity )
+    {
+        PostInsertEvent event = mock( PostInsertEvent.class );
+        when( event.getEntity() ).thenReturn( entity );
+        return event;
+    }
+
+    private PostUpdateEvent updateOf( Object entity )
+    {
+        PostUpdateEvent event = mock( PostUpdateEvent.class );
+        when( event.getEntity() ).thenReturn( entity );
+        return event;
+    }
+}
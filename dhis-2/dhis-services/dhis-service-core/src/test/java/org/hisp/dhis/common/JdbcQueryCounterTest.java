@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.TestCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith( MockitoExtension.class )
+class JdbcQueryCounterTest
+{
+    private static final String COUNT_SQL = "select count(*) from event";
+
+    private static final String SQL = "select * from event";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheProvider cacheProvider;
+
+    private JdbcQueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( cacheProvider.createQueryCountCache() ).thenReturn( new TestCache<>() );
+
+        queryCounter = new JdbcQueryCounter( jdbcTemplate, cacheProvider );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        queryCounter.shutdown();
+    }
+
+    @Test
+    void shouldCountExactly()
+    {
+        when( jdbcTemplate.queryForObject( COUNT_SQL, Integer.class ) ).thenReturn( 42 );
+
+        assertEquals( 42, JdbcQueryCounter.getCount( queryCounter.count( CountMode.EXACT, COUNT_SQL, SQL ) ) );
+    }
+
+    @Test
+    void shouldRethrowExceptionOfCountQuery()
+    {
+        when( jdbcTemplate.queryForObject( COUNT_SQL, Integer.class ) )
+            .thenThrow( new DataAccessResourceFailureException( "connection lost" ) );
+
+        assertThrows( DataAccessResourceFailureException.class,
+            () -> JdbcQueryCounter.getCount( queryCounter.count( CountMode.EXACT, COUNT_SQL, SQL ) ) );
+    }
+
+    @Test
+    void shouldEstimateFromQueryPlan()
+    {
+        when( jdbcTemplate.queryForList( "explain " + SQL, String.class ) ).thenReturn( List.of(
+            "Seq Scan on event  (cost=0.00..35.50 rows=2550 width=4)" ) );
+
+        assertEquals( 2550, JdbcQueryCounter.getCount( queryCounter.count( CountMode.ESTIMATE, COUNT_SQL, SQL ) ) );
+
+        verify( jdbcTemplate, never() ).queryForObject( anyString(), eq( Integer.class ) );
+    }
+
+    @Test
+    void shouldCountExactlyWhenEstimateIsNotAvailable()
+    {
+        when( jdbcTemplate.queryForList( "explain " + SQL, String.class ) )
+            .thenThrow( new BadSqlGrammarException( "explain", SQL, null ) );
+        when( jdbcTemplate.queryForObject( COUNT_SQL, Integer.class ) ).thenReturn( 7 );
+
+        assertEquals( 7, JdbcQueryCounter.getCount( queryCounter.count( CountMode.ESTIMATE, COUNT_SQL, SQL ) ) );
+    }
+
+    @Test
+    void shouldReuseCachedCount()
+    {
+        when( jdbcTemplate.queryForObject( COUNT_SQL, Integer.class ) ).thenReturn( 3 );
+
+        assertEquals( 3, JdbcQueryCounter.getCount( queryCounter.count( CountMode.CACHED, COUNT_SQL, SQL ) ) );
+        assertEquals( 3, JdbcQueryCounter.getCount( queryCounter.count( CountMode.CACHED, COUNT_SQL, SQL ) ) );
+
+        verify( jdbcTemplate, times( 1 ) ).queryForObject( COUNT_SQL, Integer.class );
+    }
+}
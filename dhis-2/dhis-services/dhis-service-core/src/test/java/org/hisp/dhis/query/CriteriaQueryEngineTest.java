@@ -43,6 +43,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementGroup;
+import org.hisp.dhis.option.OptionSet;
 import org.hisp.dhis.query.operators.MatchMode;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
@@ -432,6 +433,47 @@ class CriteriaQueryEngineTest extends TransactionalIntegrationTest
         assertTrue( collectionContainsUid( objects, "deabcdefghF" ) );
     }
 
+    @Test
+    void testNestedCollectionPathQuery()
+    {
+        Query query = Query.from( schemaService.getDynamicSchema( DataElementGroup.class ) );
+        query.add( Restrictions.eq( "dataElements.id", "deabcdefghE" ) );
+        List<? extends IdentifiableObject> objects = queryEngine.query( query );
+        assertEquals( 1, objects.size() );
+        assertEquals( "abcdefghijB", objects.get( 0 ).getUid() );
+    }
+
+    @Test
+    void testNestedCollectionPathQueryMatchesOnce()
+    {
+        Query query = Query.from( schemaService.getDynamicSchema( DataElementGroup.class ) );
+        query.add( Restrictions.in( "dataElements.id", Lists.newArrayList( "deabcdefghA", "deabcdefghB" ) ) );
+        assertEquals( 1, queryEngine.count( query ) );
+        List<? extends IdentifiableObject> objects = queryEngine.query( query );
+        assertEquals( 1, objects.size() );
+        assertEquals( "abcdefghijA", objects.get( 0 ).getUid() );
+    }
+
+    @Test
+    void testNestedPathIsNullThroughMissingAssociation()
+    {
+        OptionSet optionSet = createOptionSet( 'A' );
+        identifiableObjectManager.save( optionSet );
+        DataElement dataElement = identifiableObjectManager.get( DataElement.class, "deabcdefghA" );
+        dataElement.setOptionSet( optionSet );
+        identifiableObjectManager.update( dataElement );
+        Query query = Query.from( schemaService.getDynamicSchema( DataElement.class ) );
+        query.add( Restrictions.isNull( "optionSet.name" ) );
+        List<? extends IdentifiableObject> objects = queryService.query( query );
+        assertEquals( 5, objects.size() );
+        assertFalse( collectionContainsUid( objects, "deabcdefghA" ) );
+        query = Query.from( schemaService.getDynamicSchema( DataElement.class ) );
+        query.add( Restrictions.isNotNull( "optionSet.name" ) );
+        objects = queryService.query( query );
+        assertEquals( 1, objects.size() );
+        assertTrue( collectionContainsUid( objects, "deabcdefghA" ) );
+    }
+
     @Test
     @Disabled
     void testCollectionEqSize4()
@@ -36,8 +36,10 @@ import java.util.Map;
 
 import org.apache.commons.beanutils.PropertyUtils;
 import org.hisp.dhis.attribute.Attribute;
+import org.hisp.dhis.query.Disjunction;
 import org.hisp.dhis.query.Junction;
 import org.hisp.dhis.query.Query;
+import org.hisp.dhis.query.Restriction;
 import org.hisp.dhis.query.Restrictions;
 import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.Schema;
@@ -181,6 +183,71 @@ class DefaultQueryPlannerTest
         assertEquals( nonPersistedQuery.getRootJunctionType(), Junction.Type.AND );
     }
 
+    @Test
+    void verifyPlanQuerySplitsConjunctionOnNonPersistedFields()
+        throws Exception
+    {
+        final Attribute attribute = new Attribute();
+        final Map<String, Property> propertyMap = new HashMap<>();
+        addProperty( propertyMap, attribute, "id", true );
+        addProperty( propertyMap, attribute, "uid", true );
+        addProperty( propertyMap, attribute, "name", false );
+        Schema schema = new OrganisationUnitSchemaDescriptor().getSchema();
+        schema.setPropertyMap( propertyMap );
+
+        Query query = Query.from( schema, Junction.Type.AND );
+        query.setMaxResults( 10 );
+        query.setFirstResult( 500 );
+
+        query.add( Restrictions.eq( "name", "test" ) );
+        query.add( Restrictions.eq( "id", 100 ) );
+
+        QueryPlan queryPlan = subject.planQuery( query, false );
+
+        Query persistedQuery = queryPlan.getPersistedQuery();
+        assertEquals( 1, persistedQuery.getCriterions().size() );
+        assertEquals( "id", ((Restriction) persistedQuery.getCriterions().get( 0 )).getPath() );
+        assertEquals( 0, persistedQuery.getFirstResult().intValue() );
+        assertEquals( Integer.MAX_VALUE, persistedQuery.getMaxResults().intValue() );
+
+        Query nonPersistedQuery = queryPlan.getNonPersistedQuery();
+        assertEquals( 1, nonPersistedQuery.getCriterions().size() );
+        assertEquals( "name", ((Restriction) nonPersistedQuery.getCriterions().get( 0 )).getPath() );
+        assertEquals( 500, nonPersistedQuery.getFirstResult().intValue() );
+        assertEquals( 10, nonPersistedQuery.getMaxResults().intValue() );
+    }
+
+    @Test
+    void verifyPlanQueryKeepsDisjunctionWithNonPersistedFieldInMemory()
+        throws Exception
+    {
+        final Attribute attribute = new Attribute();
+        final Map<String, Property> propertyMap = new HashMap<>();
+        addProperty( propertyMap, attribute, "id", true );
+        addProperty( propertyMap, attribute, "uid", true );
+        addProperty( propertyMap, attribute, "name", false );
+        Schema schema = new OrganisationUnitSchemaDescriptor().getSchema();
+        schema.setPropertyMap( propertyMap );
+
+        Query query = Query.from( schema, Junction.Type.AND );
+        query.add( Restrictions.eq( "uid", "abc" ) );
+
+        Disjunction disjunction = new Disjunction( schema );
+        disjunction.add( Restrictions.eq( "name", "test" ) );
+        disjunction.add( Restrictions.eq( "id", 100 ) );
+        query.add( disjunction );
+
+        QueryPlan queryPlan = subject.planQuery( query, false );
+
+        Query persistedQuery = queryPlan.getPersistedQuery();
+        assertEquals( 1, persistedQuery.getCriterions().size() );
+        assertEquals( "uid", ((Restriction) persistedQuery.getCriterions().get( 0 )).getPath() );
+
+        Query nonPersistedQuery = queryPlan.getNonPersistedQuery();
+        assertEquals( 1, nonPersistedQuery.getCriterions().size() );
+        assertEquals( 2, ((Junction) nonPersistedQuery.getCriterions().get( 0 )).getCriterions().size() );
+    }
+
     private void addProperty( Map<String, Property> propertyMap, Object bean, String property, boolean persisted )
         throws Exception
     {
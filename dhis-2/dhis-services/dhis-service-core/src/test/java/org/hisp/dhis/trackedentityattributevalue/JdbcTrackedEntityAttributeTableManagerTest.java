@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.trackedentityattributevalue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith( MockitoExtension.class )
+class JdbcTrackedEntityAttributeTableManagerTest
+{
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcTrackedEntityAttributeTableManager tableManager;
+
+    @BeforeEach
+    void setUp()
+    {
+        tableManager = new JdbcTrackedEntityAttributeTableManager( jdbcTemplate );
+    }
+
+    @Test
+    void shouldCacheSearchableTrigramIndexedAttributeIds()
+    {
+        when( jdbcTemplate.queryForList( anyString(), eq( Long.class ) ) ).thenReturn( List.of( 1L, 2L ) );
+
+        assertEquals( Set.of( 1L, 2L ), tableManager.getSearchableTrigramIndexedAttributeIds() );
+        assertEquals( Set.of( 1L, 2L ), tableManager.getSearchableTrigramIndexedAttributeIds() );
+
+        verify( jdbcTemplate, times( 1 ) ).queryForList( anyString(), eq( Long.class ) );
+    }
+
+    @Test
+    void shouldReloadSearchableTrigramIndexedAttributeIdsAfterDrop()
+    {
+        when( jdbcTemplate.queryForList( anyString(), eq( Long.class ) ) ).thenReturn( List.of( 1L, 2L ),
+            List.of( 2L ) );
+
+        assertEquals( Set.of( 1L, 2L ), tableManager.getSearchableTrigramIndexedAttributeIds() );
+
+        tableManager.dropTrigramIndex( 1L );
+
+        assertEquals( Set.of( 2L ), tableManager.getSearchableTrigramIndexedAttributeIds() );
+    }
+
+    @Test
+    void shouldReturnNoSearchableIndexesWhenCatalogIsUnavailable()
+    {
+        when( jdbcTemplate.queryForList( anyString(), eq( Long.class ) ) )
+            .thenThrow( new DataAccessResourceFailureException( "no catalog" ) );
+
+        assertTrue( tableManager.getSearchableTrigramIndexedAttributeIds().isEmpty() );
+    }
+}
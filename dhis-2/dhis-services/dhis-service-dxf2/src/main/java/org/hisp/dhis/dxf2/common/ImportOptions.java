@@ -114,6 +114,13 @@ public class ImportOptions
      */
     private boolean skipCache = false;
 
+    /**
+     * if true, data values are imported in chunks where existing data values
+     * are fetched and data values are written with a single statement per
+     * chunk
+     */
+    private boolean chunkedImport;
+
     // --------------------------------------------------------------------------
     // Constructors
     // --------------------------------------------------------------------------
@@ -157,6 +164,7 @@ public class ImportOptions
         options.skipLastUpdated = this.skipLastUpdated;
         options.skipCache = this.skipCache;
         options.mergeDataValues = this.mergeDataValues;
+        options.chunkedImport = this.chunkedImport;
 
         return options;
     }
@@ -415,6 +423,13 @@ public class ImportOptions
         return mergeDataValues;
     }
 
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public boolean isChunkedImport()
+    {
+        return chunkedImport;
+    }
+
     // --------------------------------------------------------------------------
     // Set methods
     // --------------------------------------------------------------------------
@@ -650,6 +665,12 @@ public class ImportOptions
         this.mergeDataValues = mergeDataValues;
     }
 
+    public ImportOptions setChunkedImport( boolean chunkedImport )
+    {
+        this.chunkedImport = chunkedImport;
+        return this;
+    }
+
     @Override
     public String toString()
     {
@@ -677,6 +698,7 @@ public class ImportOptions
             .add( "skipLastUpdated", skipLastUpdated )
             .add( "skipCache", skipCache )
             .add( "skipDataValueMandatoryValidationCheck", mergeDataValues )
+            .add( "chunkedImport", chunkedImport )
             .toString();
     }
 }
@@ -29,10 +29,13 @@ package org.hisp.dhis.dxf2.datavalueset;
 
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 
 /**
  * @author Lars Helge Overland
@@ -67,4 +70,26 @@ public interface DataValueSetStore
      */
     void exportDataValueSetJson( Date lastUpdated, OutputStream outputStream, IdSchemes idSchemes, int pageSize,
         int page );
+
+    /**
+     * Returns the stored data values, including soft deleted data values,
+     * matching the identifying properties of the given data values using a
+     * single query. The returned data values refer to the data element,
+     * period, organisation unit and option combo objects of the given data
+     * values.
+     *
+     * @param dataValues the data values to look up, must be persisted
+     *        references.
+     * @return a list of the stored data values.
+     */
+    List<DataValue> getExistingDataValues( Collection<DataValue> dataValues );
+
+    /**
+     * Inserts the given data values, or updates the stored data values if they
+     * exist, using a single statement. The given data values must be unique
+     * with respect to their identifying properties.
+     *
+     * @param dataValues the data values to insert or update.
+     */
+    void upsertDataValues( Collection<DataValue> dataValues );
 }
@@ -42,13 +42,17 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.BooleanUtils;
@@ -140,6 +144,8 @@ public class DefaultDataValueSetService
 
     private static final int CACHE_MISS_THRESHOLD = 250;
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
     private final IdentifiableObjectManager identifiableObjectManager;
 
     private final CategoryService categoryService;
@@ -717,21 +723,24 @@ public class DefaultDataValueSetService
         notifier.notify( id, notificationLevel, "Importing data values" );
 
         List<? extends DataValueEntry> values = dataValueSet.getDataValues();
+        List<PreparedDataValue> chunk = new ArrayList<>();
         int index = 0;
         if ( values != null && !values.isEmpty() )
         {
             for ( DataValueEntry dataValue : values )
             {
-                importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+                importDataValue( context, dataSetContext, importCount, now, index++, dataValue, chunk );
             }
         }
         DataValueEntry dataValue = reader.readNext();
         while ( dataValue != null )
         {
-            importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+            importDataValue( context, dataSetContext, importCount, now, index++, dataValue, chunk );
             dataValue = reader.readNext();
         }
 
+        importDataValueChunk( context, importCount, chunk );
+
         context.getDataValueBatchHandler().flush();
 
         if ( !context.isSkipAudit() )
@@ -754,8 +763,96 @@ public class DefaultDataValueSetService
         return context.getSummary();
     }
 
+    /**
+     * Imports the given data value. When importing in chunks, the data value
+     * is added to the given chunk, and the chunk is imported when full.
+     */
     private void importDataValue( ImportContext context, DataSetContext dataSetContext, ImportCount importCount,
-        Date now, int index, DataValueEntry dataValue )
+        Date now, int index, DataValueEntry dataValue, List<PreparedDataValue> chunk )
+    {
+        PreparedDataValue prepared = prepareDataValue( context, dataSetContext, importCount, now, index,
+            dataValue );
+
+        if ( prepared == null )
+        {
+            return;
+        }
+
+        if ( context.isChunkedImport() )
+        {
+            chunk.add( prepared );
+
+            if ( chunk.size() >= IMPORT_CHUNK_SIZE )
+            {
+                importDataValueChunk( context, importCount, chunk );
+            }
+
+            return;
+        }
+
+        DataValue existingValue = !context.isSkipExistingCheck()
+            ? context.getDataValueBatchHandler().findObject( prepared.getInternalValue() )
+            : null;
+
+        saveDataValue( context, importCount, prepared, existingValue );
+    }
+
+    /**
+     * Imports the given chunk of data values. Existing data values for the
+     * chunk are fetched with a single query, and new and updated data values
+     * are written with a single statement. The chunk is cleared afterwards.
+     */
+    private void importDataValueChunk( ImportContext context, ImportCount importCount,
+        List<PreparedDataValue> chunk )
+    {
+        if ( chunk.isEmpty() )
+        {
+            return;
+        }
+
+        Map<DataValue, DataValue> existingValues = new HashMap<>();
+
+        if ( !context.isSkipExistingCheck() )
+        {
+            dataValueSetStore.getExistingDataValues( chunk.stream()
+                .map( PreparedDataValue::getInternalValue )
+                .collect( Collectors.toList() ) )
+                .forEach( dv -> existingValues.put( dv, dv ) );
+        }
+
+        Map<DataValue, DataValue> chunkValues = context.getChunkDataValues();
+
+        for ( PreparedDataValue prepared : chunk )
+        {
+            DataValue internalValue = prepared.getInternalValue();
+
+            saveDataValue( context, importCount, prepared, existingValues.get( internalValue ) );
+
+            // Subsequent values with the same identifiers in the chunk see the
+            // written value as the existing value
+
+            if ( chunkValues.containsKey( internalValue ) )
+            {
+                existingValues.put( internalValue, chunkValues.get( internalValue ) );
+            }
+        }
+
+        if ( !context.isDryRun() )
+        {
+            dataValueSetStore.upsertDataValues( chunkValues.values() );
+        }
+
+        chunkValues.clear();
+        chunk.clear();
+    }
+
+    /**
+     * Validates the given data value and creates the internal data value.
+     *
+     * @return the prepared data value, or null if the data value is skipped.
+     */
+    private PreparedDataValue prepareDataValue( ImportContext context, DataSetContext dataSetContext,
+        ImportCount importCount, Date now, int index, DataValueEntry dataValue )
     {
         ImportContext.DataValueContext valueContext = createDataValueContext( index, dataValue, context,
             dataSetContext );
@@ -772,20 +869,27 @@ public class DefaultDataValueSetService
         if ( importValidator.skipDataValue( dataValue, context, dataSetContext, valueContext ) )
         {
             importCount.incrementIgnored();
-            return;
+            return null;
         }
 
         // -----------------------------------------------------------------
         // Create data value
         // -----------------------------------------------------------------
-        DataValue internalValue = createDataValue( dataValue, context, valueContext, now );
+        return new PreparedDataValue( dataValue, valueContext,
+            createDataValue( dataValue, context, valueContext, now ) );
+    }
 
-        // -----------------------------------------------------------------
-        // Save, update or delete data value
-        // -----------------------------------------------------------------
-        DataValue existingValue = !context.isSkipExistingCheck()
-            ? context.getDataValueBatchHandler().findObject( internalValue )
-            : null;
+    /**
+     * Saves, updates or deletes the given data value.
+     *
+     * @param existingValue the existing data value, or null if none exists.
+     */
+    private void saveDataValue( ImportContext context, ImportCount importCount, PreparedDataValue prepared,
+        DataValue existingValue )
+    {
+        DataValueEntry dataValue = prepared.getEntry();
+        ImportContext.DataValueContext valueContext = prepared.getValueContext();
+        DataValue internalValue = prepared.getInternalValue();
 
         // -----------------------------------------------------------------
         // Preserve any existing created date unless overwritten by import
@@ -836,6 +940,28 @@ public class DefaultDataValueSetService
         }
     }
 
+    private boolean addDataValue( ImportContext context, DataValue internalValue )
+    {
+        if ( context.isChunkedImport() )
+        {
+            context.getChunkDataValues().put( internalValue, internalValue );
+            return true;
+        }
+
+        return context.getDataValueBatchHandler().addObject( internalValue );
+    }
+
+    private void updateDataValue( ImportContext context, DataValue internalValue )
+    {
+        if ( context.isChunkedImport() )
+        {
+            context.getChunkDataValues().put( internalValue, internalValue );
+            return;
+        }
+
+        context.getDataValueBatchHandler().updateObject( internalValue );
+    }
+
     private void saveDataValueCreate( ImportContext context, ImportCount importCount,
         ImportContext.DataValueContext valueContext, DataValue internalValue, DataValue existingValue )
     {
@@ -850,7 +976,7 @@ public class DefaultDataValueSetService
 
             if ( !context.isDryRun() )
             {
-                context.getDataValueBatchHandler().updateObject( internalValue );
+                updateDataValue( context, internalValue );
 
                 if ( valueContext.getDataElement().isFileType() )
                 {
@@ -867,7 +993,7 @@ public class DefaultDataValueSetService
 
         if ( !context.isDryRun() )
         {
-            added = context.getDataValueBatchHandler().addObject( internalValue );
+            added = addDataValue( context, internalValue );
 
             if ( added && valueContext.getDataElement().isFileType() )
             {
@@ -903,7 +1029,7 @@ public class DefaultDataValueSetService
                 fileResourceService.updateFileResource( fr );
             }
 
-            context.getDataValueBatchHandler().updateObject( internalValue );
+            updateDataValue( context, internalValue );
 
             if ( !context.isSkipAudit() )
             {
@@ -941,7 +1067,7 @@ public class DefaultDataValueSetService
         }
         if ( !context.isDryRun() )
         {
-            context.getDataValueBatchHandler().updateObject( internalValue );
+            updateDataValue( context, internalValue );
 
             if ( !context.isSkipAudit() )
             {
@@ -1074,6 +1200,7 @@ public class DefaultDataValueSetService
             .requireAttrOptionCombo( options.isRequireAttributeOptionCombo()
                 || settings.getBoolSetting( SettingKey.DATA_IMPORT_REQUIRE_ATTRIBUTE_OPTION_COMBO ) )
             .forceDataInput( inputUtils.canForceDataInput( currentUser, options.isForce() ) )
+            .chunkedImport( options.isChunkedImport() )
 
             // data fetching state
             .dataElementCallable( new IdentifiableObjectCallable<>(
@@ -1197,6 +1324,21 @@ public class DefaultDataValueSetService
     // Supportive methods
     // -------------------------------------------------------------------------
 
+    /**
+     * A data value which passed validation, along with its import context and
+     * the internal data value to save.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class PreparedDataValue
+    {
+        private final DataValueEntry entry;
+
+        private final ImportContext.DataValueContext valueContext;
+
+        private final DataValue internalValue;
+    }
+
     private void handleComplete( DataSet dataSet, Date completeDate, Period period, OrganisationUnit orgUnit,
         CategoryOptionCombo attributeOptionCombo, String currentUserName, ImportSummary summary )
     {
@@ -30,6 +30,8 @@ package org.hisp.dhis.dxf2.datavalueset;
 import static java.util.Collections.emptySet;
 
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -126,6 +128,8 @@ public final class ImportContext
 
     private final boolean forceDataInput;
 
+    private final boolean chunkedImport;
+
     private final Date now = new Date();
 
     /*
@@ -170,6 +174,14 @@ public final class ImportContext
 
     private final CachingMap<String, Boolean> periodOpenForDataElement = new CachingMap<>();
 
+    /**
+     * Data values to insert or update with the current chunk when importing in
+     * chunks, unique by identifying properties where the last added value
+     * takes precedence.
+     */
+    private final Map<org.hisp.dhis.datavalue.DataValue, org.hisp.dhis.datavalue.DataValue> chunkDataValues =
+        new LinkedHashMap<>();
+
     /*
      * Data fetching and processing
      */
@@ -38,7 +38,13 @@ import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +54,7 @@ import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.query.JpaQueryUtils;
@@ -146,6 +153,94 @@ public class SpringDataValueSetStore
         }
     }
 
+    @Override
+    public List<DataValue> getExistingDataValues( Collection<DataValue> dataValues )
+    {
+        List<DataValue> existingValues = new ArrayList<>();
+
+        if ( dataValues.isEmpty() )
+        {
+            return existingValues;
+        }
+
+        Map<String, DataValue> keyValueMap = new HashMap<>();
+
+        dataValues.forEach( dv -> keyValueMap.put( getDataValueKey( dv ), dv ) );
+
+        String keys = keyValueMap.keySet().stream()
+            .map( key -> "(" + key + ")" )
+            .collect( Collectors.joining( "," ) );
+
+        final String sql = "select dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, " +
+            "dv.attributeoptioncomboid, dv.value, dv.storedby, dv.created, dv.lastupdated, dv.comment, " +
+            "dv.followup, dv.deleted " +
+            "from datavalue dv " +
+            "where (dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, " +
+            "dv.attributeoptioncomboid) in (" + keys + ")";
+
+        jdbcTemplate.query( sql, ( ResultSet rs ) -> {
+            DataValue key = keyValueMap.get( rs.getLong( "dataelementid" ) + "," + rs.getLong( "periodid" ) + "," +
+                rs.getLong( "sourceid" ) + "," + rs.getLong( "categoryoptioncomboid" ) + "," +
+                rs.getLong( "attributeoptioncomboid" ) );
+
+            DataValue dv = new DataValue( key.getDataElement(), key.getPeriod(), key.getSource(),
+                key.getCategoryOptionCombo(), key.getAttributeOptionCombo() );
+
+            dv.setValue( rs.getString( "value" ) );
+            dv.setStoredBy( rs.getString( "storedby" ) );
+            dv.setCreated( rs.getTimestamp( "created" ) );
+            dv.setLastUpdated( rs.getTimestamp( "lastupdated" ) );
+            dv.setComment( rs.getString( "comment" ) );
+            dv.setFollowup( rs.getBoolean( "followup" ) );
+            dv.setDeleted( rs.getBoolean( "deleted" ) );
+
+            existingValues.add( dv );
+        } );
+
+        return existingValues;
+    }
+
+    @Override
+    public void upsertDataValues( Collection<DataValue> dataValues )
+    {
+        if ( dataValues.isEmpty() )
+        {
+            return;
+        }
+
+        String placeholders = dataValues.stream()
+            .map( dv -> "(?,?,?,?,?,?,?,?,?,?,?,?)" )
+            .collect( Collectors.joining( "," ) );
+
+        final String sql = "insert into datavalue (dataelementid, periodid, sourceid, categoryoptioncomboid, " +
+            "attributeoptioncomboid, value, storedby, created, lastupdated, comment, followup, deleted) " +
+            "values " + placeholders + " " +
+            "on conflict (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid) " +
+            "do update set value = excluded.value, storedby = excluded.storedby, created = excluded.created, " +
+            "lastupdated = excluded.lastupdated, comment = excluded.comment, followup = excluded.followup, " +
+            "deleted = excluded.deleted";
+
+        List<Object> args = new ArrayList<>();
+
+        for ( DataValue dv : dataValues )
+        {
+            args.add( dv.getDataElement().getId() );
+            args.add( dv.getPeriod().getId() );
+            args.add( dv.getSource().getId() );
+            args.add( dv.getCategoryOptionCombo().getId() );
+            args.add( dv.getAttributeOptionCombo().getId() );
+            args.add( dv.getValue() );
+            args.add( dv.getStoredBy() );
+            args.add( toTimestamp( dv.getCreated() ) );
+            args.add( toTimestamp( dv.getLastUpdated() ) );
+            args.add( dv.getComment() );
+            args.add( dv.isFollowup() );
+            args.add( dv.isDeleted() );
+        }
+
+        jdbcTemplate.update( sql, args.toArray() );
+    }
+
     private String buildDataValueSql( Date lastUpdated, IdSchemes idSchemes )
     {
         String deScheme = idSchemes.getDataElementIdScheme().getIdentifiableString().toLowerCase();
@@ -196,6 +291,21 @@ public class SpringDataValueSetStore
     // Supportive methods
     // --------------------------------------------------------------------------
 
+    /**
+     * Returns a key made of the comma separated identifiers of the identifying
+     * properties of the given data value.
+     */
+    private static String getDataValueKey( DataValue dv )
+    {
+        return dv.getDataElement().getId() + "," + dv.getPeriod().getId() + "," + dv.getSource().getId() + "," +
+            dv.getCategoryOptionCombo().getId() + "," + dv.getAttributeOptionCombo().getId();
+    }
+
+    private static Timestamp toTimestamp( Date date )
+    {
+        return date != null ? new Timestamp( date.getTime() ) : null;
+    }
+
     private String getDataValueSql( DataExportParams params )
     {
         Preconditions.checkArgument( !params.getAllDataElements().isEmpty() );
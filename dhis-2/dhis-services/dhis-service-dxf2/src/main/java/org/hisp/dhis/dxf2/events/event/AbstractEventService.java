@@ -66,6 +66,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -81,6 +83,7 @@ import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.JdbcQueryCounter;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.QueryItem;
@@ -298,6 +301,17 @@ public abstract class AbstractEventService implements EventService
         }
 
         Events events = new Events();
+
+        if ( params.isKeysetPaging() )
+        {
+            EventChunk chunk = eventStore.getEventChunk( params, organisationUnits );
+
+            events.setEvents( chunk.getEvents() );
+            events.setNextIdAfter( chunk.getNextIdAfter() );
+
+            return events;
+        }
+
         List<Event> eventList = new ArrayList<>();
 
         if ( params.isPaging() )
@@ -306,10 +320,12 @@ public abstract class AbstractEventService implements EventService
 
             if ( params.isTotalPages() )
             {
+                CompletableFuture<Integer> count = eventStore.getEventCountAsync( params, organisationUnits );
+
                 eventList.addAll( eventStore.getEvents( params, organisationUnits, emptyMap() ) );
 
-                int count = eventStore.getEventCount( params, organisationUnits );
-                pager = new Pager( params.getPageWithDefault(), count, params.getPageSizeWithDefault() );
+                pager = new Pager( params.getPageWithDefault(), JdbcQueryCounter.getCount( count ),
+                    params.getPageSizeWithDefault() );
             }
             else
             {
@@ -324,6 +340,35 @@ public abstract class AbstractEventService implements EventService
         return events;
     }
 
+    @Transactional( readOnly = true )
+    @Override
+    public void streamEvents( EventSearchParams params, int chunkSize, Consumer<List<Event>> consumer )
+    {
+        User user = currentUserService.getCurrentUser();
+
+        validate( params, user );
+
+        List<OrganisationUnit> organisationUnits = getOrganisationUnits( params, user );
+
+        params.handleCurrentUserSelectionMode( user );
+        params.setKeysetPaging( true ).setSkipPaging( false ).setPageSize( chunkSize );
+
+        EventChunk chunk;
+
+        do
+        {
+            chunk = eventStore.getEventChunk( params, organisationUnits );
+
+            if ( !chunk.getEvents().isEmpty() )
+            {
+                consumer.accept( chunk.getEvents() );
+            }
+
+            params.setIdAfter( chunk.getNextIdAfter() );
+        }
+        while ( chunk.hasNext() );
+    }
+
     /**
      * This method will apply the logic related to the parameter
      * 'totalPages=false'. This works in conjunction with the method:
@@ -430,6 +475,10 @@ public abstract class AbstractEventService implements EventService
             grid.addHeader( new GridHeader( item.getItem().getUid(), item.getItem().getName() ) );
         }
 
+        CompletableFuture<Integer> count = params.isPaging() && params.isTotalPages()
+            ? eventStore.getEventCountAsync( params, organisationUnits )
+            : CompletableFuture.completedFuture( 0 );
+
         List<Map<String, String>> events = eventStore.getEventsGrid( params, organisationUnits );
 
         // ---------------------------------------------------------------------
@@ -459,8 +508,8 @@ public abstract class AbstractEventService implements EventService
 
             if ( params.isTotalPages() )
             {
-                int count = eventStore.getEventCount( params, organisationUnits );
-                pager = new Pager( params.getPageWithDefault(), count, params.getPageSizeWithDefault() );
+                pager = new Pager( params.getPageWithDefault(), JdbcQueryCounter.getCount( count ),
+                    params.getPageSizeWithDefault() );
             }
             else
             {
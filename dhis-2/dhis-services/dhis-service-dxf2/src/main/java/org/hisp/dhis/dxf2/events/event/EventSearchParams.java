@@ -36,6 +36,7 @@ import java.util.Set;
 
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.AssignedUserSelectionMode;
+import org.hisp.dhis.common.CountMode;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.QueryItem;
@@ -151,8 +152,21 @@ public class EventSearchParams
 
     private boolean totalPages;
 
+    private CountMode countMode = CountMode.EXACT;
+
     private boolean skipPaging;
 
+    /**
+     * Indicates whether to page with a keyset cursor on the event id instead
+     * of limit/offset. Pages are then ordered by id.
+     */
+    private boolean keysetPaging;
+
+    /**
+     * Keyset cursor, only events with an id greater than this are returned.
+     */
+    private Long idAfter;
+
     private boolean includeRelationships;
 
     private List<OrderParam> orders;
@@ -557,6 +571,17 @@ public class EventSearchParams
         return this;
     }
 
+    public CountMode getCountMode()
+    {
+        return countMode;
+    }
+
+    public EventSearchParams setCountMode( CountMode countMode )
+    {
+        this.countMode = countMode;
+        return this;
+    }
+
     public boolean isSkipPaging()
     {
         return skipPaging;
@@ -568,6 +593,28 @@ public class EventSearchParams
         return this;
     }
 
+    public boolean isKeysetPaging()
+    {
+        return keysetPaging;
+    }
+
+    public EventSearchParams setKeysetPaging( boolean keysetPaging )
+    {
+        this.keysetPaging = keysetPaging;
+        return this;
+    }
+
+    public Long getIdAfter()
+    {
+        return idAfter;
+    }
+
+    public EventSearchParams setIdAfter( Long idAfter )
+    {
+        this.idAfter = idAfter;
+        return this;
+    }
+
     public boolean isIncludeAttributes()
     {
         return includeAttributes;
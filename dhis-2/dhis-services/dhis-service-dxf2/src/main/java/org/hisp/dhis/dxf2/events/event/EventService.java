@@ -33,6 +33,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.dxf2.common.ImportOptions;
@@ -54,6 +55,18 @@ public interface EventService
 
     Events getEvents( EventSearchParams params );
 
+    /**
+     * Reads all events matching the given params in chunks of the given size
+     * using keyset paging, and passes each chunk to the given consumer. Only
+     * one chunk is held in memory at a time. Events are ordered by id, orders
+     * and paging of the params are ignored.
+     *
+     * @param params the search params
+     * @param chunkSize the maximum number of rows read per chunk
+     * @param consumer the consumer of the chunks
+     */
+    void streamEvents( EventSearchParams params, int chunkSize, Consumer<List<Event>> consumer );
+
     EventRows getEventRows( EventSearchParams params );
 
     Grid getEventsGrid( EventSearchParams params );
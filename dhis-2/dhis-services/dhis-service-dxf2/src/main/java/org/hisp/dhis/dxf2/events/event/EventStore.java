@@ -30,6 +30,7 @@ package org.hisp.dhis.dxf2.events.event;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.hisp.dhis.dxf2.events.report.EventRow;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -64,12 +65,39 @@ public interface EventStore
     List<Event> getEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
         Map<String, Set<String>> psdesWithSkipSyncTrue );
 
+    /**
+     * Returns the chunk of events following the keyset cursor
+     * {@link EventSearchParams#getIdAfter()}, ordered by id. The page size of
+     * the params limits the number of events read per chunk. The cursor of the
+     * returned chunk points past every event read, including events filtered
+     * out by sharing, so that following the cursors visits every event
+     * exactly once.
+     *
+     * @param params the search params, keyset paging is enforced
+     * @param organisationUnits the org units to restrict the search to
+     * @return the chunk of events and the cursor to the next chunk
+     */
+    EventChunk getEventChunk( EventSearchParams params, List<OrganisationUnit> organisationUnits );
+
     List<Map<String, String>> getEventsGrid( EventSearchParams params, List<OrganisationUnit> organisationUnits );
 
     List<EventRow> getEventRows( EventSearchParams params, List<OrganisationUnit> organisationUnits );
 
     int getEventCount( EventSearchParams params, List<OrganisationUnit> organisationUnits );
 
+    /**
+     * Starts counting the events of the given query according to its
+     * {@link org.hisp.dhis.common.CountMode}. The count query is built on the
+     * calling thread and can be executed concurrently with the fetch of a page
+     * of the same query.
+     *
+     * @param params the search params
+     * @param organisationUnits the org units to restrict the search to
+     * @return a future of the count
+     */
+    CompletableFuture<Integer> getEventCountAsync( EventSearchParams params,
+        List<OrganisationUnit> organisationUnits );
+
     /**
      * Delete list of given events to be removed. This operation also remove
      * comments connected to each Event.
@@ -56,6 +56,8 @@ public class Events
 
     private Pager pager;
 
+    private Long nextIdAfter;
+
     public Events()
     {
     }
@@ -123,6 +125,21 @@ public class Events
         this.pager = pager;
     }
 
+    /**
+     * Keyset cursor to the next page when the events were read with keyset
+     * paging, null if there is no next page.
+     */
+    @JsonIgnore
+    public Long getNextIdAfter()
+    {
+        return nextIdAfter;
+    }
+
+    public void setNextIdAfter( Long nextIdAfter )
+    {
+        this.nextIdAfter = nextIdAfter;
+    }
+
     @Override
     public String toString()
     {
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.dxf2.events.event;
 
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.hisp.dhis.commons.util.TextUtils.getQuotedCommaDelimitedString;
@@ -90,6 +91,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
@@ -100,6 +105,7 @@ import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.JdbcQueryCounter;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
@@ -357,6 +363,8 @@ public class JdbcEventStore implements EventStore
 
     private final SkipLockedProvider skipLockedProvider;
 
+    private final JdbcQueryCounter queryCounter;
+
     // -------------------------------------------------------------------------
     // EventStore implementation
     // -------------------------------------------------------------------------
@@ -364,6 +372,35 @@ public class JdbcEventStore implements EventStore
     @Override
     public List<Event> getEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
         Map<String, Set<String>> psdesWithSkipSyncTrue )
+    {
+        return getEvents( params, organisationUnits, psdesWithSkipSyncTrue, rowSet -> {
+        } );
+    }
+
+    @Override
+    public EventChunk getEventChunk( EventSearchParams params, List<OrganisationUnit> organisationUnits )
+    {
+        params.setKeysetPaging( true );
+
+        // The limit applies to the distinct ids of the events in the chunk,
+        // ids of events filtered out by sharing included, so the next chunk
+        // starts after the highest id read
+
+        SortedSet<Long> ids = new TreeSet<>();
+
+        List<Event> events = getEvents( params, organisationUnits, emptyMap(),
+            rowSet -> ids.add( rowSet.getLong( "psi_id" ) ) );
+
+        if ( ids.size() < params.getPageSizeWithDefault() )
+        {
+            return new EventChunk( events, null );
+        }
+
+        return new EventChunk( events, ids.last() );
+    }
+
+    private List<Event> getEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
+        Map<String, Set<String>> psdesWithSkipSyncTrue, Consumer<SqlRowSet> rowListener )
     {
         User user = currentUserService.getCurrentUser();
 
@@ -384,6 +421,8 @@ public class JdbcEventStore implements EventStore
 
         while ( rowSet.next() )
         {
+            rowListener.accept( rowSet );
+
             if ( rowSet.getString( "psi_uid" ) == null
                 || (params.getCategoryOptionCombo() == null && !isSuper( user ) && !userHasAccess( rowSet )) )
             {
@@ -407,6 +446,7 @@ public class JdbcEventStore implements EventStore
                     event.setEvent( psiUid );
                 }
 
+                event.setId( rowSet.getLong( "psi_id" ) );
                 event.setTrackedEntityInstance( rowSet.getString( "tei_uid" ) );
                 event.setStatus( EventStatus.valueOf( rowSet.getString( "psi_status" ) ) );
 
@@ -860,6 +900,13 @@ public class JdbcEventStore implements EventStore
 
     @Override
     public int getEventCount( EventSearchParams params, List<OrganisationUnit> organisationUnits )
+    {
+        return JdbcQueryCounter.getCount( getEventCountAsync( params, organisationUnits ) );
+    }
+
+    @Override
+    public CompletableFuture<Integer> getEventCountAsync( EventSearchParams params,
+        List<OrganisationUnit> organisationUnits )
     {
         User user = currentUserService.getCurrentUser();
         setAccessiblePrograms( user, params );
@@ -875,15 +922,15 @@ public class JdbcEventStore implements EventStore
             sql = getEventSelectQuery( params, organisationUnits, user );
         }
 
-        sql = sql.replaceFirst( "select .*? from", "select count(*) from" );
+        sql = sql.replaceFirst( "limit \\d+ offset \\d+", "" );
 
-        sql = sql.replaceFirst( "order .*? (desc|asc)", "" );
+        String countSql = sql.replaceFirst( "select .*? from", "select count(*) from" );
 
-        sql = sql.replaceFirst( "limit \\d+ offset \\d+", "" );
+        countSql = countSql.replaceFirst( "order .*? (desc|asc)", "" );
 
-        log.debug( "Event query count SQL: " + sql );
+        log.debug( "Event query count SQL: " + countSql );
 
-        return jdbcTemplate.queryForObject( sql, Integer.class );
+        return queryCounter.count( params.getCountMode(), countSql, sql );
     }
 
     private DataValue convertEventDataValueIntoDtoDataValue( EventDataValue eventDataValue )
@@ -959,11 +1006,18 @@ public class JdbcEventStore implements EventStore
     {
         StringBuilder sqlBuilder = new StringBuilder().append( "select * from (" );
 
-        sqlBuilder.append( getEventSelectQuery( params, organisationUnits, user ) );
+        if ( params.isKeysetPaging() )
+        {
+            sqlBuilder.append( getKeysetEventSelectQuery( params, organisationUnits, user ) );
+        }
+        else
+        {
+            sqlBuilder.append( getEventSelectQuery( params, organisationUnits, user ) );
 
-        sqlBuilder.append( getOrderQuery( params ) );
+            sqlBuilder.append( getOrderQuery( params ) );
 
-        sqlBuilder.append( getEventPagingQuery( params ) );
+            sqlBuilder.append( getEventPagingQuery( params ) );
+        }
 
         sqlBuilder.append( ") as event left join (" );
 
@@ -988,6 +1042,21 @@ public class JdbcEventStore implements EventStore
         return sqlBuilder.toString();
     }
 
+    /**
+     * The event query returns several rows per event, so the limit of a keyset
+     * chunk is applied to the distinct event ids in a sub query and the rows
+     * of those events are selected around it.
+     */
+    private String getKeysetEventSelectQuery( EventSearchParams params, List<OrganisationUnit> organisationUnits,
+        User user )
+    {
+        String eventSelectQuery = getEventSelectQuery( params, organisationUnits, user );
+
+        return "select * from (" + eventSelectQuery + ") as keysetevent "
+            + "where psi_id in (select distinct psi_id from (" + eventSelectQuery + ") as keysetid "
+            + "order by psi_id " + getEventPagingQuery( params ) + ") ";
+    }
+
     private String getEventSelectQuery( EventSearchParams params, List<OrganisationUnit> organisationUnits, User user )
     {
         SqlHelper hlp = new SqlHelper();
@@ -1024,7 +1093,8 @@ public class JdbcEventStore implements EventStore
 
         sqlBuilder.append( "pi.uid as pi_uid, pi.status as pi_status, pi.followup as pi_followup, "
             + "p.type as p_type, ps.uid as ps_uid, ou.name as ou_name, "
-            + "tei.trackedentityinstanceid as tei_id, tei.uid as tei_uid, teiou.uid as tei_ou, teiou.name as tei_ou_name, tei.created as tei_created, tei.inactive as tei_inactive "
+            + "tei.trackedentityinstanceid as tei_id, tei.uid as tei_uid, teiou.uid as tei_ou, teiou.name as tei_ou_name, tei.created as tei_created, tei.inactive as tei_inactive, "
+            + "po.trackedentityprogramownerid as po_id "
             + "from programstageinstance psi "
             + "inner join programinstance pi on pi.programinstanceid=psi.programinstanceid "
             + "inner join program p on p.programid=pi.programid "
@@ -1261,6 +1331,12 @@ public class JdbcEventStore implements EventStore
                 .append( " (pi.uid in (" + getQuotedCommaDelimitedString( params.getProgramInstances() ) + "))" );
         }
 
+        if ( params.isKeysetPaging() && params.getIdAfter() != null )
+        {
+            sqlBuilder.append( hlp.whereAnd() ).append( " psi.programstageinstanceid > " )
+                .append( params.getIdAfter() ).append( " " );
+        }
+
         return sqlBuilder.toString();
     }
 
@@ -1512,6 +1588,11 @@ public class JdbcEventStore implements EventStore
         final StringBuilder sqlBuilder = new StringBuilder().append( " " );
         int pageSize = params.getPageSizeWithDefault();
 
+        if ( params.isKeysetPaging() )
+        {
+            return sqlBuilder.append( "limit " ).append( pageSize ).append( " " ).toString();
+        }
+
         // When the clients choose to not show the total of pages.
         if ( !params.isTotalPages() )
         {
@@ -1570,6 +1651,11 @@ public class JdbcEventStore implements EventStore
 
     private String getOrderQuery( EventSearchParams params )
     {
+        if ( params.isKeysetPaging() )
+        {
+            return "order by psi_id asc ";
+        }
+
         ArrayList<String> orderFields = new ArrayList<>();
 
         if ( params.getGridOrders() != null )
@@ -62,6 +62,7 @@ import org.hisp.dhis.dataentryform.DataEntryForm;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetElement;
 import org.hisp.dhis.dataset.Section;
+import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.document.Document;
 import org.hisp.dhis.dxf2.common.OrderParams;
 import org.hisp.dhis.eventchart.EventChart;
@@ -89,8 +90,10 @@ import org.hisp.dhis.programrule.ProgramRuleAction;
 import org.hisp.dhis.programrule.ProgramRuleService;
 import org.hisp.dhis.programrule.ProgramRuleVariable;
 import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.query.Order;
 import org.hisp.dhis.query.Query;
 import org.hisp.dhis.query.QueryService;
+import org.hisp.dhis.query.planner.QueryPlanner;
 import org.hisp.dhis.report.Report;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
@@ -101,6 +104,7 @@ import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityType;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserService;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.dhis.visualization.Visualization;
 import org.springframework.stereotype.Service;
@@ -118,6 +122,12 @@ import com.google.common.collect.Sets;
 @Service( "org.hisp.dhis.dxf2.metadata.MetadataExportService" )
 public class DefaultMetadataExportService implements MetadataExportService
 {
+    /**
+     * Number of objects of a class read and written at a time by the streaming
+     * export, the session is cleared after each chunk.
+     */
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
     private final SchemaService schemaService;
 
     private final QueryService queryService;
@@ -136,52 +146,26 @@ public class DefaultMetadataExportService implements MetadataExportService
 
     private final ObjectMapper objectMapper;
 
+    private final QueryPlanner queryPlanner;
+
+    private final DbmsManager dbmsManager;
+
+    private final UserService userService;
+
     @Override
-    @SuppressWarnings( "unchecked" )
     public Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> getMetadata(
         MetadataExportParams params )
     {
         Timer timer = new SystemTimer().start();
         Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> metadata = new HashMap<>();
 
-        if ( params.getUser() == null )
-        {
-            params.setUser( currentUserService.getCurrentUser() );
-        }
-
-        if ( params.getClasses().isEmpty() )
-        {
-            schemaService.getMetadataSchemas().stream()
-                .filter( schema -> schema.isIdentifiableObject() && schema.isPersisted() )
-                .filter( s -> !s.isSecondaryMetadata() )
-                .forEach( schema -> params.getClasses()
-                    .add( (Class<? extends IdentifiableObject>) schema.getKlass() ) );
-        }
+        prepareParams( params );
 
         log.info( "(" + params.getUsername() + ") Export:Start" );
 
         for ( Class<? extends IdentifiableObject> klass : params.getClasses() )
         {
-            Query query;
-
-            if ( params.getQuery( klass ) != null )
-            {
-                query = params.getQuery( klass );
-            }
-            else
-            {
-                OrderParams orderParams = new OrderParams( Sets.newHashSet( params.getDefaultOrder() ) );
-                query = queryService.getQueryFromUrl( klass, params.getDefaultFilter(),
-                    orderParams.getOrders( schemaService.getDynamicSchema( klass ) ) );
-            }
-
-            if ( query.getUser() == null )
-            {
-                query.setUser( params.getUser() );
-            }
-
-            query.setDefaultOrder();
-            query.setDefaults( params.getDefaults() );
+            Query query = getQuery( params, klass );
 
             List<? extends IdentifiableObject> objects = queryService.query( query );
 
@@ -236,10 +220,14 @@ public class DefaultMetadataExportService implements MetadataExportService
     public void getMetadataAsObjectNodeStream( MetadataExportParams params, OutputStream outputStream )
         throws IOException
     {
+        Timer timer = new SystemTimer().start();
         SystemInfo systemInfo = systemService.getSystemInfo();
-        Map<Class<? extends IdentifiableObject>, List<? extends IdentifiableObject>> metadata = getMetadata( params );
         User currentUser = currentUserService.getCurrentUser();
 
+        prepareParams( params );
+
+        log.info( "(" + params.getUsername() + ") Export:Start" );
+
         try ( JsonGenerator generator = objectMapper.getFactory().createGenerator( outputStream ) )
         {
             generator.writeStartObject();
@@ -251,30 +239,30 @@ public class DefaultMetadataExportService implements MetadataExportService
             generator.writeStringField( "date", DateUtils.getIso8601( systemInfo.getServerDate() ) );
             generator.writeEndObject();
 
-            for ( Class<? extends IdentifiableObject> klass : metadata.keySet() )
+            for ( Class<? extends IdentifiableObject> klass : params.getClasses() )
             {
-                List<Object> objects = new ArrayList<>( metadata.get( klass ) );
+                // a previous chunked class may have cleared the session
+                currentUser = reattach( currentUser );
+                params.setUser( reattach( params.getUser(), currentUser ) );
 
-                if ( objects.isEmpty() )
-                {
-                    continue;
-                }
+                Query query = getQuery( params, klass );
+                query.setUser( reattach( query.getUser(), params.getUser() ) );
 
-                FieldFilterParams<?> fieldFilterParams = FieldFilterParams.builder()
-                    .objects( objects )
-                    .filters( new HashSet<>( params.getFields( klass ) ) )
-                    .skipSharing( params.getSkipSharing() )
-                    .user( currentUser )
-                    .build();
+                long exported = isChunkable( query )
+                    ? writeChunks( params, klass, query, currentUser, generator )
+                    : writeObjects( params, klass, queryService.query( query ), currentUser, generator );
 
-                String plural = schemaService.getDynamicSchema( klass ).getPlural();
-                generator.writeArrayFieldStart( plural );
-                fieldFilterService.toObjectNodesStream( fieldFilterParams, generator );
-                generator.writeEndArray();
+                if ( exported > 0 )
+                {
+                    log.info( "(" + params.getUsername() + ") Exported " + exported + " objects of type "
+                        + klass.getSimpleName() );
+                }
             }
 
             generator.writeEndObject();
         }
+
+        log.info( "(" + params.getUsername() + ") Export:Done took " + timer.toString() );
     }
 
     @Override
@@ -308,6 +296,192 @@ public class DefaultMetadataExportService implements MetadataExportService
         return rootNode;
     }
 
+    /**
+     * Sets the user and, unless classes were given, all exportable metadata
+     * classes on the given params.
+     */
+    @SuppressWarnings( "unchecked" )
+    private void prepareParams( MetadataExportParams params )
+    {
+        if ( params.getUser() == null )
+        {
+            params.setUser( currentUserService.getCurrentUser() );
+        }
+
+        if ( params.getClasses().isEmpty() )
+        {
+            schemaService.getMetadataSchemas().stream()
+                .filter( schema -> schema.isIdentifiableObject() && schema.isPersisted() )
+                .filter( s -> !s.isSecondaryMetadata() )
+                .forEach( schema -> params.getClasses()
+                    .add( (Class<? extends IdentifiableObject>) schema.getKlass() ) );
+        }
+    }
+
+    private Query getQuery( MetadataExportParams params, Class<? extends IdentifiableObject> klass )
+    {
+        Query query;
+
+        if ( params.getQuery( klass ) != null )
+        {
+            query = params.getQuery( klass );
+        }
+        else
+        {
+            OrderParams orderParams = new OrderParams( Sets.newHashSet( params.getDefaultOrder() ) );
+            query = queryService.getQueryFromUrl( klass, params.getDefaultFilter(),
+                orderParams.getOrders( schemaService.getDynamicSchema( klass ) ) );
+        }
+
+        if ( query.getUser() == null )
+        {
+            query.setUser( params.getUser() );
+        }
+
+        query.setDefaultOrder();
+        query.setDefaults( params.getDefaults() );
+
+        return query;
+    }
+
+    /**
+     * A query can be exported in chunks when filtering, ordering and paging
+     * are all done by the database. Otherwise the in-memory query engine would
+     * load all objects of the class for every chunk.
+     */
+    private boolean isChunkable( Query query )
+    {
+        return query.getFirstResult() == 0 && query.getMaxResults() == Integer.MAX_VALUE
+            && query.ordersPersisted()
+            && queryPlanner.planQuery( query ).getNonPersistedQuery().getCriterions().isEmpty();
+    }
+
+    /**
+     * Writes the objects of the given query in pages of
+     * {@link #EXPORT_CHUNK_SIZE}, clearing the session once a page has been
+     * written, so that only one page and the objects it references are held
+     * in memory at a time. The export does not modify anything, so the end of
+     * a page is a safe point to clear at. The users of the export are loaded
+     * again afterwards, as the access checks of the next page read their
+     * lazy groups.
+     *
+     * @return the number of exported objects.
+     */
+    private long writeChunks( MetadataExportParams params, Class<? extends IdentifiableObject> klass, Query query,
+        User currentUser, JsonGenerator generator )
+        throws IOException
+    {
+        Schema schema = schemaService.getDynamicSchema( klass );
+
+        if ( schema.havePersistedProperty( "id" ) && query.getOrders().stream()
+            .noneMatch( order -> "id".equals( order.getProperty().getName() ) ) )
+        {
+            // a unique order keeps pages stable
+            query.addOrder( Order.asc( schema.getPersistedProperty( "id" ) ) );
+        }
+
+        long exported = 0;
+        int firstResult = 0;
+        List<? extends IdentifiableObject> objects;
+
+        do
+        {
+            query.setFirstResult( firstResult );
+            query.setMaxResults( EXPORT_CHUNK_SIZE );
+
+            objects = queryService.query( query );
+
+            if ( !objects.isEmpty() )
+            {
+                if ( exported == 0 )
+                {
+                    generator.writeArrayFieldStart( schema.getPlural() );
+                }
+
+                writeFiltered( params, klass, objects, currentUser, generator );
+                generator.flush();
+
+                dbmsManager.clearSession();
+
+                currentUser = reattach( currentUser );
+                params.setUser( reattach( params.getUser(), currentUser ) );
+                query.setUser( reattach( query.getUser(), params.getUser() ) );
+
+                exported += objects.size();
+            }
+
+            firstResult += EXPORT_CHUNK_SIZE;
+        }
+        while ( objects.size() == EXPORT_CHUNK_SIZE );
+
+        if ( exported > 0 )
+        {
+            generator.writeEndArray();
+        }
+
+        return exported;
+    }
+
+    /**
+     * Returns the session instance of the given user, loading it again if it
+     * was detached by clearing the session.
+     */
+    private User reattach( User user )
+    {
+        if ( user == null || user.getUid() == null || dbmsManager.contains( user ) )
+        {
+            return user;
+        }
+
+        User attached = userService.getUser( user.getUid() );
+
+        return attached != null ? attached : user;
+    }
+
+    /**
+     * Returns the given attached user if it is the same user, and otherwise
+     * the session instance of the user, so that a user is only loaded once.
+     */
+    private User reattach( User user, User attached )
+    {
+        if ( user != null && attached != null && user.getUid() != null && user.getUid().equals( attached.getUid() ) )
+        {
+            return attached;
+        }
+
+        return reattach( user );
+    }
+
+    private long writeObjects( MetadataExportParams params, Class<? extends IdentifiableObject> klass,
+        List<? extends IdentifiableObject> objects, User currentUser, JsonGenerator generator )
+        throws IOException
+    {
+        if ( objects.isEmpty() )
+        {
+            return 0;
+        }
+
+        generator.writeArrayFieldStart( schemaService.getDynamicSchema( klass ).getPlural() );
+        writeFiltered( params, klass, objects, currentUser, generator );
+        generator.writeEndArray();
+
+        return objects.size();
+    }
+
+    private void writeFiltered( MetadataExportParams params, Class<? extends IdentifiableObject> klass,
+        List<? extends IdentifiableObject> objects, User currentUser, JsonGenerator generator )
+        throws IOException
+    {
+        FieldFilterParams<?> fieldFilterParams = FieldFilterParams.builder()
+            .objects( new ArrayList<>( objects ) )
+            .filters( new HashSet<>( params.getFields( klass ) ) )
+            .skipSharing( params.getSkipSharing() )
+            .user( currentUser )
+            .build();
+
+        fieldFilterService.toObjectNodesStream( fieldFilterParams, generator );
+    }
+
     @Override
     public void validate( MetadataExportParams params )
     {
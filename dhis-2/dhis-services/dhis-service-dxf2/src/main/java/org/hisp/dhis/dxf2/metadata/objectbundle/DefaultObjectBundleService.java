@@ -33,12 +33,19 @@ import static org.hisp.dhis.dxf2.metadata.objectbundle.EventReportCompatibilityG
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.LockOptions;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hisp.dhis.cache.HibernateCacheManager;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
@@ -69,6 +76,14 @@ import org.springframework.transaction.annotation.Transactional;
 @AllArgsConstructor
 public class DefaultObjectBundleService implements ObjectBundleService
 {
+    /**
+     * JDBC batch size of the session while a bundle is committed. As the
+     * session factory orders inserts and updates by entity, the statements
+     * queued for a type are sent to the database in batches when the session
+     * is flushed.
+     */
+    private static final int COMMIT_JDBC_BATCH_SIZE = 500;
+
     private final CurrentUserService currentUserService;
 
     private final PreheatService preheatService;
@@ -128,16 +143,28 @@ public class DefaultObjectBundleService implements ObjectBundleService
         Session session = sessionFactory.getCurrentSession();
 
         List<ObjectBundleHook<?>> commitHooks = objectBundleHooks.getCommitHooks( klasses );
-        commitHooks.forEach( hook -> hook.preCommit( bundle ) );
 
-        for ( Class<? extends IdentifiableObject> klass : klasses )
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+
+        session.setJdbcBatchSize( COMMIT_JDBC_BATCH_SIZE );
+
+        try
         {
-            commitObjectType( bundle, typeReports, session, klass );
-        }
+            commitHooks.forEach( hook -> hook.preCommit( bundle ) );
 
-        if ( !bundle.getImportMode().isDelete() )
+            for ( Class<? extends IdentifiableObject> klass : klasses )
+            {
+                commitObjectType( bundle, typeReports, session, klass );
+            }
+
+            if ( !bundle.getImportMode().isDelete() )
+            {
+                commitHooks.forEach( hook -> hook.postCommit( bundle ) );
+            }
+        }
+        finally
         {
-            commitHooks.forEach( hook -> hook.postCommit( bundle ) );
+            session.setJdbcBatchSize( jdbcBatchSize );
         }
 
         dbmsManager.clearSession();
@@ -183,6 +210,76 @@ public class DefaultObjectBundleService implements ObjectBundleService
         if ( FlushMode.AUTO == bundle.getFlushMode() )
         {
             session.flush();
+
+            clearSession( session, bundle.getPreheat() );
+        }
+    }
+
+    /**
+     * Clears the flushed session, so that the flushes of later types do not
+     * dirty check every object loaded so far. The objects of the preheat are
+     * re-attached, as the objects of later types are connected to them. The
+     * session is only cleared when it holds more than twice as many objects
+     * as the preheat, so that re-attaching costs less than the clear saves.
+     */
+    private void clearSession( Session session, Preheat preheat )
+    {
+        SessionImplementor sessionImplementor = session.unwrap( SessionImplementor.class );
+        PersistenceContext persistenceContext = sessionImplementor.getPersistenceContextInternal();
+        Set<IdentifiableObject> preheatObjects = preheat.getAllObjects();
+
+        if ( persistenceContext.getNumberOfManagedEntities() <= 2 * preheatObjects.size() )
+        {
+            return;
+        }
+
+        session.clear();
+
+        for ( IdentifiableObject object : preheatObjects )
+        {
+            reattach( sessionImplementor, persistenceContext, object );
+        }
+    }
+
+    /**
+     * Re-attaches an unmodified object, and the uninitialized proxies it
+     * references, to the session without reading it from the database.
+     * Transient objects are skipped.
+     */
+    private void reattach( SessionImplementor session, PersistenceContext persistenceContext,
+        IdentifiableObject object )
+    {
+        if ( object.getId() == 0 )
+        {
+            return;
+        }
+
+        try
+        {
+            if ( !Hibernate.isInitialized( object ) )
+            {
+                persistenceContext.reassociateIfUninitializedProxy( object );
+
+                return;
+            }
+
+            if ( session.contains( object ) )
+            {
+                return;
+            }
+
+            session.buildLockRequest( LockOptions.NONE ).lock( object );
+
+            EntityPersister persister = session.getEntityPersister( null, object );
+
+            for ( Object value : persister.getPropertyValues( object ) )
+            {
+                persistenceContext.reassociateIfUninitializedProxy( value );
+            }
+        }
+        catch ( HibernateException | IllegalArgumentException ex )
+        {
+            log.debug( "Could not re-attach preheated object " + object.getUid(), ex );
         }
     }
 
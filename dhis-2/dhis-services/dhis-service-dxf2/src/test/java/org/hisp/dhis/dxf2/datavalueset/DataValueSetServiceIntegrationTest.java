@@ -276,6 +276,31 @@ class DataValueSetServiceIntegrationTest extends DhisTest
         assertDataValuesCount( 14 );
     }
 
+    /**
+     * Import 12 data values in chunks. Then import 6 data values in chunks,
+     * where 4 are updates.
+     */
+    @Test
+    void testImportUpdateValuesXmlChunked()
+    {
+        ImportOptions options = new ImportOptions().setChunkedImport( true );
+        assertDataValuesCount( 0 );
+        in = readFile( "datavalueset/dataValueSetB.xml" );
+        ImportSummary summary = dataValueSetService.importDataValueSetXml( in, options );
+        assertSuccessWithImportedUpdatedDeleted( 12, 0, 0, summary );
+        assertDataValuesCount( 12 );
+        // Update
+        in = readFile( "datavalueset/dataValueSetBUpdate.xml" );
+        summary = dataValueSetService.importDataValueSetXml( in, options );
+        assertSuccessWithImportedUpdatedDeleted( 2, 4, 0, summary );
+        assertDataValuesCount( 14 );
+        CategoryOptionCombo cc = categoryService.getDefaultCategoryOptionCombo();
+        assertEquals( "2010-01-01",
+            getMediumDateString( dataValueService.getDataValue( deC, peA, ouA, cc, cc ).getCreated() ) );
+        assertEquals( "2020-02-02",
+            getMediumDateString( dataValueService.getDataValue( deC, peA, ouB, cc, cc ).getCreated() ) );
+    }
+
     /**
      * When updating a data value with a specified created date, the specified
      * created date should be used.
@@ -28,7 +28,12 @@
 package org.hisp.dhis.dxf2.events.event;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -37,10 +42,14 @@ import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.JdbcQueryCounter;
 import org.hisp.dhis.dxf2.events.report.EventRow;
 import org.hisp.dhis.dxf2.events.trackedentity.store.EventStore;
 import org.hisp.dhis.jdbc.statementbuilder.PostgreSQLStatementBuilder;
@@ -49,6 +58,7 @@ import org.hisp.dhis.user.CurrentUserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -58,6 +68,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ArrayListMultimap;
 
 /**
  * @author Luciano Fiandesio
@@ -92,6 +103,9 @@ class JdbcEventStoreTest
     @Mock
     private OrganisationUnitStore organisationUnitStore;
 
+    @Mock
+    private JdbcQueryCounter queryCounter;
+
     @BeforeEach
     public void setUp()
     {
@@ -102,7 +116,7 @@ class JdbcEventStoreTest
         ObjectMapper objectMapper = new ObjectMapper();
         subject = new JdbcEventStore( organisationUnitStore, new PostgreSQLStatementBuilder(), jdbcTemplate,
             objectMapper, currentUserService,
-            manager, env, eventStore, skipLockedProvider );
+            manager, env, eventStore, skipLockedProvider, queryCounter );
     }
 
     @Test
@@ -127,6 +141,66 @@ class JdbcEventStoreTest
         verify( rowSet, times( 4 ) ).getString( "psi_eventdatavalues" );
     }
 
+    @Test
+    void verifyEventChunkLimitsDistinctEvents()
+    {
+        // event 1 has two category options, which must not count against
+        // the limit of 3 events
+        List<Map<String, Object>> rows = List.of(
+            eventRow( 1L, "eventUid001", 10L ),
+            eventRow( 1L, "eventUid001", 11L ),
+            eventRow( 2L, "eventUid002", 10L ),
+            eventRow( 3L, "eventUid003", 10L ) );
+        mockRowSet( rows );
+
+        EventSearchParams params = new EventSearchParams().setPageSize( 3 ).setIdAfter( 7L );
+
+        EventChunk chunk = subject.getEventChunk( params, new ArrayList<>() );
+
+        assertEquals( List.of( "eventUid001", "eventUid002", "eventUid003" ),
+            chunk.getEvents().stream().map( Event::getEvent ).collect( Collectors.toList() ) );
+        assertEquals( 3L, chunk.getNextIdAfter() );
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass( String.class );
+        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        assertThat( sql.getValue(), containsString( "psi.programstageinstanceid > 7 " ) );
+        assertThat( sql.getValue(), containsString( "select distinct psi_id from (" ) );
+        assertThat( sql.getValue(), containsString( "order by psi_id limit 3 " ) );
+        assertThat( sql.getValue(), containsString( "order by psi_id asc" ) );
+        assertThat( sql.getValue(), not( containsString( "offset" ) ) );
+    }
+
+    @Test
+    void verifyEventChunkIsLastWhenEventLimitIsNotReached()
+    {
+        mockRowSet( List.of( eventRow( 1L, "eventUid001", 10L ), eventRow( 2L, "eventUid002", 10L ) ) );
+
+        EventChunk chunk = subject.getEventChunk( new EventSearchParams().setPageSize( 4 ), new ArrayList<>() );
+
+        assertThat( chunk.getEvents(), hasSize( 2 ) );
+        assertFalse( chunk.hasNext() );
+    }
+
+    private Map<String, Object> eventRow( long id, String uid, long categoryOptionId )
+    {
+        return Map.of( "psi_id", id, "psi_uid", uid, "cocco_categoryoptionid", categoryOptionId,
+            "psi_status", "ACTIVE", "p_type", "without_registration", "p_identifier", "PrgUID00001",
+            "ps_identifier", "PsUID000001", "ou_identifier", "OuUID000001", "coc_identifier", "CocUID00001",
+            "deco_uid", "DecoUID0001" );
+    }
+
+    private void mockRowSet( List<Map<String, Object>> rows )
+    {
+        AtomicInteger row = new AtomicInteger( -1 );
+
+        when( rowSet.next() ).thenAnswer( invocation -> row.incrementAndGet() < rows.size() );
+        when( rowSet.getString( anyString() ) ).thenAnswer(
+            invocation -> (String) rows.get( row.get() ).get( invocation.getArgument( 0, String.class ) ) );
+        when( rowSet.getLong( anyString() ) ).thenAnswer(
+            invocation -> (Long) rows.get( row.get() ).getOrDefault( invocation.getArgument( 0, String.class ), 0L ) );
+        when( eventStore.getRelationshipsByIds( any(), any() ) ).thenReturn( ArrayListMultimap.create() );
+    }
+
     private void mockRowSet()
     {
         // Simulate 3 rows
@@ -27,24 +27,44 @@
  */
 package org.hisp.dhis.dxf2.metadata;
 
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.hisp.dhis.dbms.DbmsManager;
+import org.hisp.dhis.fieldfiltering.FieldFilterParams;
+import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.option.Option;
+import org.hisp.dhis.query.Query;
+import org.hisp.dhis.query.QueryService;
+import org.hisp.dhis.query.planner.QueryPlan;
+import org.hisp.dhis.query.planner.QueryPlanner;
 import org.hisp.dhis.scheduling.JobConfiguration;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.system.SystemInfo;
+import org.hisp.dhis.system.SystemService;
+import org.hisp.dhis.user.CurrentUserService;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * Unit tests for {@link DefaultMetadataExportService}.
  *
@@ -56,6 +76,30 @@ class DefaultMetadataExportServiceTest
     @Mock
     private SchemaService schemaService;
 
+    @Mock
+    private QueryService queryService;
+
+    @Mock
+    private QueryPlanner queryPlanner;
+
+    @Mock
+    private FieldFilterService fieldFilterService;
+
+    @Mock
+    private SystemService systemService;
+
+    @Mock
+    private DbmsManager dbmsManager;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private UserService userService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private DefaultMetadataExportService service;
 
@@ -106,4 +150,64 @@ class DefaultMetadataExportServiceTest
         Assertions.assertFalse( exportParams.getClasses().contains( JobConfiguration.class ) );
         Assertions.assertTrue( exportParams.getClasses().contains( Option.class ) );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMetadataAsObjectNodeStreamInChunks()
+        throws Exception
+    {
+        Schema schema = new Schema( Option.class, "option", "options" );
+        Query query = Query.from( schema );
+        SystemInfo systemInfo = new SystemInfo();
+        systemInfo.setServerDate( new Date() );
+
+        Mockito.when( systemService.getSystemInfo() ).thenReturn( systemInfo );
+        Mockito.when( schemaService.getDynamicSchema( Option.class ) ).thenReturn( schema );
+        Mockito.when( queryService.getQueryFromUrl( Mockito.eq( Option.class ), Mockito.any(), Mockito.any() ) )
+            .thenReturn( query );
+        Mockito.when( queryPlanner.planQuery( query ) ).thenReturn( QueryPlan.builder()
+            .persistedQuery( query ).nonPersistedQuery( Query.from( schema ) ).build() );
+        Mockito.when( queryService.query( query ) ).then( invocation -> createOptions(
+            query.getFirstResult() == 0 ? query.getMaxResults() : 1 ) );
+
+        User user = new User();
+        user.setUid( "userUid0001" );
+        User reloadedUser = new User();
+        reloadedUser.setUid( "userUid0001" );
+        AtomicBoolean cleared = new AtomicBoolean();
+        Mockito.doAnswer( invocation -> {
+            cleared.set( true );
+            return null;
+        } ).when( dbmsManager ).clearSession();
+        Mockito.when( dbmsManager.contains( user ) ).then( invocation -> !cleared.get() );
+        Mockito.when( userService.getUser( "userUid0001" ) ).thenReturn( reloadedUser );
+
+        MetadataExportParams params = new MetadataExportParams();
+        params.setUser( user );
+        params.addClass( Option.class );
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.getMetadataAsObjectNodeStream( params, outputStream );
+
+        Mockito.verify( queryService, Mockito.times( 2 ) ).query( query );
+        Mockito.verify( fieldFilterService, Mockito.times( 2 ) )
+            .toObjectNodesStream( Mockito.any( FieldFilterParams.class ), Mockito.any( JsonGenerator.class ) );
+        Mockito.verify( dbmsManager, Mockito.times( 2 ) ).clearSession();
+        Mockito.verify( dbmsManager, Mockito.never() ).evictObject( Mockito.any() );
+        Mockito.verify( userService, Mockito.times( 1 ) ).getUser( "userUid0001" );
+        Assertions.assertSame( reloadedUser, params.getUser() );
+        Assertions.assertSame( reloadedUser, query.getUser() );
+        Assertions.assertTrue( outputStream.toString().contains( "\"options\":[]" ) );
+    }
+
+    private List<Option> createOptions( int count )
+    {
+        List<Option> options = new ArrayList<>();
+
+        for ( int i = 0; i < count; i++ )
+        {
+            options.add( new Option( "Option " + i, "OPTION_" + i ) );
+        }
+
+        return options;
+    }
+}
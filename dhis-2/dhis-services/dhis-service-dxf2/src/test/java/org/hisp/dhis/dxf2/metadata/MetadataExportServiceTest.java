@@ -29,14 +29,22 @@ package org.hisp.dhis.dxf2.metadata;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
 
 import org.hisp.dhis.TransactionalIntegrationTest;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.constant.Constant;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementGroup;
+import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.query.Disjunction;
 import org.hisp.dhis.query.Query;
 import org.hisp.dhis.query.Restrictions;
@@ -48,6 +56,7 @@ import org.hisp.dhis.user.UserGroupAccess;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
 
 /**
@@ -65,6 +74,15 @@ class MetadataExportServiceTest extends TransactionalIntegrationTest
     @Autowired
     private SchemaService schemaService;
 
+    @Autowired
+    private DbmsManager dbmsManager;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
     @Test
     void testValidate()
     {
@@ -159,6 +177,48 @@ class MetadataExportServiceTest extends TransactionalIntegrationTest
         assertEquals( 2, metadata.get( DataElement.class ).size() );
     }
 
+    @Test
+    void testMetadataExportStreamKeepsSessionSizeFlat()
+        throws IOException
+    {
+        int count = 2500;
+
+        for ( int i = 0; i < count; i++ )
+        {
+            Constant constant = createConstant( 'A', i );
+            constant.setName( "Constant" + i );
+            constant.setShortName( "Constant" + i );
+            manager.save( constant );
+        }
+
+        dbmsManager.clearSession();
+        MetadataExportParams params = new MetadataExportParams();
+        params.addClass( Constant.class );
+        AtomicInteger maxEntityCount = new AtomicInteger();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        OutputStream outputStream = new OutputStream()
+        {
+            @Override
+            public void write( int b )
+            {
+                write( new byte[] { (byte) b }, 0, 1 );
+            }
+
+            @Override
+            public void write( byte[] b, int off, int len )
+            {
+                json.write( b, off, len );
+                maxEntityCount.accumulateAndGet( sessionFactory.getCurrentSession().getStatistics().getEntityCount(),
+                    Math::max );
+            }
+        };
+        metadataExportService.getMetadataAsObjectNodeStream( params, outputStream );
+        assertEquals( count, jsonMapper.readTree( json.toByteArray() ).get( "constants" ).size() );
+        assertTrue( maxEntityCount.get() > 0 );
+        assertTrue( maxEntityCount.get() <= 1100,
+            "Session held " + maxEntityCount.get() + " entities while exporting " + count + " constants" );
+    }
+
     // @Test
     // TODO Fix this
     public void testSkipSharing()
@@ -52,6 +52,9 @@ public class ProgramRuleConfig
     @Autowired
     private ConstantService constantService;
 
+    @Autowired
+    private ProgramRuleSetCache programRuleSetCache;
+
     /**
      * This bean is used in the system when an event is intercepted by
      * {@link ProgramRuleEngineListener}. Only the notification rule actions are
@@ -62,7 +65,8 @@ public class ProgramRuleConfig
         NotificationImplementableRuleService notificationImplementableRuleService )
     {
         return new ProgramRuleEngine( programRuleEntityMapperService, programRuleVariableService, constantService,
-            notificationImplementableRuleService, supplementaryDataProvider );
+            notificationImplementableRuleService, supplementaryDataProvider,
+            programRuleSetCache );
     }
 
     /**
@@ -74,6 +78,7 @@ public class ProgramRuleConfig
         ServerSideImplementableRuleService serverSideImplementableRuleService )
     {
         return new ProgramRuleEngine( programRuleEntityMapperService, programRuleVariableService, constantService,
-            serverSideImplementableRuleService, supplementaryDataProvider );
+            serverSideImplementableRuleService, supplementaryDataProvider,
+            programRuleSetCache );
     }
 }
@@ -74,6 +74,9 @@ public class ProgramRuleEngine
     @NonNull
     private final SupplementaryDataProvider supplementaryDataProvider;
 
+    @NonNull
+    private final ProgramRuleSetCache programRuleSetCache;
+
     public List<RuleEffect> evaluate( ProgramInstance enrollment, Set<ProgramStageInstance> events )
     {
         return evaluateProgramRules( enrollment, null, enrollment.getProgram(), Collections.emptyList(),
@@ -84,13 +87,41 @@ public class ProgramRuleEngine
         List<TrackedEntityAttributeValue> trackedEntityAttributeValues )
     {
         return evaluateProgramRulesForMultipleTrackerObjects( enrollment, events.stream().findAny().orElse( null ),
-            enrollment.getProgram(), trackedEntityAttributeValues, getRuleEvents( events, null ) );
+            enrollment.getProgram(), trackedEntityAttributeValues, getRuleEvents( events, null ), new HashMap<>() );
+    }
+
+    /**
+     * Evaluates a batch of enrollments, each together with all its events.
+     * The rule engine context, that is the compiled rules, rule variables,
+     * constants and supplementary data, is built once per program (stage) and
+     * shared by all enrollments of the batch.
+     *
+     * @param inputs the enrollments to evaluate with their events and
+     *        attribute values.
+     * @return the rule effects of all enrollments and events of the batch.
+     */
+    public List<RuleEffects> evaluateEnrollmentsAndEvents( List<EnrollmentEvaluationInput> inputs )
+    {
+        Map<String, RuleEngineContext> contexts = new HashMap<>();
+
+        List<RuleEffects> ruleEffects = new ArrayList<>();
+
+        for ( EnrollmentEvaluationInput input : inputs )
+        {
+            ProgramInstance enrollment = input.getEnrollment();
+
+            ruleEffects.addAll( evaluateProgramRulesForMultipleTrackerObjects( enrollment,
+                input.getEvents().stream().findAny().orElse( null ), enrollment.getProgram(),
+                input.getAttributeValues(), getRuleEvents( input.getEvents(), null ), contexts ) );
+        }
+
+        return ruleEffects;
     }
 
     public List<RuleEffects> evaluateProgramEvents( Set<ProgramStageInstance> events, Program program )
     {
         return evaluateProgramRulesForMultipleTrackerObjects( null, null, program, null,
-            getRuleEvents( events, null ) );
+            getRuleEvents( events, null ), new HashMap<>() );
     }
 
     public List<RuleEffect> evaluate( ProgramInstance enrollment, ProgramStageInstance programStageInstance,
@@ -108,7 +139,7 @@ public class ProgramRuleEngine
         try
         {
             RuleEngine ruleEngine = getRuleEngine( programStageInstance, program, enrollment,
-                trackedEntityAttributeValues, ruleEvents );
+                trackedEntityAttributeValues, ruleEvents, new HashMap<>() );
             if ( ruleEngine == null )
             {
                 return Collections.emptyList();
@@ -126,12 +157,13 @@ public class ProgramRuleEngine
 
     private List<RuleEffects> evaluateProgramRulesForMultipleTrackerObjects( ProgramInstance enrollment,
         ProgramStageInstance programStageInstance, Program program,
-        List<TrackedEntityAttributeValue> trackedEntityAttributeValues, List<RuleEvent> ruleEvents )
+        List<TrackedEntityAttributeValue> trackedEntityAttributeValues, List<RuleEvent> ruleEvents,
+        Map<String, RuleEngineContext> contexts )
     {
         try
         {
             RuleEngine ruleEngine = getRuleEngine( programStageInstance, program, enrollment,
-                trackedEntityAttributeValues, ruleEvents );
+                trackedEntityAttributeValues, ruleEvents, contexts );
             if ( ruleEngine == null )
             {
                 return Collections.emptyList();
@@ -148,23 +180,26 @@ public class ProgramRuleEngine
     private RuleEngine getRuleEngine( ProgramStageInstance programStageInstance, Program program,
         ProgramInstance enrollment,
         List<TrackedEntityAttributeValue> trackedEntityAttributeValues,
-        List<RuleEvent> ruleEvents )
+        List<RuleEvent> ruleEvents, Map<String, RuleEngineContext> contexts )
     {
         String programStageUid = Optional.ofNullable( programStageInstance ).map( p -> p.getProgramStage().getUid() )
             .orElse( null );
 
-        List<ProgramRule> programRules = implementableRuleService.getProgramRules( program, programStageUid );
+        String key = implementableRuleService.getClass().getSimpleName() + ":" + program.getUid() + ":"
+            + programStageUid;
 
-        if ( programRules.isEmpty() )
+        ProgramRuleSet programRuleSet = programRuleSetCache.get( key,
+            () -> loadProgramRuleSet( program, programStageUid ) );
+
+        if ( programRuleSet.isEmpty() )
         {
             return null;
         }
 
         RuleEnrollment ruleEnrollment = getRuleEnrollment( enrollment, trackedEntityAttributeValues );
 
-        RuleEngine.Builder builder = getRuleEngineContext( program,
-            programRules )
-                .toEngineBuilder()
+        RuleEngine.Builder builder = contexts.computeIfAbsent( key, k -> getRuleEngineContext( programRuleSet ) )
+            .toEngineBuilder()
                 .triggerEnvironment( TriggerEnvironment.SERVER )
                 .events( ruleEvents );
 
@@ -222,8 +257,15 @@ public class ProgramRuleEngine
             RuleEngineIntent.DESCRIPTION ).build();
     }
 
-    private RuleEngineContext getRuleEngineContext( Program program, List<ProgramRule> programRules )
+    private ProgramRuleSet loadProgramRuleSet( Program program, String programStageUid )
     {
+        List<ProgramRule> programRules = implementableRuleService.getProgramRules( program, programStageUid );
+
+        if ( programRules.isEmpty() )
+        {
+            return ProgramRuleSet.EMPTY;
+        }
+
         List<ProgramRuleVariable> programRuleVariables = programRuleVariableService
             .getProgramRuleVariable( program );
 
@@ -231,13 +273,26 @@ public class ProgramRuleEngine
             .stream()
             .collect( Collectors.toMap( Map.Entry::getKey, v -> v.getValue().toString() ) );
 
-        Map<String, List<String>> supplementaryData = supplementaryDataProvider.getSupplementaryData( programRules );
+        return new ProgramRuleSet( programRuleEntityMapperService.toMappedProgramRules( programRules ),
+            programRuleEntityMapperService.toMappedProgramRuleVariables( programRuleVariables ),
+            constantMap, supplementaryDataProvider.getOrgUnitGroups( programRules ) );
+    }
+
+    /**
+     * Supplementary data depends on the current user and on organisation unit
+     * group membership, so it is resolved per context rather than cached with
+     * the rule set.
+     */
+    private RuleEngineContext getRuleEngineContext( ProgramRuleSet programRuleSet )
+    {
+        Map<String, List<String>> supplementaryData = supplementaryDataProvider
+            .getSupplementaryDataForOrgUnitGroups( programRuleSet.getOrgUnitGroups() );
 
         return RuleEngineContext.builder()
             .supplementaryData( supplementaryData )
-            .rules( programRuleEntityMapperService.toMappedProgramRules( programRules ) )
-            .ruleVariables( programRuleEntityMapperService.toMappedProgramRuleVariables( programRuleVariables ) )
-            .constantsValue( constantMap )
+            .rules( programRuleSet.getRules() )
+            .ruleVariables( programRuleSet.getRuleVariables() )
+            .constantsValue( programRuleSet.getConstants() )
             .build();
     }
 
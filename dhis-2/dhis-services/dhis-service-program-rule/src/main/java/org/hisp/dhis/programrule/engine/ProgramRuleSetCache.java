@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.EntityChangeInvalidation;
+import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.constant.Constant;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.option.Option;
+import org.hisp.dhis.option.OptionSet;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramStage;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleAction;
+import org.hisp.dhis.programrule.ProgramRuleVariable;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the compiled {@link ProgramRuleSet} of each program (stage). Entries
+ * are tagged with the program rule metadata version, which is bumped by
+ * {@link #invalidate()} once a transaction changing program rule metadata
+ * commits, so a rule set loaded concurrently with a change is never served
+ * after it. Changes made on other nodes of a cluster are picked up once the
+ * cached rule sets expire.
+ */
+@Component
+public class ProgramRuleSetCache implements EntityChangeInvalidation
+{
+    private static final Set<Class<?>> RULE_METADATA = Set.of( ProgramRule.class, ProgramRuleAction.class,
+        ProgramRuleVariable.class, Constant.class, Program.class, ProgramStage.class, DataElement.class,
+        TrackedEntityAttribute.class, OptionSet.class, Option.class );
+
+    private final Cache<ProgramRuleSet> cache;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public ProgramRuleSetCache( CacheProvider cacheProvider )
+    {
+        this.cache = cacheProvider.createProgramRuleSetCache();
+    }
+
+    /**
+     * Returns the rule set cached for the given key, loading and caching it
+     * for the current metadata version if absent.
+     *
+     * @param key the rule set key.
+     * @param loader loads the rule set from the database.
+     * @return the {@link ProgramRuleSet}.
+     */
+    public ProgramRuleSet get( String key, Supplier<ProgramRuleSet> loader )
+    {
+        return cache.get( version.get() + ":" + key, k -> loader.get() );
+    }
+
+    /**
+     * @return the current program rule metadata version.
+     */
+    public long getVersion()
+    {
+        return version.get();
+    }
+
+    @Override
+    public Set<Class<?>> getInvalidatingTypes()
+    {
+        return RULE_METADATA;
+    }
+
+    /**
+     * Drops all cached rule sets and moves to the next metadata version.
+     */
+    @Override
+    public void invalidate()
+    {
+        version.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void handleApplicationCachesCleared( ApplicationCacheClearedEvent event )
+    {
+        invalidate();
+    }
+}
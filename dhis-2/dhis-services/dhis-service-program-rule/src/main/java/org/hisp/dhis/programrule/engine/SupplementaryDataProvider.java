@@ -28,8 +28,10 @@
 package org.hisp.dhis.programrule.engine;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -66,7 +68,19 @@ public class SupplementaryDataProvider
 
     public Map<String, List<String>> getSupplementaryData( List<ProgramRule> programRules )
     {
-        List<String> orgUnitGroups = new ArrayList<>();
+        return getSupplementaryDataForOrgUnitGroups( getOrgUnitGroups( programRules ) );
+    }
+
+    /**
+     * Extracts the uids of the organisation unit groups referenced by
+     * d2:inOrgUnitGroup in the conditions of the given rules.
+     *
+     * @param programRules the program rules.
+     * @return the distinct organisation unit group uids.
+     */
+    public List<String> getOrgUnitGroups( List<ProgramRule> programRules )
+    {
+        Set<String> orgUnitGroups = new LinkedHashSet<>();
 
         for ( ProgramRule programRule : programRules )
         {
@@ -78,6 +92,18 @@ public class SupplementaryDataProvider
             }
         }
 
+        return new ArrayList<>( orgUnitGroups );
+    }
+
+    /**
+     * Builds the supplementary data for the given organisation unit groups and
+     * the current user.
+     *
+     * @param orgUnitGroups the organisation unit group uids.
+     * @return the supplementary data.
+     */
+    public Map<String, List<String>> getSupplementaryDataForOrgUnitGroups( List<String> orgUnitGroups )
+    {
         Map<String, List<String>> supplementaryData = Maps.newHashMap();
 
         if ( !orgUnitGroups.isEmpty() )
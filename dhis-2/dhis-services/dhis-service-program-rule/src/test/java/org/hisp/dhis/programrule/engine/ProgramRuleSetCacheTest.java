@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class ProgramRuleSetCacheTest
+{
+    @Mock
+    private CacheProvider cacheProvider;
+
+    private ProgramRuleSetCache programRuleSetCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<ProgramRuleSet> loader = () -> {
+        loads.incrementAndGet();
+        return new ProgramRuleSet( Collections.emptyList(), Collections.emptyList(), Collections.emptyMap(),
+            Collections.emptyList() );
+    };
+
+    @BeforeEach
+    void setUp()
+    {
+        CacheBuilder<ProgramRuleSet> cacheBuilder = new SimpleCacheBuilder<>();
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES );
+
+        Mockito.<Cache<ProgramRuleSet>> when( cacheProvider.createProgramRuleSetCache() )
+            .thenReturn( new LocalCache<>( cacheBuilder ) );
+
+        programRuleSetCache = new ProgramRuleSetCache( cacheProvider );
+    }
+
+    @Test
+    void shouldLoadRuleSetOnlyOnce()
+    {
+        ProgramRuleSet first = programRuleSetCache.get( "programA", loader );
+        ProgramRuleSet second = programRuleSetCache.get( "programA", loader );
+
+        assertSame( first, second );
+        assertEquals( 1, loads.get() );
+    }
+
+    @Test
+    void shouldLoadRuleSetPerKey()
+    {
+        programRuleSetCache.get( "programA", loader );
+        programRuleSetCache.get( "programB", loader );
+
+        assertEquals( 2, loads.get() );
+    }
+
+    @Test
+    void shouldReloadRuleSetAfterInvalidation()
+    {
+        ProgramRuleSet first = programRuleSetCache.get( "programA", loader );
+
+        programRuleSetCache.invalidate();
+
+        ProgramRuleSet second = programRuleSetCache.get( "programA", loader );
+
+        assertEquals( 2, loads.get() );
+        assertEquals( 1, programRuleSetCache.getVersion() );
+        assertEquals( first, second );
+    }
+}
@@ -28,6 +28,7 @@
 package org.hisp.dhis.predictor;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static java.lang.Math.max;
 import static java.lang.String.format;
 import static org.hisp.dhis.common.OrganisationUnitDescendants.DESCENDANTS;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
@@ -36,18 +37,27 @@ import static org.hisp.dhis.expression.ParseType.PREDICTOR_SKIP_TEST;
 import static org.hisp.dhis.predictor.PredictionFormatter.formatPrediction;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.hisp.dhis.analytics.AnalyticsService;
 import org.hisp.dhis.analytics.AnalyticsServiceTarget;
 import org.hisp.dhis.analytics.DataType;
@@ -58,6 +68,7 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ListMap;
 import org.hisp.dhis.common.MapMap;
+import org.hisp.dhis.commons.util.SystemUtils;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementOperand;
@@ -79,6 +90,7 @@ import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.CurrentUserServiceTarget;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.util.DateUtils;
+import org.hibernate.Hibernate;
 import org.hisp.quick.BatchHandlerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -96,6 +108,11 @@ import com.google.common.collect.Sets;
 public class DefaultPredictionService
     implements PredictionService, AnalyticsServiceTarget, CurrentUserServiceTarget
 {
+    /**
+     * Number of organisation units predicted together by one thread.
+     */
+    static final int ORG_UNITS_PER_TASK = 500;
+
     private final PredictorService predictorService;
 
     private final ExpressionService expressionService;
@@ -167,12 +184,22 @@ public class DefaultPredictionService
             () -> fetchPredictors( predictors, predictorGroups ) );
 
         PredictionSummary summary = new PredictionSummary();
-        progress.startingStage( format( "Running predictors from %s to %s", startDate, endDate ),
-            predictorList.size(), SKIP_ITEM_OUTLIER );
-        progress.runStage( predictorList.stream(),
-            predictor -> format( "Running predictor %s from %s to %s", predictor.getName(), startDate, endDate ),
-            predictor -> predict( predictor, startDate, endDate, summary ),
-            ( success, failed ) -> format( "Finished predictors from %s to %s: %s", startDate, endDate, summary ) );
+        ExecutorService executor = newPredictionExecutor();
+
+        try
+        {
+            progress.startingStage( format( "Running predictors from %s to %s", startDate, endDate ),
+                predictorList.size(), SKIP_ITEM_OUTLIER );
+            progress.runStage( predictorList.stream(),
+                predictor -> format( "Running predictor %s from %s to %s", predictor.getName(), startDate, endDate ),
+                predictor -> predict( predictor, startDate, endDate, summary, executor ),
+                ( success, failed ) -> format( "Finished predictors from %s to %s: %s", startDate, endDate,
+                    summary ) );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
 
         return summary;
     }
@@ -202,6 +229,21 @@ public class DefaultPredictionService
 
     @Override
     public void predict( Predictor predictor, Date startDate, Date endDate, PredictionSummary predictionSummary )
+    {
+        ExecutorService executor = newPredictionExecutor();
+
+        try
+        {
+            predict( predictor, startDate, endDate, predictionSummary, executor );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private void predict( Predictor predictor, Date startDate, Date endDate, PredictionSummary predictionSummary,
+        ExecutorService executor )
     {
         Expression generator = predictor.getGenerator();
         Expression skipTest = predictor.getSampleSkipTest();
@@ -218,7 +260,7 @@ public class DefaultPredictionService
         Set<Period> allSamplePeriods = samplePeriodsMap.uniqueValues();
         Set<Period> analyticsQueryPeriods = getAnalyticsQueryPeriods( exInfo, allSamplePeriods, existingOutputPeriods );
         Set<Period> dataValueQueryPeriods = getDataValueQueryPeriods( analyticsQueryPeriods, existingOutputPeriods );
-        outputPeriods = periodService.reloadPeriods( outputPeriods );
+        List<Period> reloadedOutputPeriods = periodService.reloadPeriods( outputPeriods );
         CategoryOptionCombo defaultCategoryOptionCombo = categoryService.getDefaultCategoryOptionCombo();
         CategoryOptionCombo outputOptionCombo = predictor.getOutputCombo() == null
             ? defaultCategoryOptionCombo
@@ -226,6 +268,7 @@ public class DefaultPredictionService
         DataElementOperand outputDataElementOperand = new DataElementOperand( outputDataElement, outputOptionCombo );
 
         boolean requireData = generator.getMissingValueStrategy() != NEVER_SKIP && (!items.isEmpty());
+        boolean includeDescendants = predictor.getOrganisationUnitDescendants().equals( DESCENDANTS );
         DimensionalItemObject forwardReference = addOutputToItems( outputDataElementOperand, items );
 
         Set<OrganisationUnit> currentUserOrgUnits = new HashSet<>();
@@ -236,10 +279,7 @@ public class DefaultPredictionService
             currentUserOrgUnits = currentUser.getOrganisationUnits();
         }
 
-        PredictionDataConsolidator consolidator = new PredictionDataConsolidator( items,
-            predictor.getOrganisationUnitDescendants().equals( DESCENDANTS ),
-            new PredictionDataValueFetcher( dataValueService, categoryService ),
-            new PredictionAnalyticsDataFetcher( analyticsService, categoryService ) );
+        initializeOrgUnitAssignments( baseExParams );
 
         PredictionWriter predictionWriter = new PredictionWriter( dataValueService, batchHandlerFactory );
 
@@ -252,51 +292,76 @@ public class DefaultPredictionService
             List<OrganisationUnit> orgUnits = organisationUnitService
                 .getOrganisationUnitsAtOrgUnitLevels( Lists.newArrayList( orgUnitLevel ), currentUserOrgUnits );
 
-            consolidator.init( currentUserOrgUnits, orgUnitLevel.getLevel(), orgUnits,
-                dataValueQueryPeriods, analyticsQueryPeriods, existingOutputPeriods, outputDataElementOperand );
+            int level = orgUnitLevel.getLevel();
 
-            PredictionData data;
+            // Each chunk gets its own consolidator (and fetchers), querying
+            // only the data below the organisation units of the chunk. The
+            // data is fetched on this thread, which owns the Hibernate
+            // session; only the evaluation of the fetched data runs in
+            // parallel.
 
-            while ( (data = consolidator.getData()) != null )
-            {
-                List<DataValue> predictions = new ArrayList<>();
+            predictInParallel( executor, Lists.partition( orgUnits, ORG_UNITS_PER_TASK ), chunk -> {
+                PredictionDataConsolidator consolidator = new PredictionDataConsolidator( items, includeDescendants,
+                    new PredictionDataValueFetcher( dataValueService, categoryService ),
+                    new PredictionAnalyticsDataFetcher( analyticsService, categoryService ) );
+
+                consolidator.init( new HashSet<>( chunk ), level, chunk,
+                    dataValueQueryPeriods, analyticsQueryPeriods, existingOutputPeriods, outputDataElementOperand );
+
+                List<PredictionData> chunkData = new ArrayList<>();
 
-                List<PredictionContext> contexts = PredictionContextGenerator.getContexts(
-                    outputPeriods, data.getValues(), defaultCategoryOptionCombo );
+                PredictionData data;
 
-                for ( PredictionContext c : contexts )
+                while ( (data = consolidator.getData()) != null )
                 {
-                    List<Period> samplePeriods = new ArrayList<>( samplePeriodsMap.get( c.getOutputPeriod() ) );
+                    data.getOrgUnit().getPath(); // initializes the parents
 
-                    samplePeriods.removeAll( getSkippedPeriods( allSamplePeriods, baseExParams, c.getPeriodValueMap(),
-                        skipTest, data.getOrgUnit() ) );
+                    chunkData.add( data );
+                }
+
+                return chunkData;
+            }, chunkData -> {
+                List<DataValue> predictions = new ArrayList<>();
 
-                    if ( !isEvaluationRequired( requireData, exInfo, samplePeriods, c.getValueMap(),
-                        c.getPeriodValueMap(), baseExParams.getItemMap() ) )
+                for ( PredictionData data : chunkData )
+                {
+                    List<PredictionContext> contexts = PredictionContextGenerator.getContexts(
+                        reloadedOutputPeriods, data.getValues(), defaultCategoryOptionCombo );
+
+                    for ( PredictionContext c : contexts )
                     {
-                        continue;
+                        List<Period> samplePeriods = new ArrayList<>( samplePeriodsMap.get( c.getOutputPeriod() ) );
+
+                        samplePeriods.removeAll( getSkippedPeriods( allSamplePeriods, baseExParams,
+                            c.getPeriodValueMap(), skipTest, data.getOrgUnit() ) );
+
+                        if ( !isEvaluationRequired( requireData, exInfo, samplePeriods, c.getValueMap(),
+                            c.getPeriodValueMap(), baseExParams.getItemMap() ) )
+                        {
+                            continue;
+                        }
+
+                        Object value = expressionService.getExpressionValue( baseExParams.toBuilder()
+                            .expression( predictor.getGenerator().getExpression() )
+                            .parseType( PREDICTOR_EXPRESSION )
+                            .dataType( expressionDataType )
+                            .valueMap( c.getValueMap() )
+                            .days( c.getOutputPeriod().getDaysInPeriod() )
+                            .missingValueStrategy( generator.getMissingValueStrategy() )
+                            .orgUnit( data.getOrgUnit() )
+                            .samplePeriods( samplePeriods )
+                            .periodValueMap( c.getPeriodValueMap() )
+                            .build() );
+
+                        DataValue prediction = processPrediction( predictor, c, value, currentUser,
+                            outputOptionCombo, data.getOrgUnit() );
+
+                        rememberPredictedValue( prediction, predictions, contexts, forwardReference );
                     }
-
-                    Object value = expressionService.getExpressionValue( baseExParams.toBuilder()
-                        .expression( predictor.getGenerator().getExpression() )
-                        .parseType( PREDICTOR_EXPRESSION )
-                        .dataType( expressionDataType )
-                        .valueMap( c.getValueMap() )
-                        .days( c.getOutputPeriod().getDaysInPeriod() )
-                        .missingValueStrategy( generator.getMissingValueStrategy() )
-                        .orgUnit( data.getOrgUnit() )
-                        .samplePeriods( samplePeriods )
-                        .periodValueMap( c.getPeriodValueMap() )
-                        .build() );
-
-                    DataValue prediction = processPrediction( predictor, c, value, currentUser, outputOptionCombo,
-                        data.getOrgUnit() );
-
-                    rememberPredictedValue( prediction, predictions, contexts, forwardReference );
                 }
 
-                predictionWriter.write( predictions, data.getOldPredictions() );
-            }
+                return predictions;
+            }, predictionWriter );
         }
 
         predictionWriter.flush();
@@ -306,6 +371,117 @@ public class DefaultPredictionService
     // Supportive Methods
     // -------------------------------------------------------------------------
 
+    /**
+     * Creates the executor evaluating the prediction chunks, using as many
+     * threads as validation does.
+     */
+    private ExecutorService newPredictionExecutor()
+    {
+        return Executors.newFixedThreadPool( getThreadCount() );
+    }
+
+    private int getThreadCount()
+    {
+        return max( 2, SystemUtils.getCpuCores() - 1 );
+    }
+
+    /**
+     * Runs the prediction for chunks of organisation units. The data of each
+     * chunk is fetched on the calling thread and then evaluated on the given
+     * executor, while the data of the next chunk is fetched. The predictions
+     * are written on the calling thread, in chunk order. At most one chunk per
+     * thread is waiting to be written, so the fetched data held in memory
+     * stays bounded. A single chunk is run entirely on the calling thread. If
+     * any chunk fails, the remaining chunks are cancelled and the first
+     * exception is re-thrown to the caller.
+     */
+    private void predictInParallel( ExecutorService executor, List<List<OrganisationUnit>> chunks,
+        Function<List<OrganisationUnit>, List<PredictionData>> fetcher,
+        Function<List<PredictionData>, List<DataValue>> evaluator, PredictionWriter predictionWriter )
+    {
+        if ( chunks.size() <= 1 )
+        {
+            for ( List<OrganisationUnit> chunk : chunks )
+            {
+                List<PredictionData> chunkData = fetcher.apply( chunk );
+
+                predictionWriter.write( evaluator.apply( chunkData ), getOldPredictions( chunkData ) );
+            }
+
+            return;
+        }
+
+        Deque<Pair<List<PredictionData>, Future<List<DataValue>>>> pending = new ArrayDeque<>();
+
+        try
+        {
+            for ( List<OrganisationUnit> chunk : chunks )
+            {
+                List<PredictionData> chunkData = fetcher.apply( chunk );
+
+                pending.add( Pair.of( chunkData, executor.submit( () -> evaluator.apply( chunkData ) ) ) );
+
+                if ( pending.size() > getThreadCount() )
+                {
+                    write( pending.remove(), predictionWriter );
+                }
+            }
+
+            while ( !pending.isEmpty() )
+            {
+                write( pending.remove(), predictionWriter );
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException( "Prediction was interrupted", ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            if ( ex.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new IllegalStateException( ex.getCause() );
+        }
+        finally
+        {
+            pending.forEach( chunk -> chunk.getRight().cancel( true ) );
+        }
+    }
+
+    /**
+     * Writes the predictions of a chunk once they have been evaluated.
+     */
+    private void write( Pair<List<PredictionData>, Future<List<DataValue>>> chunk, PredictionWriter predictionWriter )
+        throws InterruptedException,
+        ExecutionException
+    {
+        predictionWriter.write( chunk.getRight().get(), getOldPredictions( chunk.getLeft() ) );
+    }
+
+    private List<DataValue> getOldPredictions( List<PredictionData> chunkData )
+    {
+        return chunkData.stream()
+            .flatMap( data -> data.getOldPredictions().stream() )
+            .collect( Collectors.toList() );
+    }
+
+    /**
+     * Initializes the organisation unit assignments of any groups, data sets
+     * and programs referenced by the expressions while still on the thread
+     * owning the Hibernate session, so they can be read by the chunk threads.
+     */
+    private void initializeOrgUnitAssignments( ExpressionParams baseExParams )
+    {
+        baseExParams.getOrgUnitGroupMap().values().forEach( g -> Hibernate.initialize( g.getMembers() ) );
+        baseExParams.getDataSetMap().values().forEach( ds -> Hibernate.initialize( ds.getSources() ) );
+        baseExParams.getProgramMap().values().forEach( p -> Hibernate.initialize( p.getOrganisationUnits() ) );
+    }
+
     private DataValue processPrediction( Predictor predictor, PredictionContext c, Object value, User currentUser,
         CategoryOptionCombo outputOptionCombo, OrganisationUnit orgUnit )
     {
@@ -30,6 +30,7 @@ package org.hisp.dhis.predictor;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hisp.dhis.system.util.ValidationUtils.dataValueIsZeroAndInsignificant;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +47,10 @@ import org.hisp.quick.BatchHandlerFactory;
  * Writes predictions to the database.
  * <p>
  * For performance, a BatchHandler is used where possible.
+ * <p>
+ * Predictions may be written from several threads. Writes are serialized, and
+ * values for new periods (which exist only within the calling transaction) are
+ * kept until they are added by {@link #flush()} on the calling thread.
  *
  * @author Jim Grace
  */
@@ -59,6 +64,8 @@ public class PredictionWriter
 
     private Set<Period> existingOutputPeriods;
 
+    private List<DataValue> newPeriodPredictions;
+
     private PredictionSummary summary;
 
     public PredictionWriter( DataValueService dataValueService, BatchHandlerFactory batchHandlerFactory )
@@ -81,6 +88,8 @@ public class PredictionWriter
         this.existingOutputPeriods = existingOutputPeriods;
         this.summary = summary;
 
+        newPeriodPredictions = new ArrayList<>();
+
         dataValueBatchHandler = batchHandlerFactory.createBatchHandler( DataValueBatchHandler.class ).init();
     }
 
@@ -97,7 +106,7 @@ public class PredictionWriter
      * @param predictions new predicted data values.
      * @param oldPredictions existing predicted data values.
      */
-    public void write( List<DataValue> predictions, List<DataValue> oldPredictions )
+    public synchronized void write( List<DataValue> predictions, List<DataValue> oldPredictions )
     {
         Map<String, DataValue> oldPredictionMap = oldPredictions.stream()
             .collect( Collectors.toMap( this::mapKey, dv -> dv ) );
@@ -110,9 +119,17 @@ public class PredictionWriter
         deleteObsoletePredictions( oldPredictionMap );
     }
 
-    public void flush()
+    /**
+     * Flushes the batched predictions and adds any predictions for new periods.
+     * Must be called on the thread that owns the transaction.
+     */
+    public synchronized void flush()
     {
         dataValueBatchHandler.flush();
+
+        newPeriodPredictions.forEach( dataValueService::addDataValue );
+
+        newPeriodPredictions.clear();
     }
 
     // -------------------------------------------------------------------------
@@ -172,6 +189,7 @@ public class PredictionWriter
      * Note: BatchHandler can be used for inserting only when the period
      * previously existed. To insert values into new periods (just added to the
      * database within this transaction), the dataValueService must be used.
+     * These are added when the writer is flushed.
      *
      * @param prediction the predicted data value.
      */
@@ -185,7 +203,7 @@ public class PredictionWriter
         }
         else
         {
-            dataValueService.addDataValue( prediction );
+            newPeriodPredictions.add( prediction );
         }
     }
 
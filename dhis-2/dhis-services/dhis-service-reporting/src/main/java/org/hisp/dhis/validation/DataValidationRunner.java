@@ -29,7 +29,6 @@ package org.hisp.dhis.validation;
 
 import static org.hisp.dhis.antlr.AntlrParserUtils.castDouble;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
-import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.hisp.dhis.system.util.MathUtils.addDoubleObjects;
 import static org.hisp.dhis.system.util.MathUtils.roundSignificant;
@@ -61,7 +60,6 @@ import org.hisp.dhis.datavalue.DataExportParams;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.datavalue.DeflatedDataValue;
 import org.hisp.dhis.expression.Expression;
-import org.hisp.dhis.expression.ExpressionParams;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.expression.Operator;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -134,9 +132,12 @@ public class DataValidationRunner
 
         for ( PeriodTypeExtended ptx : context.getPeriodTypeXs() )
         {
+            Set<String> sharedSides = getSharedSides( ptx );
+
             for ( Period p : ptx.getPeriods() )
             {
-                DataValidationRun run = new DataValidationRun( context, ptx, p );
+                DataValidationRun run = new DataValidationRun( context, ptx, p,
+                    periodService.getDayInPeriod( p, new Date() ), sharedSides );
                 run.getData( orgUnits );
 
                 for ( OrganisationUnit ou : orgUnits )
@@ -159,6 +160,36 @@ public class DataValidationRunner
         }
     }
 
+    /**
+     * Finds the rule sides which occur in more than one rule of a period type,
+     * so their values can be evaluated once per organisation unit.
+     */
+    private static Set<String> getSharedSides( PeriodTypeExtended ptx )
+    {
+        Set<String> sides = new HashSet<>();
+        Set<String> sharedSides = new HashSet<>();
+
+        for ( ValidationRuleExtended ruleX : ptx.getRuleXs() )
+        {
+            for ( String side : List.of(
+                getSideKey( ruleX.getRule().getLeftSide(), ruleX.getLeftSlidingWindow() ),
+                getSideKey( ruleX.getRule().getRightSide(), ruleX.getRightSlidingWindow() ) ) )
+            {
+                if ( !sides.add( side ) )
+                {
+                    sharedSides.add( side );
+                }
+            }
+        }
+
+        return sharedSides;
+    }
+
+    private static String getSideKey( Expression expression, boolean slidingWindow )
+    {
+        return slidingWindow + ":" + expression.getMissingValueStrategy() + ":" + expression.getExpression();
+    }
+
     @Getter
     @RequiredArgsConstructor
     private final class DataValidationRun
@@ -171,6 +202,15 @@ public class DataValidationRunner
         // Current period.
         private final Period period;
 
+        // Day in the current period, as of now.
+        private final int dayInPeriod;
+
+        // Rule sides occurring in more than one rule.
+        private final Set<String> sharedSides;
+
+        // Values of shared rule sides by org unit and side.
+        private final MapMap<Long, String, Map<String, Double>> sharedSideValues = new MapMap<>();
+
         // Data for current period and all rules being evaluated:
         private final MapMapMap<Long, String, DimensionalItemObject, Object> dataMap = new MapMapMap<>();
 
@@ -188,10 +228,10 @@ public class DataValidationRunner
             MapMap<String, DimensionalItemObject, Object> rightValueMap = getValueMap( orgUnit,
                 ruleX.getRightSlidingWindow() );
 
-            Map<String, Double> leftSideValues = getExpressionValueMap( orgUnit, ruleX.getRule().getLeftSide(),
-                leftValueMap );
-            Map<String, Double> rightSideValues = getExpressionValueMap( orgUnit, ruleX.getRule().getRightSide(),
-                rightValueMap );
+            Map<String, Double> leftSideValues = getSideValueMap( orgUnit, ruleX.getRule().getLeftSide(),
+                ruleX.getLeftSlidingWindow(), leftValueMap );
+            Map<String, Double> rightSideValues = getSideValueMap( orgUnit, ruleX.getRule().getRightSide(),
+                ruleX.getRightSlidingWindow(), rightValueMap );
 
             Set<String> attributeOptionCombos = Sets.union( leftSideValues.keySet(), rightSideValues.keySet() );
 
@@ -259,8 +299,7 @@ public class DataValidationRunner
             Double leftSide, Double rightSide, Consumer<ValidationResult> addResult )
         {
             // Skipping any results we already know
-            if ( context.skipValidationOfTuple( orgUnit, rule, period, optionCombo,
-                periodService.getDayInPeriod( period, new Date() ) ) )
+            if ( context.skipValidationOfTuple( orgUnit, rule, period, optionCombo, dayInPeriod ) )
             {
                 return;
             }
@@ -274,7 +313,7 @@ public class DataValidationRunner
                     getAttributeOptionCombo( optionCombo ),
                     roundSignificant( zeroIfNull( leftSide ) ),
                     roundSignificant( zeroIfNull( rightSide ) ),
-                    periodService.getDayInPeriod( period, new Date() ) ) );
+                    dayInPeriod ) );
             }
         }
 
@@ -322,11 +361,33 @@ public class DataValidationRunner
                 }
             }
 
-            String test = leftSide
-                + operator.getMathematicalOperator()
-                + rightSide;
-            return !(Boolean) expressionService.getExpressionValue( ExpressionParams.builder()
-                .expression( test ).parseType( SIMPLE_TEST ).build() );
+            return !compare( operator, leftSide, rightSide );
+        }
+
+        /**
+         * Compares the left and right side values with the operator, the same
+         * way as a parsed comparison of the two values would. Primitive
+         * comparison is used, so that -0.0 and 0.0 are equal.
+         */
+        private boolean compare( Operator operator, double leftSide, double rightSide )
+        {
+            switch ( operator )
+            {
+            case equal_to:
+                return leftSide == rightSide;
+            case not_equal_to:
+                return leftSide != rightSide;
+            case greater_than:
+                return leftSide > rightSide;
+            case greater_than_or_equal_to:
+                return leftSide >= rightSide;
+            case less_than:
+                return leftSide < rightSide;
+            case less_than_or_equal_to:
+                return leftSide <= rightSide;
+            default:
+                throw new IllegalArgumentException( "Unexpected operator: " + operator );
+            }
         }
 
         /**
@@ -376,8 +437,8 @@ public class DataValidationRunner
             if ( !results.isEmpty() )
             {
                 // the results are collected for this thread first and now
-                // copied to the concurrent "global" results list
-                context.getValidationResults().addAll( results );
+                // handed to the concurrent "global" results list or sink
+                context.addValidationResults( results );
             }
         }
 
@@ -441,6 +502,33 @@ public class DataValidationRunner
             context.getAocUidMap().put( aoc.getUid(), aoc );
         }
 
+        /**
+         * Evaluates a rule side, returning a map of values by attribute option
+         * combo. Sides occurring in more than one rule are evaluated once per
+         * organisation unit.
+         */
+        private Map<String, Double> getSideValueMap( OrganisationUnit orgUnit, Expression expression,
+            boolean slidingWindow, MapMap<String, DimensionalItemObject, Object> valueMap )
+        {
+            String side = getSideKey( expression, slidingWindow );
+
+            if ( !sharedSides.contains( side ) )
+            {
+                return getExpressionValueMap( orgUnit, expression, valueMap );
+            }
+
+            Map<String, Double> values = sharedSideValues.getValue( orgUnit.getId(), side );
+
+            if ( values == null )
+            {
+                values = getExpressionValueMap( orgUnit, expression, valueMap );
+
+                sharedSideValues.putEntry( orgUnit.getId(), side, values );
+            }
+
+            return values;
+        }
+
         /**
          * Evaluates an expression, returning a map of values by attribute
          * option combo.
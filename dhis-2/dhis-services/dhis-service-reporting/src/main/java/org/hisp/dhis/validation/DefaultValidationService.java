@@ -37,7 +37,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -59,6 +62,8 @@ import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionInfo;
 import org.hisp.dhis.expression.ExpressionParams;
 import org.hisp.dhis.expression.ExpressionService;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.Period;
@@ -109,6 +114,8 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
 
     private final DataValidationRunner runner;
 
+    private final DhisConfigurationProvider config;
+
     private CurrentUserService currentUserService;
 
     @Override
@@ -138,12 +145,27 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
             + (parameters.isPersistResults() ? ", persisting results" : "")
             + (parameters.isSendNotifications() ? ", sending notifications" : "") );
 
-        ValidationRunContext context = getValidationContext( parameters );
+        Queue<Long> notifiedResultIds = new ConcurrentLinkedQueue<>();
+
+        ValidationRunContext context = getValidationContext( parameters, notifiedResultIds );
 
         clock.logTime( "Initialized validation analysis" );
 
         List<ValidationResult> results = Validator.validate( context, runner, progress );
 
+        if ( context.isStreamResults() )
+        {
+            clock.logTime( "Finished validation analysis, " + context.getResultSink().getFlushedCount()
+                + " results streamed" ).stop();
+
+            if ( context.isSendNotifications() )
+            {
+                notificationService.sendUnsentNotifications( notifiedResultIds, progress );
+            }
+
+            return List.of();
+        }
+
         if ( context.isPersistResults() )
         {
             progress.startingStage( "Persisting Results", SKIP_STAGE );
@@ -163,7 +185,7 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
     @Override
     public ValidationRuleExpressionDetails getValidationRuleExpressionDetails( ValidationAnalysisParams parameters )
     {
-        ValidationRunContext context = getValidationContext( parameters );
+        ValidationRunContext context = getValidationContext( parameters, new ConcurrentLinkedQueue<>() );
 
         ValidationRuleExpressionDetails details = new ValidationRuleExpressionDetails();
 
@@ -248,9 +270,12 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
      *
      * @param parameters ValidationRuleParameters for creating
      *        ValidationRuleContext
+     * @param notifiedResultIds collects the ids of streamed results to send
+     *        notifications for
      * @return Builder with basic configuration based on input.
      */
-    private ValidationRunContext getValidationContext( ValidationAnalysisParams parameters )
+    private ValidationRunContext getValidationContext( ValidationAnalysisParams parameters,
+        Collection<Long> notifiedResultIds )
     {
         User currentUser = currentUserService.getCurrentUser();
 
@@ -269,6 +294,11 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
             .withItemMap( baseExParams.getItemMap() )
             .withMaxResults( parameters.getMaxResults() );
 
+        if ( parameters.isStreamResults() && parameters.isPersistResults() )
+        {
+            builder.withResultSink( getResultSink( parameters, notifiedResultIds ) );
+        }
+
         if ( currentUser != null )
         {
             builder
@@ -284,6 +314,37 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
             .addInitialResults( initialResults );
     }
 
+    /**
+     * Creates the sink for a streamed validation analysis. Each flushed batch
+     * of results is saved in its own transaction, so persistence does not need
+     * the results of the whole analysis in memory. The batch is flushed on a
+     * worker thread, so the rules, org units and attribute option combos of
+     * its results are reloaded in that transaction before saving. The ids of
+     * saved results with notification templates are collected, so that
+     * notifications are sent for exactly the results of this analysis once it
+     * is complete.
+     */
+    private ValidationResultSink getResultSink( ValidationAnalysisParams parameters,
+        Collection<Long> notifiedResultIds )
+    {
+        int capacity = Integer.parseInt( config.getProperty( ConfigurationKey.SYSTEM_VALIDATION_RESULT_BUFFER_SIZE ) );
+
+        Set<Long> notifiedRuleIds = parameters.isSendNotifications()
+            ? parameters.getValidationRules().stream()
+                .filter( rule -> !rule.getNotificationTemplates().isEmpty() )
+                .map( ValidationRule::getId )
+                .collect( Collectors.toSet() )
+            : Set.of();
+
+        return new ValidationResultSink( capacity, ValidationResultSink.DEFAULT_BATCH_SIZE, batch -> {
+            validationResultService.reloadAndSaveValidationResults( batch );
+
+            batch.stream()
+                .filter( result -> notifiedRuleIds.contains( result.getValidationRule().getId() ) )
+                .forEach( result -> notifiedResultIds.add( result.getId() ) );
+        } );
+    }
+
     private Map<PeriodType, PeriodTypeExtended> getExtendedPeriods(
         ValidationAnalysisParams parameters )
     {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer for the validation results of a streamed validation run.
+ * <p>
+ * Worker threads add their results as they are found. Whenever at least a
+ * batch of results is buffered it is handed to the batch consumer, which
+ * persists the results. Only one batch is
+ * consumed at a time. When the buffer is full, a worker thread adding results
+ * has to consume a batch itself (or wait for the batch being consumed by
+ * another thread) before it can continue, so result production can never run
+ * more than the buffer capacity ahead of result consumption.
+ */
+public class ValidationResultSink
+{
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final BlockingQueue<ValidationResult> buffer;
+
+    private final int batchSize;
+
+    private final Consumer<List<ValidationResult>> batchConsumer;
+
+    private final Object consumerLock = new Object();
+
+    private final AtomicInteger flushedCount = new AtomicInteger();
+
+    /**
+     * @param capacity maximum number of buffered results
+     * @param batchSize number of results handed to the consumer at once
+     * @param batchConsumer consumes (persists) a batch of results
+     */
+    public ValidationResultSink( int capacity, int batchSize, Consumer<List<ValidationResult>> batchConsumer )
+    {
+        this.buffer = new ArrayBlockingQueue<>( Math.max( 1, capacity ) );
+        this.batchSize = Math.max( 1, Math.min( batchSize, capacity ) );
+        this.batchConsumer = batchConsumer;
+    }
+
+    /**
+     * Adds results to the buffer. Blocks the calling thread while the buffer
+     * is full and a batch is being consumed.
+     *
+     * @param results the results to add
+     */
+    public void addAll( Collection<ValidationResult> results )
+    {
+        for ( ValidationResult result : results )
+        {
+            while ( !buffer.offer( result ) )
+            {
+                flush( false );
+            }
+        }
+
+        if ( buffer.size() >= batchSize )
+        {
+            flush( false );
+        }
+    }
+
+    /**
+     * Consumes all results still in the buffer. Called once all worker threads
+     * have completed.
+     */
+    public void close()
+    {
+        while ( !buffer.isEmpty() )
+        {
+            flush( true );
+        }
+    }
+
+    /**
+     * Gets the number of results that have been handed to the consumer so far.
+     *
+     * @return the number of flushed results
+     */
+    public int getFlushedCount()
+    {
+        return flushedCount.get();
+    }
+
+    private void flush( boolean partial )
+    {
+        synchronized ( consumerLock )
+        {
+            if ( !partial && buffer.size() < batchSize )
+            {
+                return; // another thread flushed in the meantime
+            }
+
+            List<ValidationResult> batch = new ArrayList<>( batchSize );
+
+            buffer.drainTo( batch, batchSize );
+
+            if ( !batch.isEmpty() )
+            {
+                batchConsumer.accept( batch );
+
+                flushedCount.addAndGet( batch.size() );
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.*;
 
@@ -62,6 +63,8 @@ public class ValidationRunContext
 
     private final Queue<ValidationResult> validationResults = new ConcurrentLinkedQueue<>();
 
+    private final AtomicInteger resultCount = new AtomicInteger();
+
     private final List<OrganisationUnit> orgUnits;
 
     private final List<PeriodTypeExtended> periodTypeXs;
@@ -91,6 +94,12 @@ public class ValidationRunContext
     @lombok.Builder.Default
     private boolean persistResults = false;
 
+    /**
+     * If set, results found during the analysis are streamed to this sink
+     * instead of being collected in {@link #validationResults}.
+     */
+    private final ValidationResultSink resultSink;
+
     private final MapMapMap<OrganisationUnit, ValidationRule, Period, List<ValidationResult>> initialValidationResults = new MapMapMap<>();
 
     // -------------------------------------------------------------------------
@@ -116,7 +125,7 @@ public class ValidationRunContext
         Set<CategoryOption> coDimensionConstraints,
         Map<DimensionalItemId, DimensionalItemObject> itemMap, ExpressionParams baseExParams,
         CategoryOptionCombo attributeCombo, CategoryOptionCombo defaultAttributeCombo, int maxResults,
-        boolean sendNotifications, boolean persistResults,
+        boolean sendNotifications, boolean persistResults, ValidationResultSink resultSink,
         ValidationRuleExpressionDetails validationRuleExpressionDetails )
     {
         this.orgUnits = orgUnits;
@@ -130,6 +139,7 @@ public class ValidationRunContext
         this.maxResults = maxResults;
         this.sendNotifications = sendNotifications;
         this.persistResults = persistResults;
+        this.resultSink = resultSink;
         this.validationRuleExpressionDetails = validationRuleExpressionDetails;
 
         requireNonNull( periodTypeXs, "Missing required property 'periodTypeXs'" );
@@ -186,7 +196,32 @@ public class ValidationRunContext
 
     public boolean isAnalysisComplete()
     {
-        return validationResults.size() >= maxResults;
+        return resultCount.get() >= maxResults;
+    }
+
+    public boolean isStreamResults()
+    {
+        return resultSink != null;
+    }
+
+    /**
+     * Adds results found during the analysis, either to the collected results
+     * or to the result sink if results are streamed.
+     *
+     * @param results the results to add
+     */
+    public void addValidationResults( Collection<ValidationResult> results )
+    {
+        resultCount.addAndGet( results.size() );
+
+        if ( resultSink != null )
+        {
+            resultSink.addAll( results );
+        }
+        else
+        {
+            validationResults.addAll( results );
+        }
     }
 
     public boolean processExpressionDetails()
@@ -197,6 +232,7 @@ public class ValidationRunContext
     public ValidationRunContext addInitialResults( Collection<ValidationResult> results )
     {
         validationResults.addAll( results );
+        resultCount.addAndGet( results.size() );
 
         results.forEach( validationResult -> {
             List<ValidationResult> res = initialValidationResults
@@ -60,6 +60,9 @@ public class Validator
      * <p/>
      * Return early with no results if there are no organisation units or no
      * validation rules.
+     * <p/>
+     * If the context streams its results, the results found are handed to the
+     * result sink while the rules are evaluated and are not returned.
      *
      * @return a collection of any validations that were found
      */
@@ -81,6 +84,14 @@ public class Validator
         progress.runStageInParallel( threadPoolSize, orgUnitLists, ValidationChunk::toString,
             chunk -> runner.run( chunk.getOrgUnits(), context ) );
 
+        if ( context.isStreamResults() )
+        {
+            progress.startingStage( "Flushing remaining validation results" );
+            progress.runStage( () -> context.getResultSink().close() );
+
+            return new ArrayList<>();
+        }
+
         progress.startingStage( "Reloading attribute option combos" );
         progress.runStage(
             () -> reloadAttributeOptionCombos( context.getValidationResults(), runner.getCategoryService() ) );
@@ -103,6 +103,7 @@ public class MonitoringJob implements Job
                 .withMaxResults( ValidationService.MAX_SCHEDULED_ALERTS )
                 .withSendNotifications( params.isSendNotifications() )
                 .withPersistResults( params.isPersistResults() )
+                .withStreamResults( true )
                 .build();
 
             validationService.validationAnalysis( parameters, progress );
@@ -32,6 +32,7 @@ import static org.hisp.dhis.common.OrganisationUnitDescendants.SELECTED;
 import static org.hisp.dhis.expression.ExpressionService.SYMBOL_DAYS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -744,6 +745,29 @@ class PredictionServiceTest extends IntegrationTestBase
         assertEquals( "44.0", getDataValue( dataElementX, defaultCombo, sourceA, makeMonth( 2001, 10 ) ) );
     }
 
+    @Test
+    void testPredictInParallelChunks()
+    {
+        List<OrganisationUnit> orgUnits = new ArrayList<>();
+        for ( int i = 1; i <= DefaultPredictionService.ORG_UNITS_PER_TASK + 1; i++ )
+        {
+            OrganisationUnit orgUnit = createOrganisationUnit( "Chunked" + i, sourceB );
+            organisationUnitService.addOrganisationUnit( orgUnit );
+            useDataValue( dataElementB, makeMonth( 2001, 7 ), orgUnit, i );
+            orgUnits.add( orgUnit );
+        }
+        dataValueBatchHandler.flush();
+        Predictor p = createPredictor( dataElementX, defaultCombo, "PredictInParallelChunks", expressionF, null,
+            periodTypeMonthly, orgUnitLevel2, 1, 0, 0 );
+        predictionService.predict( p, monthStart( 2001, 7 ), monthStart( 2001, 8 ), summary );
+        assertEquals( "Pred 1 Ins " + orgUnits.size() + " Upd 0 Del 0 Unch 0", shortSummary( summary ) );
+        for ( int i = 0; i < orgUnits.size(); i++ )
+        {
+            assertEquals( (i + 1) + ".0",
+                getDataValue( dataElementX, defaultCombo, orgUnits.get( i ), makeMonth( 2001, 7 ) ) );
+        }
+    }
+
     @Test
     void testPredictWithOnlyCurrentPeriodData()
     {
@@ -193,6 +193,10 @@ class PredictionWriterTest extends DhisConvenienceTest
     {
         writer.write( Lists.newArrayList( dataValueB ), NO_OLD_DATA );
 
+        verify( dataValueService, never() ).addDataValue( any() );
+
+        writer.flush();
+
         verify( dataValueService, times( 1 ) ).addDataValue( dataValueB );
 
         assertEquals( "Ins 1 Upd 0 Del 0 Unchanged 0", writeSummary( predictionSummary ) );
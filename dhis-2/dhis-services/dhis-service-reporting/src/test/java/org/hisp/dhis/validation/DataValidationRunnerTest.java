@@ -36,9 +36,10 @@ import static org.hisp.dhis.DhisConvenienceTest.createExpression2;
 import static org.hisp.dhis.DhisConvenienceTest.createOrganisationUnit;
 import static org.hisp.dhis.DhisConvenienceTest.createPeriod;
 import static org.hisp.dhis.DhisConvenienceTest.createValidationRule;
-import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -179,9 +180,45 @@ class DataValidationRunnerTest
         mockExpressionService( leftExpression, vals, 8.4 );
         mockExpressionService( rightExpression, vals, -10.0 );
 
-        when( expressionService.getExpressionValue( ExpressionParams.builder()
-            .expression( "8.4!=-10.0" ).parseType( SIMPLE_TEST ).build() ) )
-                .thenReturn( true );
+        subject.run( organisationUnits, ctx );
+
+        assertThat( ctx.getValidationResults().size(), is( 0 ) );
+    }
+
+    @Test
+    void verifyNegativeZeroEqualsZero()
+    {
+        Expression leftExpression = createExpression2( 'A', "#{FUrCpcvMAmC.OrDRjJL9bTS}" );
+        Expression rightExpression = createExpression2( 'B', "0" );
+
+        ValidationRuleExtended vre = createValidationRuleExtended( leftExpression, rightExpression,
+            Operator.equal_to );
+
+        List<PeriodTypeExtended> periodTypes = new ArrayList<>();
+        PeriodTypeExtended periodType = createPeriodTypeExtended( vre );
+        periodType.addDataElement( deA );
+        periodTypes.add( periodType );
+
+        ValidationRunContext ctx = ValidationRunContext.newBuilder()
+            .withOrgUnits( organisationUnits )
+            .withItemMap( new HashMap<>() )
+            .withBaseExParams( ExpressionParams.builder().build() )
+            .withDefaultAttributeCombo( createCategoryOptionCombo( 'A', 'B' ) )
+            .withPeriodTypeXs( periodTypes )
+            .withMaxResults( 500 )
+            .build();
+
+        DataValue dv = createDataValue( deA, createPeriod( "201901" ), ouA, "12.4",
+            createCategoryOptionCombo( 'B', 'C' ) );
+
+        when( dataValueService.getDeflatedDataValues( any( DataExportParams.class ) ) )
+            .thenReturn( List.of( new DeflatedDataValue( dv ) ) );
+
+        Map<DimensionalItemObject, Object> vals = new HashMap<>();
+        vals.put( deA, 12.4 );
+
+        mockExpressionService( leftExpression, vals, -0.0 );
+        mockExpressionService( rightExpression, vals, 0.0 );
 
         subject.run( organisationUnits, ctx );
 
@@ -222,6 +259,54 @@ class DataValidationRunnerTest
         assertThat( ctx.getValidationResults().size(), is( 0 ) );
     }
 
+    @Test
+    void verifySharedRuleSideIsEvaluatedOncePerOrgUnit()
+    {
+        Expression leftExpression = createExpression2( 'A', "#{FUrCpcvMAmC.OrDRjJL9bTS}" );
+        Expression rightExpressionA = createExpression2( 'B', "-10" );
+        Expression rightExpressionB = createExpression2( 'C', "8.4" );
+
+        ValidationRuleExtended vreA = createValidationRuleExtended( leftExpression, rightExpressionA,
+            Operator.not_equal_to );
+        ValidationRuleExtended vreB = new ValidationRuleExtended(
+            createValidationRule( 'B', Operator.less_than, leftExpression, rightExpressionB, MONTHLY ) );
+
+        List<PeriodTypeExtended> periodTypes = new ArrayList<>();
+        PeriodTypeExtended periodType = createPeriodTypeExtended( vreA, vreB );
+        periodType.addDataElement( deA );
+        periodTypes.add( periodType );
+
+        ValidationRunContext ctx = ValidationRunContext.newBuilder()
+            .withOrgUnits( organisationUnits )
+            .withItemMap( new HashMap<>() )
+            .withBaseExParams( ExpressionParams.builder().build() )
+            .withDefaultAttributeCombo( createCategoryOptionCombo( 'A', 'B' ) )
+            .withPeriodTypeXs( periodTypes )
+            .withMaxResults( 500 )
+            .build();
+
+        DataValue dv = createDataValue( deA, createPeriod( "201901" ), ouA, "12.4",
+            createCategoryOptionCombo( 'B', 'C' ) );
+
+        when( dataValueService.getDeflatedDataValues( any( DataExportParams.class ) ) )
+            .thenReturn( List.of( new DeflatedDataValue( dv ) ) );
+
+        Map<DimensionalItemObject, Object> vals = new HashMap<>();
+        vals.put( deA, 12.4 );
+
+        mockExpressionService( leftExpression, vals, 8.4 );
+        mockExpressionService( rightExpressionA, vals, -10.0 );
+        mockExpressionService( rightExpressionB, vals, 8.4 );
+
+        subject.run( organisationUnits, ctx );
+
+        // 8.4 < 8.4 is violated in each of the three periods
+        assertThat( ctx.getValidationResults().size(), is( 3 ) );
+
+        // the shared left side is evaluated once per period, not per rule
+        verify( expressionService, times( 9 ) ).getExpressionValue( any( ExpressionParams.class ) );
+    }
+
     private void mockExpressionService( Expression expression, Map<DimensionalItemObject, Object> vals, Double val )
     {
         ExpressionParams params = ExpressionParams.builder()
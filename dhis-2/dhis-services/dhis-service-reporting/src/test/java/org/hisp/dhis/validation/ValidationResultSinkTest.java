@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ValidationResultSink}.
+ */
+class ValidationResultSinkTest
+{
+    private final List<Integer> batchSizes = Collections.synchronizedList( new ArrayList<>() );
+
+    @Test
+    void testResultsBelowBatchSizeAreFlushedOnClose()
+    {
+        ValidationResultSink sink = new ValidationResultSink( 10, 5, batch -> batchSizes.add( batch.size() ) );
+
+        sink.addAll( createResults( 3 ) );
+
+        assertEquals( List.of(), batchSizes );
+
+        sink.close();
+
+        assertEquals( List.of( 3 ), batchSizes );
+        assertEquals( 3, sink.getFlushedCount() );
+    }
+
+    @Test
+    void testResultsAreFlushedInBatches()
+    {
+        ValidationResultSink sink = new ValidationResultSink( 15, 10, batch -> batchSizes.add( batch.size() ) );
+
+        sink.addAll( createResults( 25 ) );
+
+        assertEquals( List.of( 10, 10 ), batchSizes );
+
+        sink.close();
+
+        assertEquals( List.of( 10, 10, 5 ), batchSizes );
+        assertEquals( 25, sink.getFlushedCount() );
+    }
+
+    @Test
+    void testBatchSizeIsLimitedByCapacity()
+    {
+        ValidationResultSink sink = new ValidationResultSink( 4, 10, batch -> batchSizes.add( batch.size() ) );
+
+        sink.addAll( createResults( 9 ) );
+        sink.close();
+
+        assertEquals( List.of( 4, 4, 1 ), batchSizes );
+    }
+
+    @Test
+    void testConcurrentProducersAreBounded()
+        throws InterruptedException
+    {
+        ValidationResultSink sink = new ValidationResultSink( 20, 10, batch -> batchSizes.add( batch.size() ) );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+
+        for ( int i = 0; i < 40; i++ )
+        {
+            executor.execute( () -> sink.addAll( createResults( 7 ) ) );
+        }
+
+        executor.shutdown();
+        assertTrue( executor.awaitTermination( 10, TimeUnit.SECONDS ) );
+
+        sink.close();
+
+        assertEquals( 280, sink.getFlushedCount() );
+        assertEquals( 280, batchSizes.stream().mapToInt( Integer::intValue ).sum() );
+        assertTrue( batchSizes.stream().allMatch( size -> size <= 10 ) );
+    }
+
+    private static List<ValidationResult> createResults( int count )
+    {
+        List<ValidationResult> results = new ArrayList<>();
+
+        for ( int i = 0; i < count; i++ )
+        {
+            results.add( new ValidationResult() );
+        }
+
+        return results;
+    }
+}
@@ -111,6 +111,9 @@ class ValidationServiceTest extends DhisTest
     @Autowired
     private ValidationRuleService validationRuleService;
 
+    @Autowired
+    private ValidationResultService validationResultService;
+
     @Autowired
     private DataElementService dataElementService;
 
@@ -621,6 +624,31 @@ class ValidationServiceTest extends DhisTest
         assertResultsEquals( reference, results );
     }
 
+    @Test
+    void testValidateStreamedResultsArePersisted()
+    {
+        useDataValue( dataElementA, periodA, sourceB, "1" );
+        useDataValue( dataElementB, periodA, sourceB, "2" );
+        useDataValue( dataElementC, periodA, sourceB, "3" );
+        useDataValue( dataElementD, periodA, sourceB, "4" );
+        useDataValue( dataElementA, periodA, sourceC, "1" );
+        useDataValue( dataElementB, periodA, sourceC, "2" );
+        useDataValue( dataElementC, periodA, sourceC, "3" );
+        useDataValue( dataElementD, periodA, sourceC, "4" );
+        // Invalid
+        validationRuleService.saveValidationRule( ruleA );
+        // Valid
+        validationRuleService.saveValidationRule( ruleC );
+        ValidationAnalysisParams parameters = validationService
+            .newParamsBuilder( null, sourceB, getDate( 2000, 3, 1 ), getDate( 2000, 3, 31 ) )
+            .withIncludeOrgUnitDescendants( true ).withPersistResults( true ).withStreamResults( true ).build();
+        assertEquals( List.of(), runValidationAnalysis( parameters ) );
+        Collection<ValidationResult> reference = new HashSet<>();
+        reference.add( createValidationResult( ruleA, periodA, sourceB, defaultCombo, 3.0, -1.0, dayInPeriodA ) );
+        reference.add( createValidationResult( ruleA, periodA, sourceC, defaultCombo, 3.0, -1.0, dayInPeriodA ) );
+        assertResultsEquals( reference, validationResultService.getAllValidationResults() );
+    }
+
     @Test
     void testValidateDateDateSourcesGroup()
     {
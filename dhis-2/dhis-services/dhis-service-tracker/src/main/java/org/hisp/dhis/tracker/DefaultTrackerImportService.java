@@ -55,6 +55,7 @@ import org.hisp.dhis.tracker.job.TrackerSideEffectDataBundle;
 import org.hisp.dhis.tracker.preprocess.TrackerPreprocessService;
 import org.hisp.dhis.tracker.report.TrackerBundleReport;
 import org.hisp.dhis.tracker.report.TrackerImportReport;
+import org.hisp.dhis.tracker.report.TrackerReportSpool;
 import org.hisp.dhis.tracker.report.TrackerStatus;
 import org.hisp.dhis.tracker.report.TrackerTimingsStats;
 import org.hisp.dhis.tracker.report.TrackerTypeReport;
@@ -90,6 +91,9 @@ public class DefaultTrackerImportService
     @NonNull
     private final Notifier notifier;
 
+    @NonNull
+    private final TrackerReportSpool reportSpool;
+
     @Override
     @Transactional
     public TrackerImportReport importTracker( TrackerImportParams params )
@@ -345,7 +349,7 @@ public class DefaultTrackerImportService
 
             if ( params.getJobConfiguration().isInMemoryJob() )
             {
-                notifier.addJobSummary( params.getJobConfiguration(), importReport, TrackerImportReport.class );
+                reportSpool.addJobSummary( params.getJobConfiguration(), importReport );
             }
         }
     }
@@ -362,7 +366,7 @@ public class DefaultTrackerImportService
 
             if ( params.getJobConfiguration().isInMemoryJob() )
             {
-                notifier.addJobSummary( params.getJobConfiguration(), importReport, TrackerImportReport.class );
+                reportSpool.addJobSummary( params.getJobConfiguration(), importReport );
             }
         }
     }
@@ -403,4 +407,16 @@ public class DefaultTrackerImportService
 
         return importReportBuilder.build();
     }
+
+    @Override
+    public TrackerImportReport buildImportReport( String jobUid, TrackerImportReport importReport,
+        TrackerBundleReportMode reportMode, int page, int pageSize )
+    {
+        if ( reportSpool.isSpooled( jobUid ) )
+        {
+            return reportSpool.read( jobUid, importReport, reportMode, page, pageSize );
+        }
+
+        return buildImportReport( importReport, reportMode );
+    }
 }
@@ -43,6 +43,7 @@ public class ParamsConverter
             .skipSideEffects( params.isSkipSideEffects() )
             .skipRuleEngine( params.isSkipRuleEngine() )
             .flushMode( params.getFlushMode() )
+            .persistMode( params.getPersistMode() )
             .validationMode( params.getValidationMode() )
             .trackedEntities( params.getTrackedEntities() )
             .enrollments( params.getEnrollments() )
@@ -102,6 +102,13 @@ public class TrackerImportParams
     @Builder.Default
     private final FlushMode flushMode = FlushMode.AUTO;
 
+    /**
+     * Persist new objects one by one or in bulk per type.
+     */
+    @JsonProperty
+    @Builder.Default
+    private final PersistMode persistMode = PersistMode.OBJECT;
+
     /**
      * Validation mode to use, defaults to fully validated objects.
      */
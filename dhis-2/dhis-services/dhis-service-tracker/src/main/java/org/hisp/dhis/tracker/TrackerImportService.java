@@ -51,4 +51,19 @@ public interface TrackerImportService
      * @return TrackerImportReport report with filtered data based on reportMode
      */
     TrackerImportReport buildImportReport( TrackerImportReport importReport, TrackerBundleReportMode reportMode );
+
+    /**
+     * Build the report of an asynchronous import job based on the mode
+     * selected by the client. If the details of the report were spooled to
+     * disk only the requested page of errors, warnings and object reports is
+     * included.
+     *
+     * @param jobUid the UID of the import job
+     * @param importReport report kept in the job summaries
+     * @param page the page number, starting at 1
+     * @param pageSize the page size
+     * @return TrackerImportReport report with filtered data based on reportMode
+     */
+    TrackerImportReport buildImportReport( String jobUid, TrackerImportReport importReport,
+        TrackerBundleReportMode reportMode, int page, int pageSize );
 }
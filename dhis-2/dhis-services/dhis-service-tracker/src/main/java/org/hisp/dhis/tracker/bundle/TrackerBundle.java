@@ -48,6 +48,7 @@ import org.hisp.dhis.rules.models.RuleEffects;
 import org.hisp.dhis.trackedentity.TrackedEntityInstance;
 import org.hisp.dhis.tracker.AtomicMode;
 import org.hisp.dhis.tracker.FlushMode;
+import org.hisp.dhis.tracker.PersistMode;
 import org.hisp.dhis.tracker.TrackerImportStrategy;
 import org.hisp.dhis.tracker.TrackerType;
 import org.hisp.dhis.tracker.ValidationMode;
@@ -117,6 +118,12 @@ public class TrackerBundle
     @Builder.Default
     private FlushMode flushMode = FlushMode.AUTO;
 
+    /**
+     * Persist new objects one by one or in bulk per type.
+     */
+    @Builder.Default
+    private PersistMode persistMode = PersistMode.OBJECT;
+
     /**
      * Validation mode to use, defaults to fully validated objects.
      */
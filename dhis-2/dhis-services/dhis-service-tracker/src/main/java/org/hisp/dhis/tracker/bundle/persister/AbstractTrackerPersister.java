@@ -56,6 +56,7 @@ import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueAudi
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueAuditService;
 import org.hisp.dhis.tracker.AtomicMode;
 import org.hisp.dhis.tracker.FlushMode;
+import org.hisp.dhis.tracker.PersistMode;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
 import org.hisp.dhis.tracker.TrackerType;
 import org.hisp.dhis.tracker.bundle.TrackerBundle;
@@ -75,6 +76,12 @@ import org.hisp.dhis.tracker.report.TrackerTypeReport;
 public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends BaseIdentifiableObject>
     implements TrackerPersister<T, V>
 {
+    /**
+     * Number of statements grouped into one JDBC batch by the session while
+     * persisting in {@link PersistMode#BULK}.
+     */
+    private static final int BULK_JDBC_BATCH_SIZE = 500;
+
     protected final ReservedValueService reservedValueService;
 
     protected final TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService;
@@ -90,6 +97,11 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
     @Override
     public TrackerTypeReport persist( Session session, TrackerBundle bundle )
     {
+        if ( PersistMode.BULK == bundle.getPersistMode() )
+        {
+            return persistInBulk( session, bundle );
+        }
+
         //
         // Init the report that will hold the results of the persist operation
         //
@@ -177,28 +189,198 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
             }
             catch ( Exception e )
             {
-                final String msg = "A Tracker Entity of type '" + getType().getName() + "' (" + trackerDto.getUid()
-                    + ") failed to persist.";
+                handleFailure( bundle, trackerDto, typeReport, e );
+            }
+        }
+
+        typeReport.getSideEffectDataBundles().addAll( sideEffectDataBundles );
+
+        return typeReport;
+    }
+
+    /**
+     * Persists the entities of the bundle in {@link PersistMode#BULK}.
+     * Existing entities are updated one by one, as they are already managed by
+     * the session. New entities are only converted and prepared while looping
+     * over the bundle, and are then written as a set by
+     * {@link #insert(Session, List)}. The work that needs the primary keys of
+     * the new entities (attribute values, ownership, audits) is done after the
+     * insert, followed by a single flush in JDBC batches.
+     */
+    private TrackerTypeReport persistInBulk( Session session, TrackerBundle bundle )
+    {
+        TrackerTypeReport typeReport = new TrackerTypeReport( getType() );
+
+        List<TrackerSideEffectDataBundle> sideEffectDataBundles = new ArrayList<>();
+
+        List<T> dtos = getByType( getType(), bundle );
+
+        Set<String> updatedTeiList = bundle.getUpdatedTeis();
+
+        List<V> newEntities = new ArrayList<>();
+
+        List<TrackerObjectReport> newObjectReports = new ArrayList<>();
+
+        List<Runnable> afterInsertActions = new ArrayList<>();
+
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+
+        session.setJdbcBatchSize( BULK_JDBC_BATCH_SIZE );
 
-                if ( bundle.getAtomicMode().equals( AtomicMode.ALL ) )
+        try
+        {
+            for ( int idx = 0; idx < dtos.size(); idx++ )
+            {
+                final T trackerDto = dtos.get( idx );
+
+                TrackerObjectReport objectReport = new TrackerObjectReport( getType(), trackerDto.getUid(), idx );
+
+                try
                 {
-                    throw new PersistenceException( msg, e );
+                    V convertedDto = convert( bundle, trackerDto );
+
+                    if ( isNew( bundle.getPreheat(), trackerDto ) )
+                    {
+                        afterInsertActions.add( prepareInsert( session, bundle.getPreheat(), trackerDto,
+                            convertedDto ) );
+                        newEntities.add( convertedDto );
+                        newObjectReports.add( objectReport );
+                    }
+                    else if ( isUpdatable() )
+                    {
+                        persistComments( bundle.getPreheat(), convertedDto );
+                        persistOwnership( bundle.getPreheat(), convertedDto );
+                        updateDataValues( session, bundle.getPreheat(), trackerDto, convertedDto );
+                        updateAttributes( session, bundle.getPreheat(), trackerDto, convertedDto );
+                        session.merge( convertedDto );
+                        typeReport.getStats().incUpdated();
+                        typeReport.addObjectReport( objectReport );
+                        Optional.ofNullable( getUpdatedTrackedEntity( convertedDto ) ).ifPresent( updatedTeiList::add );
+
+                        updatePreheat( bundle.getPreheat(), convertedDto );
+
+                        if ( !bundle.isSkipSideEffects() )
+                        {
+                            sideEffectDataBundles.add( handleSideEffects( bundle, convertedDto ) );
+                        }
+                    }
+                    else
+                    {
+                        typeReport.getStats().incIgnored();
+                    }
                 }
-                else
+                catch ( Exception e )
                 {
-                    // TODO currently we do not keep track of the failed entity
-                    // in the TrackerObjectReport
+                    handleFailure( bundle, trackerDto, typeReport, e );
+                }
+            }
+
+            if ( !newEntities.isEmpty() )
+            {
+                insertInBulk( session, bundle, newEntities, afterInsertActions, newObjectReports, typeReport,
+                    sideEffectDataBundles );
+            }
+        }
+        finally
+        {
+            session.setJdbcBatchSize( jdbcBatchSize );
+        }
+
+        bundle.setUpdatedTeis( updatedTeiList );
+
+        typeReport.getSideEffectDataBundles().addAll( sideEffectDataBundles );
 
-                    log.warn( msg + "\nThe Import process will process remaining entities.", e );
+        return typeReport;
+    }
+
+    /**
+     * Writes the new entities of a bulk persist. A failure at this stage can
+     * not be attributed to a single entity, and leaves the session and the
+     * transaction unusable, so it fails the import regardless of the
+     * {@link AtomicMode}. New entities which were not written are ignored, or
+     * fail the import in {@link AtomicMode#ALL}.
+     */
+    private void insertInBulk( Session session, TrackerBundle bundle, List<V> newEntities,
+        List<Runnable> afterInsertActions, List<TrackerObjectReport> newObjectReports, TrackerTypeReport typeReport,
+        List<TrackerSideEffectDataBundle> sideEffectDataBundles )
+    {
+        Map<String, V> insertedByUid;
+
+        try
+        {
+            insertedByUid = insert( session, newEntities ).stream()
+                .collect( Collectors.toMap( BaseIdentifiableObject::getUid, Function.identity() ) );
+        }
+        catch ( Exception e )
+        {
+            throw new PersistenceException( "Tracker Entities of type '" + getType().getName() + "' ("
+                + newEntities.size() + " new) failed to persist in bulk.", e );
+        }
+
+        int missing = newEntities.size() - insertedByUid.size();
+
+        if ( missing > 0 && bundle.getAtomicMode() == AtomicMode.ALL )
+        {
+            throw new PersistenceException( "Tracker Entities of type '" + getType().getName() + "' (" + missing
+                + " of " + newEntities.size() + " new) failed to persist in bulk." );
+        }
+
+        try
+        {
+            for ( int i = 0; i < newEntities.size(); i++ )
+            {
+                V entity = insertedByUid.get( newEntities.get( i ).getUid() );
+
+                if ( entity == null )
+                {
+                    log.warn( "A Tracker Entity of type '{}' ({}) failed to persist."
+                        + "\nThe Import process will process remaining entities.", getType().getName(),
+                        newEntities.get( i ).getUid() );
 
                     typeReport.getStats().incIgnored();
+                    continue;
+                }
+
+                afterInsertActions.get( i ).run();
+
+                typeReport.getStats().incCreated();
+                typeReport.addObjectReport( newObjectReports.get( i ) );
+
+                updatePreheat( bundle.getPreheat(), entity );
+
+                if ( !bundle.isSkipSideEffects() )
+                {
+                    sideEffectDataBundles.add( handleSideEffects( bundle, entity ) );
                 }
             }
+
+            session.flush();
         }
+        catch ( Exception e )
+        {
+            throw new PersistenceException( "Tracker Entities of type '" + getType().getName() + "' ("
+                + newEntities.size() + " new) failed to persist in bulk.", e );
+        }
+    }
 
-        typeReport.getSideEffectDataBundles().addAll( sideEffectDataBundles );
+    private void handleFailure( TrackerBundle bundle, T trackerDto, TrackerTypeReport typeReport, Exception e )
+    {
+        final String msg = "A Tracker Entity of type '" + getType().getName() + "' (" + trackerDto.getUid()
+            + ") failed to persist.";
 
-        return typeReport;
+        if ( bundle.getAtomicMode().equals( AtomicMode.ALL ) )
+        {
+            throw new PersistenceException( msg, e );
+        }
+        else
+        {
+            // TODO currently we do not keep track of the failed entity
+            // in the TrackerObjectReport
+
+            log.warn( msg + "\nThe Import process will process remaining entities.", e );
+
+            typeReport.getStats().incIgnored();
+        }
     }
 
     // // // // // // // //
@@ -248,6 +430,36 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
      */
     protected abstract void updatePreheat( TrackerPreheat preheat, V convertedDto );
 
+    /**
+     * Prepares a new entity for being written in bulk and returns the work to
+     * do once it has been written. By default the comments and data values are
+     * handled before the insert, while ownership and attribute values, which
+     * reference the new entity, are handled after it.
+     */
+    protected Runnable prepareInsert( Session session, TrackerPreheat preheat, T trackerDto, V entity )
+    {
+        persistComments( preheat, entity );
+        updateDataValues( session, preheat, trackerDto, entity );
+
+        return () -> {
+            persistOwnership( preheat, entity );
+            updateAttributes( session, preheat, trackerDto, entity );
+        };
+    }
+
+    /**
+     * Writes the new entities collected in {@link PersistMode#BULK} and returns
+     * the session managed instances of those which were written. By default
+     * the entities are handed to the session, which writes them in JDBC
+     * batches when it is flushed.
+     */
+    protected List<V> insert( Session session, List<V> entities )
+    {
+        entities.forEach( session::persist );
+
+        return entities;
+    }
+
     /**
      * informs this persister wether specific entity type should be updated
      * defaults to true, is known to be false for Relationships
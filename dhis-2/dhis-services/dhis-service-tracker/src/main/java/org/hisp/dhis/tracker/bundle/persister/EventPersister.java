@@ -30,9 +30,11 @@ package org.hisp.dhis.tracker.bundle.persister;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -44,6 +46,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Session;
 import org.hisp.dhis.common.AuditType;
 import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dxf2.events.event.EventCommentStore;
+import org.hisp.dhis.dxf2.events.event.EventStore;
 import org.hisp.dhis.eventdatavalue.EventDataValue;
 import org.hisp.dhis.program.ProgramStageInstance;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
@@ -63,12 +67,19 @@ import org.hisp.dhis.tracker.preheat.TrackerPreheat;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Lists;
+
 /**
  * @author Luciano Fiandesio
  */
 @Component
 public class EventPersister extends AbstractTrackerPersister<Event, ProgramStageInstance>
 {
+    /**
+     * Maximum number of inserted events loaded into the session per query.
+     */
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
     private final TrackerConverterService<Event, ProgramStageInstance> eventConverter;
 
     private final TrackedEntityCommentService trackedEntityCommentService;
@@ -77,18 +88,25 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
 
     private final TrackedEntityDataValueAuditService trackedEntityDataValueAuditService;
 
+    private final EventStore eventStore;
+
+    private final EventCommentStore eventCommentStore;
+
     public EventPersister( ReservedValueService reservedValueService,
         TrackerConverterService<Event, ProgramStageInstance> eventConverter,
         TrackedEntityCommentService trackedEntityCommentService,
         TrackerSideEffectConverterService sideEffectConverterService,
         TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService,
-        TrackedEntityDataValueAuditService trackedEntityDataValueAuditService )
+        TrackedEntityDataValueAuditService trackedEntityDataValueAuditService,
+        EventStore eventStore, EventCommentStore eventCommentStore )
     {
         super( reservedValueService, trackedEntityAttributeValueAuditService );
         this.eventConverter = eventConverter;
         this.trackedEntityCommentService = trackedEntityCommentService;
         this.sideEffectConverterService = sideEffectConverterService;
         this.trackedEntityDataValueAuditService = trackedEntityDataValueAuditService;
+        this.eventStore = eventStore;
+        this.eventCommentStore = eventCommentStore;
     }
 
     @Override
@@ -157,12 +175,61 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
     protected void updateDataValues( Session session, TrackerPreheat preheat,
         Event event, ProgramStageInstance programStageInstance )
     {
-        handleDataValues( session, preheat, event.getDataValues(), programStageInstance );
+        handleDataValues( session, preheat, event.getDataValues(), programStageInstance )
+            .forEach( trackedEntityDataValueAuditService::addTrackedEntityDataValueAudit );
+    }
+
+    /**
+     * New events are written with the JDBC batch insert of the
+     * {@link EventStore}, so their data values only need to be set on the
+     * event beforehand. The data value audits reference the event, and are
+     * saved once it has been inserted. Comments are inserted together with the
+     * events by {@link #insert(Session, List)}.
+     */
+    @Override
+    protected Runnable prepareInsert( Session session, TrackerPreheat preheat, Event event,
+        ProgramStageInstance programStageInstance )
+    {
+        List<TrackedEntityDataValueAudit> audits = handleDataValues( session, preheat, event.getDataValues(),
+            programStageInstance );
+
+        return () -> audits.forEach( trackedEntityDataValueAuditService::addTrackedEntityDataValueAudit );
     }
 
-    private void handleDataValues( Session session, TrackerPreheat preheat, Set<DataValue> payloadDataValues,
-        ProgramStageInstance psi )
+    /**
+     * Inserts the events with the {@link EventStore}, which skips those it
+     * fails to write, and returns the inserted events loaded into the session,
+     * as the store works outside of it.
+     */
+    @Override
+    protected List<ProgramStageInstance> insert( Session session, List<ProgramStageInstance> programStageInstances )
     {
+        // enrollments written through the session must be in the database
+        // before the events referencing them
+
+        session.flush();
+
+        List<ProgramStageInstance> saved = eventStore.saveEvents( programStageInstances );
+        eventCommentStore.saveAllComments( saved );
+
+        List<ProgramStageInstance> inserted = new ArrayList<>( saved.size() );
+
+        for ( List<ProgramStageInstance> chunk : Lists.partition( saved, LOAD_CHUNK_SIZE ) )
+        {
+            inserted.addAll( session
+                .createQuery( "from ProgramStageInstance psi where psi.id in (:ids)", ProgramStageInstance.class )
+                .setParameter( "ids", chunk.stream().map( ProgramStageInstance::getId ).collect( Collectors.toList() ) )
+                .list() );
+        }
+
+        return inserted;
+    }
+
+    private List<TrackedEntityDataValueAudit> handleDataValues( Session session, TrackerPreheat preheat,
+        Set<DataValue> payloadDataValues, ProgramStageInstance psi )
+    {
+        List<TrackedEntityDataValueAudit> audits = new ArrayList<>();
+
         Map<String, EventDataValue> dataValueDBMap = Optional.ofNullable( preheat.getEvent( psi.getUid() ) )
             .map( a -> a.getEventDataValues()
                 .stream()
@@ -224,9 +291,14 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
                 psi.getEventDataValues().add( eventDataValue );
             }
 
-            logTrackedEntityDataValueHistory( preheat.getUsername(), eventDataValue, dataElement, psi, auditType,
-                new Date() );
+            if ( auditType != null )
+            {
+                audits.add( createTrackedEntityDataValueAudit( preheat.getUsername(), eventDataValue, dataElement,
+                    psi, auditType, new Date() ) );
+            }
         }
+
+        return audits;
     }
 
     private void handleDataValueCreatedUpdatedDates( DataValue dv, EventDataValue eventDataValue )
@@ -243,22 +315,19 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
             .orElseGet( Date::new );
     }
 
-    private void logTrackedEntityDataValueHistory( String userName,
+    private TrackedEntityDataValueAudit createTrackedEntityDataValueAudit( String userName,
         EventDataValue eventDataValue, DataElement de, ProgramStageInstance psi, AuditType auditType, Date created )
     {
-        if ( auditType != null )
-        {
-            TrackedEntityDataValueAudit valueAudit = new TrackedEntityDataValueAudit();
-            valueAudit.setProgramStageInstance( psi );
-            valueAudit.setValue( eventDataValue.getValue() );
-            valueAudit.setAuditType( auditType );
-            valueAudit.setDataElement( de );
-            valueAudit.setModifiedBy( userName );
-            valueAudit.setProvidedElsewhere( eventDataValue.getProvidedElsewhere() );
-            valueAudit.setCreated( created );
-
-            trackedEntityDataValueAuditService.addTrackedEntityDataValueAudit( valueAudit );
-        }
+        TrackedEntityDataValueAudit valueAudit = new TrackedEntityDataValueAudit();
+        valueAudit.setProgramStageInstance( psi );
+        valueAudit.setValue( eventDataValue.getValue() );
+        valueAudit.setAuditType( auditType );
+        valueAudit.setDataElement( de );
+        valueAudit.setModifiedBy( userName );
+        valueAudit.setProvidedElsewhere( eventDataValue.getProvidedElsewhere() );
+        valueAudit.setCreated( created );
+
+        return valueAudit;
     }
 
     @Override
@@ -28,13 +28,18 @@
 package org.hisp.dhis.tracker.job;
 
 import java.io.IOException;
+import java.util.List;
 
+import javax.annotation.PreDestroy;
 import javax.jms.JMSException;
 import javax.jms.TextMessage;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hisp.dhis.artemis.MessageManager;
 import org.hisp.dhis.common.AsyncTaskExecutor;
 import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.render.RenderService;
 import org.springframework.stereotype.Component;
 
@@ -50,14 +55,21 @@ public abstract class BaseMessageManager
 
     private final RenderService renderService;
 
+    private final TrackerSideEffectBatcher batcher;
+
     public BaseMessageManager(
         MessageManager messageManager,
         AsyncTaskExecutor taskExecutor,
-        RenderService renderService )
+        RenderService renderService,
+        DhisConfigurationProvider config )
     {
         this.messageManager = messageManager;
         this.taskExecutor = taskExecutor;
         this.renderService = renderService;
+        this.batcher = new TrackerSideEffectBatcher( getTopic(),
+            NumberUtils.toInt( config.getProperty( ConfigurationKey.TRACKER_SIDE_EFFECT_BATCH_SIZE ) ),
+            NumberUtils.toLong( config.getProperty( ConfigurationKey.TRACKER_SIDE_EFFECT_BATCH_WINDOW ) ),
+            this::executeBatch );
     }
 
     public String addJob( TrackerSideEffectDataBundle sideEffectDataBundle )
@@ -75,6 +87,24 @@ public abstract class BaseMessageManager
         taskExecutor.executeTask( runnable );
     }
 
+    /**
+     * Adds a consumed bundle to the current batch of side effects. The batch
+     * is executed by {@link #executeBatch(List)} once it is full or its batch
+     * window has elapsed.
+     *
+     * @param sideEffectDataBundle the {@link TrackerSideEffectDataBundle}
+     */
+    public void addToBatch( TrackerSideEffectDataBundle sideEffectDataBundle )
+    {
+        batcher.add( sideEffectDataBundle );
+    }
+
+    @PreDestroy
+    public void flushBatch()
+    {
+        batcher.shutdown();
+    }
+
     public TrackerSideEffectDataBundle toBundle( TextMessage message )
         throws JMSException,
         IOException
@@ -85,4 +115,11 @@ public abstract class BaseMessageManager
     }
 
     public abstract String getTopic();
+
+    /**
+     * Executes the side effects of a batch of bundles asynchronously.
+     *
+     * @param sideEffectDataBundles the bundles of the batch
+     */
+    protected abstract void executeBatch( List<TrackerSideEffectDataBundle> sideEffectDataBundles );
 }
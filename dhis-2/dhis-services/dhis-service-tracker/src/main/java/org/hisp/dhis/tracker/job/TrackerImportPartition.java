@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import java.util.Collections;
+import java.util.Set;
+
+import lombok.Value;
+
+/**
+ * The data a tracker import job writes to, used to decide which queued jobs
+ * can run in parallel. Two jobs overlap when they touch the same tracker
+ * object, or when they import into the same program in org units of which one
+ * is an ancestor of the other. A job without org units covers its programs in
+ * all org units. A global partition overlaps with every other partition.
+ */
+@Value
+public class TrackerImportPartition
+{
+    public static final TrackerImportPartition GLOBAL = new TrackerImportPartition( Collections.emptySet(),
+        Collections.emptySet(), Collections.emptySet(), true );
+
+    /**
+     * UIDs of the programs imported into.
+     */
+    Set<String> programs;
+
+    /**
+     * UIDs of the tracked entities, enrollments, events and relationships
+     * written.
+     */
+    Set<String> uids;
+
+    /**
+     * Paths of the org units of the tracked entities, enrollments and events
+     * written.
+     */
+    Set<String> orgUnitPaths;
+
+    boolean global;
+
+    public boolean overlaps( TrackerImportPartition other )
+    {
+        if ( global || other.global )
+        {
+            return true;
+        }
+
+        if ( !Collections.disjoint( uids, other.uids ) )
+        {
+            return true;
+        }
+
+        if ( Collections.disjoint( programs, other.programs ) )
+        {
+            return false;
+        }
+
+        return orgUnitPaths.isEmpty() || other.orgUnitPaths.isEmpty()
+            || orgUnitPaths.stream().anyMatch( path -> other.orgUnitPaths.stream()
+                .anyMatch( otherPath -> isSameSubtree( path, otherPath ) ) );
+    }
+
+    private static boolean isSameSubtree( String path, String otherPath )
+    {
+        return path.equals( otherPath ) || path.startsWith( otherPath + "/" ) || otherPath.startsWith( path + "/" );
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.tracker.TrackerIdScheme;
+import org.hisp.dhis.tracker.TrackerImportParams;
+import org.hisp.dhis.tracker.domain.Enrollment;
+import org.hisp.dhis.tracker.domain.Event;
+import org.hisp.dhis.tracker.domain.MetadataIdentifier;
+import org.hisp.dhis.tracker.domain.Relationship;
+import org.hisp.dhis.tracker.domain.TrackedEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the {@link TrackerImportPartition} of a tracker import. Programs
+ * are resolved to their UIDs and the org units of the tracked entities,
+ * enrollments and events to their paths, so that imports naming the same
+ * program by different identifiers or importing into nested org units are
+ * recognized as overlapping. An import with programs or org units that cannot
+ * be resolved by UID or code, or with no partition keys at all, is given the
+ * global partition.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackerImportPartitioner
+{
+    private final IdentifiableObjectManager manager;
+
+    public TrackerImportPartition partition( TrackerImportParams params )
+    {
+        Set<MetadataIdentifier> programs = new HashSet<>();
+        Set<String> uids = new HashSet<>();
+        Set<MetadataIdentifier> orgUnits = new HashSet<>();
+
+        List<Enrollment> enrollments = new ArrayList<>( params.getEnrollments() );
+        List<Event> events = new ArrayList<>( params.getEvents() );
+        List<Relationship> relationships = new ArrayList<>( params.getRelationships() );
+
+        for ( TrackedEntity trackedEntity : params.getTrackedEntities() )
+        {
+            uids.add( trackedEntity.getTrackedEntity() );
+            orgUnits.add( trackedEntity.getOrgUnit() );
+            enrollments.addAll( trackedEntity.getEnrollments() );
+            relationships.addAll( trackedEntity.getRelationships() );
+        }
+
+        for ( Enrollment enrollment : enrollments )
+        {
+            uids.add( enrollment.getEnrollment() );
+            uids.add( enrollment.getTrackedEntity() );
+            programs.add( enrollment.getProgram() );
+            orgUnits.add( enrollment.getOrgUnit() );
+            events.addAll( enrollment.getEvents() );
+            relationships.addAll( enrollment.getRelationships() );
+        }
+
+        for ( Event event : events )
+        {
+            uids.add( event.getEvent() );
+            uids.add( event.getEnrollment() );
+            programs.add( event.getProgram() );
+            orgUnits.add( event.getOrgUnit() );
+            relationships.addAll( event.getRelationships() );
+        }
+
+        for ( Relationship relationship : relationships )
+        {
+            uids.add( relationship.getRelationship() );
+        }
+
+        uids.remove( null );
+        programs.removeIf( program -> program == null || program.getIdentifierOrAttributeValue() == null );
+        orgUnits.removeIf( orgUnit -> orgUnit == null || orgUnit.getIdentifierOrAttributeValue() == null );
+
+        if ( programs.isEmpty() && uids.isEmpty() && orgUnits.isEmpty() )
+        {
+            return TrackerImportPartition.GLOBAL;
+        }
+
+        List<Program> resolvedPrograms = resolve( Program.class, programs );
+        List<OrganisationUnit> resolvedOrgUnits = resolve( OrganisationUnit.class, orgUnits );
+
+        if ( resolvedPrograms == null || resolvedOrgUnits == null )
+        {
+            return TrackerImportPartition.GLOBAL;
+        }
+
+        return new TrackerImportPartition(
+            resolvedPrograms.stream().map( Program::getUid ).collect( Collectors.toSet() ), uids,
+            resolvedOrgUnits.stream().map( OrganisationUnit::getPath ).collect( Collectors.toSet() ), false );
+    }
+
+    /**
+     * Returns the objects with the given identifiers, or null if any of them
+     * could not be resolved.
+     */
+    private <T extends IdentifiableObject> List<T> resolve( Class<T> type, Set<MetadataIdentifier> identifiers )
+    {
+        Set<String> byUid = getIdentifiers( identifiers, TrackerIdScheme.UID );
+        Set<String> byCode = getIdentifiers( identifiers, TrackerIdScheme.CODE );
+
+        if ( byUid.size() + byCode.size() < identifiers.size() )
+        {
+            return null;
+        }
+
+        List<T> resolved = new ArrayList<>();
+
+        if ( !byUid.isEmpty() )
+        {
+            resolved.addAll( manager.getByUid( type, byUid ) );
+        }
+
+        if ( !byCode.isEmpty() )
+        {
+            resolved.addAll( manager.getByCode( type, byCode ) );
+        }
+
+        return resolved.size() < identifiers.size() ? null : resolved;
+    }
+
+    private static Set<String> getIdentifiers( Set<MetadataIdentifier> identifiers, TrackerIdScheme idScheme )
+    {
+        return identifiers.stream()
+            .filter( identifier -> identifier.getIdScheme() == idScheme )
+            .map( MetadataIdentifier::getIdentifier )
+            .collect( Collectors.toSet() );
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.common.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs tracker import jobs on the {@link AsyncTaskExecutor}, in parallel as
+ * long as their {@link TrackerImportPartition partitions} do not overlap.
+ * <p>
+ * Jobs are queued in the order they are scheduled. A queued job starts as soon
+ * as it overlaps neither a running job nor a job queued before it, so
+ * overlapping jobs run one after the other in FIFO order while unrelated jobs
+ * pass them. Every time a job finishes the queue is checked again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrackerImportScheduler
+{
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final LinkedList<ScheduledJob> queue = new LinkedList<>();
+
+    private final List<ScheduledJob> running = new ArrayList<>();
+
+    private long startedCount;
+
+    private long totalWaitNanos;
+
+    /**
+     * Queues the given job and starts it right away if it does not overlap
+     * any running or queued job.
+     *
+     * @param job the tracker import job
+     * @param partition the partition of the job
+     */
+    public void schedule( Runnable job, TrackerImportPartition partition )
+    {
+        List<ScheduledJob> startable;
+
+        synchronized ( this )
+        {
+            queue.add( new ScheduledJob( job, partition, System.nanoTime() ) );
+            startable = pollStartable();
+        }
+
+        start( startable );
+    }
+
+    public synchronized int getQueueDepth()
+    {
+        return queue.size();
+    }
+
+    public synchronized int getRunningCount()
+    {
+        return running.size();
+    }
+
+    /**
+     * @return the number of jobs started so far
+     */
+    public synchronized long getStartedCount()
+    {
+        return startedCount;
+    }
+
+    /**
+     * @return the total time in nanoseconds the started jobs waited in the
+     *         queue
+     */
+    public synchronized long getTotalWaitNanos()
+    {
+        return totalWaitNanos;
+    }
+
+    private void complete( ScheduledJob job )
+    {
+        List<ScheduledJob> startable;
+
+        synchronized ( this )
+        {
+            running.remove( job );
+            startable = pollStartable();
+        }
+
+        start( startable );
+    }
+
+    /**
+     * Moves the queued jobs which can start from the queue to the running
+     * jobs. Must be called while holding the lock.
+     */
+    private List<ScheduledJob> pollStartable()
+    {
+        List<ScheduledJob> startable = new ArrayList<>();
+        List<ScheduledJob> waiting = new ArrayList<>();
+
+        Iterator<ScheduledJob> it = queue.iterator();
+
+        while ( it.hasNext() )
+        {
+            ScheduledJob job = it.next();
+
+            if ( overlapsAny( job, running ) || overlapsAny( job, waiting ) )
+            {
+                waiting.add( job );
+                continue;
+            }
+
+            it.remove();
+            running.add( job );
+            startable.add( job );
+
+            startedCount++;
+            totalWaitNanos += System.nanoTime() - job.getQueuedAt();
+        }
+
+        return startable;
+    }
+
+    private void start( List<ScheduledJob> jobs )
+    {
+        for ( ScheduledJob job : jobs )
+        {
+            try
+            {
+                taskExecutor.executeTask( () -> {
+                    try
+                    {
+                        job.getJob().run();
+                    }
+                    finally
+                    {
+                        complete( job );
+                    }
+                } );
+            }
+            catch ( RuntimeException ex )
+            {
+                log.error( "Failed to start tracker import job", ex );
+                complete( job );
+            }
+        }
+    }
+
+    private static boolean overlapsAny( ScheduledJob job, List<ScheduledJob> others )
+    {
+        return others.stream().anyMatch( other -> job.getPartition().overlaps( other.getPartition() ) );
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class ScheduledJob
+    {
+        private final Runnable job;
+
+        private final TrackerImportPartition partition;
+
+        private final long queuedAt;
+    }
+}
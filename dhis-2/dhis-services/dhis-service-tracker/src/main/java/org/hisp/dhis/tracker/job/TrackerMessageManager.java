@@ -31,7 +31,6 @@ import javax.jms.JMSException;
 import javax.jms.TextMessage;
 
 import org.hisp.dhis.artemis.Topics;
-import org.hisp.dhis.common.AsyncTaskExecutor;
 import org.hisp.dhis.scheduling.JobConfiguration;
 import org.hisp.dhis.scheduling.JobType;
 import org.hisp.dhis.security.AuthenticationSerializer;
@@ -52,17 +51,21 @@ public class TrackerMessageManager
 {
     private final ObjectMapper objectMapper;
 
-    private final AsyncTaskExecutor taskExecutor;
+    private final TrackerImportScheduler importScheduler;
+
+    private final TrackerImportPartitioner importPartitioner;
 
     private final ObjectFactory<TrackerImportThread> trackerImportThreadFactory;
 
     public TrackerMessageManager(
         ObjectMapper objectMapper,
-        AsyncTaskExecutor taskExecutor,
+        TrackerImportScheduler importScheduler,
+        TrackerImportPartitioner importPartitioner,
         ObjectFactory<TrackerImportThread> trackerImportThreadFactory )
     {
         this.objectMapper = objectMapper;
-        this.taskExecutor = taskExecutor;
+        this.importScheduler = importScheduler;
+        this.importPartitioner = importPartitioner;
         this.trackerImportThreadFactory = trackerImportThreadFactory;
     }
 
@@ -91,6 +94,6 @@ public class TrackerMessageManager
         SecurityContextHolder.getContext()
             .setAuthentication( AuthenticationSerializer.deserialize( trackerMessage.getAuthentication() ) );
 
-        taskExecutor.executeTask( trackerImportThread );
+        importScheduler.schedule( trackerImportThread, importPartitioner.partition( trackerImportParams ) );
     }
 }
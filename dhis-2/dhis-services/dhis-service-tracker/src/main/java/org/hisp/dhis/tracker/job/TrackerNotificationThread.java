@@ -27,8 +27,16 @@
  */
 package org.hisp.dhis.tracker.job;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
+import lombok.extern.slf4j.Slf4j;
+
 import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.program.ProgramInstance;
@@ -45,11 +53,12 @@ import com.google.common.collect.ImmutableMap;
 
 /**
  * Class represents a thread which will be triggered as soon as tracker
- * notification consumer consumes a message from tracker notification queue.
+ * notification consumer has collected a batch of messages from tracker
+ * notification queue.
  *
  * @author Zubair Asghar
  */
-
+@Slf4j
 @Component
 @Scope( BeanDefinition.SCOPE_PROTOTYPE )
 public class TrackerNotificationThread extends SecurityContextRunnable
@@ -58,7 +67,7 @@ public class TrackerNotificationThread extends SecurityContextRunnable
 
     private ProgramNotificationService programNotificationService;
 
-    private TrackerSideEffectDataBundle sideEffectDataBundle;
+    private List<TrackerSideEffectDataBundle> sideEffectDataBundles = Collections.emptyList();
 
     private IdentifiableObjectManager manager;
 
@@ -78,25 +87,50 @@ public class TrackerNotificationThread extends SecurityContextRunnable
     @Override
     public void call()
     {
-        if ( sideEffectDataBundle == null )
+        // an object imported repeatedly within one batch is notified once
+        Map<Class<? extends BaseIdentifiableObject>, Set<String>> objectsByKlass = new LinkedHashMap<>();
+
+        for ( TrackerSideEffectDataBundle sideEffectDataBundle : sideEffectDataBundles )
         {
-            return;
+            if ( serviceMapper.containsKey( sideEffectDataBundle.getKlass() ) )
+            {
+                objectsByKlass.computeIfAbsent( sideEffectDataBundle.getKlass(), k -> new LinkedHashSet<>() )
+                    .add( sideEffectDataBundle.getObject() );
+            }
         }
 
-        if ( serviceMapper.containsKey( sideEffectDataBundle.getKlass() ) )
+        for ( Map.Entry<Class<? extends BaseIdentifiableObject>, Set<String>> entry : objectsByKlass.entrySet() )
         {
-            BaseIdentifiableObject object = manager.get( sideEffectDataBundle.getKlass(),
-                sideEffectDataBundle.getObject() );
+            List<? extends BaseIdentifiableObject> objects = manager.getByUid( entry.getKey(), entry.getValue() );
 
-            serviceMapper.get( sideEffectDataBundle.getKlass() ).accept( object.getId() );
+            for ( BaseIdentifiableObject object : objects )
+            {
+                try
+                {
+                    serviceMapper.get( entry.getKey() ).accept( object.getId() );
+                }
+                catch ( RuntimeException ex )
+                {
+                    log.error( String.format( "Tracker notification failed for %s %s",
+                        entry.getKey().getSimpleName(), object.getUid() ), ex );
+                }
+            }
         }
 
-        notifier.notify( sideEffectDataBundle.getJobConfiguration(), NotificationLevel.DEBUG,
-            "Tracker notification side effects completed" );
+        for ( TrackerSideEffectDataBundle sideEffectDataBundle : sideEffectDataBundles )
+        {
+            notifier.notify( sideEffectDataBundle.getJobConfiguration(), NotificationLevel.DEBUG,
+                "Tracker notification side effects completed" );
+        }
     }
 
     public void setSideEffectDataBundle( TrackerSideEffectDataBundle sideEffectDataBundle )
     {
-        this.sideEffectDataBundle = sideEffectDataBundle;
+        setSideEffectDataBundles( Collections.singletonList( sideEffectDataBundle ) );
+    }
+
+    public void setSideEffectDataBundles( List<TrackerSideEffectDataBundle> sideEffectDataBundles )
+    {
+        this.sideEffectDataBundles = sideEffectDataBundles;
     }
 }
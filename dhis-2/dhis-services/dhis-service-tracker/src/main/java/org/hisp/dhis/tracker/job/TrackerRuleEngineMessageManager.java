@@ -28,6 +28,7 @@
 package org.hisp.dhis.tracker.job;
 
 import java.io.IOException;
+import java.util.List;
 
 import javax.jms.JMSException;
 import javax.jms.TextMessage;
@@ -35,6 +36,7 @@ import javax.jms.TextMessage;
 import org.hisp.dhis.artemis.MessageManager;
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.common.AsyncTaskExecutor;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.render.RenderService;
 import org.hisp.dhis.scheduling.JobConfiguration;
 import org.hisp.dhis.scheduling.JobType;
@@ -56,9 +58,10 @@ public class TrackerRuleEngineMessageManager extends BaseMessageManager
         MessageManager messageManager,
         AsyncTaskExecutor taskExecutor,
         RenderService renderService,
+        DhisConfigurationProvider config,
         ObjectFactory<TrackerRuleEngineThread> trackerRuleEngineThreadObjectFactory )
     {
-        super( messageManager, taskExecutor, renderService );
+        super( messageManager, taskExecutor, renderService, config );
         this.trackerRuleEngineThreadObjectFactory = trackerRuleEngineThreadObjectFactory;
     }
 
@@ -85,9 +88,15 @@ public class TrackerRuleEngineMessageManager extends BaseMessageManager
 
         bundle.setJobConfiguration( jobConfiguration );
 
+        addToBatch( bundle );
+    }
+
+    @Override
+    protected void executeBatch( List<TrackerSideEffectDataBundle> sideEffectDataBundles )
+    {
         TrackerRuleEngineThread notificationThread = trackerRuleEngineThreadObjectFactory.getObject();
 
-        notificationThread.setSideEffectDataBundle( bundle );
+        notificationThread.setSideEffectDataBundles( sideEffectDataBundles );
 
         executeJob( notificationThread );
     }
@@ -27,8 +27,14 @@
  */
 package org.hisp.dhis.tracker.job;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
 
 import org.hisp.dhis.program.ProgramInstance;
 import org.hisp.dhis.program.ProgramStageInstance;
@@ -46,12 +52,13 @@ import com.google.common.collect.Lists;
 
 /**
  * Class represents a thread which will be triggered as soon as tracker rule
- * engine consumer consumes a message from tracker rule engine queue. It loops
- * through the list of rule effects and implement it if it has an associated
- * rule implementer class.
+ * engine consumer has collected a batch of messages from tracker rule engine
+ * queue. It loops through the list of rule effects and implement it if it has
+ * an associated rule implementer class.
  *
  * @author Zubair Asghar
  */
+@Slf4j
 @Component
 @Scope( BeanDefinition.SCOPE_PROTOTYPE )
 public class TrackerRuleEngineThread extends SecurityContextRunnable
@@ -62,7 +69,7 @@ public class TrackerRuleEngineThread extends SecurityContextRunnable
 
     private final Notifier notifier;
 
-    private TrackerSideEffectDataBundle sideEffectDataBundle;
+    private List<TrackerSideEffectDataBundle> sideEffectDataBundles = Collections.emptyList();
 
     public TrackerRuleEngineThread(
         @Qualifier( "org.hisp.dhis.programrule.engine.RuleActionSendMessageImplementer" ) RuleActionImplementer sendMessageRuleActionImplementer,
@@ -79,11 +86,28 @@ public class TrackerRuleEngineThread extends SecurityContextRunnable
     @Override
     public void call()
     {
-        if ( sideEffectDataBundle == null )
+        // identical effects on the same enrollment or event, as repeated
+        // imports within one batch produce, are implemented once
+        Set<List<Object>> implementedEffects = new HashSet<>();
+
+        for ( TrackerSideEffectDataBundle sideEffectDataBundle : sideEffectDataBundles )
         {
-            return;
+            try
+            {
+                implement( sideEffectDataBundle, implementedEffects );
+            }
+            catch ( RuntimeException ex )
+            {
+                log.error( "Tracker rule-engine side effects failed for job " + sideEffectDataBundle.getJobId(), ex );
+            }
+
+            notifier.notify( sideEffectDataBundle.getJobConfiguration(),
+                "Tracker Rule-engine side effects completed" );
         }
+    }
 
+    private void implement( TrackerSideEffectDataBundle sideEffectDataBundle, Set<List<Object>> implementedEffects )
+    {
         Map<String, List<RuleEffect>> enrollmentRuleEffects = trackerSideEffectConverterService
             .toRuleEffects( sideEffectDataBundle.getEnrollmentRuleEffects() );
         Map<String, List<RuleEffect>> eventRuleEffects = trackerSideEffectConverterService
@@ -99,6 +123,8 @@ public class TrackerRuleEngineThread extends SecurityContextRunnable
                 entry.getValue()
                     .stream()
                     .filter( effect -> ruleActionImplementer.accept( effect.ruleAction() ) )
+                    .filter( effect -> implementedEffects
+                        .add( Arrays.asList( ruleActionImplementer, entry.getKey(), effect ) ) )
                     .forEach( effect -> ruleActionImplementer.implement( effect, pi ) );
             }
 
@@ -110,15 +136,20 @@ public class TrackerRuleEngineThread extends SecurityContextRunnable
                 entry.getValue()
                     .stream()
                     .filter( effect -> ruleActionImplementer.accept( effect.ruleAction() ) )
+                    .filter( effect -> implementedEffects
+                        .add( Arrays.asList( ruleActionImplementer, entry.getKey(), effect ) ) )
                     .forEach( effect -> ruleActionImplementer.implement( effect, psi ) );
             }
         }
-
-        notifier.notify( sideEffectDataBundle.getJobConfiguration(), "Tracker Rule-engine side effects completed" );
     }
 
     public void setSideEffectDataBundle( TrackerSideEffectDataBundle sideEffectDataBundle )
     {
-        this.sideEffectDataBundle = sideEffectDataBundle;
+        setSideEffectDataBundles( Collections.singletonList( sideEffectDataBundle ) );
+    }
+
+    public void setSideEffectDataBundles( List<TrackerSideEffectDataBundle> sideEffectDataBundles )
+    {
+        this.sideEffectDataBundles = sideEffectDataBundles;
     }
 }
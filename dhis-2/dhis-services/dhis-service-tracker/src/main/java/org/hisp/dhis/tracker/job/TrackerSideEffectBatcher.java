@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces the side effect bundles consumed from a queue into micro batches.
+ * <p>
+ * A batch is handed to the batch consumer as soon as it holds the batch size
+ * number of bundles, or once the batch window has elapsed since its first
+ * bundle was added, whichever comes first. The consumer is expected to hand
+ * the batch over to another thread, so adding a bundle never waits for side
+ * effects to be implemented and the buffer never grows beyond one batch. With
+ * a batch size or window below 1 every bundle is handed over right away.
+ */
+@Slf4j
+public class TrackerSideEffectBatcher
+{
+    private final int batchSize;
+
+    private final long windowMillis;
+
+    private final Consumer<List<TrackerSideEffectDataBundle>> batchConsumer;
+
+    private final ScheduledExecutorService scheduler;
+
+    private List<TrackerSideEffectDataBundle> batch = new ArrayList<>();
+
+    /**
+     * Incremented whenever a batch is handed over, so a window timer started
+     * for an earlier batch does not flush a later one.
+     */
+    private long generation;
+
+    /**
+     * @param name name of the window timer thread
+     * @param batchSize maximum number of bundles in a batch
+     * @param windowMillis maximum time in milliseconds a bundle waits for its
+     *        batch to fill up
+     * @param batchConsumer consumes a batch of bundles
+     */
+    public TrackerSideEffectBatcher( String name, int batchSize, long windowMillis,
+        Consumer<List<TrackerSideEffectDataBundle>> batchConsumer )
+    {
+        this.batchSize = batchSize;
+        this.windowMillis = windowMillis;
+        this.batchConsumer = batchConsumer;
+        this.scheduler = isBatching() ? Executors.newSingleThreadScheduledExecutor( runnable -> {
+            Thread thread = new Thread( runnable, name + "-batch" );
+            thread.setDaemon( true );
+            return thread;
+        } ) : null;
+    }
+
+    public boolean isBatching()
+    {
+        return batchSize > 1 && windowMillis > 0;
+    }
+
+    /**
+     * Adds a bundle to the current batch, handing the batch to the consumer if
+     * it is full.
+     *
+     * @param bundle the {@link TrackerSideEffectDataBundle}
+     */
+    public void add( TrackerSideEffectDataBundle bundle )
+    {
+        if ( !isBatching() )
+        {
+            batchConsumer.accept( Collections.singletonList( bundle ) );
+            return;
+        }
+
+        List<TrackerSideEffectDataBundle> full = null;
+
+        synchronized ( this )
+        {
+            batch.add( bundle );
+
+            if ( batch.size() >= batchSize )
+            {
+                full = drain();
+            }
+            else if ( batch.size() == 1 )
+            {
+                long windowGeneration = generation;
+                scheduler.schedule( () -> flush( windowGeneration ), windowMillis, TimeUnit.MILLISECONDS );
+            }
+        }
+
+        if ( full != null )
+        {
+            batchConsumer.accept( full );
+        }
+    }
+
+    /**
+     * Hands the pending bundles to the consumer and stops the window timer.
+     */
+    public void shutdown()
+    {
+        List<TrackerSideEffectDataBundle> pending;
+
+        synchronized ( this )
+        {
+            pending = drain();
+        }
+
+        if ( !pending.isEmpty() )
+        {
+            batchConsumer.accept( pending );
+        }
+
+        if ( scheduler != null )
+        {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void flush( long windowGeneration )
+    {
+        List<TrackerSideEffectDataBundle> pending;
+
+        synchronized ( this )
+        {
+            if ( windowGeneration != generation || batch.isEmpty() )
+            {
+                return; // batch was handed over when it filled up
+            }
+
+            pending = drain();
+        }
+
+        try
+        {
+            batchConsumer.accept( pending );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.error( "Failed to hand over batch of tracker side effects", ex );
+        }
+    }
+
+    private List<TrackerSideEffectDataBundle> drain()
+    {
+        List<TrackerSideEffectDataBundle> drained = batch;
+        batch = new ArrayList<>();
+        generation++;
+        return drained;
+    }
+}
@@ -32,8 +32,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import lombok.RequiredArgsConstructor;
 
@@ -41,6 +44,7 @@ import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.springframework.context.event.EventListener;
@@ -74,6 +78,15 @@ public class DefaultPreheatCacheService implements PreheatCacheService
      */
     private static Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
 
+    /**
+     * The metadata snapshots by metadata class, see {@link MetadataSnapshot}.
+     * The version is incremented on every metadata change, it tells whether a
+     * snapshot loaded while metadata changed is outdated already.
+     */
+    private final Map<Class<?>, MetadataSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final AtomicLong snapshotVersion = new AtomicLong();
+
     @Override
     public Optional<IdentifiableObject> get( final String cacheKey, final String id )
     {
@@ -163,11 +176,49 @@ public class DefaultPreheatCacheService implements PreheatCacheService
         }
     }
 
+    @Override
+    public boolean isSnapshotEnabled()
+    {
+        return config.isEnabled( ConfigurationKey.TRACKER_IMPORT_METADATA_SNAPSHOT_ENABLED );
+    }
+
+    @Override
+    public MetadataSnapshot getSnapshot( Class<?> klass, Supplier<List<IdentifiableObject>> loader, int ttl )
+    {
+        MetadataSnapshot snapshot = snapshots.get( klass );
+
+        if ( snapshot != null && !snapshot.isExpired( ttl ) )
+        {
+            return snapshot;
+        }
+
+        long version = snapshotVersion.get();
+
+        MetadataSnapshot created = loader == null ? MetadataSnapshot.partial( version )
+            : MetadataSnapshot.complete( version, loader.get() );
+
+        // a snapshot loaded while metadata changed is only used by the import
+        // which loaded it, a snapshot loaded concurrently by another import is
+        // kept
+        snapshots.compute( klass, ( k, current ) -> version == snapshotVersion.get()
+            && (current == null || current == snapshot) ? created : current );
+
+        return created;
+    }
+
+    @Override
+    public void invalidateSnapshots()
+    {
+        snapshotVersion.incrementAndGet();
+        snapshots.clear();
+    }
+
     @EventListener
     @Override
     public void handleApplicationCachesCleared( ApplicationCacheClearedEvent event )
     {
         invalidateCache();
+        invalidateSnapshots();
     }
 
     @Override
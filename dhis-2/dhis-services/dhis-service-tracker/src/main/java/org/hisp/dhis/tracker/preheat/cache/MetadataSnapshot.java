@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.preheat.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.tracker.TrackerIdSchemeParam;
+
+/**
+ * Metadata objects of one class shared read-only by all tracker imports. A
+ * snapshot belongs to the metadata version it was created at and is dropped as
+ * soon as metadata changes.
+ *
+ * A complete snapshot holds all the objects of its class and never changes
+ * after creation. A partial snapshot starts empty and is filled with the
+ * objects imports had to load from the database, for classes with too many
+ * objects to be loaded at once.
+ *
+ * Objects in a snapshot are detached copies made by the preheat mappers and
+ * must not be modified.
+ */
+public class MetadataSnapshot
+{
+    @Getter
+    private final long version;
+
+    @Getter
+    private final boolean complete;
+
+    private final long created;
+
+    private final List<IdentifiableObject> objects;
+
+    /**
+     * Objects by identifier, indexed lazily for each id scheme in use
+     */
+    private final Map<TrackerIdSchemeParam, Map<String, IdentifiableObject>> index = new ConcurrentHashMap<>();
+
+    private MetadataSnapshot( long version, boolean complete, List<IdentifiableObject> objects )
+    {
+        this.version = version;
+        this.complete = complete;
+        this.created = System.currentTimeMillis();
+        this.objects = objects;
+    }
+
+    public static MetadataSnapshot complete( long version, List<IdentifiableObject> objects )
+    {
+        return new MetadataSnapshot( version, true, List.copyOf( objects ) );
+    }
+
+    public static MetadataSnapshot partial( long version )
+    {
+        return new MetadataSnapshot( version, false, List.of() );
+    }
+
+    /**
+     * Returns the objects matching the given identifiers. Identifiers without
+     * an object are missing from a partial snapshot, or do not exist if the
+     * snapshot is complete.
+     */
+    public List<IdentifiableObject> get( TrackerIdSchemeParam idSchemeParam, Collection<String> ids )
+    {
+        Map<String, IdentifiableObject> byId = getIndex( idSchemeParam );
+
+        return ids.stream()
+            .map( byId::get )
+            .filter( Objects::nonNull )
+            .collect( Collectors.toList() );
+    }
+
+    public List<IdentifiableObject> getAll()
+    {
+        return objects;
+    }
+
+    /**
+     * Adds objects loaded from the database to a partial snapshot.
+     */
+    public void add( TrackerIdSchemeParam idSchemeParam, Collection<IdentifiableObject> loaded )
+    {
+        if ( complete )
+        {
+            throw new IllegalStateException( "A complete metadata snapshot cannot be changed" );
+        }
+
+        Map<String, IdentifiableObject> byId = getIndex( idSchemeParam );
+
+        loaded.stream()
+            .filter( o -> idSchemeParam.getIdentifier( o ) != null )
+            .forEach( o -> byId.put( idSchemeParam.getIdentifier( o ), o ) );
+    }
+
+    public boolean isExpired( int ttlMinutes )
+    {
+        return System.currentTimeMillis() - created > TimeUnit.MINUTES.toMillis( ttlMinutes );
+    }
+
+    private Map<String, IdentifiableObject> getIndex( TrackerIdSchemeParam idSchemeParam )
+    {
+        return index.computeIfAbsent( idSchemeParam, this::createIndex );
+    }
+
+    private Map<String, IdentifiableObject> createIndex( TrackerIdSchemeParam idSchemeParam )
+    {
+        Map<String, IdentifiableObject> byId = new ConcurrentHashMap<>();
+
+        objects.stream()
+            .filter( o -> idSchemeParam.getIdentifier( o ) != null )
+            .forEach( o -> byId.putIfAbsent( idSchemeParam.getIdentifier( o ), o ) );
+
+        return byId;
+    }
+}
@@ -30,6 +30,7 @@ package org.hisp.dhis.tracker.preheat.cache;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
@@ -100,6 +101,30 @@ public interface PreheatCacheService
      */
     void invalidateCache();
 
+    /**
+     * Whether metadata is served from snapshots shared by all imports, see
+     * {@link MetadataSnapshot}.
+     */
+    boolean isSnapshotEnabled();
+
+    /**
+     * Returns the snapshot of the given metadata class for the current metadata
+     * version. If there is none, a complete snapshot is created from the
+     * objects returned by {@code loader}, or an empty partial snapshot if no
+     * loader is given.
+     *
+     * @param klass the metadata class
+     * @param loader supplies all the objects of the class, or null
+     * @param ttl The amount of **minutes** a snapshot is kept at most, which
+     *        picks up metadata changed on other instances
+     */
+    MetadataSnapshot getSnapshot( Class<?> klass, Supplier<List<IdentifiableObject>> loader, int ttl );
+
+    /**
+     * Drops all metadata snapshots. Called once a metadata change is committed.
+     */
+    void invalidateSnapshots();
+
     /**
      * Event handler for {@link ApplicationCacheClearedEvent}.
      *
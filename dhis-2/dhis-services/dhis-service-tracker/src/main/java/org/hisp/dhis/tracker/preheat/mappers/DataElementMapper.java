@@ -45,5 +45,6 @@ public interface DataElementMapper extends PreheatMapper<DataElement>
     @Mapping( target = "name" )
     @Mapping( target = "valueType" )
     @Mapping( target = "optionSet" )
+    @Mapping( target = "sharing" )
     DataElement map( DataElement dataElement );
 }
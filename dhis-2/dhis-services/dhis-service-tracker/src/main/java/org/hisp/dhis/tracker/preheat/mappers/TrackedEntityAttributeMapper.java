@@ -43,6 +43,7 @@ public interface TrackedEntityAttributeMapper extends PreheatMapper<TrackedEntit
     @Mapping( target = "id" )
     @Mapping( target = "uid" )
     @Mapping( target = "code" )
+    @Mapping( target = "name" )
     @Mapping( target = "confidential" )
     @Mapping( target = "unique" )
     @Mapping( target = "generated" )
@@ -52,5 +53,6 @@ public interface TrackedEntityAttributeMapper extends PreheatMapper<TrackedEntit
     @Mapping( target = "valueType" )
     @Mapping( target = "orgunitScope" )
     @Mapping( target = "optionSet" )
+    @Mapping( target = "sharing" )
     TrackedEntityAttribute map( TrackedEntityAttribute trackedEntityType );
 }
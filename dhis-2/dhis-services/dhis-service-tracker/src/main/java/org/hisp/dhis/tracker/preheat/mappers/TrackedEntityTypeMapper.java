@@ -45,6 +45,8 @@ public interface TrackedEntityTypeMapper
     @BeanMapping( ignoreByDefault = true )
     @Mapping( target = "id" )
     @Mapping( target = "uid" )
+    @Mapping( target = "code" )
+    @Mapping( target = "name" )
     @Mapping( target = "featureType" )
     @Mapping( target = "sharing" )
     @Mapping( target = "trackedEntityTypeAttributes" )
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.hisp.dhis.attribute.Attribute;
@@ -46,10 +47,12 @@ import org.hisp.dhis.query.Restriction;
 import org.hisp.dhis.query.Restrictions;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.TrackerImportParams;
 import org.hisp.dhis.tracker.preheat.TrackerPreheat;
+import org.hisp.dhis.tracker.preheat.cache.MetadataSnapshot;
 import org.hisp.dhis.tracker.preheat.cache.PreheatCacheService;
 import org.hisp.dhis.tracker.preheat.mappers.CopyMapper;
 import org.hisp.dhis.tracker.preheat.mappers.PreheatMapper;
@@ -72,13 +75,16 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
 
     private final PreheatCacheService cache;
 
+    private final AclService aclService;
+
     public AbstractSchemaStrategy( SchemaService schemaService, QueryService queryService,
-        IdentifiableObjectManager manager, PreheatCacheService preheatCacheService )
+        IdentifiableObjectManager manager, PreheatCacheService preheatCacheService, AclService aclService )
     {
         this.schemaService = schemaService;
         this.queryService = queryService;
         this.manager = manager;
         this.cache = preheatCacheService;
+        this.aclService = aclService;
     }
 
     @Override
@@ -113,6 +119,10 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
                 objects = manager.getAllByAttributeAndValues(
                     (Class<? extends IdentifiableObject>) schema.getKlass(), attribute, ids );
             }
+            else if ( isSnapshotFetch( preheat.getUser(), ids ) )
+            {
+                objects = snapshotFetch( preheat.getUser(), schema, idSchemeParam, ids, mapper );
+            }
             else
             {
                 objects = cacheAwareFetch( preheat.getUser(), schema, idSchemeParam, ids, mapper );
@@ -190,6 +200,58 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         return objects;
     }
 
+    private boolean isSnapshotFetch( User user, List<String> ids )
+    {
+        return getSnapshotMode() != SnapshotMode.NONE && user != null && cache.isSnapshotEnabled()
+            && (getSnapshotMode() == SnapshotMode.COMPLETE || !isLoadAllEntities( ids ));
+    }
+
+    /**
+     * Fetches the objects from the metadata snapshot shared by all imports.
+     * Objects missing from a partial snapshot are queried and added to it. As
+     * the snapshot is not restricted to what the user can read, the user
+     * access is checked on every object.
+     */
+    @SuppressWarnings( { "unchecked", "rawtypes" } )
+    private List<IdentifiableObject> snapshotFetch( User user, Schema schema, TrackerIdSchemeParam idSchemeParam,
+        List<String> ids, Class<? extends PreheatMapper> mapper )
+    {
+        Class<IdentifiableObject> klass = (Class<IdentifiableObject>) schema.getKlass();
+
+        MetadataSnapshot snapshot = cache.getSnapshot( klass,
+            getSnapshotMode() == SnapshotMode.COMPLETE ? () -> map( manager.getAllNoAcl( klass ), mapper ) : null,
+            getCacheTTL() );
+
+        List<IdentifiableObject> objects = isLoadAllEntities( ids ) ? new ArrayList<>( snapshot.getAll() )
+            : snapshot.get( idSchemeParam, ids );
+
+        if ( !snapshot.isComplete() && objects.size() < ids.size() )
+        {
+            Set<String> found = objects.stream()
+                .map( idSchemeParam::getIdentifier )
+                .collect( Collectors.toSet() );
+
+            List<String> missing = ids.stream()
+                .filter( id -> !found.contains( id ) )
+                .collect( Collectors.toList() );
+
+            List<IdentifiableObject> loaded = map( (List<IdentifiableObject>) queryService
+                .query( buildQuery( schema, user, idSchemeParam.getIdScheme(), missing ) ), mapper );
+
+            snapshot.add( idSchemeParam, loaded );
+            objects.addAll( loaded );
+        }
+
+        if ( !schema.isShareable() )
+        {
+            return objects;
+        }
+
+        return objects.stream()
+            .filter( o -> aclService.canRead( user, o, klass ) )
+            .collect( Collectors.toList() );
+    }
+
     @SuppressWarnings( { "rawtypes", "unchecked" } )
     private List<IdentifiableObject> map( List<IdentifiableObject> objects, Class<? extends PreheatMapper> mapper )
     {
@@ -267,6 +329,11 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         return getClass().getAnnotation( StrategyFor.class ).cache();
     }
 
+    private SnapshotMode getSnapshotMode()
+    {
+        return getClass().getAnnotation( StrategyFor.class ).snapshot();
+    }
+
     private int getCacheTTL()
     {
         return getClass().getAnnotation( StrategyFor.class ).ttl();
@@ -31,6 +31,7 @@ import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.query.QueryService;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.tracker.preheat.cache.PreheatCacheService;
 import org.hisp.dhis.tracker.preheat.mappers.CategoryOptionMapper;
 import org.springframework.stereotype.Component;
@@ -43,8 +44,8 @@ import org.springframework.stereotype.Component;
 public class CatOptionStrategy extends AbstractSchemaStrategy
 {
     public CatOptionStrategy( SchemaService schemaService, QueryService queryService,
-        IdentifiableObjectManager manager, PreheatCacheService cacheService )
+        IdentifiableObjectManager manager, PreheatCacheService cacheService, AclService aclService )
     {
-        super( schemaService, queryService, manager, cacheService );
+        super( schemaService, queryService, manager, cacheService, aclService );
     }
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.query.QueryService;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.tracker.preheat.cache.PreheatCacheService;
 import org.hisp.dhis.tracker.preheat.mappers.DataElementMapper;
 import org.springframework.stereotype.Component;
@@ -39,12 +40,12 @@ import org.springframework.stereotype.Component;
  * @author Luciano Fiandesio
  */
 @Component
-@StrategyFor( value = DataElement.class, mapper = DataElementMapper.class )
+@StrategyFor( value = DataElement.class, mapper = DataElementMapper.class, ttl = 20, snapshot = SnapshotMode.COMPLETE )
 public class DataElementStrategy extends AbstractSchemaStrategy
 {
     public DataElementStrategy( SchemaService schemaService, QueryService queryService,
-        IdentifiableObjectManager manager, PreheatCacheService cacheService )
+        IdentifiableObjectManager manager, PreheatCacheService cacheService, AclService aclService )
     {
-        super( schemaService, queryService, manager, cacheService );
+        super( schemaService, queryService, manager, cacheService, aclService );
     }
 }
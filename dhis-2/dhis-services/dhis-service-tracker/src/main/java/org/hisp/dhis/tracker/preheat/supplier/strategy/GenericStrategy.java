@@ -33,6 +33,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.query.QueryService;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.preheat.TrackerPreheat;
 import org.hisp.dhis.tracker.preheat.cache.PreheatCacheService;
@@ -47,9 +48,9 @@ import org.springframework.stereotype.Component;
 public class GenericStrategy extends AbstractSchemaStrategy
 {
     public GenericStrategy( SchemaService schemaService, QueryService queryService,
-        IdentifiableObjectManager manager, PreheatCacheService cacheService )
+        IdentifiableObjectManager manager, PreheatCacheService cacheService, AclService aclService )
     {
-        super( schemaService, queryService, manager, cacheService );
+        super( schemaService, queryService, manager, cacheService, aclService );
     }
 
     public void add( Class<?> klazz, List<List<String>> splitList, TrackerPreheat preheat )
@@ -68,4 +68,13 @@ public @interface StrategyFor
      * each strategy, on not rely on the default.
      */
     long capacity() default 5;
+
+    /**
+     * Whether the objects used in this Strategy are served from the metadata
+     * snapshot shared by all imports, when enabled. Objects are copied by the
+     * {@link #mapper()}, which must copy the sharing of shareable objects for
+     * user access to be checked. Snapshots are kept for at most {@link #ttl()}
+     * minutes.
+     */
+    SnapshotMode snapshot() default SnapshotMode.NONE;
 }
@@ -27,12 +27,13 @@
  */
 package org.hisp.dhis.tracker.programrule;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +42,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.program.ProgramInstance;
 import org.hisp.dhis.program.ProgramStageInstance;
+import org.hisp.dhis.programrule.engine.EnrollmentEvaluationInput;
 import org.hisp.dhis.programrule.engine.ProgramRuleEngine;
 import org.hisp.dhis.rules.models.RuleEffects;
 import org.hisp.dhis.trackedentity.TrackedEntityInstance;
@@ -84,7 +86,9 @@ public class DefaultTrackerProgramRuleService
     /**
      * This method is calling rule engine for every enrollment and all the
      * linked events, for all events linked to an enrollment not present in the
-     * payload and for all the program events.
+     * payload and for all the program events. Enrollments are evaluated as one
+     * batch, so the rule engine context of each program is built only once per
+     * bundle.
      *
      * @param bundle The bundle to build the context for rule engine
      * @return A list of rule effects for every enrollment and event present in
@@ -94,23 +98,25 @@ public class DefaultTrackerProgramRuleService
     @Transactional( readOnly = true )
     public List<RuleEffects> calculateRuleEffects( TrackerBundle bundle )
     {
-        Stream<RuleEffects> enrollmentStream = bundle.getEnrollments()
+        EnrollmentEvents enrollmentEvents = new EnrollmentEvents( bundle );
+
+        List<EnrollmentEvaluationInput> inputs = bundle.getEnrollments()
             .stream()
-            .flatMap( e -> {
+            .map( e -> {
                 ProgramInstance enrollment = enrollmentTrackerConverterService.fromForRuleEngine( bundle.getPreheat(),
                     e );
 
-                return programRuleEngine
-                    .evaluateEnrollmentAndEvents( enrollment,
-                        getEventsFromEnrollment( enrollment.getUid(), bundle ),
-                        getAttributes( e, bundle ) )
-                    .stream();
-            } );
-
-        return Stream.concat(
-            enrollmentStream,
-            calculateEventRuleEffects( bundle ).stream() )
-            .collect( Collectors.toList() );
+                return new EnrollmentEvaluationInput( enrollment, enrollmentEvents.get( enrollment.getUid() ),
+                    getAttributes( e, bundle ) );
+            } )
+            .collect( Collectors.toCollection( ArrayList::new ) );
+
+        List<RuleEffects> programEventRuleEffects = calculateEventRuleEffects( bundle, enrollmentEvents, inputs );
+
+        List<RuleEffects> ruleEffects = new ArrayList<>( programRuleEngine.evaluateEnrollmentsAndEvents( inputs ) );
+        ruleEffects.addAll( programEventRuleEffects );
+
+        return ruleEffects;
     }
 
     // Get all the attributes linked to enrollment from the payload and the DB,
@@ -144,12 +150,18 @@ public class DefaultTrackerProgramRuleService
         return attributeValues;
     }
 
-    private List<RuleEffects> calculateEventRuleEffects( TrackerBundle bundle )
+    /**
+     * Adds the enrollments of events in the payload whose enrollment is not in
+     * the payload to the batch of enrollment inputs, and evaluates events whose
+     * enrollment does not exist as program events.
+     */
+    private List<RuleEffects> calculateEventRuleEffects( TrackerBundle bundle, EnrollmentEvents enrollmentEvents,
+        List<EnrollmentEvaluationInput> inputs )
     {
-        List<String> enrollmentUids = bundle.getEnrollments()
+        Set<String> enrollmentUids = bundle.getEnrollments()
             .stream()
             .map( Enrollment::getEnrollment )
-            .collect( Collectors.toList() );
+            .collect( Collectors.toSet() );
 
         Map<String, List<Event>> eventsByEnrollment = bundle.getEvents()
             .stream()
@@ -157,33 +169,28 @@ public class DefaultTrackerProgramRuleService
             .filter( event -> StringUtils.isNotEmpty( event.getEnrollment() ) )
             .collect( Collectors.groupingBy( Event::getEnrollment ) );
 
-        return eventsByEnrollment
-            .entrySet()
-            .stream()
-            .flatMap( entry -> {
-                ProgramInstance enrollment = getEnrollment( bundle, entry.getKey() );
+        List<RuleEffects> ruleEffects = new ArrayList<>();
+
+        for ( Map.Entry<String, List<Event>> entry : eventsByEnrollment.entrySet() )
+        {
+            ProgramInstance enrollment = getEnrollment( bundle, entry.getKey() );
+
+            if ( enrollment == null )
+            {
                 List<ProgramStageInstance> programStageInstances = eventTrackerConverterService
                     .fromForRuleEngine( bundle.getPreheat(), entry.getValue() );
-                if ( enrollment == null )
-                {
-                    return programRuleEngine.evaluateProgramEvents( Sets.newHashSet( programStageInstances ),
-                        getProgramFromEvent( bundle.getPreheat(), entry.getValue().get( 0 ) ) )
-                        .stream();
-                }
-                else
-                {
-                    List<TrackedEntityAttributeValue> attributeValues = bundle.getEnrollments()
-                        .stream()
-                        .filter( e -> entry.getKey().equals( e.getEnrollment() ) )
-                        .findAny()
-                        .map( e -> getAttributes( e, bundle ) )
-                        .orElse( Collections.EMPTY_LIST );
-                    return programRuleEngine.evaluateEnrollmentAndEvents( enrollment,
-                        getEventsFromEnrollment( enrollment.getUid(), bundle ), attributeValues )
-                        .stream();
-                }
-            } )
-            .collect( Collectors.toList() );
+
+                ruleEffects.addAll( programRuleEngine.evaluateProgramEvents( Sets.newHashSet( programStageInstances ),
+                    getProgramFromEvent( bundle.getPreheat(), entry.getValue().get( 0 ) ) ) );
+            }
+            else
+            {
+                inputs.add( new EnrollmentEvaluationInput( enrollment, enrollmentEvents.get( enrollment.getUid() ),
+                    Collections.emptyList() ) );
+            }
+        }
+
+        return ruleEffects;
     }
 
     private Program getProgramFromEvent( TrackerPreheat preheat, Event event )
@@ -196,25 +203,49 @@ public class DefaultTrackerProgramRuleService
         return bundle.getPreheat().getEnrollment( enrollmentUid );
     }
 
-    private Set<ProgramStageInstance> getEventsFromEnrollment( String enrollment, TrackerBundle bundle )
+    /**
+     * Events of the bundle indexed by enrollment: all events from the preheat
+     * that are linked to an enrollment and are not present in the payload,
+     * plus all events in the payload that are linked to an enrollment.
+     */
+    private class EnrollmentEvents
     {
-        List<String> bundleEventUids = bundle.getEvents().stream().map( Event::getUid ).collect( Collectors.toList() );
+        private final TrackerBundle bundle;
 
-        // Get all programStageInstances from preheat that are linked to
-        // enrollment
-        // and are not present in the payload
-        Stream<ProgramStageInstance> programStageInstances = bundle.getPreheat().getEvents().values()
-            .stream()
-            .filter( e -> e.getProgramInstance().getUid().equals( enrollment ) )
-            .filter( e -> !bundleEventUids.contains( e.getUid() ) );
+        private final Map<String, List<ProgramStageInstance>> persistedEvents;
 
-        // All events in the payload that are linked to enrollment
-        Stream<ProgramStageInstance> bundleEvents = bundle.getEvents()
-            .stream()
-            .filter( e -> e.getEnrollment().equals( enrollment ) )
-            .map( event -> eventTrackerConverterService.fromForRuleEngine( bundle.getPreheat(), event ) );
+        private final Map<String, List<Event>> payloadEvents;
 
-        return Stream.concat( programStageInstances, bundleEvents ).collect( Collectors.toSet() );
+        EnrollmentEvents( TrackerBundle bundle )
+        {
+            this.bundle = bundle;
+
+            Set<String> bundleEventUids = bundle.getEvents().stream()
+                .map( Event::getUid )
+                .collect( Collectors.toSet() );
+
+            this.persistedEvents = bundle.getPreheat().getEvents().values()
+                .stream()
+                .filter( e -> e.getProgramInstance() != null )
+                .filter( e -> !bundleEventUids.contains( e.getUid() ) )
+                .collect( Collectors.groupingBy( e -> e.getProgramInstance().getUid() ) );
+
+            this.payloadEvents = bundle.getEvents()
+                .stream()
+                .filter( e -> e.getEnrollment() != null )
+                .collect( Collectors.groupingBy( Event::getEnrollment ) );
+        }
+
+        Set<ProgramStageInstance> get( String enrollment )
+        {
+            Set<ProgramStageInstance> events = new HashSet<>(
+                persistedEvents.getOrDefault( enrollment, Collections.emptyList() ) );
+
+            payloadEvents.getOrDefault( enrollment, Collections.emptyList() )
+                .forEach( event -> events.add( eventTrackerConverterService.fromForRuleEngine( bundle.getPreheat(),
+                    event ) ) );
 
+            return events;
+        }
     }
 }
@@ -35,6 +35,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.tracker.TrackerType;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -101,6 +102,14 @@ public class TrackerImportReport
     @JsonProperty
     String message;
 
+    /**
+     * Paging of the errors, warnings and object reports. Only set when the
+     * details of the report were spooled by {@link TrackerReportSpool} and are
+     * served one page at a time.
+     */
+    @JsonProperty
+    Pager pager;
+
     /**
      * Factory method to use in case one or more Validation errors are present
      * in the {@link TrackerValidationReport} and the Import process needs to
@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.report;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.Pager;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.external.location.LocationManager;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.system.notification.Notifier;
+import org.hisp.dhis.tracker.TrackerBundleReportMode;
+import org.hisp.dhis.tracker.TrackerType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Moves the per-object details of large asynchronous tracker import reports
+ * out of memory.
+ *
+ * Errors, warnings and object reports are written to one JSON line each in a
+ * file named after the job, while the report kept in the completed-job
+ * summaries only holds the aggregated {@link TrackerStats} and timings. The
+ * details are read back one page at a time when the job report is requested.
+ *
+ * As reports hold personal data, spool files are kept in the DHIS2 home
+ * directory and are only accessible by the owner. Reports are kept in memory
+ * if the DHIS2 home directory is not set. The spool file of a job is removed
+ * once its summary has been evicted from the completed-job summaries, when the
+ * next report is spooled.
+ */
+@Slf4j
+@Component
+public class TrackerReportSpool
+{
+    private static final String[] SPOOL_DIR = { "tracker", "reports" };
+
+    private static final String FILE_SUFFIX = ".jsonl";
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions
+        .fromString( "rwx------" );
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString( "rw-------" );
+
+    private static final String ERROR = "E";
+
+    private static final String WARNING = "W";
+
+    private static final String OBJECT = "O";
+
+    private static final char SEPARATOR = '\t';
+
+    private final ObjectMapper jsonMapper;
+
+    private final Notifier notifier;
+
+    private final int threshold;
+
+    /**
+     * The spool directory, null if the DHIS2 home directory is not set.
+     */
+    private final Path directory;
+
+    /**
+     * Jobs being spooled whose summary has not been added yet, so their files
+     * must not be removed.
+     */
+    private final Set<String> spooling = ConcurrentHashMap.newKeySet();
+
+    public TrackerReportSpool( ObjectMapper jsonMapper, Notifier notifier, LocationManager locationManager,
+        DhisConfigurationProvider config )
+    {
+        this( jsonMapper, notifier,
+            NumberUtils.toInt( config.getProperty( ConfigurationKey.TRACKER_IMPORT_REPORT_SPOOL_THRESHOLD ) ),
+            locationManager.externalDirectorySet()
+                ? Paths.get( locationManager.getExternalDirectoryPath(), SPOOL_DIR )
+                : null );
+    }
+
+    TrackerReportSpool( ObjectMapper jsonMapper, Notifier notifier, int threshold, Path directory )
+    {
+        this.jsonMapper = jsonMapper;
+        this.notifier = notifier;
+        this.threshold = threshold;
+        this.directory = directory;
+    }
+
+    /**
+     * Adds the given report to the completed-job summaries. Details of large
+     * reports are spooled to disk and only the aggregated stats are kept in
+     * memory.
+     *
+     * @param jobConfiguration the import job.
+     * @param report the complete import report.
+     */
+    public void addJobSummary( JobConfiguration jobConfiguration, TrackerImportReport report )
+    {
+        String jobUid = jobConfiguration.getUid();
+
+        if ( !CodeGenerator.isValidUid( jobUid ) )
+        {
+            notifier.addJobSummary( jobConfiguration, report, TrackerImportReport.class );
+            return;
+        }
+
+        spooling.add( jobUid );
+
+        try
+        {
+            notifier.addJobSummary( jobConfiguration, spool( jobUid, report ), TrackerImportReport.class );
+        }
+        finally
+        {
+            spooling.remove( jobUid );
+        }
+    }
+
+    /**
+     * Returns true if the given report holds more error, warning and object
+     * reports than the configured threshold.
+     */
+    public boolean isSpoolable( TrackerImportReport report )
+    {
+        return threshold > 0 && countEntries( report ) > threshold;
+    }
+
+    /**
+     * Writes the details of the given report to the spool file of the given
+     * job. If the report is not spoolable or writing fails the report is
+     * returned as is.
+     *
+     * @param jobUid the UID of the import job.
+     * @param report the complete import report.
+     * @return the report to keep in memory.
+     */
+    TrackerImportReport spool( String jobUid, TrackerImportReport report )
+    {
+        if ( directory == null || !CodeGenerator.isValidUid( jobUid ) || !isSpoolable( report ) )
+        {
+            return report;
+        }
+
+        Path file = getFile( jobUid );
+
+        try
+        {
+            createDirectory();
+
+            sweep();
+
+            write( file, report );
+        }
+        catch ( IOException e )
+        {
+            log.warn( String.format( "Could not spool report of tracker import job '%s', keeping it in memory",
+                jobUid ), e );
+
+            delete( file );
+
+            return report;
+        }
+
+        log.info( String.format( "Spooled %d report entries of tracker import job '%s'", countEntries( report ),
+            jobUid ) );
+
+        return summarize( report );
+    }
+
+    /**
+     * Returns true if details of the given job have been spooled.
+     */
+    public boolean isSpooled( String jobUid )
+    {
+        return directory != null && CodeGenerator.isValidUid( jobUid ) && Files.isRegularFile( getFile( jobUid ) );
+    }
+
+    /**
+     * Builds a report holding one page of the spooled details of the given
+     * job. Errors and object reports are always included, warnings unless the
+     * report mode is {@link TrackerBundleReportMode#ERRORS} and timings only
+     * for {@link TrackerBundleReportMode#FULL}.
+     *
+     * @param jobUid the UID of the import job.
+     * @param summary the report kept in memory for the job.
+     * @param reportMode the report mode.
+     * @param page the page number, starting at 1.
+     * @param pageSize the page size.
+     * @return the paged report.
+     */
+    public TrackerImportReport read( String jobUid, TrackerImportReport summary, TrackerBundleReportMode reportMode,
+        int page, int pageSize )
+    {
+        Pager pager = new Pager( Math.max( page, 1 ), 0, Math.max( pageSize, 1 ) );
+
+        TrackerValidationReport validationReport = new TrackerValidationReport();
+        Map<TrackerType, TrackerTypeReport> typeReportMap = copyTypeStats( summary.getBundleReport() );
+
+        long total = 0;
+
+        try ( BufferedReader reader = Files.newBufferedReader( getFile( jobUid ), UTF_8 ) )
+        {
+            String line;
+
+            while ( (line = reader.readLine()) != null )
+            {
+                String kind = line.substring( 0, 1 );
+
+                if ( WARNING.equals( kind ) && TrackerBundleReportMode.ERRORS == reportMode )
+                {
+                    continue;
+                }
+
+                if ( total >= pager.getOffset() && total < pager.getOffset() + pager.getPageSize() )
+                {
+                    readEntry( kind, line.substring( 2 ), validationReport, typeReportMap );
+                }
+
+                total++;
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Could not read report of tracker import job " + jobUid, e );
+        }
+
+        TrackerImportReport.TrackerImportReportBuilder builder = TrackerImportReport.builder()
+            .status( summary.getStatus() )
+            .stats( summary.getStats() )
+            .message( summary.getMessage() )
+            .validationReport( validationReport )
+            .pager( new Pager( pager.getPage(), total, pager.getPageSize() ) );
+
+        if ( summary.getBundleReport() != null )
+        {
+            builder.bundleReport( TrackerBundleReport.builder()
+                .status( summary.getBundleReport().getStatus() )
+                .typeReportMap( typeReportMap ).build() );
+        }
+
+        if ( TrackerBundleReportMode.FULL == reportMode )
+        {
+            builder.timingsStats( summary.getTimingsStats() );
+
+            if ( summary.getValidationReport() != null )
+            {
+                validationReport.addTimings( summary.getValidationReport().getTimings() );
+            }
+        }
+
+        return builder.build();
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private void write( Path file, TrackerImportReport report )
+        throws IOException
+    {
+        Files.deleteIfExists( file );
+
+        if ( isPosix() )
+        {
+            Files.createFile( file, PosixFilePermissions.asFileAttribute( OWNER_ONLY_FILE ) );
+        }
+        else
+        {
+            Files.createFile( file );
+        }
+
+        try ( BufferedWriter writer = Files.newBufferedWriter( file, UTF_8 ) )
+        {
+            TrackerValidationReport validationReport = report.getValidationReport();
+
+            if ( validationReport != null )
+            {
+                for ( TrackerErrorReport error : validationReport.getErrors() )
+                {
+                    writeEntry( writer, ERROR, error );
+                }
+
+                for ( TrackerWarningReport warning : validationReport.getWarnings() )
+                {
+                    writeEntry( writer, WARNING, warning );
+                }
+            }
+
+            if ( report.getBundleReport() != null )
+            {
+                for ( TrackerType trackerType : TrackerType.values() )
+                {
+                    TrackerTypeReport typeReport = report.getBundleReport().getTypeReportMap().get( trackerType );
+
+                    if ( typeReport != null )
+                    {
+                        for ( TrackerObjectReport objectReport : typeReport.getObjectReportMap().values() )
+                        {
+                            writeEntry( writer, OBJECT, objectReport );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeEntry( BufferedWriter writer, String kind, Object entry )
+        throws IOException
+    {
+        writer.write( kind );
+        writer.write( SEPARATOR );
+        writer.write( jsonMapper.writeValueAsString( entry ) );
+        writer.newLine();
+    }
+
+    private void readEntry( String kind, String json, TrackerValidationReport validationReport,
+        Map<TrackerType, TrackerTypeReport> typeReportMap )
+        throws IOException
+    {
+        if ( ERROR.equals( kind ) )
+        {
+            validationReport.addError( jsonMapper.readValue( json, TrackerErrorReport.class ) );
+        }
+        else if ( WARNING.equals( kind ) )
+        {
+            validationReport.addWarning( jsonMapper.readValue( json, TrackerWarningReport.class ) );
+        }
+        else
+        {
+            TrackerObjectReport objectReport = jsonMapper.readValue( json, TrackerObjectReport.class );
+
+            typeReportMap.computeIfAbsent( objectReport.getTrackerType(), TrackerTypeReport::new )
+                .addObjectReport( objectReport );
+        }
+    }
+
+    /**
+     * Returns a copy of the given report without errors, warnings and object
+     * reports.
+     */
+    private TrackerImportReport summarize( TrackerImportReport report )
+    {
+        TrackerValidationReport validationReport = new TrackerValidationReport();
+
+        if ( report.getValidationReport() != null )
+        {
+            validationReport.addTimings( report.getValidationReport().getTimings() );
+        }
+
+        TrackerImportReport.TrackerImportReportBuilder builder = TrackerImportReport.builder()
+            .status( report.getStatus() )
+            .stats( report.getStats() )
+            .timingsStats( report.getTimingsStats() )
+            .message( report.getMessage() )
+            .validationReport( validationReport );
+
+        if ( report.getBundleReport() != null )
+        {
+            builder.bundleReport( TrackerBundleReport.builder()
+                .status( report.getBundleReport().getStatus() )
+                .typeReportMap( copyTypeStats( report.getBundleReport() ) ).build() );
+        }
+
+        return builder.build();
+    }
+
+    private Map<TrackerType, TrackerTypeReport> copyTypeStats( TrackerBundleReport bundleReport )
+    {
+        Map<TrackerType, TrackerTypeReport> typeReportMap = new HashMap<>();
+
+        if ( bundleReport != null )
+        {
+            bundleReport.getTypeReportMap().forEach( ( trackerType, typeReport ) -> {
+                TrackerTypeReport copy = new TrackerTypeReport( trackerType );
+                copy.setStats( typeReport.getStats() );
+                typeReportMap.put( trackerType, copy );
+            } );
+        }
+
+        return typeReportMap;
+    }
+
+    private long countEntries( TrackerImportReport report )
+    {
+        long count = 0;
+
+        if ( report.getValidationReport() != null )
+        {
+            count += report.getValidationReport().getErrors().size();
+            count += report.getValidationReport().getWarnings().size();
+        }
+
+        if ( report.getBundleReport() != null )
+        {
+            count += report.getBundleReport().getTypeReportMap().values().stream()
+                .mapToLong( typeReport -> typeReport.getObjectReportMap().size() )
+                .sum();
+        }
+
+        return count;
+    }
+
+    private void createDirectory()
+        throws IOException
+    {
+        Files.createDirectories( directory );
+
+        if ( isPosix() )
+        {
+            Files.setPosixFilePermissions( directory, OWNER_ONLY_DIRECTORY );
+        }
+    }
+
+    /**
+     * Removes the spool files of jobs whose summary has been evicted from the
+     * completed-job summaries.
+     */
+    private void sweep()
+        throws IOException
+    {
+        try ( DirectoryStream<Path> files = Files.newDirectoryStream( directory, "*" + FILE_SUFFIX ) )
+        {
+            for ( Path file : files )
+            {
+                String fileName = file.getFileName().toString();
+                String jobUid = fileName.substring( 0, fileName.length() - FILE_SUFFIX.length() );
+
+                if ( !spooling.contains( jobUid )
+                    && notifier.getJobSummaryByJobId( JobType.TRACKER_IMPORT_JOB, jobUid ) == null )
+                {
+                    delete( file );
+                }
+            }
+        }
+    }
+
+    private boolean isPosix()
+    {
+        return directory.getFileSystem().supportedFileAttributeViews().contains( "posix" );
+    }
+
+    private void delete( Path file )
+    {
+        try
+        {
+            Files.deleteIfExists( file );
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Could not delete tracker import report spool file " + file, e );
+        }
+    }
+
+    private Path getFile( String jobUid )
+    {
+        return directory.resolve( jobUid + FILE_SUFFIX );
+    }
+}
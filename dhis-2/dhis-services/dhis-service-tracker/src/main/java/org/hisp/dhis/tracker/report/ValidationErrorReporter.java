@@ -142,6 +142,17 @@ public class ValidationErrorReporter
         getWarningsReportList().add( warning );
     }
 
+    /**
+     * Adds the errors and warnings collected by another reporter of the same
+     * bundle to this one. In FAIL_FAST mode this exits on the first merged
+     * error, the same way {@link #addError(TrackerErrorReport)} does.
+     */
+    public void merge( ValidationErrorReporter reporter )
+    {
+        reporter.getWarningsReportList().forEach( this::addWarning );
+        reporter.getReportList().forEach( this::addError );
+    }
+
     /**
      * Checks if the provided uid and Tracker Type is part of the invalid
      * entities
@@ -27,7 +27,10 @@
  */
 package org.hisp.dhis.tracker.validation;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
@@ -90,16 +93,27 @@ public class DefaultTrackerValidationService
 
         try
         {
+            List<TrackerValidationHook> stage = new ArrayList<>();
+
             for ( TrackerValidationHook hook : hooks )
             {
-                Timer hookTimer = Timer.startTimer();
-
-                hook.validate( reporter, bundle );
-
-                validationReport.addTiming( new Timing(
-                    hook.getClass().getName(),
-                    hookTimer.toString() ) );
+                if ( hook.removeOnError() )
+                {
+                    // hooks removing invalid entities must see the errors of
+                    // all preceding hooks, and change the bundle for the
+                    // following ones
+                    validateStage( bundle, stage, reporter, validationReport );
+                    stage.clear();
+
+                    validationReport.addTiming( validate( bundle, hook, reporter ) );
+                }
+                else
+                {
+                    stage.add( hook );
+                }
             }
+
+            validateStage( bundle, stage, reporter, validationReport );
         }
         catch ( ValidationFailFastException e )
         {
@@ -114,6 +128,111 @@ public class DefaultTrackerValidationService
         return validationReport;
     }
 
+    /**
+     * Runs a stage of hooks which neither remove entities from the bundle nor
+     * look at the errors reported by other hooks. Parallelizable hooks run on
+     * the common pool while the others run on the calling thread, each hook
+     * with its own reporter. Reports are then merged in hook order, so the
+     * result is the same as running the hooks one after another, including
+     * the first error reported in FAIL_FAST mode.
+     */
+    private void validateStage( TrackerBundle bundle, List<TrackerValidationHook> stage,
+        ValidationErrorReporter reporter, TrackerValidationReport validationReport )
+    {
+        if ( stage.stream().noneMatch( TrackerValidationHook::isParallelizable ) )
+        {
+            for ( TrackerValidationHook hook : stage )
+            {
+                validationReport.addTiming( validate( bundle, hook, reporter ) );
+            }
+
+            return;
+        }
+
+        List<ValidationErrorReporter> reporters = new ArrayList<>();
+        List<CompletableFuture<Timing>> timings = new ArrayList<>();
+
+        for ( TrackerValidationHook hook : stage )
+        {
+            ValidationErrorReporter hookReporter = new ValidationErrorReporter( bundle );
+            reporters.add( hookReporter );
+            timings.add( hook.isParallelizable()
+                ? CompletableFuture.supplyAsync( () -> validateIsolated( bundle, hook, hookReporter ) )
+                : null );
+        }
+
+        boolean failed = false;
+
+        for ( int i = 0; i < stage.size() && !failed; i++ )
+        {
+            if ( timings.get( i ) == null )
+            {
+                timings.set( i, CompletableFuture.completedFuture(
+                    validateIsolated( bundle, stage.get( i ), reporters.get( i ) ) ) );
+
+                // the merge exits on this hook, no need to run the others
+                failed = reporter.isFailFast() && reporters.get( i ).hasErrors();
+            }
+        }
+
+        List<Timing> stageTimings = timings.stream()
+            .map( timing -> timing == null ? null : join( timing ) )
+            .collect( Collectors.toList() );
+
+        for ( int i = 0; i < stage.size(); i++ )
+        {
+            reporter.merge( reporters.get( i ) );
+            validationReport.addTiming( stageTimings.get( i ) );
+        }
+    }
+
+    private Timing validate( TrackerBundle bundle, TrackerValidationHook hook, ValidationErrorReporter reporter )
+    {
+        Timer hookTimer = Timer.startTimer();
+
+        hook.validate( reporter, bundle );
+
+        return new Timing( hook.getClass().getName(), hookTimer.toString() );
+    }
+
+    /**
+     * Validates with a reporter of a single hook. Exiting early in FAIL_FAST
+     * mode is left to the merge of that reporter.
+     */
+    private Timing validateIsolated( TrackerBundle bundle, TrackerValidationHook hook,
+        ValidationErrorReporter reporter )
+    {
+        Timer hookTimer = Timer.startTimer();
+
+        try
+        {
+            hook.validate( reporter, bundle );
+        }
+        catch ( ValidationFailFastException e )
+        {
+            // the hook stopped at its first error
+        }
+
+        return new Timing( hook.getClass().getName(), hookTimer.toString() );
+    }
+
+    private static <T> T join( CompletableFuture<T> future )
+    {
+        try
+        {
+            return future.join();
+        }
+        catch ( CompletionException e )
+        {
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
     private void removeInvalidObjects( TrackerBundle bundle, ValidationErrorReporter reporter )
     {
         bundle.setEvents( bundle.getEvents().stream().filter(
@@ -36,4 +36,25 @@ import org.hisp.dhis.tracker.report.ValidationErrorReporter;
 public interface TrackerValidationHook
 {
     void validate( ValidationErrorReporter report, TrackerBundle bundle );
+
+    /**
+     * Signal that, upon validation error, the Tracker entity under validation
+     * is removed from the bundle. Hooks following such a hook only see the
+     * entities which passed validation.
+     */
+    default boolean removeOnError()
+    {
+        return false;
+    }
+
+    /**
+     * Signal that the hook only reads the bundle and the preheated metadata,
+     * without touching the database, the Hibernate session or the errors
+     * reported by other hooks, and can therefore be run on a separate thread
+     * alongside other hooks.
+     */
+    default boolean isParallelizable()
+    {
+        return false;
+    }
 }
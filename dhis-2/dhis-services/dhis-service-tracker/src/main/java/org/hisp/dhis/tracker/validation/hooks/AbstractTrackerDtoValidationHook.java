@@ -187,6 +187,7 @@ public abstract class AbstractTrackerDtoValidationHook
      * Tracker entity under validation must be removed from the payload.
      *
      */
+    @Override
     public boolean removeOnError()
     {
         return false;
@@ -54,4 +54,10 @@ public class EventGeoValidationHook
                 programStage.getFeatureType() );
         }
     }
+
+    @Override
+    public boolean isParallelizable()
+    {
+        return true;
+    }
 }
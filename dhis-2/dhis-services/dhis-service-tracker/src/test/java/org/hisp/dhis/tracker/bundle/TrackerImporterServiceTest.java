@@ -48,6 +48,7 @@ import org.hisp.dhis.tracker.TrackerUserService;
 import org.hisp.dhis.tracker.domain.Event;
 import org.hisp.dhis.tracker.preprocess.TrackerPreprocessService;
 import org.hisp.dhis.tracker.report.TrackerBundleReport;
+import org.hisp.dhis.tracker.report.TrackerReportSpool;
 import org.hisp.dhis.tracker.report.TrackerValidationReport;
 import org.hisp.dhis.tracker.validation.TrackerValidationService;
 import org.hisp.dhis.user.User;
@@ -79,6 +80,9 @@ class TrackerImporterServiceTest
     @Mock
     private Notifier notifier;
 
+    @Mock
+    private TrackerReportSpool reportSpool;
+
     private DefaultTrackerImportService subject;
 
     private TrackerImportParams params = null;
@@ -90,7 +94,7 @@ class TrackerImporterServiceTest
     {
         subject = new DefaultTrackerImportService( trackerBundleService, trackerValidationService,
             trackerPreprocessService,
-            trackerUserService, notifier );
+            trackerUserService, notifier, reportSpool );
 
         final List<Event> events = rnd.objects( Event.class, 3 ).collect( Collectors.toList() );
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.bundle.persister;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hisp.dhis.dxf2.events.event.EventCommentStore;
+import org.hisp.dhis.dxf2.events.event.EventStore;
+import org.hisp.dhis.program.ProgramStageInstance;
+import org.hisp.dhis.reservedvalue.ReservedValueService;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueAuditService;
+import org.hisp.dhis.trackedentitycomment.TrackedEntityCommentService;
+import org.hisp.dhis.trackedentitydatavalue.TrackedEntityDataValueAuditService;
+import org.hisp.dhis.tracker.PersistMode;
+import org.hisp.dhis.tracker.TrackerType;
+import org.hisp.dhis.tracker.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.converter.TrackerConverterService;
+import org.hisp.dhis.tracker.converter.TrackerSideEffectConverterService;
+import org.hisp.dhis.tracker.domain.Event;
+import org.hisp.dhis.tracker.preheat.TrackerPreheat;
+import org.hisp.dhis.tracker.report.TrackerTypeReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class EventPersisterTest
+{
+    @Mock
+    private ReservedValueService reservedValueService;
+
+    @Mock
+    private TrackerConverterService<Event, ProgramStageInstance> eventConverter;
+
+    @Mock
+    private TrackedEntityCommentService trackedEntityCommentService;
+
+    @Mock
+    private TrackerSideEffectConverterService sideEffectConverterService;
+
+    @Mock
+    private TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService;
+
+    @Mock
+    private TrackedEntityDataValueAuditService trackedEntityDataValueAuditService;
+
+    @Mock
+    private EventStore eventStore;
+
+    @Mock
+    private EventCommentStore eventCommentStore;
+
+    @Mock
+    private Session session;
+
+    private EventPersister persister;
+
+    @BeforeEach
+    void setUp()
+    {
+        persister = new EventPersister( reservedValueService, eventConverter, trackedEntityCommentService,
+            sideEffectConverterService, trackedEntityAttributeValueAuditService, trackedEntityDataValueAuditService,
+            eventStore, eventCommentStore );
+
+        when( eventConverter.from( any( TrackerPreheat.class ), any( Event.class ) ) ).thenAnswer( invocation -> {
+            ProgramStageInstance psi = new ProgramStageInstance();
+            psi.setUid( invocation.getArgument( 1, Event.class ).getEvent() );
+            return psi;
+        } );
+    }
+
+    @Test
+    void shouldPersistNewEventsOneByOneInObjectMode()
+    {
+        TrackerTypeReport report = persister.persist( session, createBundle( PersistMode.OBJECT ) );
+
+        verify( session, times( 3 ) ).persist( any( ProgramStageInstance.class ) );
+        verify( eventStore, never() ).saveEvents( any() );
+        assertReport( report );
+    }
+
+    @Test
+    void shouldInsertNewEventsAsOneSetInBulkMode()
+    {
+        TrackerTypeReport report = persister.persist( session, createBundle( PersistMode.BULK ) );
+
+        verify( session, never() ).persist( any() );
+        verify( eventStore, times( 1 ) ).saveEvents( any() );
+        verify( eventCommentStore, times( 1 ) ).saveAllComments( any() );
+        assertReport( report );
+    }
+
+    private void assertReport( TrackerTypeReport report )
+    {
+        assertEquals( TrackerType.EVENT, report.getTrackerType() );
+        assertEquals( 3, report.getStats().getCreated() );
+        assertEquals( 0, report.getStats().getIgnored() );
+        assertEquals( 3, report.getObjectReports().size() );
+    }
+
+    private TrackerBundle createBundle( PersistMode persistMode )
+    {
+        return TrackerBundle.builder()
+            .persistMode( persistMode )
+            .skipSideEffects( true )
+            .preheat( new TrackerPreheat() )
+            .events( List.of( Event.builder().event( "EventUid001" ).build(),
+                Event.builder().event( "EventUid002" ).build(),
+                Event.builder().event( "EventUid003" ).build() ) )
+            .build();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.tracker.TrackerImportParams;
+import org.hisp.dhis.tracker.domain.Event;
+import org.hisp.dhis.tracker.domain.MetadataIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class TrackerImportPartitionerTest
+{
+    @Mock
+    private IdentifiableObjectManager manager;
+
+    private TrackerImportPartitioner partitioner;
+
+    private Program program;
+
+    private OrganisationUnit orgUnit;
+
+    @BeforeEach
+    void setUp()
+    {
+        partitioner = new TrackerImportPartitioner( manager );
+
+        program = new Program();
+        program.setUid( "programUid1" );
+        program.setCode( "PROGRAM_CODE" );
+
+        orgUnit = new OrganisationUnit();
+        orgUnit.setUid( "orgUnitUid1" );
+        orgUnit.setPath( "/orgUnitUid1" );
+    }
+
+    @Test
+    void shouldResolveProgramsAndOrgUnitsIdentifiedByUid()
+    {
+        when( manager.getByUid( Program.class, Set.of( "programUid1" ) ) ).thenReturn( List.of( program ) );
+        when( manager.getByUid( OrganisationUnit.class, Set.of( "orgUnitUid1" ) ) )
+            .thenReturn( List.of( orgUnit ) );
+
+        TrackerImportPartition partition = partitioner
+            .partition( params( MetadataIdentifier.ofUid( program ), MetadataIdentifier.ofUid( orgUnit ) ) );
+
+        assertFalse( partition.isGlobal() );
+        assertEquals( Set.of( "programUid1" ), partition.getPrograms() );
+        assertEquals( Set.of( "/orgUnitUid1" ), partition.getOrgUnitPaths() );
+    }
+
+    @Test
+    void shouldOverlapWhenSameProgramIsIdentifiedByUidAndCode()
+    {
+        when( manager.getByUid( Program.class, Set.of( "programUid1" ) ) ).thenReturn( List.of( program ) );
+        when( manager.getByCode( Program.class, Set.of( "PROGRAM_CODE" ) ) ).thenReturn( List.of( program ) );
+        when( manager.getByUid( OrganisationUnit.class, Set.of( "orgUnitUid1" ) ) )
+            .thenReturn( List.of( orgUnit ) );
+
+        TrackerImportPartition byUid = partitioner
+            .partition( params( MetadataIdentifier.ofUid( program ), MetadataIdentifier.ofUid( orgUnit ) ) );
+        TrackerImportPartition byCode = partitioner
+            .partition( params( MetadataIdentifier.ofCode( program ), MetadataIdentifier.ofUid( orgUnit ) ) );
+
+        assertEquals( Set.of( "programUid1" ), byCode.getPrograms() );
+        assertTrue( byUid.overlaps( byCode ) );
+    }
+
+    @Test
+    void shouldBeGlobalWhenProgramCannotBeResolved()
+    {
+        when( manager.getByCode( Program.class, Set.of( "UNKNOWN" ) ) ).thenReturn( List.of() );
+
+        TrackerImportPartition partition = partitioner
+            .partition( params( MetadataIdentifier.ofCode( "UNKNOWN" ), MetadataIdentifier.ofUid( orgUnit ) ) );
+
+        assertSame( TrackerImportPartition.GLOBAL, partition );
+    }
+
+    @Test
+    void shouldBeGlobalWhenProgramIsIdentifiedByAttribute()
+    {
+        TrackerImportPartition partition = partitioner.partition(
+            params( MetadataIdentifier.ofAttribute( "attributeUid", "value" ), MetadataIdentifier.ofUid( orgUnit ) ) );
+
+        assertSame( TrackerImportPartition.GLOBAL, partition );
+    }
+
+    private static TrackerImportParams params( MetadataIdentifier program, MetadataIdentifier orgUnit )
+    {
+        Event event = Event.builder()
+            .event( "eventUid001" )
+            .program( program )
+            .orgUnit( orgUnit )
+            .build();
+
+        return TrackerImportParams.builder()
+            .events( List.of( event ) )
+            .build();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import org.hisp.dhis.common.AsyncTaskExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrackerImportSchedulerTest
+{
+    private final List<Runnable> started = new ArrayList<>();
+
+    private final List<String> ran = new ArrayList<>();
+
+    private TrackerImportScheduler scheduler;
+
+    @BeforeEach
+    void setUp()
+    {
+        scheduler = new TrackerImportScheduler( new AsyncTaskExecutor()
+        {
+            @Override
+            public void executeTask( Runnable task )
+            {
+                started.add( task );
+            }
+
+            @Override
+            public Future<?> executeTaskWithCancelation( Runnable task )
+            {
+                throw new UnsupportedOperationException();
+            }
+        } );
+    }
+
+    @Test
+    void shouldStartJobsOfDisjointPartitionsInParallel()
+    {
+        scheduler.schedule( job( "A" ), program( "P1" ) );
+        scheduler.schedule( job( "B" ), program( "P2" ) );
+
+        assertEquals( 2, started.size() );
+        assertEquals( 0, scheduler.getQueueDepth() );
+        assertEquals( 2, scheduler.getRunningCount() );
+    }
+
+    @Test
+    void shouldRunOverlappingJobsInOrder()
+    {
+        scheduler.schedule( job( "A" ), program( "P1" ) );
+        scheduler.schedule( job( "B" ), program( "P1" ) );
+        scheduler.schedule( job( "C" ), program( "P2" ) );
+
+        assertEquals( 2, started.size() );
+        assertEquals( 1, scheduler.getQueueDepth() );
+
+        runNext();
+        runNext();
+
+        assertEquals( 1, started.size() );
+        assertEquals( 0, scheduler.getQueueDepth() );
+
+        runNext();
+
+        assertEquals( List.of( "A", "C", "B" ), ran );
+        assertEquals( 0, scheduler.getRunningCount() );
+        assertEquals( 3, scheduler.getStartedCount() );
+    }
+
+    @Test
+    void shouldNotLetJobPassQueuedJobItOverlaps()
+    {
+        scheduler.schedule( job( "A" ), TrackerImportPartition.GLOBAL );
+        scheduler.schedule( job( "B" ), program( "P1" ) );
+        scheduler.schedule( job( "C" ), programInOrgUnit( "P1", "/ou1/ou2" ) );
+
+        assertEquals( 1, started.size() );
+        assertEquals( 2, scheduler.getQueueDepth() );
+
+        runNext();
+
+        assertEquals( 1, started.size() );
+        assertEquals( 1, scheduler.getQueueDepth() );
+
+        runNext();
+        runNext();
+
+        assertEquals( List.of( "A", "B", "C" ), ran );
+    }
+
+    @Test
+    void shouldTreatNestedOrgUnitsOfSameProgramAsOverlapping()
+    {
+        assertTrue( programInOrgUnit( "P1", "/ou1" ).overlaps( programInOrgUnit( "P1", "/ou1/ou2" ) ) );
+        assertFalse( programInOrgUnit( "P1", "/ou1/ou2" ).overlaps( programInOrgUnit( "P1", "/ou1/ou3" ) ) );
+        assertFalse( programInOrgUnit( "P1", "/ou1" ).overlaps( programInOrgUnit( "P1", "/ou11" ) ) );
+    }
+
+    @Test
+    void shouldNotOverlapInSameOrgUnitForDifferentPrograms()
+    {
+        assertFalse( programInOrgUnit( "P1", "/ou1" ).overlaps( programInOrgUnit( "P2", "/ou1" ) ) );
+    }
+
+    @Test
+    void shouldOverlapOnSharedUid()
+    {
+        TrackerImportPartition first = new TrackerImportPartition( Set.of( "P1" ), Set.of( "teiUid00001" ),
+            Set.of( "/ou1" ), false );
+        TrackerImportPartition second = new TrackerImportPartition( Set.of( "P2" ), Set.of( "teiUid00001" ),
+            Set.of( "/ou2" ), false );
+
+        assertTrue( first.overlaps( second ) );
+    }
+
+    private void runNext()
+    {
+        started.remove( 0 ).run();
+    }
+
+    private Runnable job( String name )
+    {
+        return () -> ran.add( name );
+    }
+
+    private static TrackerImportPartition program( String uid )
+    {
+        return new TrackerImportPartition( Set.of( uid ), Set.of(), Set.of(), false );
+    }
+
+    private static TrackerImportPartition programInOrgUnit( String uid, String path )
+    {
+        return new TrackerImportPartition( Set.of( uid ), Set.of(), Set.of( path ), false );
+    }
+}
@@ -46,6 +46,7 @@ import javax.jms.TextMessage;
 import org.hisp.dhis.artemis.MessageManager;
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.common.AsyncTaskExecutor;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.render.RenderService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -79,6 +80,9 @@ class TrackerNotificationMessageManagerTest
     @Mock
     private AsyncTaskExecutor taskExecutor;
 
+    @Mock
+    private DhisConfigurationProvider config;
+
     @Mock
     private TrackerNotificationThread trackerNotificationThread;
 
@@ -47,6 +47,7 @@ import javax.jms.TextMessage;
 import org.hisp.dhis.artemis.MessageManager;
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.common.AsyncTaskExecutor;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.render.RenderService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -80,6 +81,9 @@ class TrackerRuleEngineMessageManagerTest
     @Mock
     private AsyncTaskExecutor taskExecutor;
 
+    @Mock
+    private DhisConfigurationProvider config;
+
     @Mock
     private TrackerRuleEngineThread trackerRuleEngineThread;
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TrackerSideEffectBatcherTest
+{
+    private final List<List<TrackerSideEffectDataBundle>> batches = new CopyOnWriteArrayList<>();
+
+    private TrackerSideEffectBatcher batcher;
+
+    @AfterEach
+    void tearDown()
+    {
+        batcher.shutdown();
+    }
+
+    @Test
+    void shouldHandOverEveryBundleWhenBatchingIsDisabled()
+    {
+        batcher = new TrackerSideEffectBatcher( "test", 0, 0, batches::add );
+
+        batcher.add( bundle( "A" ) );
+        batcher.add( bundle( "B" ) );
+
+        assertFalse( batcher.isBatching() );
+        assertEquals( 2, batches.size() );
+        assertEquals( 1, batches.get( 0 ).size() );
+    }
+
+    @Test
+    void shouldHandOverFullBatch()
+    {
+        batcher = new TrackerSideEffectBatcher( "test", 3, 60_000, batches::add );
+
+        batcher.add( bundle( "A" ) );
+        batcher.add( bundle( "B" ) );
+
+        assertTrue( batches.isEmpty() );
+
+        batcher.add( bundle( "C" ) );
+
+        assertEquals( 1, batches.size() );
+        assertEquals( 3, batches.get( 0 ).size() );
+    }
+
+    @Test
+    void shouldHandOverPartialBatchWhenWindowElapsed()
+        throws InterruptedException
+    {
+        CountDownLatch handedOver = new CountDownLatch( 1 );
+
+        batcher = new TrackerSideEffectBatcher( "test", 100, 10, batch -> {
+            batches.add( batch );
+            handedOver.countDown();
+        } );
+
+        batcher.add( bundle( "A" ) );
+        batcher.add( bundle( "B" ) );
+
+        assertTrue( handedOver.await( 10, TimeUnit.SECONDS ) );
+        assertEquals( 1, batches.size() );
+        assertEquals( 2, batches.get( 0 ).size() );
+    }
+
+    @Test
+    void shouldHandOverPendingBundlesOnShutdown()
+    {
+        batcher = new TrackerSideEffectBatcher( "test", 100, 60_000, batches::add );
+
+        batcher.add( bundle( "A" ) );
+        batcher.shutdown();
+
+        assertEquals( 1, batches.size() );
+        assertEquals( "A", batches.get( 0 ).get( 0 ).getObject() );
+    }
+
+    private TrackerSideEffectDataBundle bundle( String object )
+    {
+        return TrackerSideEffectDataBundle.builder().object( object ).build();
+    }
+}
@@ -29,6 +29,7 @@ package org.hisp.dhis.tracker.preheat.supplier.strategy;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hisp.dhis.tracker.TrackerIdentifierCollector.ID_WILDCARD;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,8 +38,10 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -46,6 +49,7 @@ import java.util.stream.Collectors;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.query.Query;
 import org.hisp.dhis.query.QueryService;
@@ -53,14 +57,18 @@ import org.hisp.dhis.random.BeanRandomizer;
 import org.hisp.dhis.relationship.RelationshipType;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.schema.descriptors.OrganisationUnitSchemaDescriptor;
 import org.hisp.dhis.schema.descriptors.ProgramSchemaDescriptor;
 import org.hisp.dhis.schema.descriptors.RelationshipTypeSchemaDescriptor;
+import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.preheat.TrackerPreheat;
+import org.hisp.dhis.tracker.preheat.cache.MetadataSnapshot;
 import org.hisp.dhis.tracker.preheat.cache.PreheatCacheService;
 import org.hisp.dhis.tracker.preheat.mappers.CopyMapper;
 import org.hisp.dhis.tracker.preheat.mappers.ProgramMapper;
 import org.hisp.dhis.tracker.preheat.mappers.RelationshipTypeMapper;
+import org.hisp.dhis.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -86,6 +94,9 @@ class AbstractSchemaStrategyCachingTest
     @Mock
     private SchemaService schemaService;
 
+    @Mock
+    private AclService aclService;
+
     private TrackerPreheat preheat;
 
     private final BeanRandomizer rnd = BeanRandomizer.create();
@@ -107,7 +118,7 @@ class AbstractSchemaStrategyCachingTest
                 .collect( Collectors.toList() ) );
 
         RelationshipTypeStrategy strategy = new RelationshipTypeStrategy( schemaService, queryService,
-            manager, cache );
+            manager, cache, aclService );
 
         // When
         strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
@@ -133,7 +144,7 @@ class AbstractSchemaStrategyCachingTest
         when( cache.get( Program.class.getSimpleName(), UID ) ).thenReturn( Optional.of( program ) );
 
         ProgramStrategy strategy = new ProgramStrategy( schemaService, queryService,
-            manager, cache );
+            manager, cache, aclService );
 
         // When
         strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
@@ -157,7 +168,7 @@ class AbstractSchemaStrategyCachingTest
 
         doReturn( singletonList( program ) ).when( queryService ).query( any( Query.class ) );
         ProgramStrategy strategy = new ProgramStrategy( schemaService, queryService,
-            manager, cache );
+            manager, cache, aclService );
 
         // When
         strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
@@ -169,4 +180,68 @@ class AbstractSchemaStrategyCachingTest
         verify( cache, times( 1 ) ).put( eq( "Program" ), anyString(), any(), eq( 20 ), eq( 10L ) );
     }
 
-}
\ No newline at end of file
+    @Test
+    void verifyObjectsReadableByUserAreServedFromSnapshot()
+    {
+        // Given
+        final Schema schema = new ProgramSchemaDescriptor().getSchema();
+        schema.setShareable( true );
+
+        User user = new User();
+        preheat.setUser( user );
+
+        Program readable = rnd.nextObject( Program.class );
+        Program notReadable = rnd.nextObject( Program.class );
+
+        when( cache.isSnapshotEnabled() ).thenReturn( true );
+        when( cache.getSnapshot( eq( Program.class ), any(), eq( 20 ) ) )
+            .thenReturn( MetadataSnapshot.complete( 0, List.of( readable, notReadable ) ) );
+        when( aclService.canRead( user, readable, Program.class ) ).thenReturn( true );
+        when( aclService.canRead( user, notReadable, Program.class ) ).thenReturn( false );
+
+        ProgramStrategy strategy = new ProgramStrategy( schemaService, queryService,
+            manager, cache, aclService );
+
+        // When
+        strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
+            singletonList( List.of( readable.getUid(), notReadable.getUid() ) ), ProgramMapper.class );
+
+        // Then
+        assertThat( preheat.getAll( Program.class ), hasSize( 1 ) );
+        assertThat( preheat.getAll( Program.class ), contains( readable ) );
+
+        verifyNoInteractions( queryService, manager );
+    }
+
+    @Test
+    void verifyObjectNotInPartialSnapshotIsFetchedFromDbAndAddedToSnapshot()
+    {
+        // Given
+        final Schema schema = new OrganisationUnitSchemaDescriptor().getSchema();
+
+        preheat.setUser( new User() );
+
+        OrganisationUnit cached = rnd.nextObject( OrganisationUnit.class );
+        OrganisationUnit notCached = rnd.nextObject( OrganisationUnit.class );
+
+        MetadataSnapshot snapshot = MetadataSnapshot.partial( 0 );
+        snapshot.add( TrackerIdSchemeParam.UID, List.of( cached ) );
+
+        when( cache.isSnapshotEnabled() ).thenReturn( true );
+        when( cache.getSnapshot( OrganisationUnit.class, null, 30 ) ).thenReturn( snapshot );
+        doReturn( singletonList( notCached ) ).when( queryService ).query( any( Query.class ) );
+
+        OrgUnitStrategy strategy = new OrgUnitStrategy( schemaService, queryService,
+            manager, cache, aclService );
+
+        // When
+        strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
+            singletonList( new ArrayList<>( List.of( cached.getUid(), notCached.getUid() ) ) ), CopyMapper.class );
+
+        // Then
+        assertThat( preheat.getAll( OrganisationUnit.class ), hasSize( 2 ) );
+        assertThat( snapshot.get( TrackerIdSchemeParam.UID, List.of( notCached.getUid() ) ), contains( notCached ) );
+
+        verify( queryService, times( 1 ) ).query( any( Query.class ) );
+    }
+}
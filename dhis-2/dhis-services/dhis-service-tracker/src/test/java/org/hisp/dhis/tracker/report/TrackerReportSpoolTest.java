@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.system.notification.Notifier;
+import org.hisp.dhis.tracker.TrackerBundleReportMode;
+import org.hisp.dhis.tracker.TrackerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrackerReportSpoolTest
+{
+    @TempDir
+    Path directory;
+
+    private Notifier notifier;
+
+    private TrackerReportSpool spool;
+
+    private String jobUid;
+
+    @BeforeEach
+    void setUp()
+    {
+        notifier = mock( Notifier.class );
+        spool = new TrackerReportSpool( JacksonObjectMapperConfig.staticJsonMapper(), notifier, 4, directory );
+        jobUid = CodeGenerator.generateUid();
+    }
+
+    @Test
+    void shouldKeepSmallReportInMemory()
+    {
+        TrackerImportReport report = createReport( 1, 1, 1 );
+
+        assertSame( report, spool.spool( jobUid, report ) );
+        assertFalse( spool.isSpooled( jobUid ) );
+    }
+
+    @Test
+    void shouldNotSpoolReportOfInvalidJobUid()
+    {
+        TrackerImportReport report = createReport( 3, 3, 3 );
+
+        assertSame( report, spool.spool( "../job", report ) );
+        assertFalse( spool.isSpooled( "../job" ) );
+    }
+
+    @Test
+    void shouldKeepOnlyStatsOfSpooledReport()
+    {
+        TrackerImportReport summary = spool.spool( jobUid, createReport( 3, 2, 4 ) );
+
+        assertTrue( spool.isSpooled( jobUid ) );
+        assertTrue( summary.getValidationReport().getErrors().isEmpty() );
+        assertTrue( summary.getValidationReport().getWarnings().isEmpty() );
+        TrackerTypeReport typeReport = summary.getBundleReport().getTypeReportMap().get( TrackerType.EVENT );
+        assertTrue( typeReport.getObjectReportMap().isEmpty() );
+        assertEquals( 4, typeReport.getStats().getCreated() );
+        assertEquals( 4, summary.getStats().getCreated() );
+    }
+
+    @Test
+    void shouldReadSpooledReportInPages()
+    {
+        TrackerImportReport summary = spool.spool( jobUid, createReport( 3, 2, 4 ) );
+
+        TrackerImportReport first = spool.read( jobUid, summary, TrackerBundleReportMode.WARNINGS, 1, 4 );
+        TrackerImportReport last = spool.read( jobUid, summary, TrackerBundleReportMode.WARNINGS, 3, 4 );
+
+        assertEquals( 9, first.getPager().getTotal() );
+        assertEquals( 3, first.getValidationReport().getErrors().size() );
+        assertEquals( 1, first.getValidationReport().getWarnings().size() );
+        assertTrue( first.getBundleReport().getTypeReportMap().get( TrackerType.EVENT ).getObjectReports().isEmpty() );
+        assertEquals( 1, last.getBundleReport().getTypeReportMap().get( TrackerType.EVENT ).getObjectReports().size() );
+        assertNull( first.getTimingsStats() );
+    }
+
+    @Test
+    void shouldSkipWarningsWhenReadingErrors()
+    {
+        TrackerImportReport summary = spool.spool( jobUid, createReport( 3, 2, 4 ) );
+
+        TrackerImportReport report = spool.read( jobUid, summary, TrackerBundleReportMode.ERRORS, 1, 50 );
+
+        assertEquals( 7, report.getPager().getTotal() );
+        assertTrue( report.getValidationReport().getWarnings().isEmpty() );
+        assertEquals( 4, report.getBundleReport().getTypeReportMap().get( TrackerType.EVENT ).getObjectReports()
+            .size() );
+    }
+
+    @Test
+    void shouldAddSummaryOfSpooledReport()
+    {
+        JobConfiguration jobConfiguration = jobConfiguration( jobUid );
+
+        spool.addJobSummary( jobConfiguration, createReport( 3, 2, 4 ) );
+
+        assertTrue( spool.isSpooled( jobUid ) );
+        verify( notifier ).addJobSummary( eq( jobConfiguration ), any( TrackerImportReport.class ),
+            eq( TrackerImportReport.class ) );
+    }
+
+    @Test
+    void shouldRemoveSpoolFileOnceJobSummaryIsEvicted()
+    {
+        String evictedJobUid = CodeGenerator.generateUid();
+        String keptJobUid = CodeGenerator.generateUid();
+        when( notifier.getJobSummaryByJobId( JobType.TRACKER_IMPORT_JOB, keptJobUid ) )
+            .thenReturn( TrackerImportReport.builder().build() );
+
+        spool.addJobSummary( jobConfiguration( evictedJobUid ), createReport( 3, 2, 4 ) );
+        spool.addJobSummary( jobConfiguration( keptJobUid ), createReport( 3, 2, 4 ) );
+        spool.addJobSummary( jobConfiguration( jobUid ), createReport( 3, 2, 4 ) );
+
+        assertFalse( spool.isSpooled( evictedJobUid ) );
+        assertTrue( spool.isSpooled( keptJobUid ) );
+        assertTrue( spool.isSpooled( jobUid ) );
+    }
+
+    @Test
+    void shouldRestrictSpoolFileToOwner()
+        throws IOException
+    {
+        assumeTrue( directory.getFileSystem().supportedFileAttributeViews().contains( "posix" ) );
+
+        spool.spool( jobUid, createReport( 3, 2, 4 ) );
+
+        assertEquals( "rwx------", PosixFilePermissions.toString( Files.getPosixFilePermissions( directory ) ) );
+        assertEquals( "rw-------", PosixFilePermissions.toString(
+            Files.getPosixFilePermissions( directory.resolve( jobUid + ".jsonl" ) ) ) );
+    }
+
+    @Test
+    void shouldKeepReportInMemoryWithoutSpoolDirectory()
+    {
+        spool = new TrackerReportSpool( JacksonObjectMapperConfig.staticJsonMapper(), notifier, 4, null );
+        TrackerImportReport report = createReport( 3, 3, 3 );
+
+        assertSame( report, spool.spool( jobUid, report ) );
+        assertFalse( spool.isSpooled( jobUid ) );
+    }
+
+    private JobConfiguration jobConfiguration( String uid )
+    {
+        JobConfiguration jobConfiguration = new JobConfiguration();
+        jobConfiguration.setUid( uid );
+        jobConfiguration.setJobType( JobType.TRACKER_IMPORT_JOB );
+        return jobConfiguration;
+    }
+
+    private TrackerImportReport createReport( int errors, int warnings, int objects )
+    {
+        TrackerValidationReport validationReport = new TrackerValidationReport();
+
+        for ( int i = 0; i < errors; i++ )
+        {
+            validationReport.addError( new TrackerErrorReport( "error " + i, TrackerErrorCode.E1000,
+                TrackerType.EVENT, CodeGenerator.generateUid() ) );
+        }
+
+        for ( int i = 0; i < warnings; i++ )
+        {
+            validationReport.addWarning( new TrackerWarningReport( "warning " + i, TrackerErrorCode.E1000,
+                TrackerType.EVENT, CodeGenerator.generateUid() ) );
+        }
+
+        TrackerTypeReport typeReport = new TrackerTypeReport( TrackerType.EVENT );
+        typeReport.getStats().setCreated( objects );
+
+        for ( int i = 0; i < objects; i++ )
+        {
+            typeReport.addObjectReport( new TrackerObjectReport( TrackerType.EVENT, CodeGenerator.generateUid(), i ) );
+        }
+
+        Map<TrackerType, TrackerTypeReport> typeReportMap = new HashMap<>();
+        typeReportMap.put( TrackerType.EVENT, typeReport );
+
+        Map<TrackerType, Integer> bundleSize = new HashMap<>();
+        bundleSize.put( TrackerType.EVENT, objects );
+
+        return TrackerImportReport.withImportCompleted( TrackerStatus.OK,
+            new TrackerBundleReport( TrackerStatus.OK, typeReportMap ), validationReport,
+            new TrackerTimingsStats(), bundleSize );
+    }
+}
@@ -34,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -137,6 +138,8 @@ class DefaultTrackerValidationServiceTest
 
         private BiConsumer<ValidationErrorReporter, Event> validateEvent;
 
+        private Boolean parallelizable;
+
         @Override
         public void validateTrackedEntity( ValidationErrorReporter reporter, TrackedEntity trackedEntity )
         {
@@ -173,6 +176,12 @@ class DefaultTrackerValidationServiceTest
             return Objects.requireNonNullElseGet( this.removeOnError, super::removeOnError );
         }
 
+        @Override
+        public boolean isParallelizable()
+        {
+            return Objects.requireNonNullElseGet( this.parallelizable, super::isParallelizable );
+        }
+
         @Override
         public boolean needsToRun( TrackerImportStrategy strategy )
         {
@@ -300,7 +309,73 @@ class DefaultTrackerValidationServiceTest
         assertFalse( bundle.getEvents().contains( invalidEvent ) );
         assertTrue( bundle.getEvents().contains( validEvent ) );
 
-        verifyNoInteractions( hook2 );
+        verify( hook2, never() ).validate( any(), any() );
+    }
+
+    @Test
+    void parallelizableHooksReportErrorsInHookOrder()
+    {
+        Event invalidEvent = event();
+
+        TrackerBundle bundle = newBundle()
+            .events( events( invalidEvent, event() ) )
+            .build();
+
+        ValidationHook hook1 = ValidationHook.builder()
+            .parallelizable( true )
+            .validateEvent( ( reporter, event ) -> reporter.addErrorIf( () -> invalidEvent.equals( event ), event,
+                TrackerErrorCode.E1032 ) )
+            .build();
+        ValidationHook hook2 = ValidationHook.builder()
+            .validateEvent( ( reporter, event ) -> reporter.addErrorIf( () -> invalidEvent.equals( event ), event,
+                TrackerErrorCode.E9999 ) )
+            .build();
+        ValidationHook hook3 = ValidationHook.builder()
+            .parallelizable( true )
+            .validateEvent( ( reporter, event ) -> reporter.addWarning( event, TrackerErrorCode.E1120 ) )
+            .build();
+        service = new DefaultTrackerValidationService( List.of( hook1, hook2, hook3 ), Collections.emptyList() );
+
+        TrackerValidationReport report = service.validate( bundle );
+
+        assertEquals( 2, report.getErrors().size() );
+        assertEquals( TrackerErrorCode.E1032, report.getErrors().get( 0 ).getErrorCode() );
+        assertEquals( TrackerErrorCode.E9999, report.getErrors().get( 1 ).getErrorCode() );
+        assertEquals( 2, report.getWarnings().size() );
+        assertEquals( 3, report.getTimings().size() );
+
+        assertFalse( bundle.getEvents().contains( invalidEvent ) );
+        assertEquals( 1, bundle.getEvents().size() );
+    }
+
+    @Test
+    void failFastModeReportsErrorOfFirstFailingHookWhenRunInParallel()
+    {
+        Event invalidEvent = event();
+
+        TrackerBundle bundle = newBundle()
+            .validationMode( ValidationMode.FAIL_FAST )
+            .events( events( invalidEvent, event() ) )
+            .build();
+
+        ValidationHook hook1 = ValidationHook.builder()
+            .validateEvent( ( reporter, event ) -> reporter.addErrorIf( () -> invalidEvent.equals( event ), event,
+                TrackerErrorCode.E1032 ) )
+            .build();
+        ValidationHook hook2 = ValidationHook.builder()
+            .parallelizable( true )
+            .validateEvent( ( reporter, event ) -> reporter.addError( event, TrackerErrorCode.E9999 ) )
+            .build();
+        TrackerValidationHook hook3 = mock( TrackerValidationHook.class );
+        service = new DefaultTrackerValidationService( List.of( hook1, hook2, hook3 ), Collections.emptyList() );
+
+        TrackerValidationReport report = service.validate( bundle );
+
+        assertEquals( 1, report.getErrors().size() );
+        assertHasError( report, TrackerErrorCode.E1032, invalidEvent );
+        assertFalse( bundle.getEvents().contains( invalidEvent ) );
+
+        verify( hook3, never() ).validate( any(), any() );
     }
 
     @Test
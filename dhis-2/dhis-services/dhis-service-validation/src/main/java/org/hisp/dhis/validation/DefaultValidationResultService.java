@@ -41,6 +41,7 @@ import java.util.function.Predicate;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.feedback.ErrorCode;
@@ -54,6 +55,8 @@ import org.hisp.dhis.validation.comparator.ValidationResultQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.collect.Lists;
+
 /**
  * @author Stian Sandvold
  */
@@ -62,6 +65,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class DefaultValidationResultService
     implements ValidationResultService
 {
+    /**
+     * Keeps the id list of a query well below the JDBC parameter limit.
+     */
+    private static final int MAX_IDS_PER_QUERY = 10_000;
+
     private final ValidationResultStore validationResultStore;
 
     private final PeriodService periodService;
@@ -70,18 +78,23 @@ public class DefaultValidationResultService
 
     private final ValidationRuleService validationRuleService;
 
+    private final CategoryService categoryService;
+
     public DefaultValidationResultService( ValidationResultStore validationResultStore, PeriodService periodService,
-        OrganisationUnitService organisationUnitService, ValidationRuleService validationRuleService )
+        OrganisationUnitService organisationUnitService, ValidationRuleService validationRuleService,
+        CategoryService categoryService )
     {
         checkNotNull( validationResultStore );
         checkNotNull( periodService );
         checkNotNull( organisationUnitService );
         checkNotNull( validationRuleService );
+        checkNotNull( categoryService );
 
         this.validationResultStore = validationResultStore;
         this.periodService = periodService;
         this.organisationUnitService = organisationUnitService;
         this.validationRuleService = validationRuleService;
+        this.categoryService = categoryService;
     }
 
     @Transactional
@@ -94,6 +107,22 @@ public class DefaultValidationResultService
         } );
     }
 
+    @Transactional
+    @Override
+    public void reloadAndSaveValidationResults( Collection<ValidationResult> validationResults )
+    {
+        validationResults.forEach( validationResult -> {
+            validationResult.setValidationRule(
+                validationRuleService.getValidationRule( validationResult.getValidationRule().getId() ) );
+            validationResult.setOrganisationUnit(
+                organisationUnitService.getOrganisationUnit( validationResult.getOrganisationUnit().getId() ) );
+            validationResult.setAttributeOptionCombo(
+                categoryService.getCategoryOptionCombo( validationResult.getAttributeOptionCombo().getId() ) );
+        } );
+
+        saveValidationResults( validationResults );
+    }
+
     @Transactional( readOnly = true )
     @Override
     public List<ValidationResult> getAllValidationResults()
@@ -140,6 +169,20 @@ public class DefaultValidationResultService
         return validationResultStore.getById( id );
     }
 
+    @Transactional( readOnly = true )
+    @Override
+    public List<ValidationResult> getByIds( Collection<Long> ids )
+    {
+        List<ValidationResult> results = new ArrayList<>();
+
+        for ( List<Long> partition : Lists.partition( new ArrayList<>( ids ), MAX_IDS_PER_QUERY ) )
+        {
+            results.addAll( validationResultStore.getByIds( partition ) );
+        }
+
+        return results;
+    }
+
     @Transactional( readOnly = true )
     @Override
     public List<ValidationResult> getValidationResults( ValidationResultQuery query )
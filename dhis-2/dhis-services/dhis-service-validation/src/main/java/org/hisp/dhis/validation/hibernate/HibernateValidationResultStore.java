@@ -174,6 +174,20 @@ public class HibernateValidationResultStore
             + getUserRestrictions( sqlHelper ) ).setParameter( "id", id ) );
     }
 
+    @Override
+    public List<ValidationResult> getByIds( Collection<Long> ids )
+    {
+        if ( isEmpty( ids ) )
+        {
+            return new ArrayList<>();
+        }
+
+        SqlHelper sqlHelper = new SqlHelper();
+        sqlHelper.whereAnd(); // as we use where already below
+        return getQuery( "from ValidationResult vr where vr.id in :ids"
+            + getUserRestrictions( sqlHelper ) ).setParameter( "ids", ids ).list();
+    }
+
     @Override
     public List<ValidationResult> query( ValidationResultQuery query )
     {
@@ -170,6 +170,25 @@ public class DefaultValidationNotificationService implements ValidationNotificat
         List<ValidationResult> unreportedResults = progress.runStage( List.of(),
             validationResultService::getAllUnReportedValidationResults );
 
+        sendNotificationsAndMarkAsSent( unreportedResults, progress );
+    }
+
+    @Override
+    public void sendUnsentNotifications( Collection<Long> validationResultIds, JobProgress progress )
+    {
+        progress.startingStage( format( "Finding %d validation results to report", validationResultIds.size() ) );
+        List<ValidationResult> unreportedResults = progress.runStage( List.of(),
+            () -> validationResultService.getByIds( validationResultIds ) );
+
+        sendNotificationsAndMarkAsSent( unreportedResults, progress );
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private void sendNotificationsAndMarkAsSent( List<ValidationResult> unreportedResults, JobProgress progress )
+    {
         Set<ValidationResult> applicableResults = sendNotifications( unreportedResults, progress );
 
         progress.startingStage( "Updating results" );
@@ -179,10 +198,6 @@ public class DefaultValidationNotificationService implements ValidationNotificat
         } );
     }
 
-    // -------------------------------------------------------------------------
-    // Supportive methods
-    // -------------------------------------------------------------------------
-
     private Map<SendStrategy, SortedSet<MessagePair>> segregateMessagePairBasedOnStrategy(
         SortedSet<MessagePair> messagePairs )
     {
@@ -41,6 +41,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.BiConsumer;
 
+import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.feedback.ErrorCode;
@@ -67,8 +68,10 @@ class ValidationResultServiceTest
 
     private final ValidationRuleService validationRuleService = mock( ValidationRuleService.class );
 
+    private final CategoryService categoryService = mock( CategoryService.class );
+
     private final ValidationResultService service = new DefaultValidationResultService( store, periodService,
-        organisationUnitService, validationRuleService );
+        organisationUnitService, validationRuleService, categoryService );
 
     @BeforeEach
     void setUp()
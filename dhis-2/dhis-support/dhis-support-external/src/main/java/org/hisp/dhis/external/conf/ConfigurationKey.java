@@ -74,6 +74,13 @@ public enum ConfigurationKey
      */
     SYSTEM_PROGRAM_RULE_SERVER_EXECUTION( "system.program_rule.server_execution", Constants.ON, false ),
 
+    /**
+     * Maximum number of validation results buffered by a scheduled validation
+     * run before worker threads have to wait for results to be persisted.
+     * (default: 10000).
+     */
+    SYSTEM_VALIDATION_RESULT_BUFFER_SIZE( "system.validation.result_buffer_size", "10000", false ),
+
     /**
      * Set the maximum size for the cache instance to be built. If set to 0, no
      * caching will take place. Cannot be a negative value. (default: 0).
@@ -315,6 +322,12 @@ public enum ConfigurationKey
      */
     REDIS_ENABLED( "redis.enabled", Constants.OFF, false ),
 
+    /**
+     * Keep a local copy of redis cache entries in each instance, kept coherent
+     * through redis pub/sub invalidation messages. (default: false)
+     */
+    REDIS_NEAR_CACHE_ENABLED( "redis.cache.near.enabled", Constants.OFF, false ),
+
     /**
      * Allows Flyway migrations to be run "out of order".
      * <p>
@@ -332,6 +345,32 @@ public enum ConfigurationKey
 
     PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT( "tracker.temporary.ownership.timeout", "3", false ),
 
+    /**
+     * Serve tracker import metadata from snapshots shared by all imports and
+     * dropped on metadata changes. (default: off)
+     */
+    TRACKER_IMPORT_METADATA_SNAPSHOT_ENABLED( "tracker.import.metadata_snapshot.enabled", Constants.OFF, false ),
+
+    /**
+     * Maximum number of tracker side effect bundles (notifications and rule
+     * engine actions) handled together as one batch. (default: 100)
+     */
+    TRACKER_SIDE_EFFECT_BATCH_SIZE( "tracker.side_effect.batch_size", "100", false ),
+
+    /**
+     * Time in milliseconds tracker side effect bundles are collected for
+     * before a batch is handled even if not full, 0 handles every bundle right
+     * away. (default: 500)
+     */
+    TRACKER_SIDE_EFFECT_BATCH_WINDOW( "tracker.side_effect.batch_window_ms", "500", false ),
+
+    /**
+     * Number of error, warning and object reports above which the report of an
+     * asynchronous tracker import is spooled to disk and served paged, 0
+     * keeps all reports in memory. (default: 10000)
+     */
+    TRACKER_IMPORT_REPORT_SPOOL_THRESHOLD( "tracker.import.report.spool_threshold", "10000", false ),
+
     LEADER_TIME_TO_LIVE( "leader.time.to.live.minutes", "2", false ),
 
     /**
@@ -455,6 +494,16 @@ public enum ConfigurationKey
      */
     MONITORING_CPU_ENABLED( "monitoring.cpu.enabled", Constants.OFF, false ),
 
+    /**
+     * Cache hit, miss, load and size monitoring. (default: off)
+     */
+    MONITORING_CACHE_ENABLED( "monitoring.cache.enabled", Constants.OFF, false ),
+
+    /**
+     * Tracker import job queue depth and wait time monitoring. (default: off)
+     */
+    MONITORING_TRACKER_IMPORT_ENABLED( "monitoring.tracker_import.enabled", Constants.OFF, false ),
+
     /**
      * AppHub base URL. (default: https://apps.dhis2.org).
      */
@@ -48,6 +48,8 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider
 
     private RedisTemplate<String, ?> redisTemplate;
 
+    private NearCacheInvalidator nearCacheInvalidator;
+
     private CappedLocalCache cappedLocalCache;
 
     @Override
@@ -56,7 +58,7 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider
         Function<CacheBuilder<V>, Cache<V>> capCacheFactory = cappedLocalCache != null
             ? cappedLocalCache::createRegion
             : builder -> new NoOpCache<>();
-        return new ExtendedCacheBuilder<>( redisTemplate, configurationProvider, capCacheFactory );
+        return new ExtendedCacheBuilder<>( redisTemplate, nearCacheInvalidator, configurationProvider, capCacheFactory );
     }
 
     @Autowired
@@ -72,6 +74,12 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider
         this.redisTemplate = redisTemplate;
     }
 
+    @Autowired( required = false )
+    public void setNearCacheInvalidator( NearCacheInvalidator nearCacheInvalidator )
+    {
+        this.nearCacheInvalidator = nearCacheInvalidator;
+    }
+
     @Autowired
     public void setCappedLocalCache( CappedLocalCache cappedLocalCache )
     {
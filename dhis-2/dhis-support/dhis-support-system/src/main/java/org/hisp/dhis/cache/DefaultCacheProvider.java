@@ -34,9 +34,14 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
 
 import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 import org.hisp.dhis.external.conf.ConfigurationKey;
@@ -114,6 +119,7 @@ public class DefaultCacheProvider
         propertyTransformerCache,
         programHasRulesCache,
         programRuleVariablesCache,
+        programRuleSetCache,
         userGroupNameCache,
         userDisplayNameCache,
         programWebHookNotificationTemplateCache,
@@ -132,10 +138,13 @@ public class DefaultCacheProvider
         jobCancelRequested,
         dataIntegritySummaryCache,
         dataIntegrityDetailsCache,
-        subExpressionCache
+        subExpressionCache,
+        queryCountCache
     }
 
-    private final Map<String, Cache<?>> allCaches = new ConcurrentHashMap<>();
+    private final Map<String, MeteredCache<?>> allCaches = new ConcurrentHashMap<>();
+
+    private final List<Consumer<MeteredCache<?>>> cacheListeners = new CopyOnWriteArrayList<>();
 
     private long orZeroInTestRun( long value )
     {
@@ -148,9 +157,34 @@ public class DefaultCacheProvider
     }
 
     @SuppressWarnings( "unchecked" )
-    private <V> Cache<V> registerCache( CacheBuilder<V> builder )
+    private synchronized <V> Cache<V> registerCache( CacheBuilder<V> builder )
+    {
+        return (Cache<V>) allCaches.computeIfAbsent( builder.getRegion(), region -> {
+            MeteredCache<V> cache = new MeteredCache<>( region, builder.build(), builder.getDefaultValue() );
+            cacheListeners.forEach( listener -> listener.accept( cache ) );
+            return cache;
+        } );
+    }
+
+    /**
+     * Calls the listener for every cache created so far and every cache
+     * created later on.
+     *
+     * @param listener called with each cache
+     */
+    public synchronized void addCacheListener( Consumer<MeteredCache<?>> listener )
+    {
+        cacheListeners.add( listener );
+        allCaches.values().forEach( listener );
+    }
+
+    @Override
+    public List<CacheStatistics> getStatistics()
     {
-        return (Cache<V>) allCaches.computeIfAbsent( builder.getRegion(), region -> builder.build() );
+        return allCaches.values().stream()
+            .map( MeteredCache::getStatistics )
+            .sorted( Comparator.comparing( CacheStatistics::getRegion ) )
+            .collect( Collectors.toList() );
     }
 
     private long getActualSize( long size )
@@ -460,6 +494,17 @@ public class DefaultCacheProvider
             .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
     }
 
+    @Override
+    public <V> Cache<V> createProgramRuleSetCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.programRuleSetCache.name() )
+            .expireAfterWrite( 5, TimeUnit.MINUTES )
+            .withInitialCapacity( (int) getActualSize( 20 ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
+    }
+
     @Override
     public <V> Cache<V> createUserGroupNameCache()
     {
@@ -646,4 +691,15 @@ public class DefaultCacheProvider
             .forRegion( Region.subExpressionCache.name() )
             .expireAfterWrite( 5, TimeUnit.MINUTES ) );
     }
+
+    @Override
+    public <V> Cache<V> createQueryCountCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.queryCountCache.name() )
+            .expireAfterWrite( 1, TimeUnit.MINUTES )
+            .withInitialCapacity( (int) getActualSize( SIZE_100 ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_10K ) ) ) );
+    }
 }
@@ -52,15 +52,18 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
 
     private final RedisTemplate<String, ?> redisTemplate;
 
+    private final NearCacheInvalidator nearCacheInvalidator;
+
     private boolean forceInMemory;
 
     private final Function<CacheBuilder<V>, Cache<V>> cappedLocalCacheFactory;
 
-    public ExtendedCacheBuilder( RedisTemplate<String, ?> redisTemplate,
+    public ExtendedCacheBuilder( RedisTemplate<String, ?> redisTemplate, NearCacheInvalidator nearCacheInvalidator,
         DhisConfigurationProvider configuration, Function<CacheBuilder<V>, Cache<V>> cappedLocalCacheFactory )
     {
         this.configuration = configuration;
         this.redisTemplate = redisTemplate;
+        this.nearCacheInvalidator = nearCacheInvalidator;
         this.forceInMemory = false;
         this.cappedLocalCacheFactory = cappedLocalCacheFactory;
     }
@@ -87,14 +90,16 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
      * {@code maximumSize} is greater than 0 than based on {@code redis.enabled}
      * property in dhis.conf, either Redis backed implementation
      * {@link RedisCache} will be returned or a Local Caffeine backed cache
-     * implementation {@link LocalCache} will be returned. For Local cache,
+     * implementation {@link LocalCache} will be returned. If
+     * {@code redis.cache.near.enabled} is also on, a {@link NearCache} with a
+     * local tier in front of redis is returned instead. For Local cache,
      * every instance created using this method will be logically separate and
      * will not share any state. However, when using Redis Cache, every instance
      * created using this method will use the same redis store.
      *
      * @return A cache instance based on the system configuration and input
-     *         parameters. Returns one of {@link RedisCache}, {@link LocalCache}
-     *         or {@link NoOpCache}
+     *         parameters. Returns one of {@link NearCache}, {@link RedisCache},
+     *         {@link LocalCache} or {@link NoOpCache}
      */
     @Override
     public Cache<V> build()
@@ -116,6 +121,12 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
         }
         if ( configuration.isEnabled( ConfigurationKey.REDIS_ENABLED ) )
         {
+            if ( nearCacheInvalidator != null && configuration.isEnabled( ConfigurationKey.REDIS_NEAR_CACHE_ENABLED ) )
+            {
+                log.debug( String.format( "Near Cache instance created for region:'%s'", getRegion() ) );
+                return new NearCache<>( getRegion(), new LocalCache<>( this ), new RedisCache<>( this ),
+                    getDefaultValue(), nearCacheInvalidator );
+            }
             log.debug( String.format( "Redis Cache instance created for region:'%s'", getRegion() ) );
             return new RedisCache<>( this );
         }
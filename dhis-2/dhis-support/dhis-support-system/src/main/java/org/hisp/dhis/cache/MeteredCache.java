@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.google.common.collect.Iterables;
+
+/**
+ * A {@link Cache} decorator which counts hits, misses, loads, puts and
+ * invalidations of the decorated cache region.
+ *
+ * @param <V> the value type
+ */
+public class MeteredCache<V> implements Cache<V>
+{
+    private final String region;
+
+    private final Cache<V> cache;
+
+    private final V defaultValue;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder loadFailures = new LongAdder();
+
+    private final LongAdder loadTimeNanos = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param region the cache region name
+     * @param cache the decorated cache
+     * @param defaultValue the value {@link #get(String)} returns for absent
+     *        keys, as configured for the decorated cache
+     */
+    public MeteredCache( String region, Cache<V> cache, V defaultValue )
+    {
+        this.region = region;
+        this.cache = cache;
+        this.defaultValue = defaultValue;
+    }
+
+    public String getRegion()
+    {
+        return region;
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    public long getLoads()
+    {
+        return loads.sum();
+    }
+
+    public long getLoadFailures()
+    {
+        return loadFailures.sum();
+    }
+
+    public long getLoadTimeNanos()
+    {
+        return loadTimeNanos.sum();
+    }
+
+    public long getPuts()
+    {
+        return puts.sum();
+    }
+
+    public long getInvalidations()
+    {
+        return invalidations.sum();
+    }
+
+    /**
+     * Counts the entries of caches held in this instance. The size of caches
+     * shared with other instances is not known locally.
+     *
+     * @return number of entries or -1 if not known
+     */
+    public long getEntries()
+    {
+        CacheType type = getCacheType();
+
+        if ( type == CacheType.NONE )
+        {
+            return 0L;
+        }
+
+        if ( type != CacheType.IN_MEMORY )
+        {
+            return -1L;
+        }
+
+        return Iterables.size( cache.keys() );
+    }
+
+    public CacheStatistics getStatistics()
+    {
+        return new CacheStatistics( region, getCacheType(), getHits(), getMisses(), getLoads(), getLoadFailures(),
+            NANOSECONDS.toMillis( getLoadTimeNanos() ), getPuts(), getInvalidations(), getEntries() );
+    }
+
+    @Override
+    public Optional<V> getIfPresent( String key )
+    {
+        return count( cache.getIfPresent( key ) );
+    }
+
+    @Override
+    public Optional<V> get( String key )
+    {
+        Optional<V> value = count( cache.getIfPresent( key ) );
+
+        return value.isPresent() ? value : Optional.ofNullable( defaultValue );
+    }
+
+    @Override
+    public V get( String key, Function<String, V> mappingFunction )
+    {
+        if ( null == mappingFunction )
+        {
+            throw new IllegalArgumentException( "MappingFunction cannot be null" );
+        }
+
+        AtomicBoolean loaded = new AtomicBoolean();
+
+        V value = cache.get( key, k -> {
+            loaded.set( true );
+            misses.increment();
+            long start = System.nanoTime();
+            try
+            {
+                V v = mappingFunction.apply( k );
+                loads.increment();
+                return v;
+            }
+            catch ( RuntimeException ex )
+            {
+                loadFailures.increment();
+                throw ex;
+            }
+            finally
+            {
+                loadTimeNanos.add( System.nanoTime() - start );
+            }
+        } );
+
+        if ( !loaded.get() )
+        {
+            hits.increment();
+        }
+
+        return value;
+    }
+
+    @Override
+    public Stream<V> getAll()
+    {
+        return cache.getAll();
+    }
+
+    @Override
+    public Iterable<String> keys()
+    {
+        return cache.keys();
+    }
+
+    @Override
+    public void put( String key, V value )
+    {
+        cache.put( key, value );
+        puts.increment();
+    }
+
+    @Override
+    public void put( String key, V value, long ttlInSeconds )
+    {
+        cache.put( key, value, ttlInSeconds );
+        puts.increment();
+    }
+
+    @Override
+    public boolean putIfAbsent( String key, V value )
+    {
+        boolean put = cache.putIfAbsent( key, value );
+
+        if ( put )
+        {
+            puts.increment();
+        }
+
+        return put;
+    }
+
+    @Override
+    public void invalidate( String key )
+    {
+        cache.invalidate( key );
+        invalidations.increment();
+    }
+
+    @Override
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+        invalidations.increment();
+    }
+
+    @Override
+    public CacheType getCacheType()
+    {
+        return cache.getCacheType();
+    }
+
+    private Optional<V> count( Optional<V> value )
+    {
+        if ( value.isPresent() )
+        {
+            hits.increment();
+        }
+        else
+        {
+            misses.increment();
+        }
+
+        return value;
+    }
+}
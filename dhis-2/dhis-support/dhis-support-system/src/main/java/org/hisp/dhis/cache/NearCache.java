@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A two tier implementation of {@link Cache}. Entries are read from a local in
+ * memory tier in front of a shared (redis) tier. Changes are written to both
+ * tiers and published through a {@link NearCacheInvalidator} so that other
+ * instances evict the entry from their local tier.
+ * <p>
+ * Values loaded from the shared tier or by a mapping function are not
+ * published, as other instances cannot hold a newer value in their local tier.
+ *
+ * @param <V> the value type
+ */
+public class NearCache<V> implements Cache<V>
+{
+    private static final String VALUE_CANNOT_BE_NULL = "Value cannot be null";
+
+    private final String region;
+
+    private final Cache<V> localCache;
+
+    private final Cache<V> sharedCache;
+
+    private final V defaultValue;
+
+    private final NearCacheInvalidator invalidator;
+
+    /**
+     * @param region the cache region
+     * @param localCache the local tier
+     * @param sharedCache the shared tier
+     * @param defaultValue the value returned for absent keys
+     * @param invalidator publishes and receives changes of this region
+     */
+    public NearCache( String region, Cache<V> localCache, Cache<V> sharedCache, V defaultValue,
+        NearCacheInvalidator invalidator )
+    {
+        this.region = region;
+        this.localCache = localCache;
+        this.sharedCache = sharedCache;
+        this.defaultValue = defaultValue;
+        this.invalidator = invalidator;
+
+        invalidator.register( region, localCache );
+    }
+
+    @Override
+    public Optional<V> getIfPresent( String key )
+    {
+        Optional<V> value = localCache.getIfPresent( key );
+
+        if ( value.isPresent() )
+        {
+            return value;
+        }
+
+        value = sharedCache.getIfPresent( key );
+        value.ifPresent( v -> localCache.put( key, v ) );
+        return value;
+    }
+
+    @Override
+    public Optional<V> get( String key )
+    {
+        return Optional.ofNullable( getIfPresent( key ).orElse( defaultValue ) );
+    }
+
+    @Override
+    public V get( String key, Function<String, V> mappingFunction )
+    {
+        if ( null == mappingFunction )
+        {
+            throw new IllegalArgumentException( "MappingFunction cannot be null" );
+        }
+
+        V value = getIfPresent( key ).orElse( null );
+
+        if ( value == null )
+        {
+            value = mappingFunction.apply( key );
+
+            if ( value != null )
+            {
+                sharedCache.put( key, value );
+                localCache.put( key, value );
+            }
+        }
+
+        return Optional.ofNullable( value ).orElse( defaultValue );
+    }
+
+    @Override
+    public Stream<V> getAll()
+    {
+        return sharedCache.getAll();
+    }
+
+    @Override
+    public Iterable<String> keys()
+    {
+        return sharedCache.keys();
+    }
+
+    @Override
+    public void put( String key, V value )
+    {
+        if ( null == value )
+        {
+            throw new IllegalArgumentException( VALUE_CANNOT_BE_NULL );
+        }
+
+        sharedCache.put( key, value );
+        localCache.put( key, value );
+        invalidator.publish( region, key );
+    }
+
+    @Override
+    public void put( String key, V value, long ttlInSeconds )
+    {
+        sharedCache.put( key, value, ttlInSeconds );
+        localCache.put( key, value, ttlInSeconds );
+        invalidator.publish( region, key );
+    }
+
+    @Override
+    public boolean putIfAbsent( String key, V value )
+    {
+        if ( sharedCache.putIfAbsent( key, value ) )
+        {
+            localCache.put( key, value );
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void invalidate( String key )
+    {
+        sharedCache.invalidate( key );
+        localCache.invalidate( key );
+        invalidator.publish( region, key );
+    }
+
+    @Override
+    public void invalidateAll()
+    {
+        sharedCache.invalidateAll();
+        localCache.invalidateAll();
+        invalidator.publish( region, null );
+    }
+
+    @Override
+    public CacheType getCacheType()
+    {
+        return CacheType.NEAR;
+    }
+}
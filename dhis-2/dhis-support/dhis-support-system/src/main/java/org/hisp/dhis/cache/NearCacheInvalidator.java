@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.common.CodeGenerator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+/**
+ * Keeps the local tier of {@link NearCache} instances coherent across
+ * instances. Every change to a near cache is published to all instances, and
+ * each instance evicts the affected entries from its local tier when it
+ * receives a change published by another instance.
+ * <p>
+ * Messages have the form {@code <node> <region>} to evict all entries of a
+ * region, or {@code <node> <region>:<key>} to evict a single entry.
+ */
+@Slf4j
+public class NearCacheInvalidator implements MessageListener
+{
+    /**
+     * Redis channel on which invalidation messages are published.
+     */
+    public static final String CHANNEL = "dhis2:cache:invalidation";
+
+    private final String nodeId = CodeGenerator.generateUid();
+
+    private final Consumer<String> publisher;
+
+    private final Map<String, Cache<?>> localCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param publisher sends a message to all instances (including this one)
+     */
+    public NearCacheInvalidator( Consumer<String> publisher )
+    {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Registers the local tier of a near cache region to be evicted on changes
+     * made by other instances.
+     *
+     * @param region the cache region
+     * @param localCache the local tier of the region
+     */
+    public void register( String region, Cache<?> localCache )
+    {
+        localCaches.put( region, localCache );
+    }
+
+    /**
+     * Tells all other instances that an entry has changed.
+     *
+     * @param region the cache region
+     * @param key the changed key, or null if all entries have changed
+     */
+    public void publish( String region, String key )
+    {
+        String target = key == null ? region : region.concat( ":" ).concat( key );
+
+        try
+        {
+            publisher.accept( nodeId + " " + target );
+        }
+        catch ( RuntimeException ex )
+        {
+            // the shared tier is already updated, other instances catch up
+            // once their local entry expires
+            log.warn( String.format( "Failed to publish cache invalidation for '%s'", target ), ex );
+        }
+    }
+
+    @Override
+    public void onMessage( Message message, byte[] pattern )
+    {
+        receive( new String( message.getBody(), UTF_8 ) );
+    }
+
+    /**
+     * Evicts the entries named by an invalidation message from the local tier,
+     * unless the message was published by this instance.
+     *
+     * @param message the received message
+     */
+    public void receive( String message )
+    {
+        int nodeEnd = message.indexOf( ' ' );
+
+        if ( nodeEnd < 0 || message.startsWith( nodeId + " " ) )
+        {
+            return;
+        }
+
+        String target = message.substring( nodeEnd + 1 );
+        int regionEnd = target.indexOf( ':' );
+        String region = regionEnd < 0 ? target : target.substring( 0, regionEnd );
+
+        Cache<?> localCache = localCaches.get( region );
+
+        if ( localCache == null )
+        {
+            return;
+        }
+
+        if ( regionEnd < 0 )
+        {
+            localCache.invalidateAll();
+        }
+        else
+        {
+            localCache.invalidate( target.substring( regionEnd + 1 ) );
+        }
+    }
+}
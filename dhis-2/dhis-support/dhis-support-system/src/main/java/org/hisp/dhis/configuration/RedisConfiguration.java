@@ -27,7 +27,9 @@
  */
 package org.hisp.dhis.configuration;
 
+import org.hisp.dhis.cache.NearCacheInvalidator;
 import org.hisp.dhis.condition.RedisEnabledCondition;
+import org.hisp.dhis.condition.RedisNearCacheEnabledCondition;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.ConfigurationPropertyFactoryBean;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
@@ -41,6 +43,8 @@ import org.springframework.data.redis.connection.lettuce.LettuceClientConfigurat
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
@@ -113,4 +117,22 @@ public class RedisConfiguration
         return stringRedisTemplate;
     }
 
+    @Bean
+    @Conditional( RedisNearCacheEnabledCondition.class )
+    public NearCacheInvalidator nearCacheInvalidator()
+    {
+        StringRedisTemplate template = stringRedisTemplate();
+        return new NearCacheInvalidator( message -> template.convertAndSend( NearCacheInvalidator.CHANNEL, message ) );
+    }
+
+    @Bean
+    @Conditional( RedisNearCacheEnabledCondition.class )
+    public RedisMessageListenerContainer nearCacheListenerContainer()
+    {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory( lettuceConnectionFactory() );
+        container.addMessageListener( nearCacheInvalidator(), new ChannelTopic( NearCacheInvalidator.CHANNEL ) );
+        return container;
+    }
+
 }
\ No newline at end of file
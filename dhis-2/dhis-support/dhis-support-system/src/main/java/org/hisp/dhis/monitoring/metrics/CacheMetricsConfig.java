@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.monitoring.metrics;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_CACHE_ENABLED;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.cache.DefaultCacheProvider;
+import org.hisp.dhis.cache.MeteredCache;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Binds every cache created by the {@link DefaultCacheProvider} to the registry,
+ * tagged with the cache region name.
+ */
+@Configuration
+@Conditional( CacheMetricsConfig.CacheMetricsEnabledCondition.class )
+public class CacheMetricsConfig
+{
+    @Autowired
+    public void bindCachesToRegistry( DefaultCacheProvider cacheProvider, MeterRegistry registry )
+    {
+        cacheProvider.addCacheListener( cache -> new CacheMetrics( cache ).bindTo( registry ) );
+    }
+
+    static class CacheMetrics extends CacheMeterBinder
+    {
+        private final MeteredCache<?> cache;
+
+        CacheMetrics( MeteredCache<?> cache )
+        {
+            super( cache, cache.getRegion(), Collections.emptyList() );
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long size()
+        {
+            long entries = cache.getEntries();
+            return entries < 0 ? null : entries;
+        }
+
+        @Override
+        protected long hitCount()
+        {
+            return cache.getHits();
+        }
+
+        @Override
+        protected Long missCount()
+        {
+            return cache.getMisses();
+        }
+
+        /**
+         * Evictions are not reported, as the underlying caches do not expose
+         * them. Explicit invalidations are reported as a separate counter.
+         */
+        @Override
+        protected Long evictionCount()
+        {
+            return null;
+        }
+
+        @Override
+        protected long putCount()
+        {
+            return cache.getPuts();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics( MeterRegistry registry )
+        {
+            FunctionCounter.builder( "cache.invalidations", cache, MeteredCache::getInvalidations )
+                .tags( getTagsWithCacheName() )
+                .description( "The number of times entries were explicitly invalidated" )
+                .register( registry );
+
+            FunctionCounter.builder( "cache.load.failures", cache, MeteredCache::getLoadFailures )
+                .tags( getTagsWithCacheName() )
+                .description( "The number of times a cache load failed" )
+                .register( registry );
+
+            FunctionTimer.builder( "cache.loads", cache, MeteredCache::getLoads, MeteredCache::getLoadTimeNanos,
+                TimeUnit.NANOSECONDS )
+                .tags( getTagsWithCacheName() )
+                .description( "The time spent loading values into the cache" )
+                .register( registry );
+        }
+    }
+
+    static class CacheMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_CACHE_ENABLED;
+        }
+    }
+}
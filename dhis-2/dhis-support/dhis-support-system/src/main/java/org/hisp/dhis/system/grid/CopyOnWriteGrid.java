@@ -0,0 +1,672 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.common.ExecutionPlan;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.PerformanceMetrics;
+import org.hisp.dhis.common.Reference;
+import org.hisp.dhis.common.adapter.JacksonRowDataSerializer;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Lists;
+
+/**
+ * Copy-on-write view of a {@link Grid} which is shared between several
+ * consumers, typically a grid held by a cache. Read operations go straight to
+ * the shared grid and return unmodifiable views of its collections. The first
+ * write operation takes a private deep copy of the shared grid, after which
+ * all operations go to the copy.
+ * <p>
+ * The shared grid must not be modified while views of it exist. Instances of
+ * this class are not thread-safe and should not be shared between threads.
+ */
+public class CopyOnWriteGrid
+    implements Grid
+{
+    /**
+     * The grid which is either the shared snapshot or, after the first write
+     * operation, a private copy of it.
+     */
+    private Grid grid;
+
+    /**
+     * Indicates whether {@link #grid} is a private copy.
+     */
+    private boolean copied = false;
+
+    /**
+     * @param snapshot the shared grid.
+     */
+    public CopyOnWriteGrid( Grid snapshot )
+    {
+        checkNotNull( snapshot );
+        this.grid = snapshot;
+    }
+
+    /**
+     * Indicates whether this grid still reads from the shared snapshot.
+     */
+    @JsonIgnore
+    public boolean isShared()
+    {
+        return !copied;
+    }
+
+    /**
+     * Returns the grid to use for write operations, taking a private copy of
+     * the shared snapshot on first invocation.
+     */
+    private Grid writable()
+    {
+        if ( !copied )
+        {
+            grid = SerializationUtils.clone( grid );
+            copied = true;
+        }
+
+        return grid;
+    }
+
+    /**
+     * Returns the given list, wrapped as unmodifiable if it belongs to the
+     * shared snapshot.
+     */
+    private <T> List<T> readable( List<T> list )
+    {
+        return copied || list == null ? list : Collections.unmodifiableList( list );
+    }
+
+    /**
+     * Returns the given map, wrapped as unmodifiable if it belongs to the
+     * shared snapshot.
+     */
+    private <K, V> Map<K, V> readable( Map<K, V> map )
+    {
+        return copied || map == null ? map : Collections.unmodifiableMap( map );
+    }
+
+    // -------------------------------------------------------------------------
+    // Read operations
+    // -------------------------------------------------------------------------
+
+    @Override
+    @JsonProperty
+    public String getTitle()
+    {
+        return grid.getTitle();
+    }
+
+    @Override
+    @JsonProperty
+    public String getSubtitle()
+    {
+        return grid.getSubtitle();
+    }
+
+    @Override
+    @JsonProperty
+    public String getTable()
+    {
+        return grid.getTable();
+    }
+
+    @Override
+    @JsonProperty
+    public List<GridHeader> getHeaders()
+    {
+        return readable( grid.getHeaders() );
+    }
+
+    @Override
+    @JsonProperty
+    public Map<String, Object> getMetaData()
+    {
+        return readable( grid.getMetaData() );
+    }
+
+    @Override
+    @JsonIgnore
+    public Map<String, Object> getInternalMetaData()
+    {
+        return readable( grid.getInternalMetaData() );
+    }
+
+    @Override
+    @JsonProperty
+    public PerformanceMetrics getPerformanceMetrics()
+    {
+        return grid.getPerformanceMetrics();
+    }
+
+    @Override
+    public List<GridHeader> getVisibleHeaders()
+    {
+        return grid.getVisibleHeaders();
+    }
+
+    @Override
+    public List<GridHeader> getMetadataHeaders()
+    {
+        return grid.getMetadataHeaders();
+    }
+
+    @Override
+    public int getIndexOfHeader( String name )
+    {
+        return grid.getIndexOfHeader( name );
+    }
+
+    @Override
+    @JsonProperty
+    public int getHeight()
+    {
+        return grid.getHeight();
+    }
+
+    @Override
+    @JsonProperty
+    public int getWidth()
+    {
+        return grid.getWidth();
+    }
+
+    @Override
+    @JsonProperty
+    public int getHeaderWidth()
+    {
+        return grid.getHeaderWidth();
+    }
+
+    @Override
+    public int getVisibleWidth()
+    {
+        return grid.getVisibleWidth();
+    }
+
+    @Override
+    public List<Object> getRow( int rowIndex )
+    {
+        return readable( grid.getRow( rowIndex ) );
+    }
+
+    @Override
+    @JsonProperty
+    @JsonSerialize( using = JacksonRowDataSerializer.class )
+    public List<List<Object>> getRows()
+    {
+        List<List<Object>> rows = grid.getRows();
+
+        return copied ? rows : Collections.unmodifiableList( Lists.transform( rows, this::readable ) );
+    }
+
+    @Override
+    @JsonProperty
+    public List<Reference> getRefs()
+    {
+        return readable( grid.getRefs() );
+    }
+
+    @Override
+    public List<List<Object>> getVisibleRows()
+    {
+        return grid.getVisibleRows();
+    }
+
+    @Override
+    public List<Object> getColumn( int columnIndex )
+    {
+        return grid.getColumn( columnIndex );
+    }
+
+    @Override
+    public Object getValue( int rowIndex, int columnIndex )
+    {
+        return grid.getValue( rowIndex, columnIndex );
+    }
+
+    @Override
+    public boolean columnIsEmpty( int columnIndex )
+    {
+        return grid.columnIsEmpty( columnIndex );
+    }
+
+    @Override
+    public boolean hasMetaDataKey( String key )
+    {
+        return grid.hasMetaDataKey( key );
+    }
+
+    @Override
+    public boolean hasInternalMetaDataKey( String key )
+    {
+        return grid.hasInternalMetaDataKey( key );
+    }
+
+    @Override
+    public List<Integer> getMetaColumnIndexes()
+    {
+        return grid.getMetaColumnIndexes();
+    }
+
+    @Override
+    public Set<Object> getUniqueValues( String columnName )
+    {
+        return grid.getUniqueValues( columnName );
+    }
+
+    @Override
+    public <T> Map<String, T> getAsMap( int valueIndex, String keySeparator )
+    {
+        return grid.getAsMap( valueIndex, keySeparator );
+    }
+
+    @Override
+    public boolean hasLastDataRow()
+    {
+        return grid.hasLastDataRow();
+    }
+
+    // -------------------------------------------------------------------------
+    // Write operations
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Grid setTitle( String title )
+    {
+        writable().setTitle( title );
+        return this;
+    }
+
+    @Override
+    public Grid setSubtitle( String subtitle )
+    {
+        writable().setSubtitle( subtitle );
+        return this;
+    }
+
+    @Override
+    public Grid setTable( String table )
+    {
+        writable().setTable( table );
+        return this;
+    }
+
+    @Override
+    public Grid setMetaData( Map<String, Object> metaData )
+    {
+        writable().setMetaData( metaData );
+        return this;
+    }
+
+    @Override
+    public Grid addMetaData( String key, Object value )
+    {
+        writable().addMetaData( key, value );
+        return this;
+    }
+
+    @Override
+    public Grid setInternalMetaData( Map<String, Object> internalMetaData )
+    {
+        writable().setInternalMetaData( internalMetaData );
+        return this;
+    }
+
+    @Override
+    public Grid addHeader( GridHeader header )
+    {
+        writable().addHeader( header );
+        return this;
+    }
+
+    @Override
+    public Grid addHeader( int headerIndex, GridHeader header )
+    {
+        writable().addHeader( headerIndex, header );
+        return this;
+    }
+
+    @Override
+    public Grid addHeaders( int headerIndex, List<GridHeader> headers )
+    {
+        writable().addHeaders( headerIndex, headers );
+        return this;
+    }
+
+    @Override
+    public Grid addEmptyHeaders( int number )
+    {
+        writable().addEmptyHeaders( number );
+        return this;
+    }
+
+    @Override
+    public Grid replaceHeaders( List<GridHeader> headers )
+    {
+        writable().replaceHeaders( headers );
+        return this;
+    }
+
+    @Override
+    public Grid addRow()
+    {
+        writable().addRow();
+        return this;
+    }
+
+    @Override
+    public Grid addRows( Grid grid )
+    {
+        writable().addRows( grid );
+        return this;
+    }
+
+    @Override
+    public Grid addValue( Object value )
+    {
+        writable().addValue( value );
+        return this;
+    }
+
+    @Override
+    public Grid addValues( Object[] values )
+    {
+        writable().addValues( values );
+        return this;
+    }
+
+    @Override
+    public Grid addValuesVar( Object... values )
+    {
+        writable().addValuesVar( values );
+        return this;
+    }
+
+    @Override
+    public Grid addValuesAsList( List<Object> values )
+    {
+        writable().addValuesAsList( values );
+        return this;
+    }
+
+    @Override
+    public Grid addEmptyValue()
+    {
+        writable().addEmptyValue();
+        return this;
+    }
+
+    @Override
+    public Grid addEmptyValues( int number )
+    {
+        writable().addEmptyValues( number );
+        return this;
+    }
+
+    @Override
+    public Grid addNullValues( int number )
+    {
+        writable().addNullValues( number );
+        return this;
+    }
+
+    @Override
+    public Grid addColumn( List<Object> columnValues )
+    {
+        writable().addColumn( columnValues );
+        return this;
+    }
+
+    @Override
+    public Grid addColumn( int columnIndex, List<Object> columnValues )
+    {
+        writable().addColumn( columnIndex, columnValues );
+        return this;
+    }
+
+    @Override
+    public Grid addAndPopulateColumnsBefore( int referenceColumnIndex, Map<Object, List<?>> valueMap,
+        int newColumns )
+    {
+        writable().addAndPopulateColumnsBefore( referenceColumnIndex, valueMap, newColumns );
+        return this;
+    }
+
+    @Override
+    public Grid removeColumn( int columnIndex )
+    {
+        writable().removeColumn( columnIndex );
+        return this;
+    }
+
+    @Override
+    public Grid removeEmptyColumns()
+    {
+        writable().removeEmptyColumns();
+        return this;
+    }
+
+    @Override
+    public Grid removeColumn( GridHeader header )
+    {
+        writable().removeColumn( header );
+        return this;
+    }
+
+    @Override
+    public Grid removeCurrentWriteRow()
+    {
+        writable().removeCurrentWriteRow();
+        return this;
+    }
+
+    @Override
+    public Grid limitGrid( int limit )
+    {
+        writable().limitGrid( limit );
+        return this;
+    }
+
+    @Override
+    public Grid limitGrid( int startPos, int endPos )
+    {
+        writable().limitGrid( startPos, endPos );
+        return this;
+    }
+
+    @Override
+    public Grid sortGrid( int columnIndex, int order )
+    {
+        writable().sortGrid( columnIndex, order );
+        return this;
+    }
+
+    @Override
+    public Grid addRegressionColumn( int columnIndex, boolean addHeader )
+    {
+        writable().addRegressionColumn( columnIndex, addHeader );
+        return this;
+    }
+
+    @Override
+    public Grid addRegressionToGrid( int startColumnIndex, int numberOfColumns )
+    {
+        writable().addRegressionToGrid( startColumnIndex, numberOfColumns );
+        return this;
+    }
+
+    @Override
+    public Grid addCumulativeColumn( int columnIndex, boolean addHeader )
+    {
+        writable().addCumulativeColumn( columnIndex, addHeader );
+        return this;
+    }
+
+    @Override
+    public Grid addCumulativesToGrid( int startColumnIndex, int numberOfColumns )
+    {
+        writable().addCumulativesToGrid( startColumnIndex, numberOfColumns );
+        return this;
+    }
+
+    @Override
+    public Grid substituteMetaData( Map<?, ?> metaDataMap )
+    {
+        writable().substituteMetaData( metaDataMap );
+        return this;
+    }
+
+    @Override
+    public Grid substituteMetaData( int sourceColumnIndex, int targetColumnIndex, Map<?, ?> metaDataMap )
+    {
+        writable().substituteMetaData( sourceColumnIndex, targetColumnIndex, metaDataMap );
+        return this;
+    }
+
+    @Override
+    public Grid addHeaders( ResultSet rs )
+    {
+        writable().addHeaders( rs );
+        return this;
+    }
+
+    @Override
+    public Grid addHeaders( SqlRowSet rs )
+    {
+        writable().addHeaders( rs );
+        return this;
+    }
+
+    @Override
+    public Grid addRows( ResultSet rs )
+    {
+        writable().addRows( rs );
+        return this;
+    }
+
+    @Override
+    public Grid addRows( SqlRowSet rs )
+    {
+        writable().addRows( rs );
+        return this;
+    }
+
+    @Override
+    public Grid addRows( SqlRowSet rs, int maxLimit )
+    {
+        writable().addRows( rs, maxLimit );
+        return this;
+    }
+
+    @Override
+    public Grid maybeAddPerformanceMetrics( List<ExecutionPlan> plans )
+    {
+        writable().maybeAddPerformanceMetrics( plans );
+        return this;
+    }
+
+    @Override
+    public Grid addReference( Reference reference )
+    {
+        writable().addReference( reference );
+        return this;
+    }
+
+    @Override
+    public void keepOnlyThese( Set<String> headers )
+    {
+        writable().keepOnlyThese( headers );
+    }
+
+    @Override
+    public Set<Integer> repositionHeaders( Set<String> headers )
+    {
+        return writable().repositionHeaders( headers );
+    }
+
+    @Override
+    public void repositionColumns( Set<Integer> newColumnsIndexes )
+    {
+        writable().repositionColumns( newColumnsIndexes );
+    }
+
+    @Override
+    public void setLastDataRow( boolean lastDataRow )
+    {
+        writable().setLastDataRow( lastDataRow );
+    }
+
+    // -------------------------------------------------------------------------
+    // JRDataSource implementation
+    // -------------------------------------------------------------------------
+
+    /**
+     * Advancing the read cursor mutates the grid, hence a private copy is
+     * taken.
+     */
+    @Override
+    public boolean next()
+        throws JRException
+    {
+        return writable().next();
+    }
+
+    @Override
+    public Object getFieldValue( JRField field )
+        throws JRException
+    {
+        return grid.getFieldValue( field );
+    }
+
+    // -------------------------------------------------------------------------
+    // toString
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String toString()
+    {
+        return grid.toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the counting of the {@link MeteredCache}.
+ */
+class MeteredCacheTest
+{
+    private final MeteredCache<String> cache = new MeteredCache<>( "test",
+        new LocalCache<>( new SimpleCacheBuilder<String>().forRegion( "test" )
+            .expireAfterWrite( 1, TimeUnit.MINUTES ).withMaximumSize( 100 ) ),
+        null );
+
+    @Test
+    void testHitsAndMisses()
+    {
+        cache.put( "foo", "bar" );
+
+        cache.getIfPresent( "foo" );
+        cache.get( "foo" );
+        cache.getIfPresent( "baz" );
+        cache.get( "baz" );
+
+        assertEquals( 2, cache.getHits() );
+        assertEquals( 2, cache.getMisses() );
+        assertEquals( 1, cache.getPuts() );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    void testGetMissReturnsDefaultValueWithSingleLookup()
+    {
+        Cache<String> backend = mock( Cache.class );
+        when( backend.getIfPresent( anyString() ) ).thenReturn( Optional.empty() );
+
+        MeteredCache<String> metered = new MeteredCache<>( "test", backend, "default" );
+
+        assertEquals( Optional.of( "default" ), metered.get( "foo" ) );
+        assertEquals( 0, metered.getHits() );
+        assertEquals( 1, metered.getMisses() );
+        verify( backend, times( 1 ) ).getIfPresent( "foo" );
+        verify( backend, never() ).get( anyString() );
+    }
+
+    @Test
+    void testLoads()
+    {
+        assertEquals( "bar", cache.get( "foo", key -> "bar" ) );
+        assertEquals( "bar", cache.get( "foo", key -> "baz" ) );
+        assertThrows( IllegalStateException.class, () -> cache.get( "x", key -> {
+            throw new IllegalStateException();
+        } ) );
+
+        assertEquals( 1, cache.getHits() );
+        assertEquals( 2, cache.getMisses() );
+        assertEquals( 1, cache.getLoads() );
+        assertEquals( 1, cache.getLoadFailures() );
+    }
+
+    @Test
+    void testStatistics()
+    {
+        cache.put( "a", "1" );
+        cache.put( "b", "2" );
+        cache.get( "a" );
+        cache.get( "c" );
+        cache.invalidate( "b" );
+
+        CacheStatistics statistics = cache.getStatistics();
+
+        assertEquals( "test", statistics.getRegion() );
+        assertEquals( CacheType.IN_MEMORY, statistics.getType() );
+        assertEquals( 1, statistics.getEntries() );
+        assertEquals( 1, statistics.getInvalidations() );
+        assertEquals( 0.5d, statistics.getHitRatio() );
+    }
+}
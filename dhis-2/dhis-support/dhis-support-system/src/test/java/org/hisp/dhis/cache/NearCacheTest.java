@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link NearCache} with two instances sharing a stand-in for redis:
+ * a {@link LocalCache} as shared tier and an in-process message bus delivering
+ * invalidation messages to all instances.
+ */
+class NearCacheTest
+{
+    private final List<NearCacheInvalidator> bus = new ArrayList<>();
+
+    private final Cache<String> sharedCache = new LocalCache<>( builder() );
+
+    private Cache<String> localA;
+
+    private Cache<String> localB;
+
+    private NearCache<String> nodeA;
+
+    private NearCache<String> nodeB;
+
+    @BeforeEach
+    void setUp()
+    {
+        localA = new LocalCache<>( builder() );
+        localB = new LocalCache<>( builder() );
+        nodeA = new NearCache<>( "test", localA, sharedCache, "default", invalidator() );
+        nodeB = new NearCache<>( "test", localB, sharedCache, "default", invalidator() );
+    }
+
+    @Test
+    void testGetReadsSharedTierIntoLocalTier()
+    {
+        sharedCache.put( "foo", "bar" );
+
+        assertEquals( Optional.of( "bar" ), nodeA.getIfPresent( "foo" ) );
+        assertEquals( Optional.of( "bar" ), localA.getIfPresent( "foo" ) );
+        assertFalse( localB.getIfPresent( "foo" ).isPresent() );
+    }
+
+    @Test
+    void testGetReturnsDefaultValue()
+    {
+        assertEquals( Optional.of( "default" ), nodeA.get( "foo" ) );
+        assertFalse( localA.getIfPresent( "foo" ).isPresent() );
+    }
+
+    @Test
+    void testGetWithMappingFunctionLoadsOnce()
+    {
+        AtomicInteger loads = new AtomicInteger();
+
+        Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+            return "bar";
+        };
+
+        assertEquals( "bar", nodeA.get( "foo", loader ) );
+        assertEquals( "bar", nodeB.get( "foo", loader ) );
+        assertEquals( 1, loads.get() );
+        assertEquals( Optional.of( "bar" ), localB.getIfPresent( "foo" ) );
+    }
+
+    @Test
+    void testPutEvictsOtherLocalTiers()
+    {
+        nodeA.put( "foo", "bar" );
+        assertEquals( Optional.of( "bar" ), nodeB.getIfPresent( "foo" ) );
+
+        nodeA.put( "foo", "baz" );
+
+        assertFalse( localB.getIfPresent( "foo" ).isPresent() );
+        assertEquals( Optional.of( "baz" ), localA.getIfPresent( "foo" ) );
+        assertEquals( Optional.of( "baz" ), nodeB.getIfPresent( "foo" ) );
+    }
+
+    @Test
+    void testInvalidateEvictsAllTiers()
+    {
+        nodeA.put( "foo", "bar" );
+        nodeB.get( "foo" );
+
+        nodeB.invalidate( "foo" );
+
+        assertFalse( localA.getIfPresent( "foo" ).isPresent() );
+        assertFalse( nodeA.getIfPresent( "foo" ).isPresent() );
+    }
+
+    @Test
+    void testInvalidateAllEvictsAllTiers()
+    {
+        nodeA.put( "foo", "bar" );
+        nodeA.put( "x", "y" );
+        nodeB.get( "foo" );
+        nodeB.get( "x" );
+
+        nodeA.invalidateAll();
+
+        assertFalse( localB.getIfPresent( "foo" ).isPresent() );
+        assertFalse( localB.getIfPresent( "x" ).isPresent() );
+        assertFalse( nodeB.getIfPresent( "x" ).isPresent() );
+    }
+
+    @Test
+    void testPutIfAbsent()
+    {
+        assertTrue( nodeA.putIfAbsent( "foo", "bar" ) );
+        assertFalse( nodeB.putIfAbsent( "foo", "baz" ) );
+        assertEquals( Optional.of( "bar" ), nodeB.getIfPresent( "foo" ) );
+    }
+
+    @Test
+    void testMessagesOfOtherRegionsAreIgnored()
+    {
+        nodeA.put( "foo", "bar" );
+
+        bus.forEach( invalidator -> invalidator.receive( "node other:foo" ) );
+
+        assertEquals( Optional.of( "bar" ), localA.getIfPresent( "foo" ) );
+    }
+
+    private NearCacheInvalidator invalidator()
+    {
+        NearCacheInvalidator invalidator = new NearCacheInvalidator(
+            message -> bus.forEach( node -> node.receive( message ) ) );
+        bus.add( invalidator );
+        return invalidator;
+    }
+
+    private static SimpleCacheBuilder<String> builder()
+    {
+        SimpleCacheBuilder<String> builder = new SimpleCacheBuilder<>();
+        builder.forRegion( "test" ).expireAfterWrite( 1, TimeUnit.MINUTES ).withMaximumSize( 100 );
+        return builder;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CopyOnWriteGridTest
+{
+    private Grid snapshot;
+
+    @BeforeEach
+    void setUp()
+    {
+        snapshot = new ListGrid()
+            .addHeader( new GridHeader( "ColA" ) )
+            .addHeader( new GridHeader( "ColB" ) )
+            .addMetaData( "keyA", "valueA" )
+            .addRow().addValue( "11" ).addValue( "12" )
+            .addRow().addValue( "21" ).addValue( "22" );
+    }
+
+    @Test
+    void testReadsShareSnapshot()
+    {
+        CopyOnWriteGrid grid = new CopyOnWriteGrid( snapshot );
+
+        assertEquals( 2, grid.getHeight() );
+        assertEquals( 2, grid.getWidth() );
+        assertEquals( "21", grid.getValue( 1, 0 ) );
+        assertEquals( "valueA", grid.getMetaData().get( "keyA" ) );
+        assertTrue( grid.isShared() );
+    }
+
+    @Test
+    void testSharedCollectionsAreUnmodifiable()
+    {
+        CopyOnWriteGrid grid = new CopyOnWriteGrid( snapshot );
+
+        assertThrows( UnsupportedOperationException.class, () -> grid.getRows().remove( 0 ) );
+        assertThrows( UnsupportedOperationException.class, () -> grid.getRows().get( 0 ).set( 0, "x" ) );
+        assertThrows( UnsupportedOperationException.class, () -> grid.getRow( 0 ).add( "x" ) );
+        assertThrows( UnsupportedOperationException.class, () -> grid.getHeaders().clear() );
+        assertThrows( UnsupportedOperationException.class, () -> grid.getMetaData().put( "keyB", "valueB" ) );
+        assertEquals( 2, snapshot.getHeight() );
+        assertEquals( "11", snapshot.getValue( 0, 0 ) );
+    }
+
+    @Test
+    void testWriteCopiesSnapshot()
+    {
+        CopyOnWriteGrid grid = new CopyOnWriteGrid( snapshot );
+
+        assertSame( grid, grid.addRow().addValue( "31" ).addValue( "32" ) );
+        grid.addMetaData( "keyB", "valueB" );
+        grid.getRows().get( 0 ).set( 0, "x" );
+
+        assertFalse( grid.isShared() );
+        assertEquals( 3, grid.getHeight() );
+        assertEquals( "x", grid.getValue( 0, 0 ) );
+        assertEquals( "valueB", grid.getMetaData().get( "keyB" ) );
+        assertEquals( 2, snapshot.getHeight() );
+        assertEquals( "11", snapshot.getValue( 0, 0 ) );
+        assertFalse( snapshot.hasMetaDataKey( "keyB" ) );
+    }
+
+    @Test
+    void testViewsAreIndependent()
+    {
+        CopyOnWriteGrid gridA = new CopyOnWriteGrid( snapshot );
+        CopyOnWriteGrid gridB = new CopyOnWriteGrid( snapshot );
+
+        gridA.removeColumn( 0 );
+
+        assertEquals( 1, gridA.getWidth() );
+        assertEquals( 2, gridB.getWidth() );
+        assertTrue( gridB.isShared() );
+    }
+}
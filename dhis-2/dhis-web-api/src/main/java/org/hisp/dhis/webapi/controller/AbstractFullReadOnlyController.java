@@ -236,6 +236,12 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
         cachePrivate( response );
 
+        if ( !metadata.getInMemoryPaths().isEmpty() )
+        {
+            response.setHeader( ContextUtils.HEADER_QUERY_IN_MEMORY,
+                String.join( ",", metadata.getInMemoryPaths() ) );
+        }
+
         return ResponseEntity.ok( new StreamingJsonRoot<>( pager, getSchema().getCollectionName(),
             FieldFilterParams.of( entities, fields ) ) );
     }
@@ -505,6 +511,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
         else
         {
             entityList = (List<T>) queryService.query( query );
+            metadata.setInMemoryPaths( query.getInMemoryPaths() );
         }
 
         return entityList;
@@ -29,6 +29,7 @@ package org.hisp.dhis.webapi.controller;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -38,6 +39,8 @@ import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.cache.CacheInfo;
 import org.hisp.dhis.cache.CacheInfo.CacheCapInfo;
 import org.hisp.dhis.cache.CacheInfo.CacheGroupInfo;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.CacheStatistics;
 import org.hisp.dhis.cache.CappedLocalCache;
 import org.hisp.dhis.webapi.controller.exception.NotFoundException;
 import org.springframework.http.HttpStatus;
@@ -54,7 +57,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
  * Gives insights into the {@link CappedLocalCache} state and allows to
- * invalidate entries as well as configure the cap settings.
+ * invalidate entries as well as configure the cap settings. Also lists the
+ * usage statistics of all caches created by the {@link CacheProvider}.
  *
  * @author Jan Bernitt
  */
@@ -67,6 +71,8 @@ public class CacheController
 
     private final CappedLocalCache cache;
 
+    private final CacheProvider cacheProvider;
+
     @GetMapping( produces = APPLICATION_JSON_VALUE )
     public @ResponseBody CacheInfo getInfo( @RequestParam( value = "condensed", required = false ) Boolean condensed )
     {
@@ -104,6 +110,12 @@ public class CacheController
         throw new NotFoundException( region );
     }
 
+    @GetMapping( value = "/statistics", produces = APPLICATION_JSON_VALUE )
+    public @ResponseBody List<CacheStatistics> getStatistics()
+    {
+        return cacheProvider.getStatistics();
+    }
+
     @GetMapping( value = "/cap", produces = APPLICATION_JSON_VALUE )
     public @ResponseBody CacheCapInfo getCapInfo()
     {
@@ -78,6 +78,7 @@ import org.hisp.dhis.user.User;
 import org.hisp.dhis.webapi.controller.event.mapper.OrderParam.SortDirection;
 import org.hisp.dhis.webapi.controller.event.webrequest.EventCriteria;
 import org.hisp.dhis.webapi.controller.event.webrequest.OrderCriteria;
+import org.hisp.dhis.webapi.controller.event.webrequest.PageToken;
 import org.hisp.dhis.webapi.controller.event.webrequest.tracker.TrackerEventCriteria;
 import org.hisp.dhis.webapi.controller.event.webrequest.tracker.mapper.TrackerEventCriteriaMapper;
 import org.mapstruct.factory.Mappers;
@@ -350,7 +351,7 @@ public class RequestToSearchParamsMapper
             eventCriteria.getFilter(),
             dataElementOrders.keySet(),
             false,
-            eventCriteria.isIncludeDeleted() );
+            eventCriteria.isIncludeDeleted() ).setCountMode( eventCriteria.getCountMode() );
     }
 
     private List<OrderParam> getOrderParams( List<OrderCriteria> order )
@@ -397,6 +398,18 @@ public class RequestToSearchParamsMapper
 
     public EventSearchParams map( TrackerEventCriteria eventCriteria )
     {
-        return map( TRACKER_EVENT_CRITERIA_MAPPER.toEventCriteria( eventCriteria ) );
+        EventSearchParams params = map( TRACKER_EVENT_CRITERIA_MAPPER.toEventCriteria( eventCriteria ) );
+
+        if ( eventCriteria.isKeysetPagingRequest() )
+        {
+            if ( eventCriteria.isSortingRequest() )
+            {
+                throw new IllegalQueryException( "Keyset paging can not be combined with order" );
+            }
+
+            params.setKeysetPaging( true ).setIdAfter( PageToken.decode( eventCriteria.getPageToken() ) );
+        }
+
+        return params;
     }
 }
@@ -108,6 +108,24 @@ public class TrackerEventCriteria extends PagingAndSortingCriteriaAdapter
 
     private IdSchemes idSchemes = new IdSchemes();
 
+    /**
+     * Indicates whether to page with a keyset cursor instead of page numbers.
+     * Keyset pages are ordered by creation and are equally fast to read at any
+     * depth.
+     */
+    private boolean keysetPaging;
+
+    /**
+     * Token of the page to return when paging with a keyset cursor, as
+     * returned in the pager of the previous page.
+     */
+    private String pageToken;
+
+    public boolean isKeysetPagingRequest()
+    {
+        return isPagingRequest() && (keysetPaging || pageToken != null);
+    }
+
     @Override
     public boolean isLegacy()
     {
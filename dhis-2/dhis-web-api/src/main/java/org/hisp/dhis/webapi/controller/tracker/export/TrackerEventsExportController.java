@@ -35,8 +35,10 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
@@ -45,6 +47,7 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.hisp.dhis.common.DhisApiVersion;
 import org.hisp.dhis.commons.collection.CollectionUtils;
 import org.hisp.dhis.dxf2.events.event.Event;
@@ -57,6 +60,7 @@ import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.node.Preset;
 import org.hisp.dhis.program.ProgramStageInstanceService;
 import org.hisp.dhis.webapi.controller.event.mapper.RequestToSearchParamsMapper;
+import org.hisp.dhis.webapi.controller.event.webrequest.PageToken;
 import org.hisp.dhis.webapi.controller.event.webrequest.PagingWrapper;
 import org.hisp.dhis.webapi.controller.event.webrequest.tracker.TrackerEventCriteria;
 import org.hisp.dhis.webapi.controller.exception.NotFoundException;
@@ -72,6 +76,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 
@@ -87,6 +93,11 @@ public class TrackerEventsExportController
 
     private static final EventMapper EVENTS_MAPPER = Mappers.getMapper( EventMapper.class );
 
+    /**
+     * Maximum number of rows read per chunk when streaming events.
+     */
+    private static final int STREAM_CHUNK_SIZE = 1000;
+
     @NonNull
     private final EventService eventService;
 
@@ -105,6 +116,9 @@ public class TrackerEventsExportController
     @NonNull
     private final FieldFilterService fieldFilterService;
 
+    @NonNull
+    private final ObjectMapper jsonMapper;
+
     @GetMapping( produces = APPLICATION_JSON_VALUE )
     public PagingWrapper<ObjectNode> getEvents(
         TrackerEventCriteria eventCriteria, HttpServletRequest request,
@@ -128,7 +142,15 @@ public class TrackerEventsExportController
 
         PagingWrapper<ObjectNode> pagingWrapper = new PagingWrapper<>();
 
-        if ( eventCriteria.isPagingRequest() )
+        if ( eventCriteria.isKeysetPagingRequest() )
+        {
+            pagingWrapper = pagingWrapper.withPager( PagingWrapper.Pager.builder()
+                .page( null )
+                .pageSize( eventSearchParams.getPageSizeWithDefault() )
+                .nextPageToken( PageToken.encode( events.getNextIdAfter() ) )
+                .build() );
+        }
+        else if ( eventCriteria.isPagingRequest() )
         {
             pagingWrapper = pagingWrapper.withPager(
                 PagingWrapper.Pager.fromLegacy( eventCriteria, events.getPager() ) );
@@ -140,6 +162,48 @@ public class TrackerEventsExportController
 
     }
 
+    /**
+     * Writes all events to the response in chunks read with keyset paging, so
+     * that exports of any size use constant memory. The response has the same
+     * shape as an unpaged response of {@link #getEvents}.
+     */
+    @GetMapping( produces = APPLICATION_JSON_VALUE, params = "skipPaging=true" )
+    public void getEventsStream(
+        TrackerEventCriteria eventCriteria, HttpServletRequest request, HttpServletResponse response,
+        @RequestParam( defaultValue = DEFAULT_FIELDS_PARAM ) List<String> fields )
+        throws IOException,
+        WebMessageException
+    {
+        response.setContentType( APPLICATION_JSON_VALUE );
+
+        if ( eventCriteria.isSortingRequest() )
+        {
+            jsonMapper.writeValue( response.getOutputStream(), getEvents( eventCriteria, request, fields ) );
+            return;
+        }
+
+        EventSearchParams eventSearchParams = requestToSearchParamsMapper.map( eventCriteria );
+        boolean href = hasHref( fields, eventCriteria.getSkipEventId() );
+
+        try ( JsonGenerator generator = jsonMapper.getFactory().createGenerator( response.getOutputStream() ) )
+        {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart( "instances" );
+
+            if ( !areAllEnrollmentsInvalid( eventCriteria, eventSearchParams ) )
+            {
+                eventService.streamEvents( eventSearchParams, STREAM_CHUNK_SIZE, events -> {
+                    setHref( events, href, request );
+                    writeJson( generator, fieldFilterService
+                        .toObjectNodes( EVENTS_MAPPER.fromCollection( events ), fields ) );
+                } );
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
     @GetMapping( produces = { CONTENT_TYPE_CSV, CONTENT_TYPE_CSV_GZIP, CONTENT_TYPE_TEXT_CSV } )
     public void getCsvEvents(
         TrackerEventCriteria eventCriteria,
@@ -162,13 +226,34 @@ public class TrackerEventsExportController
             return;
         }
 
-        Events events = eventService.getEvents( eventSearchParams );
+        boolean href = hasHref( fields, eventCriteria.getSkipEventId() );
 
-        if ( hasHref( fields, eventCriteria.getSkipEventId() ) )
+        if ( eventCriteria.isSkipPaging() && !eventCriteria.isSortingRequest() )
         {
-            events.getEvents().forEach( e -> e.setHref( getUri( e.getEvent(), request ) ) );
+            AtomicBoolean withHeader = new AtomicBoolean( !skipHeader );
+
+            try ( OutputStream outputStream = getCsvOutputStream( request, response ) )
+            {
+                eventService.streamEvents( eventSearchParams, STREAM_CHUNK_SIZE, events -> {
+                    setHref( events, href, request );
+                    writeCsv( CloseShieldOutputStream.wrap( outputStream ), events, withHeader.getAndSet( false ) );
+                } );
+            }
+
+            return;
         }
 
+        Events events = eventService.getEvents( eventSearchParams );
+
+        setHref( events.getEvents(), href, request );
+
+        csvEventService.writeEvents( getCsvOutputStream( request, response ),
+            EVENTS_MAPPER.fromCollection( events.getEvents() ), !skipHeader );
+    }
+
+    private OutputStream getCsvOutputStream( HttpServletRequest request, HttpServletResponse response )
+        throws IOException
+    {
         OutputStream outputStream = response.getOutputStream();
         response.setContentType( CONTENT_TYPE_CSV );
 
@@ -179,7 +264,44 @@ public class TrackerEventsExportController
             response.setContentType( CONTENT_TYPE_CSV_GZIP );
         }
 
-        csvEventService.writeEvents( outputStream, EVENTS_MAPPER.fromCollection( events.getEvents() ), !skipHeader );
+        return outputStream;
+    }
+
+    private void writeCsv( OutputStream outputStream, List<Event> events, boolean withHeader )
+    {
+        try
+        {
+            csvEventService.writeEvents( outputStream, EVENTS_MAPPER.fromCollection( events ), withHeader );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void writeJson( JsonGenerator generator, List<ObjectNode> objectNodes )
+    {
+        try
+        {
+            for ( ObjectNode objectNode : objectNodes )
+            {
+                generator.writeTree( objectNode );
+            }
+
+            generator.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void setHref( List<Event> events, boolean href, HttpServletRequest request )
+    {
+        if ( href )
+        {
+            events.forEach( e -> e.setHref( getUri( e.getEvent(), request ) ) );
+        }
     }
 
     private boolean areAllEnrollmentsInvalid( TrackerEventCriteria eventCriteria, EventSearchParams eventSearchParams )
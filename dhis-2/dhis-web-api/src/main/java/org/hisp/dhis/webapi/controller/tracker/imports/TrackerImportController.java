@@ -221,6 +221,8 @@ public class TrackerImportController
     @GetMapping( value = "/jobs/{uid}/report", produces = APPLICATION_JSON_VALUE )
     public TrackerImportReport getJobReport( @PathVariable String uid,
         @RequestParam( defaultValue = "errors", required = false ) String reportMode,
+        @RequestParam( defaultValue = "1", required = false ) int page,
+        @RequestParam( defaultValue = "50", required = false ) int pageSize,
         HttpServletResponse response )
         throws HttpStatusCodeException,
         NotFoundException
@@ -232,8 +234,8 @@ public class TrackerImportController
 
         return Optional.ofNullable( notifier
             .getJobSummaryByJobId( JobType.TRACKER_IMPORT_JOB, uid ) )
-            .map( report -> trackerImportService.buildImportReport( (TrackerImportReport) report,
-                trackerBundleReportMode ) )
+            .map( report -> trackerImportService.buildImportReport( uid, (TrackerImportReport) report,
+                trackerBundleReportMode, page, pageSize ) )
             .orElseThrow( () -> NotFoundException.notFoundUid( uid ) );
     }
 }
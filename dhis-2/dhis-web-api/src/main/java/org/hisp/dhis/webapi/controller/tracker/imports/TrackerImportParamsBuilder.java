@@ -29,6 +29,7 @@ package org.hisp.dhis.webapi.controller.tracker.imports;
 
 import static org.hisp.dhis.tracker.AtomicMode.ALL;
 import static org.hisp.dhis.tracker.FlushMode.AUTO;
+import static org.hisp.dhis.tracker.PersistMode.OBJECT;
 import static org.hisp.dhis.tracker.TrackerIdScheme.UID;
 import static org.hisp.dhis.tracker.TrackerImportStrategy.CREATE_AND_UPDATE;
 import static org.hisp.dhis.tracker.ValidationMode.FULL;
@@ -42,6 +43,7 @@ import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParam
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.IMPORT_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.IMPORT_STRATEGY_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.ORG_UNIT_ID_SCHEME_KEY;
+import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PERSIST_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PROGRAM_ID_SCHEME_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PROGRAM_STAGE_ID_SCHEME_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.SKIP_RULE_ENGINE_KEY;
@@ -58,6 +60,7 @@ import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.tracker.AtomicMode;
 import org.hisp.dhis.tracker.FlushMode;
+import org.hisp.dhis.tracker.PersistMode;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
@@ -91,6 +94,7 @@ public class TrackerImportParamsBuilder
                     CREATE_AND_UPDATE ) )
             .atomicMode( getEnumWithDefault( AtomicMode.class, parameters, ATOMIC_MODE_KEY, ALL ) )
             .flushMode( getEnumWithDefault( FlushMode.class, parameters, FLUSH_MODE_KEY, AUTO ) )
+            .persistMode( getEnumWithDefault( PersistMode.class, parameters, PERSIST_MODE_KEY, OBJECT ) )
             .skipSideEffects( getBooleanValueOrDefault( parameters, SKIP_SIDE_EFFECTS ) )
             .skipRuleEngine( getBooleanValueOrDefault( parameters, SKIP_RULE_ENGINE_KEY ) );
     }
@@ -211,6 +215,7 @@ public class TrackerImportParamsBuilder
         IMPORT_STRATEGY_KEY( "importStrategy" ),
         ATOMIC_MODE_KEY( "atomicMode" ),
         FLUSH_MODE_KEY( "flushMode" ),
+        PERSIST_MODE_KEY( "persistMode" ),
         SKIP_RULE_ENGINE_KEY( "skipRuleEngine" ),
         SKIP_SIDE_EFFECTS( "skipSideEffects" ),
         ID_SCHEME_KEY( "idScheme" ),
@@ -111,6 +111,8 @@ public class ContextUtils
 
     public static final String HEADER_ETAG = "ETag";
 
+    public static final String HEADER_QUERY_IN_MEMORY = "X-Query-In-Memory";
+
     private static final String QUOTE = "\"";
 
     private static final String QUERY_STRING_SEP = "?";
@@ -27,10 +27,14 @@
  */
 package org.hisp.dhis.webapi.webdomain;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.dxf2.metadata.Metadata;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 
@@ -42,6 +46,8 @@ public class WebMetadata
 {
     private Pager pager;
 
+    private List<String> inMemoryPaths = new ArrayList<>();
+
     @JsonProperty
     @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
     public Pager getPager()
@@ -53,4 +59,15 @@ public class WebMetadata
     {
         this.pager = pager;
     }
+
+    @JsonIgnore
+    public List<String> getInMemoryPaths()
+    {
+        return inMemoryPaths;
+    }
+
+    public void setInMemoryPaths( List<String> inMemoryPaths )
+    {
+        this.inMemoryPaths = inMemoryPaths;
+    }
 }
@@ -335,7 +335,8 @@ class TrackerImportControllerTest
         when( notifier.getJobSummaryByJobId( JobType.TRACKER_IMPORT_JOB, uid ) )
             .thenReturn( trackerImportReport );
 
-        when( trackerImportService.buildImportReport( any(), any() ) ).thenReturn( trackerImportReport );
+        when( trackerImportService.buildImportReport( eq( uid ), any(), any(), eq( 1 ), eq( 50 ) ) )
+            .thenReturn( trackerImportReport );
 
         // Then
         String contentAsString = mockMvc.perform( get( ENDPOINT + "/jobs/" + uid + "/report" )
@@ -350,7 +351,7 @@ class TrackerImportControllerTest
             .getContentAsString();
 
         verify( notifier ).getJobSummaryByJobId( JobType.TRACKER_IMPORT_JOB, uid );
-        verify( trackerImportService ).buildImportReport( any(), any() );
+        verify( trackerImportService ).buildImportReport( eq( uid ), any(), any(), eq( 1 ), eq( 50 ) );
 
         try
         {
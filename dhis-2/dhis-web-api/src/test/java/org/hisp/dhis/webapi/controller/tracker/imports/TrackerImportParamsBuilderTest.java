@@ -33,6 +33,7 @@ import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParam
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.FLUSH_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.IMPORT_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.IMPORT_STRATEGY_KEY;
+import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PERSIST_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.VALIDATION_MODE_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -44,6 +45,7 @@ import java.util.Map;
 
 import org.hisp.dhis.tracker.AtomicMode;
 import org.hisp.dhis.tracker.FlushMode;
+import org.hisp.dhis.tracker.PersistMode;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.hisp.dhis.tracker.TrackerIdSchemeParam;
 import org.hisp.dhis.tracker.TrackerIdSchemeParams;
@@ -108,6 +110,16 @@ class TrackerImportParamsBuilderTest
         } );
     }
 
+    @Test
+    void testPersistMode()
+    {
+        Arrays.stream( PersistMode.values() ).forEach( e -> {
+            paramMap.put( PERSIST_MODE_KEY.getKey(), Collections.singletonList( e.name() ) );
+            TrackerImportParams params = TrackerImportParamsBuilder.build( paramMap );
+            assertThat( params.getPersistMode(), is( e ) );
+        } );
+    }
+
     @Test
     void testImportStrategy()
     {
@@ -282,6 +294,7 @@ class TrackerImportParamsBuilderTest
         assertThat( params.getImportStrategy(), is( TrackerImportStrategy.CREATE_AND_UPDATE ) );
         assertThat( params.getAtomicMode(), is( AtomicMode.ALL ) );
         assertThat( params.getFlushMode(), is( FlushMode.AUTO ) );
+        assertThat( params.getPersistMode(), is( PersistMode.OBJECT ) );
         TrackerIdSchemeParams identifiers = params.getIdSchemes();
         assertThat( identifiers.getOrgUnitIdScheme(), is( TrackerIdSchemeParam.UID ) );
         assertThat( identifiers.getProgramIdScheme(), is( TrackerIdSchemeParam.UID ) );